@@ -0,0 +1,155 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.benchmark;
+
+import org.arrow.parser.xml.bpmn.XStreamBpmnParser;
+import org.arrow.runtime.RuntimeService;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.execution.service.data.ExecutionRepository;
+import org.arrow.runtime.service.RepositoryService;
+import org.arrow.test.ArrowTestConfiguration;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import scala.concurrent.Await;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Process engine used by the end-to-end benchmarks. Starts the engine with
+ * the configuration of the workflow tests, an impermanent Neo4j database
+ * included, and deploys the benchmark scenarios.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class BenchmarkEngine implements AutoCloseable {
+
+    private static final String SCENARIOS = "scenarios.bpmn20.xml";
+    private static final Duration TIMEOUT = Duration.create(60, TimeUnit.SECONDS);
+
+    private final AnnotationConfigApplicationContext context;
+    private final RuntimeService runtimeService;
+
+    public BenchmarkEngine() {
+        context = new AnnotationConfigApplicationContext(ArrowTestConfiguration.class);
+        runtimeService = context.getBean(RuntimeService.class);
+
+        try (InputStream stream = BenchmarkEngine.class.getResourceAsStream(SCENARIOS)) {
+            context.getBean(RepositoryService.class).deploy(new XStreamBpmnParser().parse(stream));
+        } catch (Exception ex) {
+            context.close();
+            throw new IllegalStateException("unable to deploy " + SCENARIOS, ex);
+        }
+    }
+
+    public RuntimeService getRuntimeService() {
+        return runtimeService;
+    }
+
+    public ExecutionRepository getExecutionRepository() {
+        return context.getBean(ExecutionRepository.class);
+    }
+
+    /**
+     * Starts a process instance of the given process without waiting for its
+     * completion.
+     *
+     * @param id        the process id
+     * @param variables the process variables
+     * @return ProcessInstance
+     */
+    public ProcessInstance start(String id, Map<String, Object> variables) throws Exception {
+        return await(runtimeService.startProcessById(id, variables));
+    }
+
+    /**
+     * Starts a process instance of the given process and waits for its
+     * completion.
+     *
+     * @param id        the process id
+     * @param variables the process variables
+     * @return ProcessInstance
+     */
+    public ProcessInstance run(String id, Map<String, Object> variables) throws Exception {
+        return awaitCompletion(start(id, variables));
+    }
+
+    /**
+     * Starts a process instance of the given process without variables and
+     * waits for its completion.
+     *
+     * @param id the process id
+     * @return ProcessInstance
+     */
+    public ProcessInstance run(String id) throws Exception {
+        return run(id, Collections.<String, Object>emptyMap());
+    }
+
+    /**
+     * Waits until the given process instance is finished. The finished flag
+     * is checked under the monitor of the process instance, so that a
+     * completion before the wait is not missed.
+     *
+     * @param pi the process instance
+     * @return ProcessInstance
+     */
+    public static ProcessInstance awaitCompletion(ProcessInstance pi) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT.toMillis();
+        synchronized (pi) {
+            while (!pi.isFinished()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("process instance " + pi.getId() + " timed out");
+                }
+                pi.wait(remaining);
+            }
+        }
+        return pi;
+    }
+
+    /**
+     * Polls the given condition until it is met.
+     *
+     * @param condition the condition
+     */
+    public static void awaitCondition(BooleanSupplier condition) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT.toMillis();
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("condition timed out");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    public static <T> T await(Future<T> future) throws Exception {
+        return Await.result(future, TIMEOUT);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        context.close();
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.benchmark;
+
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.execution.service.data.ExecutionRepository;
+import org.arrow.runtime.message.MessageCorrelation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput and the latency of representative process models,
+ * from the start through the {@link org.arrow.runtime.RuntimeService} until
+ * the process instance is completed. The service tasks pass through, so that
+ * the engine overhead is measured. Run with {@code -t <threads>} to measure
+ * concurrent process instances.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineScenarioBenchmark {
+
+    private static final String MESSAGE = "benchmarkMessage";
+
+    /** the count of enabled branches of the inclusive gateway */
+    @Param({"3"})
+    private int branches;
+
+    private final AtomicLong orderIds = new AtomicLong();
+
+    private BenchmarkEngine engine;
+    private ExecutionRepository executionRepository;
+    private Map<String, Object> inclusiveVariables;
+
+    @Setup
+    public void setUp() {
+        engine = new BenchmarkEngine();
+        executionRepository = engine.getExecutionRepository();
+        inclusiveVariables = Collections.<String, Object>singletonMap("branches", branches);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    public ProcessInstance straightThrough() throws Exception {
+        return engine.run("benchmarkStraightThrough");
+    }
+
+    @Benchmark
+    public ProcessInstance parallelForkJoin() throws Exception {
+        return engine.run("benchmarkParallel");
+    }
+
+    @Benchmark
+    public ProcessInstance inclusiveJoin() throws Exception {
+        return engine.run("benchmarkInclusive", inclusiveVariables);
+    }
+
+    @Benchmark
+    public ProcessInstance embeddedSubProcess() throws Exception {
+        return engine.run("benchmarkSubProcess");
+    }
+
+    @Benchmark
+    public ProcessInstance callActivity() throws Exception {
+        return engine.run("benchmarkCallActivity");
+    }
+
+    /**
+     * Starts a process instance waiting for a message, waits until the
+     * catch event is correlated and completes the process instance with the
+     * correlated message.
+     */
+    @Benchmark
+    public ProcessInstance messageCorrelation() throws Exception {
+        Map<String, Object> correlation = new HashMap<>();
+        correlation.put("orderId", orderIds.incrementAndGet());
+
+        ProcessInstance pi = engine.start("benchmarkMessageCorrelation", correlation);
+
+        String key = MessageCorrelation.key(MESSAGE, correlation);
+        BenchmarkEngine.awaitCondition(() -> executionRepository.findByCorrelationKey(key) != null);
+
+        BenchmarkEngine.await(engine.getRuntimeService().message(MESSAGE, correlation, new HashMap<>()));
+        return BenchmarkEngine.awaitCompletion(pi);
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.benchmark;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.UntypedActor;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.EventMessageEventBus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures publishing an event on the {@link EventMessageEventBus} with the
+ * given count of subscribed process instances. {@code lookup} only resolves
+ * the subscribers, {@code tell} additionally enqueues the event in the
+ * mailbox of the subscribed actor.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+
+    /** the count of subscribed process instances */
+    @Param({"1000", "10000", "100000"})
+    private int subscriptions;
+
+    private ActorSystem system;
+    private EventMessageEventBus bus;
+    private LookupEventBus lookupBus;
+    private EventMessage[] events;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        system = ActorSystem.create("EventBusBenchmark");
+        ActorRef subscriber = system.actorOf(Props.create(DiscardingActor.class));
+
+        bus = new EventMessageEventBus();
+        lookupBus = new LookupEventBus();
+        for (int i = 0; i < subscriptions; i++) {
+            bus.subscribe(subscriber, "pi-" + i);
+            lookupBus.subscribe(subscriber, "pi-" + i);
+        }
+
+        events = new EventMessage[1024];
+        for (int i = 0; i < events.length; i++) {
+            ProcessInstance pi = new ProcessInstance();
+            pi.setId("pi-" + (i * 7919 % subscriptions));
+            events[i] = () -> pi;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.shutdown();
+        system.awaitTermination();
+    }
+
+    @Benchmark
+    public void lookup(Blackhole blackhole) {
+        lookupBus.blackhole = blackhole;
+        lookupBus.publish(nextEvent());
+    }
+
+    @Benchmark
+    public void tell() {
+        bus.publish(nextEvent());
+    }
+
+    private EventMessage nextEvent() {
+        return events[next++ & (events.length - 1)];
+    }
+
+    /**
+     * Event bus which consumes the resolved subscribers instead of telling them.
+     */
+    private static class LookupEventBus extends EventMessageEventBus {
+
+        private Blackhole blackhole;
+
+        @Override
+        public void publish(EventMessage event, ActorRef subscriber) {
+            blackhole.consume(subscriber);
+        }
+    }
+
+    public static class DiscardingActor extends UntypedActor {
+
+        @Override
+        public void onReceive(Object message) {
+            // discard
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.benchmark;
+
+import org.arrow.model.BpmnNodeEntity;
+import org.arrow.model.definition.EventDefinition;
+import org.arrow.model.definition.message.MessageEventDefinition;
+import org.arrow.model.definition.signal.SignalEventDefinition;
+import org.arrow.model.event.boundary.BoundaryEvent;
+import org.arrow.model.event.boundary.impl.ErrorBoundaryEvent;
+import org.arrow.model.event.boundary.impl.SignalBoundaryEvent;
+import org.arrow.model.event.intermediate.catching.impl.MultipleIntermediateCatchEvent;
+import org.arrow.model.task.impl.UserTask;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.service.engine.execution.interceptor.BpmnEntityInitializerAdapter;
+import org.arrow.service.engine.execution.interceptor.ExecutionInterceptor;
+import org.arrow.service.engine.execution.interceptor.impl.BoundaryEventAwareInitializer;
+import org.arrow.service.engine.execution.interceptor.impl.CompensateTaskInitializer;
+import org.arrow.service.engine.execution.interceptor.impl.EventBasedGatewayEventInitializer;
+import org.arrow.service.engine.execution.interceptor.impl.MultiInstanceLoopCharacteristicsExecutionInterceptor;
+import org.arrow.service.engine.execution.interceptor.impl.MultipleEventAwareInitializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former per message dispatch of a node, which scanned the
+ * execution interceptors and built a new proxy configuration for every
+ * executed entity, with the interceptors and decorators prepared once per
+ * deployed node by the {@link BpmnEntityInitializerAdapter}. Each operation
+ * decorates the entity of one execution and invokes a method through the
+ * decorated entity.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionDecoratorBenchmark {
+
+    /** the kind of the executed node */
+    @Param({"task", "boundaryEvent", "errorBoundaryEvent", "multipleCatchEvent"})
+    private String node;
+
+    private BpmnEntityInitializerAdapter scanning;
+    private BpmnEntityInitializerAdapter prepared;
+
+    private Execution execution;
+    private BpmnNodeEntity entity;
+
+    @Setup
+    public void setUp() {
+        entity = entity(node);
+        execution = new Execution();
+
+        scanning = adapter();
+        prepared = adapter();
+        prepared.prepare(entity);
+    }
+
+    @Benchmark
+    public String perMessageProxy() {
+        return scanning.beforeExecution(execution, entity).getId();
+    }
+
+    @Benchmark
+    public String preparedDecorator() {
+        return prepared.beforeExecution(execution, entity).getId();
+    }
+
+    private BpmnEntityInitializerAdapter adapter() {
+        List<ExecutionInterceptor> interceptors = Arrays.asList(
+                new BoundaryEventAwareInitializer(),
+                new CompensateTaskInitializer(),
+                new EventBasedGatewayEventInitializer(),
+                new MultiInstanceLoopCharacteristicsExecutionInterceptor(),
+                new MultipleEventAwareInitializer());
+
+        BpmnEntityInitializerAdapter adapter = new BpmnEntityInitializerAdapter();
+        ReflectionTestUtils.setField(adapter, "initializers", interceptors);
+        return adapter;
+    }
+
+    @SuppressWarnings("deprecation")
+    private BpmnNodeEntity entity(String node) {
+        switch (node) {
+            case "boundaryEvent":
+                return task(new SignalBoundaryEvent());
+            case "errorBoundaryEvent":
+                return task(new ErrorBoundaryEvent());
+            case "multipleCatchEvent":
+                Set<EventDefinition> definitions = new HashSet<>();
+                definitions.add(new SignalEventDefinition());
+                definitions.add(new MessageEventDefinition());
+
+                MultipleIntermediateCatchEvent event = new MultipleIntermediateCatchEvent();
+                event.setId("multipleCatchEvent");
+                event.setNodeId(1L);
+                event.setIncomingFlows(new HashSet<>());
+                event.setEventDefinitions(definitions);
+                return event;
+            default:
+                return task(null);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private UserTask task(BoundaryEvent boundaryEvent) {
+        UserTask task = new UserTask();
+        task.setId("task");
+        task.setNodeId(1L);
+
+        if (boundaryEvent != null) {
+            Set<BoundaryEvent> boundaryEvents = new HashSet<>();
+            boundaryEvents.add(boundaryEvent);
+            task.setBoundaryEvents(boundaryEvents);
+        }
+        return task;
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.benchmark;
+
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.service.DefaultExecutionExpressionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former gateway condition evaluation, which parsed every
+ * condition with a new parser and copied the variables into a new context
+ * per outgoing flow, with the conditions cached by the
+ * {@link DefaultExecutionExpressionService} and one context per execution.
+ * Each operation evaluates the conditions of all outgoing flows of one
+ * inclusive gateway.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayConditionBenchmark {
+
+    /** the count of outgoing flows of the gateway */
+    @Param({"2", "8"})
+    private int flows;
+
+    /** the count of process instance variables */
+    @Param({"10", "100"})
+    private int variables;
+
+    private final DefaultExecutionExpressionService service = new DefaultExecutionExpressionService();
+
+    private Execution execution;
+    private String[] flowIds;
+    private String[] conditions;
+
+    @Setup
+    public void setUp() {
+        ProcessInstance pi = new ProcessInstance();
+        for (int i = 0; i < variables; i++) {
+            pi.addVariable("var" + i, i);
+        }
+        pi.addVariable("amount", 1500);
+        pi.addVariable("region", "EU");
+
+        execution = new Execution();
+        execution.setProcessInstance(pi);
+
+        flowIds = new String[flows];
+        conditions = new String[flows];
+        for (int i = 0; i < flows; i++) {
+            flowIds[i] = "flow" + i;
+            conditions[i] = "#amount > " + (i * 500) + " and #region == 'EU'";
+            service.prepare(flowIds[i], conditions[i]);
+        }
+    }
+
+    @Benchmark
+    public int parsePerFlow() {
+        ExpressionParser parser = new SpelExpressionParser();
+
+        int enabled = 0;
+        for (String condition : conditions) {
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            context.setVariables(execution.getVariables());
+
+            Expression expression = parser.parseExpression(condition);
+            Boolean result = expression.getValue(context, Boolean.class);
+            enabled += (result != null && result) ? 1 : 0;
+        }
+        return enabled;
+    }
+
+    @Benchmark
+    public int cachedExpressions() {
+        EvaluationContext context = service.createContext(execution);
+
+        int enabled = 0;
+        for (int i = 0; i < flows; i++) {
+            Boolean result = service.evaluate(flowIds[i], conditions[i], context, Boolean.class);
+            enabled += (result != null && result) ? 1 : 0;
+        }
+        return enabled;
+    }
+
+}
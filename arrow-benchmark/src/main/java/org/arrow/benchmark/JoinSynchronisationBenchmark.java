@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.benchmark;
+
+import org.arrow.runtime.execution.State;
+import org.arrow.runtime.execution.service.ExecutionDataService.SynchronisationResult;
+import org.arrow.runtime.execution.synchronisation.ExecutionStates;
+import org.arrow.runtime.execution.synchronisation.UpstreamGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the join analysis of an inclusive gateway which enumerates every
+ * incoming path, as done by the former depth first traversal with
+ * {@code Uniqueness.NONE}, with the precomputed {@link UpstreamGraph}.
+ * <p>
+ * The generated process is a chain of nested diamonds in front of the
+ * measured join. Each diamond doubles the count of paths while adding only
+ * four nodes. Only the start event is executed, so both variants have to
+ * look at the whole upstream graph.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinSynchronisationBenchmark {
+
+    @Param({"2", "4", "8", "12", "16"})
+    private int diamonds;
+
+    /** incoming flows of each node as pairs of source node and flow id */
+    private List<List<Flow>> incoming;
+
+    private UpstreamGraph<Integer> graph;
+    private ExecutionStates<Integer> states;
+
+    @Setup
+    public void setUp() {
+
+        incoming = new ArrayList<>();
+        UpstreamGraph.Builder<Integer> builder;
+
+        // node 0 is the measured join, node 1 the start event
+        int join = node();
+        int start = node();
+        builder = UpstreamGraph.builder(join);
+
+        int previous = start;
+        for (int i = 0; i < diamonds; i++) {
+            int split = node();
+            int left = node();
+            int right = node();
+            int merge = node();
+
+            flow(builder, previous, split);
+            flow(builder, split, left);
+            flow(builder, split, right);
+            flow(builder, left, merge);
+            flow(builder, right, merge);
+            previous = merge;
+        }
+        flow(builder, previous, join);
+
+        graph = builder.build();
+        states = new StartEventExecuted(start);
+    }
+
+    @Benchmark
+    public SynchronisationResult pathEnumeration() {
+        PathEnumeration enumeration = new PathEnumeration();
+        enumeration.visit(0, 0, null);
+        return new SynchronisationResult(enumeration.finished, enumeration.expect);
+    }
+
+    @Benchmark
+    public SynchronisationResult upstreamGraph() {
+        return graph.depthFirstSynchronisation(states);
+    }
+
+    private int node() {
+        incoming.add(new ArrayList<>());
+        return incoming.size() - 1;
+    }
+
+    private void flow(UpstreamGraph.Builder<Integer> builder, int source, int target) {
+        String id = "flow" + source + "_" + target;
+        incoming.get(target).add(new Flow(source, id));
+        builder.flow(source, id, target);
+    }
+
+    /**
+     * Reference implementation of the former evaluator which walks every
+     * incoming path until it reaches an executed node.
+     */
+    private class PathEnumeration {
+
+        private boolean finished = true;
+        private int expect = 0;
+
+        void visit(int node, int length, String flowId) {
+
+            if (length > 0) {
+                State state = states.stateOf(node);
+                if (state != null) {
+                    if (state.isSuccess()) {
+                        boolean enabled = states.isEnabled(node, flowId);
+                        if (length > 1 && enabled) {
+                            finished = false;
+                        }
+                        expect += (finished && enabled) ? 1 : 0;
+                    }
+                    return;
+                }
+            }
+
+            for (Flow flow : incoming.get(node)) {
+                visit(flow.source, length + 1, flow.id);
+            }
+        }
+    }
+
+    private static class Flow {
+
+        private final int source;
+        private final String id;
+
+        Flow(int source, String id) {
+            this.source = source;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Execution states where only the start event is executed and its
+     * outgoing flow is enabled.
+     */
+    private static class StartEventExecuted implements ExecutionStates<Integer> {
+
+        private final int start;
+
+        StartEventExecuted(int start) {
+            this.start = start;
+        }
+
+        @Override
+        public State stateOf(Integer node) {
+            return node == start ? State.SUCCESS : null;
+        }
+
+        @Override
+        public boolean isEnabled(Integer node, String flowId) {
+            return node == start;
+        }
+    }
+
+}
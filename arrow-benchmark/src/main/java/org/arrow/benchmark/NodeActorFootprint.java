@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.benchmark;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Identify;
+import akka.actor.Props;
+import akka.dispatch.Futures;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import org.arrow.runtime.message.EventMessageEventBus;
+import org.arrow.service.engine.config.AkkaConfiguration.MasterCreator;
+import org.arrow.service.engine.config.NodeActorPool;
+import org.springframework.context.support.StaticApplicationContext;
+import scala.concurrent.Await;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the retained heap of the actor hierarchy of 10k process instances,
+ * once with a node actor pool per master actor and once with one shared,
+ * consistently hashed node actor pool. Only the actor hierarchy is created,
+ * no process is executed.
+ * <p>
+ * Usage: {@code NodeActorFootprint [instances] [shared pool size]}
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class NodeActorFootprint {
+
+    private static final Timeout TIMEOUT = new Timeout(Duration.create(60, TimeUnit.SECONDS));
+
+    public static void main(String[] args) throws Exception {
+
+        int instances = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.println("mode,instances,actors,retained bytes,bytes per 10k instances");
+        measure(false, instances, 4);
+        measure(true, instances, size);
+    }
+
+    private static void measure(boolean shared, int instances, int size) throws Exception {
+
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("eventBus", new EventMessageEventBus());
+        context.refresh();
+
+        ActorSystem system = ActorSystem.create("Footprint");
+        NodeActorPool pool = new NodeActorPool(system, context, shared, size, null);
+
+        try {
+            long before = usedHeap();
+
+            List<ActorRef> masters = new ArrayList<>(instances);
+            for (int i = 0; i < instances; i++) {
+                masters.add(system.actorOf(Props.create(new MasterCreator(context, pool))));
+            }
+            awaitStarted(system, masters, !shared);
+
+            long retained = usedHeap() - before;
+            long actors = shared ? instances + 1 + size : instances * (2L + size);
+
+            System.out.println(String.format("%s,%d,%d,%d,%d", shared ? "shared(" + size + ")" : "per-master(" + size + ")",
+                    instances, actors, retained, retained * 10_000 / instances));
+        } finally {
+            system.shutdown();
+            system.awaitTermination();
+            context.close();
+        }
+    }
+
+    /**
+     * Waits until all master actors and, if created per master, their node
+     * actor routers answered an {@link Identify} message.
+     */
+    private static void awaitStarted(ActorSystem system, List<ActorRef> masters, boolean routers) throws Exception {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (ActorRef master : masters) {
+            futures.add(Patterns.ask(master, new Identify(master.path()), TIMEOUT));
+            if (routers) {
+                futures.add(Patterns.ask(system.actorSelection(master.path().child("node")),
+                        new Identify(master.path()), TIMEOUT));
+            }
+        }
+        Await.result(Futures.sequence(futures, system.dispatcher()), TIMEOUT.duration());
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.benchmark;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import org.arrow.runtime.execution.service.ExecutionScriptService.ScriptEvaluationContext;
+import org.arrow.service.DefaultExecutionScriptService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scripting.ScriptSource;
+import org.springframework.scripting.support.StandardScriptEvaluator;
+import org.springframework.scripting.support.StaticScriptSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the concurrent throughput of script task evaluations. The parsed
+ * variants compile the script on every evaluation, as done by the groovy
+ * and JSR-223 evaluators of spring, the cached variants use the compiled
+ * scripts of the {@link DefaultExecutionScriptService} with a binding per
+ * evaluation.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ScriptTaskBenchmark {
+
+    private static final String GROOVY_SCRIPT = "def total = 0\nfor (i in 1..10) { total += value * i }\nreturn total";
+    private static final String JS_SCRIPT = "var total = 0; for (var i = 1; i <= 10; i++) { total += value * i; } total;";
+
+    private final DefaultExecutionScriptService service = new DefaultExecutionScriptService();
+
+    private final ScriptSource groovySource = new StaticScriptSource(GROOVY_SCRIPT);
+    private final ScriptSource jsSource = new StaticScriptSource(JS_SCRIPT);
+
+    /**
+     * The arguments of one script task evaluation, per benchmark thread.
+     */
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class Arguments {
+
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            values.put("value", ThreadLocalRandom.current().nextInt(1000));
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        service.prepare("groovy", GROOVY_SCRIPT);
+        service.prepare("javascript", JS_SCRIPT);
+    }
+
+    @Benchmark
+    public Object groovyParsed(Arguments arguments) {
+        GroovyShell shell = new GroovyShell(new Binding(new HashMap<>(arguments.values)));
+        return shell.evaluate(GROOVY_SCRIPT);
+    }
+
+    @Benchmark
+    public Object groovyCached(Arguments arguments) {
+        return service.evaluateCompiledGroovy(groovySource, new ScriptEvaluationContext("groovy", new HashMap<>(arguments.values)));
+    }
+
+    @Benchmark
+    public Object javascriptParsed(Arguments arguments) {
+        StandardScriptEvaluator evaluator = new StandardScriptEvaluator();
+        evaluator.setLanguage("javascript");
+        return evaluator.evaluate(jsSource, new HashMap<>(arguments.values));
+    }
+
+    @Benchmark
+    public Object javascriptCached(Arguments arguments) {
+        return service.evaluate(jsSource, new ScriptEvaluationContext("javascript", new HashMap<>(arguments.values)));
+    }
+
+}
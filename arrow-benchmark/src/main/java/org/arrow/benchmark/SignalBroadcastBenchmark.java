@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.benchmark;
+
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.execution.service.data.ExecutionRepository;
+import org.arrow.runtime.message.SignalBroadcast;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a signal broadcast which resumes the given count of waiting
+ * process instances, from the broadcast until all process instances are
+ * completed. The waiting process instances are started before each
+ * invocation and are not measured.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SignalBroadcastBenchmark {
+
+    private static final String SIGNAL = "benchmarkSignal";
+
+    /** the count of waiting process instances */
+    @Param({"100", "1000"})
+    private int instances;
+
+    private BenchmarkEngine engine;
+    private ExecutionRepository executionRepository;
+    private List<ProcessInstance> waiting;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new BenchmarkEngine();
+        executionRepository = engine.getExecutionRepository();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void startWaitingInstances() throws Exception {
+        waiting = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            waiting.add(engine.start("benchmarkSignal", Collections.<String, Object>emptyMap()));
+        }
+        BenchmarkEngine.awaitCondition(() -> executionRepository.findAllBySignalRef(SIGNAL).size() >= instances);
+    }
+
+    @Benchmark
+    public long broadcast() throws Exception {
+        SignalBroadcast broadcast = engine.getRuntimeService().broadcast(SIGNAL, Collections.<String, Object>emptyMap());
+        BenchmarkEngine.await(broadcast.getFuture());
+
+        for (ProcessInstance pi : waiting) {
+            BenchmarkEngine.awaitCompletion(pi);
+        }
+        return broadcast.getResumedCount();
+    }
+
+}
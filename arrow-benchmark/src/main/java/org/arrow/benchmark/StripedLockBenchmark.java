@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.benchmark;
+
+import org.arrow.runtime.support.StripedLock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Compares the synchronisation of distinct process instances guarded by a
+ * single lock ({@code stripes = 1}) with the per process instance striped
+ * locks. Each thread synchronises its own process instance, the critical
+ * section consumes CPU like a short graph traversal.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class StripedLockBenchmark {
+
+    @Param({"1", "64"})
+    private int stripes;
+
+    /** the cost of the critical section in consumed CPU tokens */
+    @Param({"100"})
+    private int work;
+
+    private StripedLock locks;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        locks = new StripedLock(stripes);
+    }
+
+    /**
+     * The process instance of a benchmark thread.
+     */
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class ProcessInstanceState {
+
+        private String piId;
+
+        @Setup
+        public void setUp(StripedLockBenchmark benchmark) {
+            piId = "pi-" + benchmark.threads.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    public void synchronise(ProcessInstanceState pi) {
+        Lock lock = locks.get(pi.piId);
+        lock.lock();
+        try {
+            Blackhole.consumeCPU(work);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
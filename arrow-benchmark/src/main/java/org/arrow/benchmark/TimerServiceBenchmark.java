@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.benchmark;
+
+import org.arrow.runtime.timer.TimingWheel;
+import org.arrow.runtime.timer.TimingWheel.Timeout;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former timer scheduling, which submitted every timer to the
+ * scheduled thread pool of the task scheduler, with the {@link TimingWheel}
+ * of the timer service. Each operation schedules the given count of timers
+ * spread over one hour and cancels every second timer, the way boundary
+ * timers of completed tasks are cancelled. The wheel additionally fires the
+ * remaining timers with simulated time, the thread pool would need the wall
+ * clock hour to do so.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerServiceBenchmark {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    /** the count of scheduled timers */
+    @Param({"100000", "1000000"})
+    private int timers;
+
+    @Benchmark
+    public int scheduledThreadPool() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        Runnable task = () -> { };
+
+        try {
+            ScheduledFuture<?>[] futures = new ScheduledFuture<?>[timers];
+            for (int i = 0; i < timers; i++) {
+                futures[i] = executor.schedule(task, dueDate(i), TimeUnit.MILLISECONDS);
+            }
+            for (int i = 0; i < timers; i += 2) {
+                futures[i].cancel(false);
+            }
+            return executor.getQueue().size();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int timingWheel() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(100, 512, 0);
+
+        @SuppressWarnings("unchecked")
+        Timeout<Integer>[] timeouts = new Timeout[timers];
+        for (int i = 0; i < timers; i++) {
+            timeouts[i] = wheel.add(dueDate(i), i);
+        }
+        for (int i = 0; i < timers; i += 2) {
+            timeouts[i].cancel();
+        }
+
+        int fired = 0;
+        for (long now = 0; now <= HOUR; now += 1000) {
+            fired += wheel.advance(now).size();
+        }
+        return fired;
+    }
+
+    private long dueDate(int i) {
+        return (i * 7919L) % HOUR + 1;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.benchmark;
+
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the variable access of an execution of a sub process instance.
+ * The variables are read through the local execution variables, the process
+ * instance variables and the parent process instance variables, the way
+ * service tasks and gateway conditions read them.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableAccessBenchmark {
+
+    /** the count of variables per process instance */
+    @Param({"10", "100"})
+    private int variables;
+
+    private Execution execution;
+
+    @Setup
+    public void setUp() {
+        ProcessInstance parent = new ProcessInstance();
+        ProcessInstance pi = new ProcessInstance();
+        pi.setParentProcessInstance(parent);
+
+        for (int i = 0; i < variables; i++) {
+            parent.addVariable("parent" + i, i);
+            pi.addVariable("var" + i, i);
+        }
+
+        execution = new Execution();
+        execution.setProcessInstance(pi);
+        execution.addLocalVariable("local", 0);
+    }
+
+    @Benchmark
+    public Object getLocalVariable() {
+        return execution.getVariable("local");
+    }
+
+    @Benchmark
+    public Object getParentVariable() {
+        return execution.getVariable("parent0");
+    }
+
+    @Benchmark
+    public boolean hasMissingVariable() {
+        return execution.hasVariable("missing");
+    }
+
+    @Benchmark
+    public Object getFromVariableScope() {
+        return execution.getVariables().get("var0");
+    }
+
+    @Benchmark
+    public int iterateVariableScope() {
+        int count = 0;
+        for (Map.Entry<String, Object> entry : execution.getVariables().entrySet()) {
+            count += entry.getValue() == null ? 0 : 1;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.benchmark;
+
+import com.thoughtworks.xstream.XStream;
+import org.arrow.runtime.variable.VariableCodecRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former XStream XML encoding of complex process variables,
+ * which creates a new {@link XStream} per value, with the binary
+ * {@link VariableCodecRegistry}. The stored bytes of both encodings are
+ * printed once per parameter set.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableCodecBenchmark {
+
+    /** the count of order lines of the payload */
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private final VariableCodecRegistry registry = new VariableCodecRegistry();
+
+    private Order order;
+    private String xml;
+    private byte[] binary;
+    private int typeId;
+
+    @Setup
+    public void setUp() {
+        order = new Order("order-4711", "customer-42", new Date(1416000000000L));
+        for (int i = 0; i < lines; i++) {
+            order.lines.add(new OrderLine("sku-" + i, "article " + i, i % 5 + 1, new BigDecimal("19.99")));
+        }
+
+        xml = xmlEncode();
+        binary = binaryEncode();
+        typeId = registry.getTypeId(order);
+
+        System.out.printf("%n# stored bytes, lines=%d: xml=%d, binary=%d%n",
+                lines, xml.getBytes(StandardCharsets.UTF_8).length, binary.length);
+    }
+
+    @Benchmark
+    public String xmlEncode() {
+        XStream xstream = new XStream();
+        xstream.processAnnotations(order.getClass());
+        return xstream.toXML(order);
+    }
+
+    @Benchmark
+    public Object xmlDecode() {
+        XStream xstream = new XStream();
+        xstream.processAnnotations(Order.class);
+        return xstream.fromXML(xml);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return registry.encode(order);
+    }
+
+    @Benchmark
+    public Object binaryDecode() {
+        return registry.decode(typeId, binary);
+    }
+
+    /**
+     * Order payload as used by the order processes.
+     */
+    public static class Order {
+
+        private String id;
+        private String customerId;
+        private Date created;
+        private OrderStatus status = OrderStatus.NEW;
+        private List<OrderLine> lines = new ArrayList<>();
+
+        public Order(String id, String customerId, Date created) {
+            this.id = id;
+            this.customerId = customerId;
+            this.created = created;
+        }
+    }
+
+    public static class OrderLine {
+
+        private String sku;
+        private String description;
+        private int quantity;
+        private BigDecimal price;
+
+        public OrderLine(String sku, String description, int quantity, BigDecimal price) {
+            this.sku = sku;
+            this.description = description;
+            this.quantity = quantity;
+            this.price = price;
+        }
+    }
+
+    public enum OrderStatus {
+        NEW, PAID, SHIPPED
+    }
+
+}
@@ -29,20 +29,28 @@ import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
-import org.arrow.data.neo4j.traversal.BreadthFirstSynchronisationEvaluator;
-import org.arrow.data.neo4j.traversal.DepthFirstSynchronisationEvaluator;
+import org.arrow.data.neo4j.traversal.Neo4jExecutionStates;
 import org.arrow.model.transition.IncomingFlowAware;
 import org.arrow.runtime.api.BpmnNodeEntitySpecification;
 import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.State;
 import org.arrow.runtime.execution.service.ExecutionDataService;
 import org.arrow.runtime.execution.service.data.*;
+import org.arrow.runtime.execution.synchronisation.ExecutionStates;
+import org.arrow.runtime.execution.synchronisation.UpstreamGraph;
 import org.arrow.runtime.logger.LoggerFacade;
 import org.arrow.runtime.meta.ProcessMetaDataRepository;
+import org.arrow.runtime.support.StripedLock;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Execution data service implementation.
@@ -56,6 +64,8 @@ public class Neo4jExecutionDataService implements ExecutionDataService {
 
     private static final transient LoggerFacade LOGGER = new LoggerFacade(Neo4jExecutionDataService.class);
 
+    private static final RelationshipType SEQUENCE_FLOW = DynamicRelationshipType.withName("SEQUENCE_FLOW");
+
     @Autowired
     private Neo4jTemplate neo4jTemplate;
     @Autowired
@@ -77,36 +87,35 @@ public class Neo4jExecutionDataService implements ExecutionDataService {
     @Autowired
     private ProcessMetaDataRepository processMetaDataRepository;
 
+    /**
+     * Locks used to serialize the synchronisation of a single process instance.
+     */
+    private final StripedLock synchronisationLocks = new StripedLock(64);
+
+    /**
+     * The upstream graphs of the joining gateways by the gateway node id.
+     */
+    private final ConcurrentMap<Long, UpstreamGraph<Long>> upstreamGraphs = new ConcurrentHashMap<>();
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized SynchronisationResult depthFirstSynchronization(BpmnNodeEntitySpecification entity) {
+    public SynchronisationResult depthFirstSynchronization(BpmnNodeEntitySpecification entity, ProcessInstance pi) {
 
-        LOGGER.debug("start synchronization traversing at %s", entity.getId());
+        Lock lock = synchronisationLocks.get(pi == null ? entity.getId() : pi.getId());
+        lock.lock();
+        try {
+            LOGGER.debug("start synchronization at %s", entity.getId());
 
-        Node node = neo4jTemplate.getPersistentState(entity);
-        DepthFirstSynchronisationEvaluator evaluator = new DepthFirstSynchronisationEvaluator();
-
-        // @formatter:off
-        TraversalDescription description = graphDatabaseService.traversalDescription()
-            // enable depth first search
-            .depthFirst()
-            // traverse all incoming SEQUENCE_FLOW relations
-            .expand(PathExpanders.forType(DynamicRelationshipType.withName("SEQUENCE_FLOW")))
-            .expand(PathExpanders.forDirection(Direction.INCOMING))
-            // traverse all branches
-            .uniqueness(Uniqueness.NONE)
-            // evaluate the path
-            .evaluator(evaluator);
-        // @formatter:on
+            UpstreamGraph<Long> graph = upstreamGraph(entity);
+            SynchronisationResult result = graph.depthFirstSynchronisation(executionStates(pi));
 
-        for (Path position : description.traverse(node)) {
-            LOGGER.debug(position.toString());
+            LOGGER.debug("finish synchronization at %s with state %s", entity.getId(), result.isSynchronised());
+            return result;
+        } finally {
+            lock.unlock();
         }
-
-        LOGGER.debug("finish synchronization traversing at %s with state %s", entity.getId(), evaluator.isFinished());
-        return new SynchronisationResult(evaluator.isFinished(), evaluator.getExpect());
     }
 
     /**
@@ -114,36 +123,84 @@ public class Neo4jExecutionDataService implements ExecutionDataService {
      */
     @SuppressWarnings("ConstantConditions")
     @Override
-    public SynchronisationResult breadthFirstSynchronization(BpmnNodeEntitySpecification entity) {
+    public SynchronisationResult breadthFirstSynchronization(BpmnNodeEntitySpecification entity, ProcessInstance pi) {
 
         Assert.isTrue(entity instanceof IncomingFlowAware);
         IncomingFlowAware ifa = (IncomingFlowAware) entity;
 
         LOGGER.debug("start breadth first synchronization at %s", entity.getId());
 
+        UpstreamGraph<Long> graph = upstreamGraph(entity);
+        boolean synchronised = graph.breadthFirstSynchronisation(executionStates(pi));
+
+        LOGGER.debug("finish synchronization at %s with state %s", entity.getId(), synchronised);
+        return new SynchronisationResult(synchronised, ifa.getIncomingFlows().size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void prepareSynchronization(BpmnNodeEntitySpecification entity) {
+        Node node = neo4jTemplate.getPersistentState(entity);
+        upstreamGraphs.put(node.getId(), buildUpstreamGraph(node));
+    }
+
+    /**
+     * Returns the memoized upstream graph of the given entity.
+     *
+     * @param entity the bpmn entity specification
+     * @return UpstreamGraph
+     */
+    private UpstreamGraph<Long> upstreamGraph(BpmnNodeEntitySpecification entity) {
         Node node = neo4jTemplate.getPersistentState(entity);
-        BreadthFirstSynchronisationEvaluator evaluator = new BreadthFirstSynchronisationEvaluator();
+        return upstreamGraphs.computeIfAbsent(node.getId(), id -> buildUpstreamGraph(node));
+    }
 
-        // @formatter:off
-        TraversalDescription description = graphDatabaseService.traversalDescription()
-            // enable depth first search
-            .depthFirst()
-            // traverse all incoming SEQUENCE_FLOW relations
-            .expand(PathExpanders.forType(DynamicRelationshipType.withName("SEQUENCE_FLOW")))
-            .expand(PathExpanders.forDirection(Direction.INCOMING))
-            // traverse all branches
-            .uniqueness(Uniqueness.NONE)
-            // evaluate the path
-            .evaluator(evaluator);
-        // @formatter:on
+    /**
+     * Collects all nodes and SEQUENCE_FLOW relations upstream of the given node.
+     * Each node is expanded once, so every relation is visited exactly once.
+     *
+     * @param gateway the gateway node
+     * @return UpstreamGraph
+     */
+    private UpstreamGraph<Long> buildUpstreamGraph(Node gateway) {
 
-        for (Path position : description.traverse(node)) {
-            LOGGER.debug(position.toString());
+        UpstreamGraph.Builder<Long> builder = UpstreamGraph.builder(gateway.getId());
+
+        Set<Long> visited = new HashSet<>();
+        Deque<Node> queue = new ArrayDeque<>();
+
+        visited.add(gateway.getId());
+        queue.add(gateway);
+
+        while (!queue.isEmpty()) {
+            Node target = queue.poll();
+            for (Relationship flow : target.getRelationships(SEQUENCE_FLOW, Direction.INCOMING)) {
+                Node source = flow.getStartNode();
+                builder.flow(source.getId(), (String) flow.getProperty("id", null), target.getId());
+
+                if (visited.add(source.getId())) {
+                    queue.add(source);
+                }
+            }
         }
 
-        LOGGER.debug("finish synchronization traversing at %s with state %s", entity.getId(), evaluator.isSynchronised());
-        return new SynchronisationResult(evaluator.isSynchronised(), ifa.getIncomingFlows().size());
+        UpstreamGraph<Long> graph = builder.build();
+        LOGGER.debug("upstream graph of %s contains %s nodes and %s flows", gateway.getProperty("id", null),
+                graph.getNodes().size(), graph.getFlowCount());
+        return graph;
+    }
 
+    /**
+     * Returns the execution states of the given process instance.
+     *
+     * @param pi the process instance
+     * @return ExecutionStates
+     */
+    private ExecutionStates<Long> executionStates(ProcessInstance pi) {
+        Node piNode = pi == null || pi.getNodeId() == null ? null : neo4jTemplate.getPersistentState(pi);
+        return new Neo4jExecutionStates(graphDatabaseService, piNode);
     }
 
     @Override
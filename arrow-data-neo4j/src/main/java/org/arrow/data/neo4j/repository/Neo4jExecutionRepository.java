@@ -29,6 +29,7 @@ import org.arrow.runtime.execution.State;
 import org.arrow.runtime.execution.service.data.ExecutionRepository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -75,6 +76,16 @@ public interface Neo4jExecutionRepository extends GraphRepository<Execution>, Ex
             + "return execution")
     Set<Execution> findAllBySignalRef(String signalRef);
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Query("match (definition:SignalEventDefinition)<-[:EVENT_DEFINITION]-(event)-[:EXECUTION]->(execution) "
+            + "where definition.signalRef = {0} and execution.state = 'WAITING' and execution.id > {1} "
+            + "return execution "
+            + "ORDER BY execution.id ASC LIMIT {2}")
+    List<Execution> findBySignalRef(String signalRef, String afterId, int limit);
+
     /**
      * Returns the {@link Execution} instance by the given message reference.
      *
@@ -88,6 +99,16 @@ public interface Neo4jExecutionRepository extends GraphRepository<Execution>, Ex
             + "ORDER BY ID(execution) DESC LIMIT 1")
     Execution findByMessageRef(String messageRef);
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Query("match (execution:Execution) "
+            + "where execution.correlationKey = {0} and execution.state = 'WAITING' "
+            + "return execution "
+            + "ORDER BY ID(execution) ASC LIMIT 1")
+    Execution findByCorrelationKey(String correlationKey);
+
     @Override
     @Query("match (definition:ErrorEventDefinition)<-[:EVENT_DEFINITION]-(boundaryEvent)<-[:BOUNDARY_EVENT]-(task)-[:EXECUTION]->(taskExecution)-[:PROCESS_INSTANCE]->(pi1),"
             + "(boundaryEvent)-[:EXECUTION]-(execution)-[:PROCESS_INSTANCE]->(pi2) "
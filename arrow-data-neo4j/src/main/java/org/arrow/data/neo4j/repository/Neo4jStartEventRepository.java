@@ -28,6 +28,7 @@ import org.arrow.model.event.startevent.impl.ConditionalStartEvent;
 import org.arrow.model.event.startevent.impl.MessageStartEvent;
 import org.arrow.model.event.startevent.impl.NoneStartEvent;
 import org.arrow.model.event.startevent.impl.SignalStartEvent;
+import org.arrow.model.event.startevent.impl.TimerStartEvent;
 import org.arrow.runtime.execution.service.data.StartEventRepository;
 
 import java.util.Set;
@@ -82,6 +83,20 @@ public interface Neo4jStartEventRepository extends GraphRepository<StartEvent>,
 			+ "order by process.timestamp desc limit 1")
 	NoneStartEvent findNoneStartEventByProcessId(String processId);
 
+	/**
+	 * Returns the {@link TimerStartEvent} with the given id of the latest
+	 * deployed process version.
+	 * 
+	 * @param id the start event id
+	 * @return TimerStartEvent
+	 */
+	@Override
+	@Query("match (event:TimerStartEvent)-[:PROCESS_OF_STARTEVENT]->(process) "
+			+ "where event.id = {0} "
+			+ "return event "
+			+ "order by process.timestamp desc limit 1")
+	TimerStartEvent findTimerStartEvent(String id);
+
 	/**
 	 * Returns all {@link ConditionalStartEvent} instances by the given
 	 * conditional bean name.
@@ -25,6 +25,7 @@ import org.arrow.runtime.api.StartEventSpecification;
 import org.arrow.runtime.api.task.TaskSpecification;
 import org.arrow.runtime.execution.ProcessInstance;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -44,6 +45,28 @@ public interface ProcessInstanceStore {
      * @return ProcessInstance
      */
     public ProcessInstance store(StartEventSpecification event, Map<String, Object> map);
+
+    /**
+     * Stores a {@link ProcessInstance} for each of the given variables maps
+     * with the given {@link StartEventSpecification} in a single transaction.
+     *
+     * @param event the start event instance
+     * @param maps  the variables maps
+     * @return the process instances in the order of the variables maps
+     */
+    public List<ProcessInstance> store(StartEventSpecification event, List<Map<String, Object>> maps);
+
+    /**
+     * Stores a {@link ProcessInstance} for each of the given
+     * {@link StartEventSpecification} instances with the given variables in
+     * a single transaction.
+     *
+     * @param events the start event instances
+     * @param map    the variables map
+     * @return the process instances in the order of the start events
+     */
+    public List<ProcessInstance> store(List<? extends StartEventSpecification> events, Map<String, Object> map);
+
     public ProcessInstance store(TaskSpecification event, Map<String, Object> map);
     public ProcessInstance store(AdHocSubProcess adHocSubProcess, ProcessInstance parentProcessInstance);
 
@@ -19,16 +19,22 @@
 
 package org.arrow.data.neo4j.store.impl;
 
+import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.DynamicLabel;
 import org.neo4j.graphdb.DynamicRelationshipType;
 import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.GraphDatabaseAPI;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.stereotype.Component;
 import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.metrics.EngineMetrics;
+import org.arrow.runtime.metrics.NoOpEngineMetrics;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -41,46 +47,102 @@ import java.util.Map;
 @Component
 public class ExecutionStoreImpl {
 
+    private static final RelationshipType PROCESS_INSTANCE = DynamicRelationshipType.withName("PROCESS_INSTANCE");
+    private static final RelationshipType EXECUTION = DynamicRelationshipType.withName("EXECUTION");
+
     @Autowired
     private Neo4jTemplate template;
+    @Autowired(required = false)
+    private EngineMetrics metrics = NoOpEngineMetrics.INSTANCE;
 
-    @SuppressWarnings("deprecation")
     public void saveExecution(Execution executionTemplate) {
+        saveExecutions(Collections.singletonList(executionTemplate));
+    }
 
+    /**
+     * Saves the given executions within a single transaction.
+     *
+     * @param executions the executions to save
+     */
+    @SuppressWarnings("deprecation")
+    public void saveExecutions(Collection<Execution> executions) {
+
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
         GraphDatabaseAPI api = (GraphDatabaseAPI) template.getGraphDatabaseService();
         Transaction transaction = api.tx().unforced().begin();
 
+        try {
+            for (Execution executionTemplate : executions) {
+                saveExecution(transaction, executionTemplate);
+            }
+            transaction.success();
+        } finally {
+            transaction.close();
+        }
+
+        if (metrics.isEnabled()) {
+            metrics.histogram(EngineMetrics.STORE_SAVE_EXECUTIONS).record(System.nanoTime() - start);
+        }
+    }
+
+    private void saveExecution(Transaction transaction, Execution executionTemplate) {
+
+        final boolean created = executionTemplate.getNodeId() == null;
+
         Node executionNode;
-        if (executionTemplate.getNodeId() == null) {
-            executionNode = getExecution();
+        if (created) {
+            executionNode = getExecution(executionTemplate.getId());
         } else {
             executionNode = template.getPersistentState(executionTemplate);
         }
 
-        Node entityNode = template.getPersistentState(executionTemplate.getEntity());
-        Node processInstanceNode = template.getPersistentState(executionTemplate.getProcessInstance());
-
+        // only the execution node is locked, the BPMN entity node is a shared
+        // and immutable definition node
         transaction.acquireWriteLock(executionNode);
-        transaction.acquireWriteLock(entityNode);
 
-        executionNode.createRelationshipTo(processInstanceNode, DynamicRelationshipType.withName("PROCESS_INSTANCE"));
-        entityNode.createRelationshipTo(executionNode, DynamicRelationshipType.withName("EXECUTION"));
+        // link the execution once, later state changes only touch the execution node
+        if (created || !executionNode.hasRelationship(PROCESS_INSTANCE, Direction.OUTGOING)) {
+            Node processInstanceNode = template.getPersistentState(executionTemplate.getProcessInstance());
+            executionNode.createRelationshipTo(processInstanceNode, PROCESS_INSTANCE);
+        }
+        if (created || !executionNode.hasRelationship(EXECUTION, Direction.INCOMING)) {
+            Node entityNode = template.getPersistentState(executionTemplate.getEntity());
+            entityNode.createRelationshipTo(executionNode, EXECUTION);
+        }
 
-        executionNode.setProperty("state", executionTemplate.getState().name());
+        // a join execution waiting for further flows has no state yet
+        if (executionTemplate.getState() != null) {
+            executionNode.setProperty("state", executionTemplate.getState().name());
+        }
+
+        // the correlation key is label indexed, the index follows the property
+        if (executionTemplate.getCorrelationKey() != null) {
+            executionNode.setProperty("correlationKey", executionTemplate.getCorrelationKey());
+        } else if (!created) {
+            executionNode.removeProperty("correlationKey");
+        }
 
         for (String flowId : executionTemplate.getEnabledFlowIdsContainer()) {
             executionNode.setProperty("enabledFlowIds-" + flowId, true);
         }
-
-        transaction.success();
-        transaction.close();
-
     }
 
     public Node getExecution() {
+        return getExecution(null);
+    }
+
+    /**
+     * Creates an execution node with the given id. Ids derived by the engine,
+     * e.g. the ids of boundary event executions, must be kept so that their
+     * timers find the execution. A new id is generated if the id is null.
+     *
+     * @param id the execution id
+     * @return Node
+     */
+    public Node getExecution(String id) {
 
         Map<String, Object> properties = new HashMap<>();
-        properties.put("id", String.valueOf(System.nanoTime()));
+        properties.put("id", id != null ? id : String.valueOf(System.nanoTime()));
 
         Node node = template.createNode(properties);
         node.addLabel(DynamicLabel.label("Execution"));
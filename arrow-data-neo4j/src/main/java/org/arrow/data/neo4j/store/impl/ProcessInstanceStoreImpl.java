@@ -20,7 +20,6 @@
 package org.arrow.data.neo4j.store.impl;
 
 import akka.actor.ActorSystem;
-import com.thoughtworks.xstream.XStream;
 import org.arrow.data.neo4j.store.ProcessInstanceStore;
 import org.neo4j.graphdb.*;
 import org.neo4j.graphdb.Transaction;
@@ -40,9 +39,13 @@ import org.arrow.runtime.api.StartEventSpecification;
 import org.arrow.runtime.api.task.TaskSpecification;
 import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.service.ExecutionService;
+import org.arrow.runtime.variable.VariableCodecRegistry;
+import org.arrow.runtime.variable.VariableDecoder;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
@@ -68,6 +71,9 @@ public class ProcessInstanceStoreImpl implements ProcessInstanceStore {
     @Autowired
     private ConversionService conversionService;
 
+    @Autowired(required = false)
+    private VariableCodecRegistry variableCodecs = new VariableCodecRegistry();
+
     private Node getProcessInstance() {
 
         Map<String, Object> properties = new HashMap<>();
@@ -131,71 +137,71 @@ public class ProcessInstanceStoreImpl implements ProcessInstanceStore {
     /**
      * {@inheritDoc}
      */
-    private ProcessInstance store(BpmnNodeEntitySpecification event,
-                                  Map<String, Object> map, SubProcessEntity sub, ProcessInstance parentPi) {
+    @Override
+    public List<ProcessInstance> store(StartEventSpecification event, List<Map<String, Object>> maps) {
 
         GraphDatabaseAPI api = (GraphDatabaseAPI) template.getGraphDatabaseService();
         Transaction transaction = api.tx().unforced().begin();
         try {
 
             Node eventNode = template.getPersistentState(event);
+            List<ProcessInstance> processInstances = new ArrayList<>(maps.size());
 
-            Assert.notNull(eventNode, "start event must not be null");
-            Assert.notNull(map, "variables map must not be null");
-
-            final Node node = getProcessInstance();
-
-
-            Node processNode;
-            if (sub instanceof CallActivityTask || sub == null) {
-
-                if (sub != null) {
-                    Node processTrigger = template.getPersistentState(sub);
-                    node.createRelationshipTo(processTrigger, DynamicRelationshipType.withName("PROCESS_TRIGGER"));
-                }
+            for (Map<String, Object> map : maps) {
+                Node node = createProcessInstance(event, eventNode, map, null, null);
+                processInstances.add(executionService.data().processInstance().findOne(node.getId()));
+            }
 
-                Iterable<Relationship> relationships;
+            transaction.success();
+            return processInstances;
+        } catch (Throwable throwable) {
+            transaction.failure();
+            throw new RuntimeException(throwable);
+        } finally {
+            transaction.close();
+        }
+    }
 
-                if (event instanceof ReceiveTask) {
-                    MessageEventDefinition definition = ((ReceiveTask) event).getMessageEventDefinition();
-                    Node source = template.getPersistentState(definition);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ProcessInstance> store(List<? extends StartEventSpecification> events, Map<String, Object> map) {
 
-                    relationships = source.getRelationships(Direction.OUTGOING, DynamicRelationshipType.withName("PROCESS"));
-                } else {
-                    relationships = eventNode.getRelationships(Direction.OUTGOING, DynamicRelationshipType.withName("PROCESS_OF_STARTEVENT"));
-                }
+        GraphDatabaseAPI api = (GraphDatabaseAPI) template.getGraphDatabaseService();
+        Transaction transaction = api.tx().unforced().begin();
+        try {
 
+            List<ProcessInstance> processInstances = new ArrayList<>(events.size());
 
-                processNode = relationships.iterator().next().getEndNode();
-            } else {
-                processNode = template.getPersistentState(sub);
+            for (StartEventSpecification event : events) {
+                Node eventNode = template.getPersistentState(event);
+                Node node = createProcessInstance(event, eventNode, map, null, null);
+                processInstances.add(executionService.data().processInstance().findOne(node.getId()));
             }
 
-            transaction.acquireWriteLock(processNode);
-
-            for (String key : map.keySet()) {
-                Object value = map.get(key);
-                Class<?> cls = value.getClass();
-
-                if (cls.isArray() || ClassUtils.isPrimitiveOrWrapper(cls)) {
-                    node.setProperty("variables-" + key, value);
-                } else if (conversionService.canConvert(cls, String.class)) {
-                    value = conversionService.convert(value, String.class);
-                    node.setProperty("variables-" + key, value);
-                    node.setProperty("variables-" + key + "-type", cls.getName());
-                } else {
-                    node.setProperty("variables-" + key, toXml(value));
-                    node.setProperty("variables-" + key + "-type", cls.getName());
-                }
-            }
+            transaction.success();
+            return processInstances;
+        } catch (Throwable throwable) {
+            transaction.failure();
+            throw new RuntimeException(throwable);
+        } finally {
+            transaction.close();
+        }
+    }
 
-            if (parentPi != null) {
-                Node parentPiNode = template.getPersistentState(parentPi);
-                node.createRelationshipTo(parentPiNode, DynamicRelationshipType.withName("PARENT_PROCESS_INSTANCE"));
-            }
+    /**
+     * {@inheritDoc}
+     */
+    private ProcessInstance store(BpmnNodeEntitySpecification event,
+                                  Map<String, Object> map, SubProcessEntity sub, ProcessInstance parentPi) {
 
-            node.setProperty("key", processNode.getProperty("id"));
-            node.createRelationshipTo(processNode, DynamicRelationshipType.withName("PROCESS"));
+        GraphDatabaseAPI api = (GraphDatabaseAPI) template.getGraphDatabaseService();
+        Transaction transaction = api.tx().unforced().begin();
+        try {
+
+            Node eventNode = template.getPersistentState(event);
+            Node node = createProcessInstance(event, eventNode, map, sub, parentPi);
 
             transaction.success();
             return executionService.data().processInstance().findOne(node.getId());
@@ -208,6 +214,77 @@ public class ProcessInstanceStoreImpl implements ProcessInstanceStore {
 
     }
 
+    /**
+     * Creates the process instance node within the current transaction.
+     *
+     * @param event     the start event
+     * @param eventNode the node of the start event
+     * @param map       the variables map
+     * @param sub       the sub process, may be null
+     * @param parentPi  the parent process instance, may be null
+     * @return Node
+     */
+    private Node createProcessInstance(BpmnNodeEntitySpecification event, Node eventNode,
+                                       Map<String, Object> map, SubProcessEntity sub, ProcessInstance parentPi) {
+
+        Assert.notNull(eventNode, "start event must not be null");
+        Assert.notNull(map, "variables map must not be null");
+
+        final Node node = getProcessInstance();
+
+        // lock the parent process instance before the definition nodes, in the
+        // order the executions of the parent process instance are stored
+        if (parentPi != null) {
+            Node parentPiNode = template.getPersistentState(parentPi);
+            node.createRelationshipTo(parentPiNode, DynamicRelationshipType.withName("PARENT_PROCESS_INSTANCE"));
+        }
+
+        Node processNode;
+        if (sub instanceof CallActivityTask || sub == null) {
+
+            if (sub != null) {
+                Node processTrigger = template.getPersistentState(sub);
+                node.createRelationshipTo(processTrigger, DynamicRelationshipType.withName("PROCESS_TRIGGER"));
+            }
+
+            Iterable<Relationship> relationships;
+
+            if (event instanceof ReceiveTask) {
+                MessageEventDefinition definition = ((ReceiveTask) event).getMessageEventDefinition();
+                Node source = template.getPersistentState(definition);
+
+                relationships = source.getRelationships(Direction.OUTGOING, DynamicRelationshipType.withName("PROCESS"));
+            } else {
+                relationships = eventNode.getRelationships(Direction.OUTGOING, DynamicRelationshipType.withName("PROCESS_OF_STARTEVENT"));
+            }
+
+            processNode = relationships.iterator().next().getEndNode();
+        } else {
+            processNode = template.getPersistentState(sub);
+        }
+
+        for (String key : map.keySet()) {
+            Object value = map.get(key);
+            Class<?> cls = value.getClass();
+
+            if (cls.isArray() || ClassUtils.isPrimitiveOrWrapper(cls)) {
+                node.setProperty("variables-" + key, value);
+            } else if (conversionService.canConvert(cls, String.class)) {
+                value = conversionService.convert(value, String.class);
+                node.setProperty("variables-" + key, value);
+                node.setProperty("variables-" + VariableDecoder.typeKey(key), cls.getName());
+            } else {
+                node.setProperty("variables-" + key, variableCodecs.encode(value));
+                node.setProperty("variables-" + VariableDecoder.typeKey(key), variableCodecs.getTypeId(value));
+            }
+        }
+
+        node.setProperty("key", processNode.getProperty("id"));
+        node.createRelationshipTo(processNode, DynamicRelationshipType.withName("PROCESS"));
+
+        return node;
+    }
+
     @Override
     public ProcessInstance store(AdHocSubProcess adHocSubProcess, ProcessInstance parentProcessInstance) {
         GraphDatabaseAPI api = (GraphDatabaseAPI) template.getGraphDatabaseService();
@@ -217,8 +294,6 @@ public class ProcessInstanceStoreImpl implements ProcessInstanceStore {
             final Node node = getProcessInstance();
             Node processNode = template.getPersistentState(adHocSubProcess);
 
-            transaction.acquireWriteLock(processNode);
-
 
             if (parentProcessInstance != null) {
                 Node parentPiNode = template.getPersistentState(parentProcessInstance);
@@ -263,11 +338,4 @@ public class ProcessInstanceStoreImpl implements ProcessInstanceStore {
         }
     }
 
-    private String toXml(Object value) {
-        XStream xstream = new XStream();
-
-        xstream.processAnnotations(value.getClass());
-        return xstream.toXML(value);
-    }
-
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * This file is build on Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.arrow.data.neo4j.store.impl;
+
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.arrow.runtime.timer.TimerJob;
+import org.arrow.runtime.timer.TimerStore;
+import org.neo4j.graphdb.DynamicLabel;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.index.IndexHits;
+import org.neo4j.index.lucene.QueryContext;
+import org.neo4j.index.lucene.ValueContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link TimerStore} implementation class. The timers are stored as 'Timer'
+ * nodes, the due date is kept in a numeric lucene index, so that the due
+ * timers are found by a range query instead of a label scan.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Component
+public class TimerStoreImpl implements TimerStore {
+
+    private static final String INDEX = "timers";
+    private static final String ID = "id";
+    private static final String TYPE = "type";
+    private static final String TARGET_ID = "targetId";
+    private static final String DUE_DATE = "dueDate";
+
+    private static final Sort DUE_DATE_ORDER = new Sort(new SortField(DUE_DATE, SortField.LONG),
+            new SortField(ID, SortField.STRING));
+
+    @Autowired
+    private Neo4jTemplate template;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void save(Collection<TimerJob> jobs) {
+
+        GraphDatabaseService gds = template.getGraphDatabaseService();
+        Transaction transaction = gds.beginTx();
+        try {
+            Index<Node> index = gds.index().forNodes(INDEX);
+
+            for (TimerJob job : jobs) {
+                Node node = index.get(ID, job.getId()).getSingle();
+                if (node == null) {
+                    node = gds.createNode(DynamicLabel.label("Timer"));
+                    node.setProperty(ID, job.getId());
+                    index.add(node, ID, job.getId());
+                } else {
+                    index.remove(node, DUE_DATE);
+                }
+
+                node.setProperty(TYPE, job.getType());
+                if (job.getTargetId() != null) {
+                    node.setProperty(TARGET_ID, job.getTargetId());
+                }
+                node.setProperty(DUE_DATE, job.getDueDate());
+                index.add(node, DUE_DATE, ValueContext.numeric(job.getDueDate()));
+            }
+
+            transaction.success();
+        } catch (Throwable throwable) {
+            transaction.failure();
+            throw new RuntimeException(throwable);
+        } finally {
+            transaction.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(Collection<String> ids) {
+
+        GraphDatabaseService gds = template.getGraphDatabaseService();
+        Transaction transaction = gds.beginTx();
+        try {
+            Index<Node> index = gds.index().forNodes(INDEX);
+
+            for (String id : ids) {
+                Node node = index.get(ID, id).getSingle();
+                if (node != null) {
+                    delete(index, node);
+                }
+            }
+
+            transaction.success();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteFired(Collection<TimerJob> jobs) {
+
+        GraphDatabaseService gds = template.getGraphDatabaseService();
+        Transaction transaction = gds.beginTx();
+        try {
+            Index<Node> index = gds.index().forNodes(INDEX);
+
+            for (TimerJob job : jobs) {
+                Node node = index.get(ID, job.getId()).getSingle();
+
+                // keep the timer if it was rescheduled meanwhile
+                if (node != null && job.getDueDate() == (Long) node.getProperty(DUE_DATE)) {
+                    delete(index, node);
+                }
+            }
+
+            transaction.success();
+        } finally {
+            transaction.close();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<TimerJob> findDue(long from, long to, int limit) {
+
+        GraphDatabaseService gds = template.getGraphDatabaseService();
+        Transaction transaction = gds.beginTx();
+        try {
+            QueryContext query = QueryContext.numericRange(DUE_DATE, from, to, true, false)
+                    .sort(DUE_DATE_ORDER).top(limit);
+
+            List<TimerJob> jobs = new ArrayList<>();
+            IndexHits<Node> hits = gds.index().forNodes(INDEX).query(query);
+            try {
+                for (Node node : hits) {
+                    if (jobs.size() == limit) {
+                        break;
+                    }
+                    jobs.add(toTimerJob(node));
+                }
+            } finally {
+                hits.close();
+            }
+
+            transaction.success();
+            return jobs;
+        } finally {
+            transaction.close();
+        }
+    }
+
+    private void delete(Index<Node> index, Node node) {
+        index.remove(node);
+        node.delete();
+    }
+
+    private TimerJob toTimerJob(Node node) {
+        String id = (String) node.getProperty(ID);
+        String type = (String) node.getProperty(TYPE);
+        String targetId = (String) node.getProperty(TARGET_ID, null);
+        long dueDate = (Long) node.getProperty(DUE_DATE);
+
+        return new TimerJob(id, type, targetId, dueDate);
+    }
+
+}
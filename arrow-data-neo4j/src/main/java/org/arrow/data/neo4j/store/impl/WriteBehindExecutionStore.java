@@ -0,0 +1,230 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * This file is build on Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.arrow.data.neo4j.store.impl;
+
+import akka.dispatch.Futures;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.logger.LoggerFacade;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write behind decorator of the {@link ExecutionStoreImpl}. Saved executions
+ * are queued and committed in batches, either when the batch size is reached
+ * or when the time window of the first queued execution elapsed. A single
+ * writer thread commits the batches in the order of arrival, so the changes
+ * of a process instance are never reordered. Repeated saves of the same
+ * execution within a batch are merged into one write.
+ * <p>
+ * The future returned by {@link #saveExecution(Execution)} completes after
+ * the batch was committed, so callers acknowledge a state change only when
+ * it is durable. Executions saved before the shutdown are committed by
+ * {@link #stop()}, later saves fail. The mode is enabled by the
+ * {@code arrow.store.write-behind} property, otherwise each execution is
+ * saved in its own transaction.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Component
+public class WriteBehindExecutionStore {
+
+    private static final LoggerFacade LOGGER = new LoggerFacade(WriteBehindExecutionStore.class);
+
+    @Autowired
+    private ExecutionStoreImpl executionStore;
+    @Autowired
+    private Environment environment;
+
+    /** marks the end of the queue on shutdown */
+    private static final PendingExecution SHUTDOWN = new PendingExecution(null);
+
+    private final BlockingQueue<PendingExecution> queue = new LinkedBlockingQueue<>();
+
+    private boolean enabled;
+    private int batchSize;
+    private long windowMillis;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    @PostConstruct
+    public void start() {
+        enabled = environment.getProperty("arrow.store.write-behind", Boolean.class, false);
+        batchSize = environment.getProperty("arrow.store.write-behind.batch-size", Integer.class, 256);
+        windowMillis = environment.getProperty("arrow.store.write-behind.window", Long.class, 5L);
+
+        if (!enabled) {
+            return;
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "arrow-execution-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        LOGGER.info("write behind execution store started (batch size %s, window %sms)", batchSize, windowMillis);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        // the writer commits the queued executions before it terminates
+        running = false;
+        queue.add(SHUTDOWN);
+        writer.join();
+
+        // saves which raced with the shutdown are committed by the stopping thread
+        List<PendingExecution> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.remove(SHUTDOWN);
+        flush(remaining);
+    }
+
+    /**
+     * Indicates if the write behind mode is enabled.
+     *
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Saves the given execution. The returned future completes as soon as
+     * the execution state is committed.
+     *
+     * @param execution the execution to save
+     * @return Future
+     */
+    public Future<Execution> saveExecution(Execution execution) {
+
+        if (!enabled) {
+            try {
+                executionStore.saveExecution(execution);
+                return Futures.successful(execution);
+            } catch (RuntimeException e) {
+                return Futures.failed(e);
+            }
+        }
+
+        if (!running) {
+            return Futures.failed(new IllegalStateException("write behind execution store is stopped"));
+        }
+
+        PendingExecution pending = new PendingExecution(execution);
+        queue.add(pending);
+        return pending.promise.future();
+    }
+
+    private void writeLoop() {
+        List<PendingExecution> batch = new ArrayList<>(batchSize);
+        boolean stopped = false;
+
+        try {
+            while (!stopped) {
+                PendingExecution next = queue.take();
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+                while (next != null) {
+                    if (next == SHUTDOWN) {
+                        stopped = true;
+                        break;
+                    }
+                    batch.add(next);
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                    next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flush(batch);
+        }
+    }
+
+    /**
+     * Commits the given executions within one transaction and completes the
+     * futures of the pending saves.
+     *
+     * @param batch the pending executions
+     */
+    private void flush(List<PendingExecution> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // merge repeated saves of the same execution while keeping the order
+        Map<Execution, Boolean> executions = new IdentityHashMap<>();
+        List<Execution> merged = new ArrayList<>(batch.size());
+        for (PendingExecution pending : batch) {
+            if (executions.put(pending.execution, Boolean.TRUE) == null) {
+                merged.add(pending.execution);
+            }
+        }
+
+        try {
+            executionStore.saveExecutions(merged);
+            LOGGER.debug("committed %s executions of %s saves", merged.size(), batch.size());
+
+            for (PendingExecution pending : batch) {
+                pending.promise.success(pending.execution);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error(e, "unable to commit %s executions", merged.size());
+            for (PendingExecution pending : batch) {
+                pending.promise.failure(e);
+            }
+        }
+    }
+
+    /**
+     * Execution save waiting to be committed.
+     */
+    private static class PendingExecution {
+
+        private final Execution execution;
+        private final Promise<Execution> promise = Futures.promise();
+
+        PendingExecution(Execution execution) {
+            this.execution = execution;
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * This file is build on Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.arrow.data.neo4j.traversal;
+
+import org.neo4j.graphdb.*;
+import org.arrow.runtime.execution.State;
+import org.arrow.runtime.execution.synchronisation.ExecutionStates;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@link ExecutionStates} implementation which reads the execution states
+ * from the graph. If a process instance node is given, only the executions
+ * of that process instance are taken into account.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class Neo4jExecutionStates implements ExecutionStates<Long> {
+
+    private static final RelationshipType EXECUTION = DynamicRelationshipType.withName("EXECUTION");
+    private static final RelationshipType PROCESS_INSTANCE = DynamicRelationshipType.withName("PROCESS_INSTANCE");
+
+    private final GraphDatabaseService graphDatabaseService;
+    private final Node processInstance;
+
+    /** the execution nodes of the process instance by the entity node id */
+    private Map<Long, Node> executions;
+
+    public Neo4jExecutionStates(GraphDatabaseService graphDatabaseService, Node processInstance) {
+        this.graphDatabaseService = graphDatabaseService;
+        this.processInstance = processInstance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public State stateOf(Long node) {
+        Node execution = execution(node);
+        if (execution == null) {
+            return null;
+        }
+        String state = (String) execution.getProperty("state", null);
+        return state == null ? null : State.valueOf(state.toUpperCase());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEnabled(Long node, String flowId) {
+        Node execution = execution(node);
+        return execution != null && execution.hasProperty("enabledFlowIds-" + flowId);
+    }
+
+    /**
+     * Returns the execution node of the entity node with the given id.
+     *
+     * @param node the entity node id
+     * @return Node
+     */
+    private Node execution(Long node) {
+
+        if (processInstance == null) {
+            Node entity = graphDatabaseService.getNodeById(node);
+            Iterator<Relationship> relationships = entity.getRelationships(EXECUTION, Direction.OUTGOING).iterator();
+            return relationships.hasNext() ? relationships.next().getEndNode() : null;
+        }
+
+        if (executions == null) {
+            executions = new HashMap<>();
+            for (Relationship relationship : processInstance.getRelationships(PROCESS_INSTANCE, Direction.INCOMING)) {
+                Node execution = relationship.getStartNode();
+                for (Relationship entity : execution.getRelationships(EXECUTION, Direction.INCOMING)) {
+                    executions.putIfAbsent(entity.getStartNode().getId(), execution);
+                }
+            }
+        }
+        return executions.get(node);
+    }
+
+}
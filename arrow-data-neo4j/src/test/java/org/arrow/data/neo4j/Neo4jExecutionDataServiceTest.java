@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * This file is build on Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.arrow.data.neo4j;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.arrow.runtime.api.BpmnNodeEntitySpecification;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.support.StripedLock;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies the per process instance locking of the synchronisation. The
+ * lookup of the gateway node, which happens under the lock, is blocked on
+ * a latch, so the test controls which synchronisation holds the lock.
+ */
+@Category(UnitTest.class)
+public class Neo4jExecutionDataServiceTest {
+
+	private final Map<String, CountDownLatch> blocked = new ConcurrentHashMap<>();
+	private final Map<String, CountDownLatch> entered = new ConcurrentHashMap<>();
+
+	private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+
+	private Neo4jExecutionDataService service;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		nodes.put("gateway1", node(1));
+		nodes.put("gateway2", node(2));
+
+		Neo4jTemplate template = mock(Neo4jTemplate.class);
+		when(template.getPersistentState(any())).thenAnswer(invocation -> {
+			String id = ((BpmnNodeEntitySpecification) invocation.getArguments()[0]).getId();
+			entered.computeIfAbsent(id, key -> new CountDownLatch(1)).countDown();
+			CountDownLatch latch = blocked.get(id);
+			if (latch != null) {
+				latch.await();
+			}
+			return nodes.get(id);
+		});
+
+		service = new Neo4jExecutionDataService();
+		ReflectionTestUtils.setField(service, "neo4jTemplate", template);
+		ReflectionTestUtils.setField(service, "graphDatabaseService", mock(GraphDatabaseService.class));
+
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void synchronisationsOfDistinctProcessInstancesShouldNotBlockEachOther() throws Exception {
+		String pi1 = "pi-1";
+		String pi2 = keyOnOtherStripe(pi1);
+
+		blocked.put("gateway1", new CountDownLatch(1));
+		Future<?> first = synchronize("gateway1", pi1);
+		awaitEntered("gateway1");
+
+		// the first synchronisation still holds the lock of its process instance
+		Future<?> second = synchronize("gateway2", pi2);
+		second.get(10, TimeUnit.SECONDS);
+		Assert.assertThat(first.isDone(), equalTo(false));
+
+		blocked.get("gateway1").countDown();
+		first.get(10, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void synchronisationsOfTheSameProcessInstanceShouldBeSerialised() throws Exception {
+		blocked.put("gateway1", new CountDownLatch(1));
+		Future<?> first = synchronize("gateway1", "pi-1");
+		awaitEntered("gateway1");
+
+		BpmnNodeEntitySpecification gateway2 = entity("gateway2");
+		ProcessInstance pi = pi("pi-1");
+		Thread[] thread = new Thread[1];
+		Future<?> second = executor.submit(() -> {
+			thread[0] = Thread.currentThread();
+			return service.depthFirstSynchronization(gateway2, pi);
+		});
+
+		// the second synchronisation waits for the lock of the process instance
+		awaitWaiting(thread);
+		Assert.assertThat(entered.containsKey("gateway2"), equalTo(false));
+
+		blocked.get("gateway1").countDown();
+		first.get(10, TimeUnit.SECONDS);
+		second.get(10, TimeUnit.SECONDS);
+		Assert.assertThat(entered.containsKey("gateway2"), equalTo(true));
+	}
+
+	private Future<?> synchronize(String entityId, String piId) {
+		BpmnNodeEntitySpecification entity = entity(entityId);
+		ProcessInstance pi = pi(piId);
+		return executor.submit(() -> service.depthFirstSynchronization(entity, pi));
+	}
+
+	private void awaitEntered(String entityId) throws InterruptedException {
+		CountDownLatch latch = entered.computeIfAbsent(entityId, key -> new CountDownLatch(1));
+		Assert.assertThat(latch.await(10, TimeUnit.SECONDS), equalTo(true));
+	}
+
+	private static void awaitWaiting(Thread[] thread) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (thread[0] == null || thread[0].getState() != Thread.State.WAITING) {
+			Assert.assertThat(System.nanoTime() < deadline, equalTo(true));
+			Thread.sleep(1);
+		}
+	}
+
+	private static String keyOnOtherStripe(String key) {
+		StripedLock locks = new StripedLock(64);
+		int i = 2;
+		while (locks.get("pi-" + i) == locks.get(key)) {
+			i++;
+		}
+		return "pi-" + i;
+	}
+
+	private static BpmnNodeEntitySpecification entity(String id) {
+		BpmnNodeEntitySpecification entity = mock(BpmnNodeEntitySpecification.class);
+		when(entity.getId()).thenReturn(id);
+		return entity;
+	}
+
+	private static ProcessInstance pi(String id) {
+		ProcessInstance pi = new ProcessInstance();
+		pi.setId(id);
+		return pi;
+	}
+
+	private static Node node(long id) {
+		Node node = mock(Node.class);
+		when(node.getId()).thenReturn(id);
+		when(node.getProperty(anyString(), any())).thenReturn(null);
+		when(node.getRelationships(any(RelationshipType.class), any(Direction.class)))
+				.thenReturn(Collections.<Relationship>emptyList());
+		return node;
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * This file is build on Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.arrow.data.neo4j.store.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.arrow.runtime.timer.TimerJob;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.test.TestGraphDatabaseFactory;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests the {@link TimerStoreImpl} on a database stored on disk, so that the
+ * recovery of the timers after a restart can be verified.
+ */
+@Category(UnitTest.class)
+public class TimerStoreImplTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private GraphDatabaseService gds;
+	private TimerStoreImpl store;
+
+	@Before
+	public void setUp() {
+		start();
+	}
+
+	@After
+	public void tearDown() {
+		gds.shutdown();
+	}
+
+	@Test
+	public void timersShouldSurviveARestart() {
+		TimerJob first = new TimerJob("b", TimerJob.EXECUTION, "execution-b", 100);
+		TimerJob second = new TimerJob("a", TimerJob.START_EVENT, "event-a", 200);
+		TimerJob third = new TimerJob("c", TimerJob.EXECUTION, null, 100);
+		store.save(Arrays.asList(second, first, third));
+
+		restart();
+
+		// ordered by due date and id
+		Assert.assertThat(store.findDue(0, 1000, 10), equalTo(Arrays.asList(first, third, second)));
+		TimerJob loaded = store.findDue(150, 1000, 10).get(0);
+		Assert.assertThat(loaded.getType(), equalTo(TimerJob.START_EVENT));
+		Assert.assertThat(loaded.getTargetId(), equalTo("event-a"));
+	}
+
+	@Test
+	public void findDueShouldRespectTheRangeAndTheLimit() {
+		store.save(Arrays.asList(job("a", 100), job("b", 200), job("c", 300), job("d", 400)));
+
+		Assert.assertThat(store.findDue(200, 400, 10), equalTo(Arrays.asList(job("b", 200), job("c", 300))));
+		Assert.assertThat(store.findDue(0, 1000, 3), equalTo(Arrays.asList(job("a", 100), job("b", 200), job("c", 300))));
+	}
+
+	@Test
+	public void savedTimerShouldReplaceTheTimerWithTheSameId() {
+		store.save(Collections.singletonList(job("a", 100)));
+		store.save(Collections.singletonList(job("a", 500)));
+
+		restart();
+
+		Assert.assertThat(store.findDue(0, 1000, 10), equalTo(Collections.singletonList(job("a", 500))));
+	}
+
+	@Test
+	public void firedTimerShouldBeKeptIfItWasRescheduled() {
+		store.save(Arrays.asList(job("a", 100), job("b", 100)));
+		store.save(Collections.singletonList(job("b", 500)));
+
+		store.deleteFired(Arrays.asList(job("a", 100), job("b", 100)));
+		restart();
+
+		Assert.assertThat(store.findDue(0, 1000, 10), equalTo(Collections.singletonList(job("b", 500))));
+	}
+
+	@Test
+	public void deletedTimersShouldNotBeRecovered() {
+		store.save(Arrays.asList(job("a", 100), job("b", 200)));
+		store.delete(Arrays.asList("a", "unknown"));
+
+		restart();
+
+		Assert.assertThat(store.findDue(0, 1000, 10), equalTo(Collections.singletonList(job("b", 200))));
+	}
+
+	private void start() {
+		gds = new TestGraphDatabaseFactory().newEmbeddedDatabase(folder.getRoot().getAbsolutePath());
+
+		Neo4jTemplate template = mock(Neo4jTemplate.class);
+		when(template.getGraphDatabaseService()).thenReturn(gds);
+
+		store = new TimerStoreImpl();
+		ReflectionTestUtils.setField(store, "template", template);
+	}
+
+	private void restart() {
+		gds.shutdown();
+		start();
+	}
+
+	private static TimerJob job(String id, long dueDate) {
+		return new TimerJob(id, TimerJob.EXECUTION, id, dueDate);
+	}
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * This file is build on Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.arrow.data.neo4j.store.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+import org.arrow.runtime.execution.Execution;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import scala.concurrent.Await;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Category(UnitTest.class)
+public class WriteBehindExecutionStoreTest {
+
+	private static final Duration TIMEOUT = Duration.create(10, TimeUnit.SECONDS);
+
+	private final RecordingExecutionStore executionStore = new RecordingExecutionStore();
+	private WriteBehindExecutionStore store;
+
+	@After
+	public void tearDown() throws InterruptedException {
+		executionStore.release.countDown();
+		if (store != null) {
+			store.stop();
+		}
+	}
+
+	@Test
+	public void disabledStoreShouldSaveEachExecutionImmediately() throws Exception {
+		store = store(false, 10, 1000);
+		Execution execution = new Execution();
+
+		Future<Execution> future = store.saveExecution(execution);
+
+		Assert.assertThat(future.isCompleted(), equalTo(true));
+		Assert.assertThat(executionStore.batches, equalTo(batches(list(execution))));
+	}
+
+	@Test
+	public void batchesShouldBeCommittedInTheOrderOfTheSaves() throws Exception {
+		executionStore.hold();
+		store = store(true, 2, 1000);
+
+		List<Execution> executions = executions(5);
+		List<Future<Execution>> futures = new ArrayList<>();
+		for (Execution execution : executions) {
+			futures.add(store.saveExecution(execution));
+		}
+		executionStore.release.countDown();
+		for (Future<Execution> future : futures) {
+			Await.result(future, TIMEOUT);
+		}
+
+		List<Execution> committed = new ArrayList<>();
+		for (List<Execution> batch : executionStore.batches) {
+			Assert.assertThat(batch.size() <= 2, equalTo(true));
+			committed.addAll(batch);
+		}
+		Assert.assertThat(committed, equalTo(executions));
+	}
+
+	@Test
+	public void repeatedSavesWithinABatchShouldBeMerged() throws Exception {
+		executionStore.hold();
+		store = store(true, 10, 1000);
+
+		// the first save is taken by the writer, which then waits for the store
+		Execution first = new Execution();
+		Future<Execution> blocking = store.saveExecution(first);
+		executionStore.awaitEntered();
+
+		Execution execution1 = new Execution();
+		Execution execution2 = new Execution();
+		List<Future<Execution>> futures = Arrays.asList(store.saveExecution(execution1),
+				store.saveExecution(execution2), store.saveExecution(execution1));
+
+		executionStore.release.countDown();
+		Await.result(blocking, TIMEOUT);
+		for (Future<Execution> future : futures) {
+			Assert.assertThat(Await.result(future, TIMEOUT), instanceOf(Execution.class));
+		}
+		Assert.assertThat(executionStore.batches, equalTo(batches(list(first), list(execution1, execution2))));
+	}
+
+	@Test
+	public void saveShouldCompleteOnlyAfterTheCommit() throws Exception {
+		executionStore.hold();
+		store = store(true, 1, 1000);
+
+		Execution execution = new Execution();
+		Future<Execution> future = store.saveExecution(execution);
+		executionStore.awaitEntered();
+
+		// the batch is being written but not yet committed
+		Assert.assertThat(future.isCompleted(), equalTo(false));
+		Assert.assertThat(executionStore.batches.isEmpty(), equalTo(true));
+
+		executionStore.release.countDown();
+		Await.result(future, TIMEOUT);
+		Assert.assertThat(executionStore.batches, equalTo(batches(list(execution))));
+	}
+
+	@Test
+	public void stopShouldCommitTheQueuedExecutions() throws Exception {
+		// the window is far longer than the test, only the shutdown flushes the batch
+		store = store(true, 100, 60000);
+
+		List<Execution> executions = executions(3);
+		List<Future<Execution>> futures = new ArrayList<>();
+		for (Execution execution : executions) {
+			futures.add(store.saveExecution(execution));
+		}
+		store.stop();
+
+		for (Future<Execution> future : futures) {
+			Assert.assertThat(future.isCompleted(), equalTo(true));
+		}
+		Assert.assertThat(executionStore.batches, equalTo(batches(executions)));
+	}
+
+	@Test
+	public void saveAfterStopShouldFail() throws Exception {
+		store = store(true, 10, 1000);
+		store.stop();
+
+		Future<Execution> future = store.saveExecution(new Execution());
+
+		Assert.assertThat(future.value().get().isFailure(), equalTo(true));
+		Assert.assertThat(executionStore.batches.isEmpty(), equalTo(true));
+	}
+
+	@Test
+	public void failedCommitShouldFailAllSavesOfTheBatch() throws Exception {
+		executionStore.failure = new IllegalStateException("commit failed");
+		store = store(true, 10, 1000);
+
+		Future<Execution> future = store.saveExecution(new Execution());
+
+		try {
+			Await.result(future, TIMEOUT);
+			Assert.fail("the save should fail");
+		} catch (IllegalStateException e) {
+			Assert.assertThat(e.getMessage(), equalTo("commit failed"));
+		}
+	}
+
+	private WriteBehindExecutionStore store(boolean enabled, int batchSize, long window) {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("arrow.store.write-behind", String.valueOf(enabled));
+		environment.setProperty("arrow.store.write-behind.batch-size", String.valueOf(batchSize));
+		environment.setProperty("arrow.store.write-behind.window", String.valueOf(window));
+
+		WriteBehindExecutionStore store = new WriteBehindExecutionStore();
+		ReflectionTestUtils.setField(store, "executionStore", executionStore);
+		ReflectionTestUtils.setField(store, "environment", environment);
+		store.start();
+		return store;
+	}
+
+	private static List<Execution> executions(int count) {
+		List<Execution> executions = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			executions.add(new Execution());
+		}
+		return executions;
+	}
+
+	private static List<Execution> list(Execution... executions) {
+		return new ArrayList<>(Arrays.asList(executions));
+	}
+
+	@SafeVarargs
+	private static List<List<Execution>> batches(List<Execution>... batches) {
+		return new ArrayList<>(Arrays.asList(batches));
+	}
+
+	/**
+	 * Execution store which records the committed batches instead of writing
+	 * them. Commits can be held back to control the batching.
+	 */
+	private static class RecordingExecutionStore extends ExecutionStoreImpl {
+
+		private final List<List<Execution>> batches = new ArrayList<>();
+		private final CountDownLatch entered = new CountDownLatch(1);
+		private CountDownLatch release = new CountDownLatch(0);
+		private volatile RuntimeException failure;
+
+		void hold() {
+			release = new CountDownLatch(1);
+		}
+
+		void awaitEntered() throws InterruptedException {
+			Assert.assertThat(entered.await(10, TimeUnit.SECONDS), equalTo(true));
+		}
+
+		@Override
+		public void saveExecutions(Collection<Execution> executions) {
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (failure != null) {
+				throw failure;
+			}
+			synchronized (batches) {
+				batches.add(new ArrayList<>(executions));
+			}
+		}
+	}
+
+}
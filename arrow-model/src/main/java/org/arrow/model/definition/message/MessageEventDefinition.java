@@ -20,6 +20,9 @@ import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.neo4j.annotation.NodeEntity;
 import org.arrow.model.definition.AbstractEventDefinition;
 import org.arrow.model.definition.EventDefinition;
+import org.arrow.runtime.message.MessageCorrelation;
+
+import java.util.Map;
 
 /**
  * {@link EventDefinition} implementation which represents a message event
@@ -35,6 +38,9 @@ public class MessageEventDefinition extends AbstractEventDefinition {
 	/** The signal ref. */
 	private String messageRef;
 
+	/** The names of the correlation variables. */
+	private String[] correlationKeys;
+
 	/**
 	 * Gets the message ref.
 	 * 
@@ -54,4 +60,35 @@ public class MessageEventDefinition extends AbstractEventDefinition {
 		this.messageRef = messageRef;
 	}
 
+	/**
+	 * Gets the names of the variables a message is correlated by.
+	 * 
+	 * @return the correlation keys
+	 */
+	public String[] getCorrelationKeys() {
+		return correlationKeys;
+	}
+
+	/**
+	 * Sets the names of the variables a message is correlated by.
+	 * 
+	 * @param correlationKeys
+	 *            the new correlation keys
+	 */
+	public void setCorrelationKeys(String[] correlationKeys) {
+		this.correlationKeys = correlationKeys;
+	}
+
+	/**
+	 * Returns the correlation key of an execution with the given variables,
+	 * null if no correlation keys are declared.
+	 * 
+	 * @param variables
+	 *            the execution variables
+	 * @return the correlation key
+	 */
+	public String getCorrelationKey(Map<String, Object> variables) {
+		return MessageCorrelation.key(messageRef, correlationKeys, variables);
+	}
+
 }
@@ -35,8 +35,7 @@ import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.AbstractCancelAwareEventMessage;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.CancelAwareFinishEventMessage;
-import org.arrow.runtime.message.impl.DefaultContinueEventMessage;
-import org.arrow.runtime.message.impl.DefaultFinishEventMessage;
+import org.arrow.runtime.message.impl.ContinuingFinishEventMessage;
 import org.arrow.runtime.message.impl.ErrorEventMessage;
 import org.arrow.runtime.message.infrastructure.TokenEventMessage;
 import static org.arrow.runtime.message.infrastructure.TokenEventMessage.TokenAction.*;
@@ -209,11 +208,11 @@ public abstract class AbstractBoundaryEvent extends AbstractBpmnNodeEntity
 
 			info("produce token due to non interrupting boundary event");
 			EventMessage msg1 = new TokenEventMessage(execution, PRODUCE);
-			EventMessage msg2 = new DefaultFinishEventMessage(target);
-			EventMessage msg3 = new DefaultContinueEventMessage(target);
+			// the target continues once it is finished
+			EventMessage msg2 = new ContinuingFinishEventMessage(target);
 
 			execution.setState(State.SUCCESS);
-			return Futures.successful(iterableOf(msg1, msg2, msg3));
+			return Futures.successful(iterableOf(msg1, msg2));
 		} else if (!isCancelActivity()) {
 			EventMessage msg1 = new TokenEventMessage(execution, PRODUCE);
 
@@ -68,6 +68,7 @@ public class MessageBoundaryEvent extends AbstractBoundaryEvent implements
     public Future<Iterable<EventMessage>> executeBoundaryEvent(Execution execution, ExecutionService service) {
         // mark the boundary event as finished
         execution.setState(State.WAITING);
+        execution.setCorrelationKey(eventDefinition.getCorrelationKey(execution.getVariables()));
         return Futures.successful(iterableOf());
     }
 
@@ -78,6 +79,7 @@ public class MessageBoundaryEvent extends AbstractBoundaryEvent implements
 	public Future<Iterable<EventMessage>> handleMessageEvent(Execution execution, ExecutionService service) {
 		// mark the boundary event as finished
 		execution.setState(State.SUCCESS);
+		execution.setCorrelationKey(null);
 		return finish(execution, service);
 	}
 
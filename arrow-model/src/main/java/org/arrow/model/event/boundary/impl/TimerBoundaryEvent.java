@@ -27,9 +27,13 @@ import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.State;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.timer.TimerJob;
 import org.arrow.util.FutureUtil;
+import org.arrow.util.TriggerUtils;
 import scala.concurrent.Future;
 
+import java.util.Date;
+
 /**
  * BPMN 2.0 timer boundary event implementation.
  * 
@@ -88,9 +92,24 @@ public class TimerBoundaryEvent extends AbstractBoundaryEvent implements TimerEv
 	@Override
     public Future<Iterable<EventMessage>> executeBoundaryEvent(Execution execution, ExecutionService service) {
 		execution.setState(State.WAITING);
+
+		Date dueDate = TriggerUtils.getDueDate(eventDefinition);
+		service.timer().schedule(TimerJob.forExecution(execution, dueDate));
         return FutureUtil.result();
 	}
 
+	/**
+	 * Cancels the timer of this boundary event attached to the given
+	 * execution of the attached activity.
+	 * 
+	 * @param execution the execution of the attached activity
+	 * @param service the execution service instance
+	 */
+	public void cancelTimer(Execution execution, ExecutionService service) {
+		String executionId = Execution.boundaryExecutionId(execution.getId(), getId());
+		service.timer().cancel(TimerJob.executionTimerId(executionId));
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -59,6 +59,7 @@ public class MessageIntermediateCatchEvent extends
 		
 		// avoid to finish the intermediate event
 		execution.setState(State.WAITING);
+		execution.setCorrelationKey(eventDefinition.getCorrelationKey(execution.getVariables()));
 
         return Futures.successful(iterableOf());
     }
@@ -88,6 +89,7 @@ public class MessageIntermediateCatchEvent extends
 	public Future<Iterable<EventMessage>> handleMessageEvent(Execution execution, ExecutionService service) {
 		// mark the intermediate event as finished
 		execution.setState(State.SUCCESS);
+		execution.setCorrelationKey(null);
 		return finish(execution, service);
 	}
 
@@ -16,7 +16,6 @@
 
 package org.arrow.model.event.intermediate.catching.impl;
 
-import akka.dispatch.Futures;
 import org.neo4j.graphdb.Direction;
 import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.neo4j.annotation.Fetch;
@@ -29,9 +28,13 @@ import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.State;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EventMessage;
-import org.arrow.runtime.message.impl.TimerEventMessage;
+import org.arrow.runtime.timer.TimerJob;
+import org.arrow.util.FutureUtil;
+import org.arrow.util.TriggerUtils;
 import scala.concurrent.Future;
 
+import java.util.Date;
+
 @NodeEntity
 @TypeAlias("TimerIntermediateCatchEvent")
 public class TimerIntermediateCatchEvent extends AbstractIntermediateCatchEvent
@@ -49,7 +52,11 @@ public class TimerIntermediateCatchEvent extends AbstractIntermediateCatchEvent
 		execution.setState(State.WAITING);
         service.saveEntity(execution);
 
-        return Futures.successful(iterableOf(new TimerEventMessage(execution)));
+        // the timer publishes the timer event once it is due
+        Date dueDate = TriggerUtils.getDueDate(eventDefinition);
+        service.timer().schedule(TimerJob.forExecution(execution, dueDate));
+
+        return FutureUtil.result();
     }
 
 	/**
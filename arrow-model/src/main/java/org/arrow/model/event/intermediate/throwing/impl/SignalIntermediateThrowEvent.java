@@ -17,7 +17,7 @@
 package org.arrow.model.event.intermediate.throwing.impl;
 
 import akka.actor.ActorSystem;
-import akka.dispatch.OnSuccess;
+import akka.dispatch.Mapper;
 import org.neo4j.graphdb.Direction;
 import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.neo4j.annotation.Fetch;
@@ -58,16 +58,17 @@ public class SignalIntermediateThrowEvent extends
 
         Future<Iterable<EventMessage>> future = service.signal(eventDefinition.getSignalRef());
 
-        future.onSuccess(new OnSuccess<Iterable<EventMessage>>() {
+        // the event is finished before the returned future completes, the
+        // broadcast may complete before the node actor registers its callbacks
+        return future.map(new Mapper<Iterable<EventMessage>, Iterable<EventMessage>>() {
             @Override
-            public void onSuccess(Iterable<EventMessage> eventMessages) throws Throwable {
+            public Iterable<EventMessage> apply(Iterable<EventMessage> eventMessages) {
                 // marks the intermediate event as finished
                 execution.setState(State.SUCCESS);
                 finish(execution, service);
+                return eventMessages;
             }
         }, system.dispatcher());
-
-        return future;
 	}
 
 	/**
@@ -179,7 +179,7 @@ public class EventBasedGateway extends AbstractGateway {
     }
 
     public JoinResult join(Execution execution, ExecutionService service) {
-        SynchronisationResult result = service.data().breadthFirstSynchronization(this);
+        SynchronisationResult result = service.data().breadthFirstSynchronization(this, execution.getProcessInstance());
 
         if (result.isSynchronised()) {
             return new JoinResult(true);
@@ -17,10 +17,7 @@
 package org.arrow.model.gateway.impl;
 
 import org.springframework.data.neo4j.annotation.NodeEntity;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.EvaluationContext;
 import org.arrow.model.gateway.AbstractGateway;
 import org.arrow.model.transition.Flow;
 import org.arrow.model.transition.impl.ConditionExpression;
@@ -29,6 +26,7 @@ import org.arrow.runtime.execution.service.ExecutionDataService;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.State;
+import org.arrow.runtime.execution.service.ExecutionExpressionService;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.infrastructure.TokenEventMessage;
 
@@ -44,7 +42,9 @@ public class ExclusiveGateway extends AbstractGateway {
 	@Override
 	public List<EventMessage> fork(Execution execution, ExecutionService service) {
 
-		ExpressionParser parser = new SpelExpressionParser();
+		// conditions are parsed at deployment, the context is shared by all flows
+		ExecutionExpressionService expressions = service.expression();
+		EvaluationContext context = expressions.createContext(execution);
 
 		for (Flow flow : getOutgoingFlows()) {
 
@@ -55,11 +55,7 @@ public class ExclusiveGateway extends AbstractGateway {
 				continue;
 			}
 
-			StandardEvaluationContext context = new StandardEvaluationContext();
-			context.setVariables(execution.getVariables());
-
-			Expression expr = parser.parseExpression(ce.getCondition());
-			Boolean result = expr.getValue(context, Boolean.class);
+			Boolean result = expressions.evaluate(flow.getId(), ce.getCondition(), context, Boolean.class);
 
 			if ((result != null) && (result)) {
                 flow.enableRelation(execution);
@@ -23,15 +23,13 @@ import org.arrow.model.transition.impl.SequenceFlow;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.State;
 import org.arrow.runtime.execution.service.ExecutionDataService.SynchronisationResult;
+import org.arrow.runtime.execution.service.ExecutionExpressionService;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.infrastructure.PersistEventMessage;
 import org.arrow.runtime.message.infrastructure.SynchronizeEventMessage;
 import org.springframework.data.neo4j.annotation.NodeEntity;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.EvaluationContext;
 
 import java.util.Arrays;
 import java.util.List;
@@ -47,7 +45,9 @@ public class InclusiveGateway extends AbstractGateway {
     @Override
     public List<EventMessage> fork(Execution execution, ExecutionService service) {
 
-        ExpressionParser parser = new SpelExpressionParser();
+        // conditions are parsed at deployment, the context is shared by all flows
+        ExecutionExpressionService expressions = service.expression();
+        EvaluationContext context = expressions.createContext(execution);
 
         for (Flow flow : getOutgoingFlows()) {
 
@@ -55,11 +55,7 @@ public class InclusiveGateway extends AbstractGateway {
             ConditionExpression ce = ((SequenceFlow) flow).getConditionExpression();
             notNull(ce, "no condition detected on flow " + flow.getId());
 
-            StandardEvaluationContext context = new StandardEvaluationContext();
-            context.setVariables(execution.getVariables());
-
-            Expression expression = parser.parseExpression(ce.getCondition());
-            Boolean result = expression.getValue(context, Boolean.class);
+            Boolean result = expressions.evaluate(flow.getId(), ce.getCondition(), context, Boolean.class);
 
             if ((result != null) && result) {
                 flow.enableRelation(execution);
@@ -91,7 +87,7 @@ public class InclusiveGateway extends AbstractGateway {
         execution.setState(State.JOINING);
         JoinResult result = new JoinResult(false);
 
-        SynchronisationResult syncResult = service.data().depthFirstSynchronization(this);
+        SynchronisationResult syncResult = service.data().depthFirstSynchronization(this, execution.getProcessInstance());
 
         EventMessage msg = new SynchronizeEventMessage(execution, syncResult);
         result.addMessage(new PersistEventMessage(execution, msg));
@@ -22,14 +22,13 @@ import org.arrow.runtime.execution.State;
 import org.arrow.runtime.execution.service.ExecutionDataService.SynchronisationResult;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EventMessage;
-import org.arrow.runtime.message.infrastructure.TokenEventMessage;
+import org.arrow.runtime.message.infrastructure.PersistEventMessage;
+import org.arrow.runtime.message.infrastructure.SynchronizeEventMessage;
 import org.springframework.data.neo4j.annotation.NodeEntity;
 
 import java.util.Arrays;
 import java.util.List;
 
-import static org.arrow.runtime.message.infrastructure.TokenEventMessage.TokenAction.CONSUME;
-
 /**
  * BPMN parallel gateway implementation. Joins all incoming sequence flows and
  * starts all outgoing sequence flows parallel.
@@ -57,18 +56,28 @@ public class ParallelGateway extends AbstractGateway {
 
     /**
      * {@inheritDoc}
+     * The joining execution waits until the master actor of the process
+     * instance counted an execution for each incoming flow. The master
+     * handles the joins of a process instance one after another, so the
+     * gateway continues once even if all flows arrive at the same time.
      */
     @Override
     public JoinResult join(Execution execution, ExecutionService service) {
-        SynchronisationResult result = service.data().breadthFirstSynchronization(this);
 
-        if (result.isSynchronised()) {
-            return new JoinResult(true);
+        // continue if process engine signals that the gateway is synchronized
+        if (execution.isForSynchronisation()) {
+            execution.setState(State.SUCCESS);
+
+            JoinResult result = new JoinResult(true);
+            result.addMessage(new PersistEventMessage(execution));
+            return result;
         }
 
-        // avoid gateway finish
-        EventMessage tokenMsg = new TokenEventMessage(execution, CONSUME);
-        return new JoinResult(false, tokenMsg);
+        execution.setState(State.JOINING);
+
+        SynchronisationResult syncResult = new SynchronisationResult(true, getIncomingFlows().size());
+        EventMessage msg = new SynchronizeEventMessage(execution, syncResult);
+        return new JoinResult(false, new PersistEventMessage(execution, msg));
     }
 
 }
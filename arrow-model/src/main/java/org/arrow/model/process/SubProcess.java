@@ -22,6 +22,7 @@ import org.springframework.data.neo4j.annotation.Fetch;
 import org.springframework.data.neo4j.annotation.NodeEntity;
 import org.springframework.data.neo4j.annotation.RelatedToVia;
 import org.arrow.model.event.boundary.BoundaryEvent;
+import org.arrow.model.event.boundary.impl.TimerBoundaryEvent;
 import org.arrow.model.event.startevent.StartEvent;
 import org.arrow.model.transition.Flow;
 import org.arrow.model.transition.impl.SequenceFlow;
@@ -34,6 +35,7 @@ import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.Messages;
 import org.arrow.runtime.message.impl.StartSubProcessEventMessage;
 import org.arrow.util.FutureUtil;
+import org.arrow.util.IterableUtils;
 import scala.concurrent.Future;
 
 import java.util.HashSet;
@@ -115,6 +117,9 @@ public class SubProcess extends Process implements SubProcessEntity {
      * {@inheritDoc}
      */
     public Set<Flow> getOutgoingFlows() {
+        if (outgoingFlows == null) {
+            return new HashSet<>();
+        }
         return new HashSet<>(outgoingFlows);
     }
 
@@ -277,6 +282,13 @@ public class SubProcess extends Process implements SubProcessEntity {
         super.finishNode(execution, service);
         execution.setState(State.SUCCESS);
 
+        // the timers of the attached boundary events are obsolete
+        for (BoundaryEvent event : IterableUtils.emptyIfNull(getBoundaryEvents())) {
+            if (event instanceof TimerBoundaryEvent) {
+                ((TimerBoundaryEvent) event).cancelTimer(execution, service);
+            }
+        }
+
         return FutureUtil.result();
     }
 
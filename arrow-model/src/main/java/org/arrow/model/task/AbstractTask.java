@@ -24,6 +24,7 @@ import org.springframework.data.neo4j.annotation.RelatedToVia;
 import org.springframework.util.Assert;
 import org.arrow.model.AbstractBpmnNodeEntity;
 import org.arrow.model.event.boundary.BoundaryEvent;
+import org.arrow.model.event.boundary.impl.TimerBoundaryEvent;
 import org.arrow.model.task.multi.MultiInstanceLoopCharacteristics;
 import org.arrow.model.transition.Flow;
 import org.arrow.model.transition.impl.Association;
@@ -88,7 +89,7 @@ public abstract class AbstractTask extends AbstractBpmnNodeEntity implements Tas
      */
     public Set<Flow> getOutgoingFlows() {
         Set<Flow> flows = new HashSet<>(outgoingFlows);
-        flows.addAll(associations);
+        flows.addAll(emptyIfNull(associations));
 
         return flows;
     }
@@ -103,6 +104,13 @@ public abstract class AbstractTask extends AbstractBpmnNodeEntity implements Tas
 //            execution.addEnabledFlowId(flow.getId());
             service.enableFlow(execution, flow);
         }
+
+        // the timers of the attached boundary events are obsolete
+        for (BoundaryEvent event : emptyIfNull(getBoundaryEvents())) {
+            if (event instanceof TimerBoundaryEvent) {
+                ((TimerBoundaryEvent) event).cancelTimer(execution, service);
+            }
+        }
         return super.finish(execution, service);
     }
 
@@ -121,7 +129,10 @@ public abstract class AbstractTask extends AbstractBpmnNodeEntity implements Tas
      */
     @Override
     public void addIncomingFlow(SequenceFlow flow) {
-        outgoingFlows.add(flow);
+        if (incomingFlows == null) {
+            incomingFlows = new HashSet<>();
+        }
+        incomingFlows.add(flow);
     }
 
 
@@ -162,6 +173,29 @@ public abstract class AbstractTask extends AbstractBpmnNodeEntity implements Tas
 
     public abstract Future<Iterable<EventMessage>> executeTask(Execution execution, ExecutionService service);
 
+    /**
+     * Performs the work of the task (delegate, script, rule ...) without
+     * finishing the given execution. Multi instance activities execute the
+     * body once per instance execution and finish the task execution once.
+     * Tasks without a separable body execute the whole task.
+     *
+     * @param execution the execution instance
+     * @param service   the execution service
+     * @return Future
+     */
+    public Future<Iterable<EventMessage>> executeBody(Execution execution, ExecutionService service) {
+        return executeTask(execution, service);
+    }
+
+    /**
+     * Indicates if all enabled incoming flows of the task are finished.
+     *
+     * @return boolean
+     */
+    public boolean isJoined() {
+        return join();
+    }
+
     private boolean join() {
 
         Assert.notNull(getIncomingFlows(), "no incoming flows for " + getId());
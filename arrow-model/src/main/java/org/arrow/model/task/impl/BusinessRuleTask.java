@@ -67,10 +67,7 @@ public class BusinessRuleTask extends AbstractTask {
 	@Override
 	public Future<Iterable<EventMessage>> executeTask(Execution execution, ExecutionService service) {
 
-        RuleSource source = new StaticRuleSource(ruleSource);
-        RuleEvaluationContext context = new RuleEvaluationContext(ruleFormat, dataList, execution.getVariables());
-
-        service.rule().evaluate(source, context);
+        executeBody(execution, service);
 
 		// mark the task as finished
         execution.setState(State.SUCCESS);
@@ -79,5 +76,19 @@ public class BusinessRuleTask extends AbstractTask {
         return Futures.successful(iterableOf());
     }
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Future<Iterable<EventMessage>> executeBody(Execution execution, ExecutionService service) {
+
+        RuleSource source = new StaticRuleSource(ruleSource);
+        RuleEvaluationContext context = new RuleEvaluationContext(ruleFormat, dataList, execution.getVariables());
+
+        service.rule().evaluate(source, context);
+
+        return Futures.successful(iterableOf());
+    }
+
 
 }
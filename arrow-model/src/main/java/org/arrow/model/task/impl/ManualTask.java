@@ -41,6 +41,15 @@ public class ManualTask extends AbstractTask {
 		// mark the task as finished
 		finish(execution, service);
 
+        return executeBody(execution, service);
+    }
+
+	/**
+	 * {@inheritDoc}
+	 * A manual task has no work performed by the engine.
+	 */
+	@Override
+	public Future<Iterable<EventMessage>> executeBody(Execution execution, ExecutionService service) {
         return Futures.successful(iterableOf());
     }
 
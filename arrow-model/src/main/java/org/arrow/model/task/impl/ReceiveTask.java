@@ -57,12 +57,14 @@ public class ReceiveTask extends AbstractTask implements MessageEventHandler {
         }
 
         execution.setState(State.WAITING);
+        execution.setCorrelationKey(eventDefinition.getCorrelationKey(execution.getVariables()));
         return FutureUtil.result();
     }
 
     @Override
     public Future<Iterable<EventMessage>> handleMessageEvent(Execution execution, ExecutionService service) {
         execution.setState(State.SUCCESS);
+        execution.setCorrelationKey(null);
         return finish(execution, service);
     }
 
@@ -68,6 +68,19 @@ public class ScriptTask extends AbstractTask {
     @Override
     public Future<Iterable<EventMessage>> executeTask(Execution execution, ExecutionService service) {
 
+        executeBody(execution, service);
+
+        execution.setState(State.SUCCESS);
+        finish(execution, service);
+        return FutureUtil.result();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Iterable<EventMessage>> executeBody(Execution execution, ExecutionService service) {
+
         Map<String, Object> arguments = new HashMap<>();
         arguments.put("execution", execution);
         arguments.put("executionService", service);
@@ -80,9 +93,6 @@ public class ScriptTask extends AbstractTask {
         } else {
             service.script().evaluate(source, context);
         }
-
-        execution.setState(State.SUCCESS);
-        finish(execution, service);
         return FutureUtil.result();
     }
 
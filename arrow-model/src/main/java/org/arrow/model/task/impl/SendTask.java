@@ -51,6 +51,14 @@ public class SendTask extends AbstractTask {
         execution.setState(State.SUCCESS);
         finish(execution, service);
 
+        return executeBody(execution, service);
+    }
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Future<Iterable<EventMessage>> executeBody(Execution execution, ExecutionService service) {
         return service.publishMessageEvent(messageRef);
     }
 
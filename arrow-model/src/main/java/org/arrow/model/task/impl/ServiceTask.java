@@ -40,6 +40,7 @@ public class ServiceTask extends AbstractTask {
 	private String serviceClass;
 	private String expression;
 	private String beanName;
+	private boolean async;
 
 	/**
 	 * {@inheritDoc}
@@ -48,30 +49,57 @@ public class ServiceTask extends AbstractTask {
 	public Future<Iterable<EventMessage>> executeTask(Execution execution, ExecutionService service) {
 
 		try {
-			// spring bean name delegate
-			if (!StringUtils.isEmpty(beanName)) {
-				JavaDelegate javaDelegate = service.getJavaDelegateByName(beanName);
-				return javaDelegate.execute(execution);
-			}
-
-			// spring expression delegate
-			if (!StringUtils.isEmpty(expression)) {
-				Object result = service.evaluateExpression(expression);
-				return tryCast(result);
-			}
-
-			// class delegate
-			if (!StringUtils.isEmpty(serviceClass)) {
-				JavaDelegate javaDelegate = service.getJavaDelegateByClassName(serviceClass);
-				return javaDelegate.execute(execution);
-			}
-
-			return FutureUtil.result();
+			return executeBody(execution, service);
 		} finally {
 			// mark the task as finished
 			finish(execution, service);
 		}
-    }
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Future<Iterable<EventMessage>> executeBody(Execution execution, ExecutionService service) {
+
+		// spring bean name delegate
+		if (!StringUtils.isEmpty(beanName)) {
+			JavaDelegate javaDelegate = service.getJavaDelegateByName(beanName);
+			return execute(beanName, javaDelegate, execution, service);
+		}
+
+		// spring expression delegate
+		if (!StringUtils.isEmpty(expression)) {
+			Object result = service.evaluateExpression(expression);
+			return tryCast(result);
+		}
+
+		// class delegate
+		if (!StringUtils.isEmpty(serviceClass)) {
+			JavaDelegate javaDelegate = service.getJavaDelegateByClassName(serviceClass);
+			return execute(serviceClass, javaDelegate, execution, service);
+		}
+
+		return FutureUtil.result();
+	}
+
+	/**
+	 * Executes the given java delegate, on the delegate dispatcher of the
+	 * engine if the service task is asynchronous.
+	 *
+	 * @param delegateName the delegate name
+	 * @param javaDelegate the java delegate
+	 * @param execution    the execution instance
+	 * @param service      the execution service
+	 * @return Future
+	 */
+	private Future<Iterable<EventMessage>> execute(String delegateName, JavaDelegate javaDelegate,
+												   Execution execution, ExecutionService service) {
+		if (async) {
+			return service.delegate().executeAsync(delegateName, javaDelegate, execution);
+		}
+		return javaDelegate.execute(execution);
+	}
 
 	/**
 	 * Tries to cast the given object to a future result of iterable event messages.
@@ -115,4 +143,18 @@ public class ServiceTask extends AbstractTask {
 	public void setBeanName(String beanName) {
 		this.beanName = beanName;
 	}
+
+	/**
+	 * Indicates if the java delegate is executed asynchronously, so that it
+	 * does not block the threads of the engine.
+	 *
+	 * @return boolean
+	 */
+	public boolean isAsync() {
+		return async;
+	}
+
+	public void setAsync(boolean async) {
+		this.async = async;
+	}
 }
@@ -59,6 +59,18 @@ public class MultiInstanceLoopCharacteristics {
 	@RelatedTo(type="LOOP_CARDINALITY", direction=Direction.OUTGOING)
 	private LoopCardinality loopCardinality;
 
+	/** The name of the collection variable an instance is created for per element. */
+	private String loopDataInputRef;
+
+	/** The name of the local variable holding the element of an instance. */
+	private String inputDataItem;
+
+	/** The completion condition. */
+	private String completionCondition;
+
+	/** The maximum count of active instances, zero for the engine default. */
+	private int parallelism;
+
 	/**
 	 * Gets the node id.
 	 * 
@@ -192,6 +204,82 @@ public class MultiInstanceLoopCharacteristics {
 		this.loopCardinality = loopCardinality;
 	}
 
+	/**
+	 * Gets the loop data input reference.
+	 * 
+	 * @return the loop data input reference
+	 */
+	public String getLoopDataInputRef() {
+		return loopDataInputRef;
+	}
+
+	/**
+	 * Sets the loop data input reference.
+	 * 
+	 * @param loopDataInputRef
+	 *            the new loop data input reference
+	 */
+	public void setLoopDataInputRef(String loopDataInputRef) {
+		this.loopDataInputRef = loopDataInputRef;
+	}
+
+	/**
+	 * Gets the input data item.
+	 * 
+	 * @return the input data item
+	 */
+	public String getInputDataItem() {
+		return inputDataItem;
+	}
+
+	/**
+	 * Sets the input data item.
+	 * 
+	 * @param inputDataItem
+	 *            the new input data item
+	 */
+	public void setInputDataItem(String inputDataItem) {
+		this.inputDataItem = inputDataItem;
+	}
+
+	/**
+	 * Gets the completion condition.
+	 * 
+	 * @return the completion condition
+	 */
+	public String getCompletionCondition() {
+		return completionCondition;
+	}
+
+	/**
+	 * Sets the completion condition.
+	 * 
+	 * @param completionCondition
+	 *            the new completion condition
+	 */
+	public void setCompletionCondition(String completionCondition) {
+		this.completionCondition = completionCondition;
+	}
+
+	/**
+	 * Gets the parallelism.
+	 * 
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Sets the parallelism.
+	 * 
+	 * @param parallelism
+	 *            the new parallelism
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 	/**
 	 * The multi instance loop characteristics behavior enumeration.
 	 * 
@@ -28,6 +28,7 @@ import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.TriggerContext;
 import org.springframework.scheduling.support.CronSequenceGenerator;
 import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
 import org.arrow.model.definition.timer.TimerEventDefinition;
 
 /**
@@ -77,6 +78,16 @@ public final class TriggerUtils {
 		throw new IllegalArgumentException("could not determine trigger");
 	}
 
+	/**
+	 * Returns the first due date of the given {@link TimerEventDefinition}.
+	 * 
+	 * @param definition the timer event definition instance
+	 * @return Date
+	 */
+	public static Date getDueDate(TimerEventDefinition definition) {
+		return getTrigger(definition).nextExecutionTime(new SimpleTriggerContext());
+	}
+
 	/**
 	 * Indicates if the given scheduler string is in cron format.
 	 * 
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.model.gateway.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.arrow.model.transition.impl.SequenceFlow;
+import org.arrow.runtime.api.BpmnNodeEntitySpecification;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.execution.State;
+import org.arrow.runtime.execution.service.ExecutionDataService.SynchronisationResult;
+import org.arrow.runtime.execution.service.ExecutionService;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.infrastructure.PersistEventMessage;
+import org.arrow.runtime.message.infrastructure.SynchronizeEventMessage;
+import org.arrow.runtime.message.infrastructure.TokenEventMessage;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests that a {@link ParallelGateway} leaves the decision of its join to
+ * the master actor of the process instance.
+ */
+@Category(UnitTest.class)
+public class ParallelGatewayTest {
+
+	private final ParallelGateway gateway = new ParallelGateway();
+	private final ExecutionService service = mock(ExecutionService.class, RETURNS_DEEP_STUBS);
+
+	@Before
+	public void setUp() {
+		gateway.setId("join");
+		gateway.setIncomingFlows(flows("in1", "in2"));
+		gateway.setOutgoingFlows(flows("out1", "out2"));
+
+		// both flows arrived, each joining execution sees the other one
+		when(service.data().breadthFirstSynchronization(any(BpmnNodeEntitySpecification.class),
+				any(ProcessInstance.class))).thenReturn(new SynchronisationResult(true, 2));
+	}
+
+	@Test
+	public void concurrentlyJoiningExecutionsShouldNotContinue() throws Exception {
+		for (Execution execution : new Execution[]{execution(), execution()}) {
+			List<EventMessage> messages = execute(execution);
+
+			Assert.assertThat(execution.getState(), equalTo(State.JOINING));
+			Assert.assertThat(execution.getEnabledFlowIdsContainer().isEmpty(), equalTo(true));
+			Assert.assertThat(messages.size(), equalTo(1));
+
+			// the master synchronizes the join once the execution is stored
+			Object synchronize = ((PersistEventMessage) messages.get(0)).getMessage();
+			Assert.assertThat(synchronize, instanceOf(SynchronizeEventMessage.class));
+
+			SynchronisationResult result = ((SynchronizeEventMessage) synchronize).getSynchronisationResult();
+			Assert.assertThat(result.isSynchronised(), equalTo(true));
+			Assert.assertThat(result.getExpectedFlows(), equalTo(2));
+		}
+	}
+
+	@Test
+	public void synchronisedExecutionShouldContinueOnAllOutgoingFlows() throws Exception {
+		Execution execution = execution();
+		execution.setSynchonisation(true);
+
+		List<EventMessage> messages = execute(execution);
+
+		Assert.assertThat(execution.getState(), equalTo(State.SUCCESS));
+		Assert.assertThat(execution.getEnabledFlowIdsContainer(), equalTo((Set<String>) ids("out1", "out2")));
+
+		// one token continues, a token is produced for the second flow
+		int produced = 0;
+		for (EventMessage message : messages) {
+			if (message instanceof TokenEventMessage) {
+				produced++;
+			}
+		}
+		Assert.assertThat(produced, equalTo(1));
+	}
+
+	private List<EventMessage> execute(Execution execution) throws Exception {
+		List<EventMessage> messages = new ArrayList<>();
+		gateway.executeNode(execution, service).value().get().get().forEach(messages::add);
+		return messages;
+	}
+
+	private Execution execution() {
+		Execution execution = new Execution();
+		execution.setEntity(gateway);
+		execution.setProcessInstance(new ProcessInstance());
+		return execution;
+	}
+
+	private static Set<SequenceFlow> flows(String... ids) {
+		Set<SequenceFlow> flows = new HashSet<>();
+		for (String id : ids) {
+			SequenceFlow flow = new SequenceFlow();
+			flow.setId(id);
+			flows.add(flow);
+		}
+		return flows;
+	}
+
+	private static Set<String> ids(String... ids) {
+		Set<String> set = new HashSet<>();
+		for (String id : ids) {
+			set.add(id);
+		}
+		return set;
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.model.process.visitor.relationship;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.arrow.model.BpmnNodeEntity;
+import org.arrow.model.PlaceholderBpmnEntity;
+import org.arrow.model.task.AbstractTask;
+import org.arrow.model.task.impl.ManualTask;
+import org.arrow.model.transition.impl.SequenceFlow;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Tests that the {@link InitBpmnRelationshipEntityVisitor} links the
+ * sequence flows of parsed tasks to the right side of their source and
+ * target tasks.
+ */
+@Category(UnitTest.class)
+public class InitBpmnRelationshipEntityVisitorTest {
+
+	private final Map<String, BpmnNodeEntity> cache = new HashMap<>();
+
+	private InitBpmnRelationshipEntityVisitor visitor;
+
+	@Before
+	public void setUp() {
+		ApplicationContext context = mock(ApplicationContext.class);
+		when(context.getBean(Neo4jTemplate.class)).thenReturn(mock(Neo4jTemplate.class));
+
+		visitor = new InitBpmnRelationshipEntityVisitor(context, cache);
+	}
+
+	@Test
+	public void taskFlowsShouldBeLinkedToTheirSourceAndTarget() {
+		AbstractTask task1 = task("task1");
+		AbstractTask task2 = task("task2");
+		AbstractTask task3 = task("task3");
+
+		SequenceFlow flow1 = flow("flow1", "task1", "task2");
+		SequenceFlow flow2 = flow("flow2", "task2", "task3");
+		visitor.visitSequenceFlow(flow1);
+		visitor.visitSequenceFlow(flow2);
+
+		// the incoming flow of a task is not added to its outgoing flows
+		Assert.assertThat(task1.getOutgoingFlows(), equalTo(flows(flow1)));
+		Assert.assertThat(task2.getOutgoingFlows(), equalTo(flows(flow2)));
+		Assert.assertThat(task3.getOutgoingFlows().isEmpty(), equalTo(true));
+
+		Assert.assertThat(task1.getIncomingFlows().isEmpty(), equalTo(true));
+		Assert.assertThat(task2.getIncomingFlows(), equalTo(flows(flow1)));
+		Assert.assertThat(task3.getIncomingFlows(), equalTo(flows(flow2)));
+	}
+
+	private AbstractTask task(String id) {
+		ManualTask task = new ManualTask();
+		task.setId(id);
+		cache.put(id, task);
+		return task;
+	}
+
+	private static SequenceFlow flow(String id, String sourceRef, String targetRef) {
+		SequenceFlow flow = new SequenceFlow();
+		flow.setId(id);
+		flow.setSourceRef(placeholder(sourceRef));
+		flow.setTargetRef(placeholder(targetRef));
+		return flow;
+	}
+
+	private static PlaceholderBpmnEntity placeholder(String id) {
+		PlaceholderBpmnEntity placeholder = new PlaceholderBpmnEntity();
+		placeholder.setId(id);
+		return placeholder;
+	}
+
+	private static HashSet<Object> flows(SequenceFlow flow) {
+		return new HashSet<>(Collections.singleton(flow));
+	}
+
+}
@@ -22,10 +22,13 @@ import org.arrow.runtime.api.TimerStartEventSpecification;
 import org.arrow.runtime.api.event.BusinessCondition;
 import org.arrow.runtime.api.event.BusinessCondition.BusinessConditionContext;
 import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.SignalBroadcast;
 import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessCompletion;
 import org.arrow.runtime.execution.ProcessInstance;
 import scala.concurrent.Future;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -54,6 +57,29 @@ public interface RuntimeService {
 	 */
 	Future<ProcessInstance> startProcessById(String id, Map<String, Object> variables);
 
+	/**
+	 * Starts the BPMN process by the given id and the given variables. Unlike
+	 * {@link #startProcessById(String, Map)} the returned future completes
+	 * once the process instance is completed, with its final state and its
+	 * variables. No thread is blocked while the process instance runs.
+	 *
+	 * @param id the process id
+	 * @param variables the variables map
+	 * @return Future
+	 */
+	Future<ProcessCompletion> executeProcessById(String id, Map<String, Object> variables);
+
+	/**
+	 * Starts a BPMN process instance by the given id for each of the given
+	 * variables maps. The start event is resolved once and the process
+	 * instances are persisted and started in batches.
+	 *
+	 * @param id the process id
+	 * @param variables the variables maps
+	 * @return one future per variables map
+	 */
+	List<Future<ProcessInstance>> startProcessesById(String id, Iterable<Map<String, Object>> variables);
+
     /**
 	 * Starts the BPMN process by a signal reference.
 	 * 
@@ -72,6 +98,18 @@ public interface RuntimeService {
 	Future<Iterable<ProcessInstance>> startProcessBySignal(String signalRef,
 			Map<String, Object> variables);
 
+	/**
+	 * Starts the BPMN processes of the signal reference for each of the given
+	 * variables maps. Unlike {@link #startProcessBySignal(String, Map)} only
+	 * signal start events are triggered.
+	 *
+	 * @param signalRef the signal reference
+	 * @param variables the variables maps
+	 * @return one future per variables map
+	 */
+	List<Future<Iterable<ProcessInstance>>> startProcessesBySignal(String signalRef,
+			Iterable<Map<String, Object>> variables);
+
 	/**
 	 * Starts the BPMN process by a message reference.
 	 * 
@@ -89,6 +127,29 @@ public interface RuntimeService {
 	Future<ProcessInstance> startProcessByMessage(String messageRef,
 			Map<String, Object> variables);
 
+	/**
+	 * Starts the BPMN process by a message reference with the given variables.
+	 * The returned future completes once the process instance is completed,
+	 * see {@link #executeProcessById(String, Map)}.
+	 *
+	 * @param messageRef the message reference
+	 * @param variables the variables map
+	 * @return Future
+	 */
+	Future<ProcessCompletion> executeProcessByMessage(String messageRef, Map<String, Object> variables);
+
+	/**
+	 * Starts the BPMN process of the message reference for each of the given
+	 * variables maps. Unlike {@link #startProcessByMessage(String, Map)} only
+	 * message start events are triggered.
+	 *
+	 * @param messageRef the message reference
+	 * @param variables the variables maps
+	 * @return one future per variables map
+	 */
+	List<Future<ProcessInstance>> startProcessesByMessage(String messageRef,
+			Iterable<Map<String, Object>> variables);
+
 	/**
 	 * Signals the process engine to trigger signal based BPMN elements e.g. a
 	 * signal start event, signal intermediate event or signal boundary event.
@@ -113,7 +174,9 @@ public interface RuntimeService {
 	/**
 	 * Signals the process engine to trigger signal based BPMN elements e.g. a
 	 * signal start event, signal intermediate event or signal boundary event.
-	 * The process engine starts/continues the process.
+	 * The process engine starts/continues the process. The signal is
+	 * broadcast, the returned future completes with an empty iterable as soon
+	 * as all signal event messages are published.
 	 * 
 	 * @param signalRef the signal reference
 	 * @return Future
@@ -124,6 +187,8 @@ public interface RuntimeService {
 	 * Signals the process engine to trigger signal based BPMN elements e.g. a
 	 * signal start event, signal intermediate event or signal boundary event.
 	 * The process engine starts/continues the process with the given variables.
+	 * The signal is broadcast, the returned future completes with an empty
+	 * iterable as soon as all signal event messages are published.
 	 * 
 	 * @param signalRef the signal reference
 	 * @param variables the variables map
@@ -131,6 +196,18 @@ public interface RuntimeService {
 	 */
 	Future<Iterable<EventMessage>> signal(String signalRef, Map<String, Object> variables);
 
+	/**
+	 * Broadcasts the signal with the given variables. The waiting executions
+	 * of the signal are resumed in bounded batches, signal start events start
+	 * their process instances in chunked transactions. The returned
+	 * {@link SignalBroadcast} reports the progress of the broadcast.
+	 * 
+	 * @param signalRef the signal reference
+	 * @param variables the variables map
+	 * @return SignalBroadcast
+	 */
+	SignalBroadcast broadcast(String signalRef, Map<String, Object> variables);
+
 	/**
 	 * Signals the process engine to trigger signal based BPMN elements e.g. a
 	 * signal start event, signal intermediate event or signal boundary event.
@@ -187,6 +264,21 @@ public interface RuntimeService {
 	 */
     Future<Iterable<EventMessage>> message(String message);
 
+	/**
+	 * Publishes a message event which is correlated to the waiting message
+	 * intermediate event, message boundary event or receive task declaring
+	 * the given correlation keys. The oldest execution is continued if
+	 * several executions wait with the same correlation values, no process
+	 * is started by a correlated message.
+	 *
+	 * @param message the message to publish
+	 * @param correlationKeys the correlation values by name
+	 * @param variables the variables map
+	 * @return Future
+	 */
+	Future<Iterable<EventMessage>> message(String message, Map<String, Object> correlationKeys,
+			Map<String, Object> variables);
+
 	/**
 	 * Registers a {@link TimerStartEventSpecification} for scheduling.
 	 * 
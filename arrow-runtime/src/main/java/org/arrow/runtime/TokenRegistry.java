@@ -17,6 +17,8 @@
 package org.arrow.runtime;
 
 import org.arrow.runtime.logger.LoggerFacade;
+import org.arrow.runtime.metrics.Counter;
+import org.arrow.runtime.metrics.NoOpEngineMetrics;
 
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -34,10 +36,29 @@ public class TokenRegistry {
 
 	private AtomicInteger tokens = new AtomicInteger(1);
 
+	/** counter of the active tokens of all registries */
+	private final Counter activeTokens;
+
+	public TokenRegistry() {
+		this(NoOpEngineMetrics.COUNTER);
+	}
+
+	/**
+	 * Creates a token registry which reports its token count changes to the
+	 * given counter.
+	 *
+	 * @param activeTokens the active tokens counter
+	 */
+	public TokenRegistry(Counter activeTokens) {
+		this.activeTokens = activeTokens;
+		this.activeTokens.increment();
+	}
+
 	/**
 	 * Consumes an active token. Decrements the token count by one.
 	 */
 	public void consume() {
+		activeTokens.add(-1);
         LOGGER.info("consume: " + tokens.decrementAndGet() + " " + this.hashCode());
 	}
 
@@ -45,6 +66,7 @@ public class TokenRegistry {
 	 * Produces a new token. Increments the token count by one.
 	 */
 	public void produce() {
+		activeTokens.increment();
 		LOGGER.info("produce: " + tokens.incrementAndGet() + " " + this.hashCode());
 	}
 
@@ -80,7 +102,7 @@ public class TokenRegistry {
 	 * Terminates the tokens, sets the counter to 1.
 	 */
 	public void terminate() {
-		this.tokens.set(0);
+		this.activeTokens.add(-this.tokens.getAndSet(0));
 	}
 
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.definition;
+
+/**
+ * Immutable compiled definition of a sequence flow. Besides the flow id the
+ * ids and types of the source and target node are kept, so that definition
+ * checks do not have to navigate the entity graph.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class FlowDef {
+
+    private final String id;
+    private final String sourceId;
+    private final Class<?> sourceType;
+    private final String targetId;
+    private final Class<?> targetType;
+
+    public FlowDef(String id, String sourceId, Class<?> sourceType, String targetId, Class<?> targetType) {
+        this.id = id;
+        this.sourceId = sourceId;
+        this.sourceType = sourceType;
+        this.targetId = targetId;
+        this.targetType = targetType;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public Class<?> getSourceType() {
+        return sourceType;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Indicates if the source node of the flow is of the given type.
+     *
+     * @param type the node type
+     * @return boolean
+     */
+    public boolean isSourceOfType(Class<?> type) {
+        return sourceType != null && type.isAssignableFrom(sourceType);
+    }
+
+    @Override
+    public String toString() {
+        return sourceId + " -[" + id + "]-> " + targetId;
+    }
+
+}
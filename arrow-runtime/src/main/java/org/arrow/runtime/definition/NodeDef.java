@@ -0,0 +1,205 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.definition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable compiled definition of a BPMN node. The definition is built once
+ * when the process is deployed and keeps the flow topology, the attached
+ * boundary events and the event definitions of the node. Node entities carry
+ * the per process instance flow state and are therefore loaded per execution,
+ * the compiled definition answers the definition questions without touching
+ * the entity graph.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class NodeDef {
+
+    private final String id;
+    private final Long nodeId;
+    private final Class<?> type;
+    private final List<FlowDef> incomingFlows;
+    private final List<FlowDef> outgoingFlows;
+    private final List<String> boundaryEvents;
+    private final List<String> eventDefinitions;
+
+    private NodeDef(Builder builder) {
+        this.id = builder.id;
+        this.nodeId = builder.nodeId;
+        this.type = builder.type;
+        this.incomingFlows = freeze(builder.incomingFlows);
+        this.outgoingFlows = freeze(builder.outgoingFlows);
+        this.boundaryEvents = freeze(builder.boundaryEvents);
+        this.eventDefinitions = freeze(builder.eventDefinitions);
+    }
+
+    /**
+     * Returns the BPMN id of the node.
+     *
+     * @return String
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the graph id of the deployed node entity.
+     *
+     * @return Long
+     */
+    public Long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Returns the entity type of the node.
+     *
+     * @return Class
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Indicates if the node is of the given type.
+     *
+     * @param type the node type
+     * @return boolean
+     */
+    public boolean isOfType(Class<?> type) {
+        return type.isAssignableFrom(this.type);
+    }
+
+    public List<FlowDef> getIncomingFlows() {
+        return incomingFlows;
+    }
+
+    public List<FlowDef> getOutgoingFlows() {
+        return outgoingFlows;
+    }
+
+    /**
+     * Returns the ids of the boundary events attached to the node.
+     *
+     * @return List
+     */
+    public List<String> getBoundaryEvents() {
+        return boundaryEvents;
+    }
+
+    /**
+     * Returns the ids of the event definitions of the node.
+     *
+     * @return List
+     */
+    public List<String> getEventDefinitions() {
+        return eventDefinitions;
+    }
+
+    /**
+     * Indicates if one of the incoming flows starts at a node of the given type.
+     *
+     * @param type the source node type
+     * @return boolean
+     */
+    public boolean hasIncomingFlowFrom(Class<?> type) {
+        for (FlowDef flow : incomingFlows) {
+            if (flow.isSourceOfType(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> List<T> freeze(List<T> list) {
+        if (list.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+
+    @Override
+    public String toString() {
+        return type.getSimpleName() + "[" + id + "]";
+    }
+
+    /**
+     * Returns a new builder for the node with the given ids and type.
+     *
+     * @param id     the BPMN id
+     * @param nodeId the graph id
+     * @param type   the entity type
+     * @return Builder
+     */
+    public static Builder builder(String id, Long nodeId, Class<?> type) {
+        return new Builder(id, nodeId, type);
+    }
+
+    /**
+     * Builder used to collect the definition of a node.
+     */
+    public static final class Builder {
+
+        private final String id;
+        private final Long nodeId;
+        private final Class<?> type;
+        private final List<FlowDef> incomingFlows = new ArrayList<>();
+        private final List<FlowDef> outgoingFlows = new ArrayList<>();
+        private final List<String> boundaryEvents = new ArrayList<>();
+        private final List<String> eventDefinitions = new ArrayList<>();
+
+        private Builder(String id, Long nodeId, Class<?> type) {
+            this.id = id;
+            this.nodeId = nodeId;
+            this.type = type;
+        }
+
+        public Builder incoming(FlowDef flow) {
+            incomingFlows.add(flow);
+            return this;
+        }
+
+        public Builder outgoing(FlowDef flow) {
+            outgoingFlows.add(flow);
+            return this;
+        }
+
+        public Builder boundaryEvent(String id) {
+            boundaryEvents.add(id);
+            return this;
+        }
+
+        public Builder eventDefinition(String id) {
+            eventDefinitions.add(id);
+            return this;
+        }
+
+        /**
+         * Builds the immutable node definition.
+         *
+         * @return NodeDef
+         */
+        public NodeDef build() {
+            return new NodeDef(this);
+        }
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.definition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable compiled definition of a deployed process. The definition is
+ * compiled once per deployment and indexes the node definitions by their BPMN
+ * id and by their graph id. A redeployment of a process produces a new
+ * definition with a higher version, running process instances keep resolving
+ * the definitions of the nodes they were started with.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class ProcessDef {
+
+    private final String processId;
+    private final int version;
+    private final List<NodeDef> nodes;
+    private final Map<String, NodeDef> nodesById;
+    private final Map<Long, NodeDef> nodesByNodeId;
+
+    private ProcessDef(String processId, int version, List<NodeDef> nodes) {
+        this.processId = processId;
+        this.version = version;
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+
+        Map<String, NodeDef> byId = new HashMap<>();
+        Map<Long, NodeDef> byNodeId = new HashMap<>();
+        for (NodeDef node : nodes) {
+            byId.put(node.getId(), node);
+            if (node.getNodeId() != null) {
+                byNodeId.put(node.getNodeId(), node);
+            }
+        }
+        this.nodesById = Collections.unmodifiableMap(byId);
+        this.nodesByNodeId = Collections.unmodifiableMap(byNodeId);
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    /**
+     * Returns the deployment version of the process definition.
+     *
+     * @return int
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public List<NodeDef> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the node definition with the given BPMN id or null.
+     *
+     * @param id the BPMN id
+     * @return NodeDef
+     */
+    public NodeDef getNode(String id) {
+        return nodesById.get(id);
+    }
+
+    /**
+     * Returns the node definition with the given graph id or null.
+     *
+     * @param nodeId the graph id
+     * @return NodeDef
+     */
+    public NodeDef getNode(Long nodeId) {
+        return nodesByNodeId.get(nodeId);
+    }
+
+    /**
+     * Indicates if the process contains a node of the given type.
+     *
+     * @param type the node type
+     * @return boolean
+     */
+    public boolean containsNodeOfType(Class<?> type) {
+        for (NodeDef node : nodes) {
+            if (node.isOfType(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of the definition with the given version.
+     *
+     * @param version the deployment version
+     * @return ProcessDef
+     */
+    ProcessDef withVersion(int version) {
+        return new ProcessDef(processId, version, nodes);
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessDef[" + processId + ", version " + version + ", " + nodes.size() + " nodes]";
+    }
+
+    /**
+     * Returns a new builder for the process with the given id.
+     *
+     * @param processId the process id
+     * @return Builder
+     */
+    public static Builder builder(String processId) {
+        return new Builder(processId);
+    }
+
+    /**
+     * Builder used to collect the node definitions of a process.
+     */
+    public static final class Builder {
+
+        private final String processId;
+        private final List<NodeDef> nodes = new ArrayList<>();
+
+        private Builder(String processId) {
+            this.processId = processId;
+        }
+
+        /**
+         * Adds a node definition to the process.
+         *
+         * @param node the node definition
+         * @return Builder
+         */
+        public Builder node(NodeDef node) {
+            nodes.add(node);
+            return this;
+        }
+
+        /**
+         * Builds the immutable process definition with version 1.
+         *
+         * @return ProcessDef
+         */
+        public ProcessDef build() {
+            return new ProcessDef(processId, 1, nodes);
+        }
+    }
+
+}
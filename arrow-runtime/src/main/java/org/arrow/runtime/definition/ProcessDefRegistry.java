@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.definition;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of the compiled process definitions. Definitions are
+ * registered when a process is deployed and looked up by the actors on the
+ * hot path, either by process id or by the graph id of one of their nodes.
+ * A redeployment evicts the nodes of the previous version, as Neo4j reuses
+ * the graph ids of deleted nodes. Nodes without a compiled definition are
+ * answered by the node entities themselves.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Component
+public class ProcessDefRegistry {
+
+    /** the latest definition version by process id */
+    private final Map<String, ProcessDef> processes = new ConcurrentHashMap<>();
+
+    /** the definitions by the graph id of their nodes */
+    private final Map<Long, ProcessDef> processesByNodeId = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the given process definition. A definition of an already
+     * registered process id is registered with the next version and replaces
+     * the nodes of the previous version.
+     *
+     * @param definition the compiled process definition
+     * @return ProcessDef the registered definition
+     */
+    public synchronized ProcessDef register(ProcessDef definition) {
+        ProcessDef previous = processes.get(definition.getProcessId());
+        ProcessDef registered = previous == null ? definition : definition.withVersion(previous.getVersion() + 1);
+
+        if (previous != null) {
+            evictNodes(previous);
+        }
+        processes.put(registered.getProcessId(), registered);
+
+        for (NodeDef node : registered.getNodes()) {
+            if (node.getNodeId() != null) {
+                processesByNodeId.put(node.getNodeId(), registered);
+            }
+        }
+        return registered;
+    }
+
+    /**
+     * Removes the definition of the process with the given id together with
+     * the graph ids of its nodes.
+     *
+     * @param processId the process id
+     * @return ProcessDef the removed definition or null
+     */
+    public synchronized ProcessDef unregister(String processId) {
+        ProcessDef definition = processes.remove(processId);
+        if (definition != null) {
+            evictNodes(definition);
+        }
+        return definition;
+    }
+
+    /**
+     * Removes the graph ids of the given definition which are still mapped to
+     * it, graph ids reused by another definition are kept.
+     *
+     * @param definition the process definition
+     */
+    private void evictNodes(ProcessDef definition) {
+        for (NodeDef node : definition.getNodes()) {
+            if (node.getNodeId() != null) {
+                processesByNodeId.remove(node.getNodeId(), definition);
+            }
+        }
+    }
+
+    /**
+     * Returns the latest definition of the process with the given id or null.
+     *
+     * @param processId the process id
+     * @return ProcessDef
+     */
+    public ProcessDef getProcessDef(String processId) {
+        return processes.get(processId);
+    }
+
+    /**
+     * Returns the definition which contains the node with the given graph id
+     * or null if the node is not part of a compiled definition.
+     *
+     * @param nodeId the graph id of the node
+     * @return ProcessDef
+     */
+    public ProcessDef getProcessDefOfNode(Long nodeId) {
+        return nodeId == null ? null : processesByNodeId.get(nodeId);
+    }
+
+    /**
+     * Returns the definition of the node with the given graph id or null.
+     *
+     * @param nodeId the graph id of the node
+     * @return NodeDef
+     */
+    public NodeDef getNode(Long nodeId) {
+        ProcessDef definition = getProcessDefOfNode(nodeId);
+        return definition == null ? null : definition.getNode(nodeId);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution;
+
+import org.arrow.runtime.variable.VariableDecoder;
+import org.springframework.data.neo4j.fieldaccess.DynamicProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes the complex variables of a {@link DynamicProperties} layer, see
+ * {@link VariableDecoder}. Immutable decoded values are reused as long as
+ * the stored value does not change. Mutable values are decoded on each read,
+ * so that every caller gets its own copy and changes do not leak into other
+ * executions.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+final class DecodedVariables {
+
+    private final Map<String, DecodedVariable> values = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the given variable of the given layer, decoded if it has a
+     * type tag.
+     *
+     * @param variables the variable layer
+     * @param key       the variable key
+     * @return Object
+     */
+    Object get(DynamicProperties variables, String key) {
+        Object stored = variables.getProperty(key);
+        String typeKey = VariableDecoder.typeKey(key);
+        if (stored == null || !variables.hasProperty(typeKey)) {
+            return stored;
+        }
+
+        DecodedVariable variable = values.get(key);
+        if (variable != null && variable.stored == stored) {
+            return variable.value;
+        }
+
+        Object value = VariableDecoder.current().decode(stored, variables.getProperty(typeKey));
+        if (VariableDecoder.isImmutable(value)) {
+            values.put(key, new DecodedVariable(stored, value));
+        }
+        return value;
+    }
+
+    /**
+     * A decoded variable and the stored value it was decoded from.
+     */
+    private static final class DecodedVariable {
+
+        private final Object stored;
+        private final Object value;
+
+        private DecodedVariable(Object stored, Object value) {
+            this.stored = stored;
+            this.value = value;
+        }
+    }
+
+}
@@ -20,6 +20,7 @@ import org.neo4j.graphdb.Direction;
 import org.neo4j.helpers.collection.IteratorUtil;
 import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.neo4j.annotation.Fetch;
+import org.springframework.data.neo4j.annotation.Indexed;
 import org.springframework.data.neo4j.annotation.NodeEntity;
 import org.springframework.data.neo4j.annotation.RelatedTo;
 import org.springframework.data.neo4j.fieldaccess.DynamicProperties;
@@ -31,7 +32,6 @@ import org.arrow.runtime.logger.LoggerFacade;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.util.CompareToBuilder;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -84,6 +84,12 @@ public class Execution extends AbstractRuntimeEntity implements Comparable<Execu
      */
     private volatile State state;
 
+    /**
+     * The message correlation key while the execution waits for a message.
+     */
+    @Indexed
+    private String correlationKey;
+
     /**
      * The enabled flow ids.
      */
@@ -93,6 +99,9 @@ public class Execution extends AbstractRuntimeEntity implements Comparable<Execu
 
     private DynamicProperties localVariables = new DynamicPropertiesContainer();
 
+    /** the decoded values of the type tagged local variables, never persisted */
+    private transient DecodedVariables decodedLocalVariables;
+
     public Set<String> getEnabledFlowIdsContainer() {
         if (enabledFlowIdsContainer == null) {
             enabledFlowIdsContainer = new HashSet<>();
@@ -105,18 +114,13 @@ public class Execution extends AbstractRuntimeEntity implements Comparable<Execu
     }
 
     /**
-     * Returns the execution variables.
+     * Returns the execution variables as layered {@link VariableScope}:
+     * local variables, process instance variables and the variables of the
+     * parent process instance chain. Changes of the returned map are not
+     * written through to the layers.
      */
     public Map<String, Object> getVariables() {
-        Map<String, Object> variables = new HashMap<>();
-
-        if (processInstance.getParentProcessInstance() != null) {
-            variables.putAll(processInstance.getParentProcessInstance().getVariables());
-        }
-        variables.putAll(processInstance.getVariables());
-        variables.putAll(getLocalVariables());
-
-        return variables;
+        return new VariableScope(localVariables, getDecodedLocalVariables(), processInstance);
     }
 
     /**
@@ -189,6 +193,26 @@ public class Execution extends AbstractRuntimeEntity implements Comparable<Execu
         this.state = state;
     }
 
+    /**
+     * Returns the message correlation key, null if the execution does not
+     * wait for a correlated message.
+     *
+     * @return String
+     */
+    public String getCorrelationKey() {
+        return correlationKey;
+    }
+
+    /**
+     * Sets the message correlation key.
+     *
+     * @param correlationKey the correlation key
+     * @see org.arrow.runtime.message.MessageCorrelation
+     */
+    public void setCorrelationKey(String correlationKey) {
+        this.correlationKey = correlationKey;
+    }
+
     public Set<ExecutionGroup> getExecutionGroups() {
         return executionGroups;
     }
@@ -231,6 +255,20 @@ public class Execution extends AbstractRuntimeEntity implements Comparable<Execu
         }
     }
 
+    /**
+     * Returns the id of the execution of the given boundary event attached to
+     * the execution with the given id. The id is derived from the attached
+     * execution, so that the attached activity finds the executions of its
+     * boundary events, e.g. to cancel their timers.
+     *
+     * @param attachedExecutionId the id of the execution of the attached activity
+     * @param boundaryEventId     the boundary event id
+     * @return String
+     */
+    public static String boundaryExecutionId(String attachedExecutionId, String boundaryEventId) {
+        return attachedExecutionId + ":" + boundaryEventId;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -262,15 +300,23 @@ public class Execution extends AbstractRuntimeEntity implements Comparable<Execu
     }
 
     public void addVariable(String key, Object value) {
-        this.processInstance.getVariables().put(key, value);
+        this.processInstance.addVariable(key, value);
     }
 
     public boolean hasVariable(String key) {
-        return getVariables().containsKey(key);
+        return VariableScope.lookup(localVariables, getDecodedLocalVariables(), processInstance, key, true) != null;
     }
 
     public Object getVariable(String key) {
-        return getVariables().get(key);
+        return VariableScope.lookup(localVariables, getDecodedLocalVariables(), processInstance, key, false);
+    }
+
+    private DecodedVariables getDecodedLocalVariables() {
+        DecodedVariables decoded = decodedLocalVariables;
+        if (decoded == null) {
+            decoded = decodedLocalVariables = new DecodedVariables();
+        }
+        return decoded;
     }
 
     public boolean isForSynchronisation() {
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The outcome of a completed process instance: its final state and the
+ * process variables at the time of completion.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class ProcessCompletion {
+
+    private final String processInstanceId;
+    private final State state;
+    private final Map<String, Object> variables;
+
+    public ProcessCompletion(String processInstanceId, State state, Map<String, Object> variables) {
+        this.processInstanceId = processInstanceId;
+        this.state = state;
+        this.variables = variables == null ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new HashMap<>(variables));
+    }
+
+    /**
+     * Returns the id of the completed process instance.
+     *
+     * @return String
+     */
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    /**
+     * Returns the final state of the process instance.
+     *
+     * @return State
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the process variables at the time of completion.
+     *
+     * @return Map
+     */
+    public Map<String, Object> getVariables() {
+        return variables;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessCompletion [piId:" + processInstanceId + " state:" + state + "]";
+    }
+
+}
@@ -27,6 +27,7 @@ import org.arrow.runtime.AbstractRuntimeEntity;
 import org.arrow.runtime.TimestampAware;
 import org.arrow.runtime.api.BpmnNodeEntitySpecification;
 import org.arrow.runtime.api.process.ProcessSpecification;
+import org.arrow.runtime.variable.VariableDecoder;
 
 import java.util.*;
 
@@ -61,6 +62,9 @@ public class ProcessInstance extends AbstractRuntimeEntity implements
 	/** The variables. */
 	private DynamicProperties variables = new DynamicPropertiesContainer();
 
+	/** the decoded values of the type tagged variables, never persisted */
+	private transient DecodedVariables decodedVariables;
+
 	/** The finished. */
 	private boolean finished;
 
@@ -73,12 +77,14 @@ public class ProcessInstance extends AbstractRuntimeEntity implements
     private State state;
 
 	/**
-	 * Returns the process instance variables.
+	 * Returns a read only view of the process instance variables. Nothing is
+	 * copied, complex variables are decoded on access and their type tags
+	 * are not part of the view.
 	 * 
 	 * @return Map
 	 */
 	public Map<String, Object> getVariables() {
-		return variables.asMap();
+		return new VariableView(variables, getDecodedVariables());
 	}
 
     public State getState() {
@@ -177,7 +183,9 @@ public class ProcessInstance extends AbstractRuntimeEntity implements
 
 	/**
 	 * Blocks the current thread till the process instance is marked as
-	 * finished.
+	 * finished. Only notified on the instance held by the engine, see
+	 * {@link org.arrow.runtime.RuntimeService#executeProcessById} for a non
+	 * blocking alternative.
 	 * 
 	 * @throws InterruptedException
 	 *             the interrupted exception
@@ -244,7 +252,43 @@ public class ProcessInstance extends AbstractRuntimeEntity implements
     }
 
 	public void addVariable(String key, Object value) {
+		// the value replaces a stored complex variable
+		if (this.variables.hasProperty(VariableDecoder.typeKey(key))) {
+			this.variables.removeProperty(VariableDecoder.typeKey(key));
+		}
 		this.variables.setProperty(key, value);
 	}
 
+	/**
+	 * Indicates if the process instance itself holds the given variable.
+	 * Reads the variable layer directly without copying it.
+	 *
+	 * @param key the variable key
+	 * @return boolean
+	 */
+	public boolean hasVariable(String key) {
+		return this.variables.hasProperty(key);
+	}
+
+	/**
+	 * Returns the given variable of the process instance itself.
+	 * Reads the variable layer directly without copying it. Complex variables
+	 * are decoded, mutable values on each call so that each caller gets its
+	 * own copy, see {@link DecodedVariables}.
+	 *
+	 * @param key the variable key
+	 * @return Object
+	 */
+	public Object getVariable(String key) {
+		return getDecodedVariables().get(this.variables, key);
+	}
+
+	private DecodedVariables getDecodedVariables() {
+		DecodedVariables decoded = decodedVariables;
+		if (decoded == null) {
+			decoded = decodedVariables = new DecodedVariables();
+		}
+		return decoded;
+	}
+
 }
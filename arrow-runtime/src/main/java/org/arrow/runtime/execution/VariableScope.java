@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution;
+
+import org.arrow.runtime.variable.VariableDecoder;
+import org.springframework.data.neo4j.fieldaccess.DynamicProperties;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Layered read through view of the variables visible to an {@link Execution}.
+ * Lookups check the local execution variables first, then the variables of
+ * the process instance and finally the variables of the parent process
+ * instance chain. The {@link DynamicProperties} layers are read lazily on
+ * each lookup, nothing is copied. Complex variables are decoded, see
+ * {@link VariableDecoder}.
+ * <p>
+ * Writes are copy-on-write: they are kept in an overlay of the scope
+ * instance and never reach the underlying layers. Only iteration and
+ * {@link #size()} merge the layers into a snapshot.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class VariableScope extends AbstractMap<String, Object> {
+
+    /** marker of variables removed from the scope */
+    private static final Object REMOVED = new Object();
+
+    private final DynamicProperties localVariables;
+    private final DecodedVariables localDecoded;
+    private final ProcessInstance processInstance;
+
+    /** the copy-on-write overlay, created with the first write */
+    private Map<String, Object> writes;
+
+    public VariableScope(DynamicProperties localVariables, ProcessInstance processInstance) {
+        this(localVariables, new DecodedVariables(), processInstance);
+    }
+
+    VariableScope(DynamicProperties localVariables, DecodedVariables localDecoded, ProcessInstance processInstance) {
+        this.localVariables = localVariables;
+        this.localDecoded = localDecoded;
+        this.processInstance = processInstance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String)) {
+            return false;
+        }
+        if (writes != null && writes.containsKey(key)) {
+            return writes.get(key) != REMOVED;
+        }
+        return lookup(localVariables, localDecoded, processInstance, (String) key, true) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        if (writes != null && writes.containsKey(key)) {
+            Object value = writes.get(key);
+            return value == REMOVED ? null : value;
+        }
+        return lookup(localVariables, localDecoded, processInstance, (String) key, false);
+    }
+
+    /**
+     * Returns the variable of the topmost layer which contains the given key.
+     * In case the presence flag is set a non null marker is returned for
+     * existing variables instead of the variable value. The type tags of
+     * complex variables are not visible.
+     */
+    static Object lookup(DynamicProperties localVariables, DecodedVariables localDecoded,
+                         ProcessInstance processInstance, String key, boolean presence) {
+        String variable = VariableDecoder.variableKey(key);
+        if (localVariables != null && localVariables.hasProperty(key)) {
+            if (variable != null && localVariables.hasProperty(variable)) {
+                return null;
+            }
+            if (presence) {
+                return Boolean.TRUE;
+            }
+            return localDecoded.get(localVariables, key);
+        }
+        for (ProcessInstance pi = processInstance; pi != null; pi = pi.getParentProcessInstance()) {
+            if (pi.hasVariable(key)) {
+                if (variable != null && pi.hasVariable(variable)) {
+                    return null;
+                }
+                return presence ? Boolean.TRUE : pi.getVariable(key);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        getWrites().put(key, value);
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        Object previous = get(key);
+        getWrites().put((String) key, REMOVED);
+        return previous;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        for (String key : snapshot().keySet()) {
+            getWrites().put(key, REMOVED);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return snapshot().size();
+    }
+
+    /**
+     * Returns a read only snapshot of the merged variables.
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return Collections.unmodifiableMap(snapshot()).entrySet();
+    }
+
+    private Map<String, Object> getWrites() {
+        if (writes == null) {
+            writes = new HashMap<>();
+        }
+        return writes;
+    }
+
+    /**
+     * Merges the layers into a new map, lowest priority first.
+     */
+    private Map<String, Object> snapshot() {
+        Deque<ProcessInstance> chain = new ArrayDeque<>();
+        for (ProcessInstance pi = processInstance; pi != null; pi = pi.getParentProcessInstance()) {
+            chain.push(pi);
+        }
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (ProcessInstance pi : chain) {
+            snapshot.putAll(pi.getVariables());
+        }
+        if (localVariables != null) {
+            snapshot.putAll(new VariableView(localVariables, localDecoded));
+        }
+        if (writes != null) {
+            for (Entry<String, Object> entry : writes.entrySet()) {
+                if (entry.getValue() == REMOVED) {
+                    snapshot.remove(entry.getKey());
+                } else {
+                    snapshot.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return snapshot;
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution;
+
+import org.arrow.runtime.variable.VariableDecoder;
+import org.springframework.data.neo4j.fieldaccess.DynamicProperties;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read only view of a single {@link DynamicProperties} variable layer.
+ * Nothing is copied, complex variables are decoded on access by the given
+ * {@link DecodedVariables} and their type tags are not visible.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+final class VariableView extends AbstractMap<String, Object> {
+
+    private final DynamicProperties variables;
+    private final DecodedVariables decoded;
+
+    VariableView(DynamicProperties variables, DecodedVariables decoded) {
+        this.variables = variables;
+        this.decoded = decoded;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && variables.hasProperty((String) key) && !isTypeKey((String) key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object get(Object key) {
+        return containsKey(key) ? decoded.get(variables, (String) key) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator(variables.getPropertyKeys().iterator());
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (String key : variables.getPropertyKeys()) {
+                    if (!isTypeKey(key)) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    private boolean isTypeKey(String key) {
+        String variable = VariableDecoder.variableKey(key);
+        return variable != null && variables.hasProperty(variable);
+    }
+
+    /**
+     * Iterates the variables of the layer, the type tags are skipped.
+     */
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private final Iterator<String> keys;
+        private String next;
+
+        private EntryIterator(Iterator<String> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && keys.hasNext()) {
+                String key = keys.next();
+                if (!isTypeKey(key)) {
+                    next = key;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String key = next;
+            next = null;
+            return new SimpleImmutableEntry<>(key, decoded.get(variables, key));
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ package org.arrow.runtime.execution.service;
 
 import org.arrow.runtime.api.BpmnNodeEntitySpecification;
 import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.State;
 import org.arrow.runtime.execution.service.data.*;
 import org.arrow.runtime.meta.ProcessMetaDataRepository;
@@ -34,19 +35,32 @@ public interface ExecutionDataService {
 
     /**
      * Executes a depth first traversing to identify the synchronisation state.
+     * Synchronisations of the same process instance are serialized while
+     * different process instances are synchronized concurrently.
      *
      * @param entity the bpmn entity specification
+     * @param pi     the process instance to synchronize
      * @return Synchronisation
      */
-    SynchronisationResult depthFirstSynchronization(BpmnNodeEntitySpecification entity);
+    SynchronisationResult depthFirstSynchronization(BpmnNodeEntitySpecification entity, ProcessInstance pi);
 
     /**
      * Executes a breadth first traversing to identify the synchronisation state.
      *
      * @param entity the bpmn entity specification
+     * @param pi     the process instance to synchronize
      * @return Synchronisation
      */
-    SynchronisationResult breadthFirstSynchronization(BpmnNodeEntitySpecification entity);
+    SynchronisationResult breadthFirstSynchronization(BpmnNodeEntitySpecification entity, ProcessInstance pi);
+
+    /**
+     * Precomputes the upstream graph of the given joining bpmn entity so that
+     * the synchronisation does not have to traverse the process definition.
+     * Called once per gateway on deployment.
+     *
+     * @param entity the bpmn entity specification
+     */
+    void prepareSynchronization(BpmnNodeEntitySpecification entity);
 
     /**
      * Returns all following executions of the given start node with the given state.
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution.service;
+
+import org.arrow.runtime.api.task.JavaDelegate;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.message.EventMessage;
+import scala.concurrent.Future;
+
+/**
+ * Delegate execution service definition used to execute java delegates
+ * asynchronously, so that delegates calling slow downstream systems do not
+ * block the threads of the engine.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface ExecutionDelegateService {
+
+    /**
+     * Executes the given java delegate on a dedicated dispatcher. The
+     * concurrency limit and the timeout are configured per delegate name.
+     * The returned future fails with a
+     * {@link java.util.concurrent.TimeoutException} if the delegate does not
+     * complete in time.
+     *
+     * @param delegateName the delegate name, e.g. the bean or class name
+     * @param delegate     the java delegate
+     * @param execution    the execution instance
+     * @return Future
+     */
+    Future<Iterable<EventMessage>> executeAsync(String delegateName, JavaDelegate delegate, Execution execution);
+
+}
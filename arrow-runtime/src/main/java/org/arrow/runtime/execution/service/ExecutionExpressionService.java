@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution.service;
+
+import org.arrow.runtime.execution.Execution;
+import org.springframework.expression.EvaluationContext;
+
+/**
+ * Expression service definition used to evaluate spring EL expressions,
+ * e.g. sequence flow conditions. Expressions are parsed once and cached.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface ExecutionExpressionService {
+
+    /**
+     * Parses the given expression and caches it under the given key, e.g. the
+     * id of the sequence flow which holds the expression. Called during the
+     * deployment of the process definitions.
+     *
+     * @param key        the cache key
+     * @param expression the SpEL expression
+     */
+    void prepare(String key, String expression);
+
+    /**
+     * Returns an evaluation context which resolves the variables of the given
+     * execution lazily. The context should be reused for all expressions
+     * evaluated for the same execution.
+     *
+     * @param execution the current execution
+     * @return EvaluationContext
+     */
+    EvaluationContext createContext(Execution execution);
+
+    /**
+     * Evaluates the expression cached under the given key within the given
+     * context. The expression is parsed and cached if it was not prepared.
+     *
+     * @param key        the cache key
+     * @param expression the SpEL expression
+     * @param context    the evaluation context
+     * @param type       the expected result type
+     * @return T
+     */
+    <T> T evaluate(String key, String expression, EvaluationContext context, Class<T> type);
+
+    /**
+     * Evaluates the given expression with access to the spring beans.
+     *
+     * @param expression the SpEL expression
+     * @return Object
+     */
+    Object evaluate(String expression);
+
+}
@@ -19,6 +19,8 @@ package org.arrow.runtime.execution.service;
 import org.arrow.runtime.rule.RuleEvaluationContext;
 import org.arrow.runtime.rule.RuleSource;
 
+import java.util.List;
+
 /**
  * Execution service facade for rule engine services.
  *
@@ -35,4 +37,13 @@ public interface ExecutionRuleService {
      */
     void evaluate(RuleSource source, RuleEvaluationContext context);
 
+    /**
+     * Evaluates the same rule source for each of the given contexts, e.g. for
+     * many process instances, within one rule engine session.
+     *
+     * @param source the rule source instance
+     * @param contexts the rule evaluation contexts
+     */
+    void evaluateAll(RuleSource source, List<RuleEvaluationContext> contexts);
+
 }
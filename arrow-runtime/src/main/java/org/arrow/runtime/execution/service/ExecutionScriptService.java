@@ -48,8 +48,26 @@ public interface ExecutionScriptService {
      */
     Object evaluateGroovy(ScriptSource source, ScriptEvaluationContext context);
 
+    /**
+     * Evaluates the given groovy script source with the given script evaluation context.
+     * The compiled script class is cached, each evaluation runs a new script instance
+     * with its own binding.
+     *
+     * @param source  the script source
+     * @param context the script evaluation context
+     * @return Object
+     */
     Object evaluateCompiledGroovy(ScriptSource source, ScriptEvaluationContext context);
 
+    /**
+     * Compiles the given script and caches the compiled form, e.g. during the
+     * deployment of the process definitions.
+     *
+     * @param scriptLanguage the script language
+     * @param script         the script
+     */
+    void prepare(String scriptLanguage, String script);
+
     /**
      * The context for a script evaluation.
      *
@@ -24,6 +24,7 @@ import org.arrow.runtime.definition.RelationDef;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.State;
 import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.timer.TimerService;
 import org.springframework.scheduling.Trigger;
 import scala.concurrent.Future;
 
@@ -43,6 +44,9 @@ public interface ExecutionService {
 	/**
 	 * Signals the process engine to trigger signal based BPMN elements e.g. a
 	 * signal start event, signal intermediate event or signal boundary event.
+	 * The signal event messages are published by the signal broadcast, the
+	 * returned future completes with an empty iterable once all of them are
+	 * published.
 	 * 
 	 * @param signalRef the signal reference
 	 * @return Future
@@ -52,7 +56,9 @@ public interface ExecutionService {
 	/**
 	 * Signals the process engine to trigger signal based BPMN elements e.g. a
 	 * signal start event, signal intermediate event or signal boundary event
-	 * with the given variables.
+	 * with the given variables. The signal event messages are published by
+	 * the signal broadcast, the returned future completes with an empty
+	 * iterable once all of them are published.
 	 * 
 	 * @param signalRef the signal reference
 	 * @param variables the variables
@@ -238,6 +244,12 @@ public interface ExecutionService {
 
     ExecutionScriptService script();
 
+    ExecutionExpressionService expression();
+
+    ExecutionDelegateService delegate();
+
+    TimerService timer();
+
 	ExecutionAdHocService adhoc();
 
     void enableFlow(Execution execution, RelationDef flow);
@@ -23,6 +23,7 @@ import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.State;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -57,6 +58,18 @@ public interface ExecutionRepository {
      */
     Set<Execution> findAllBySignalRef(String signalRef);
 
+    /**
+     * Returns a page of the waiting executions by the given signal reference
+     * ordered by id. The page starts after the given execution id, so that
+     * the executions are streamed page by page without loading all of them.
+     *
+     * @param signalRef the signal reference
+     * @param afterId   the id of the last execution of the previous page, empty for the first page
+     * @param limit     the maximum page size
+     * @return List
+     */
+    List<Execution> findBySignalRef(String signalRef, String afterId, int limit);
+
     /**
      * Returns all executions by the given message reference.
      *
@@ -65,6 +78,17 @@ public interface ExecutionRepository {
      */
     Execution findByMessageRef(String messageRef);
 
+    /**
+     * Returns the waiting execution with the given message correlation key.
+     * The oldest execution is returned if several executions wait with the
+     * same key.
+     *
+     * @param correlationKey the correlation key
+     * @return Execution
+     * @see org.arrow.runtime.message.MessageCorrelation
+     */
+    Execution findByCorrelationKey(String correlationKey);
+
     /**
      * Returns the execution with the given execution id.
      *
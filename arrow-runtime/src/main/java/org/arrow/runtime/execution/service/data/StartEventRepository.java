@@ -49,6 +49,15 @@ public interface StartEventRepository {
      */
     StartEventSpecification findNoneStartEventByProcessId(String processId);
 
+    /**
+     * Returns the timer {@link StartEventSpecification} with the given id of
+     * the latest deployed process version.
+     *
+     * @param id the start event id
+     * @return StartEventSpecification
+     */
+    StartEventSpecification findTimerStartEvent(String id);
+
     /**
      * Returns all {@link StartEventSpecification} instances by the given
      * conditional bean name.
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution.synchronisation;
+
+import org.arrow.runtime.execution.State;
+
+/**
+ * Read access to the execution states of the nodes of a single process
+ * instance, used by the {@link UpstreamGraph} to evaluate a join.
+ *
+ * @param <K> the node key type
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface ExecutionStates<K> {
+
+    /**
+     * Returns the state of the execution of the given node or null
+     * if the node was not executed yet.
+     *
+     * @param node the node key
+     * @return State
+     */
+    State stateOf(K node);
+
+    /**
+     * Indicates if the execution of the given node enabled the given flow.
+     *
+     * @param node   the node key
+     * @param flowId the sequence flow id
+     * @return boolean
+     */
+    boolean isEnabled(K node, String flowId);
+
+}
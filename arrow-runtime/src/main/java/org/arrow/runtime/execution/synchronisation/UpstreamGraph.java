@@ -0,0 +1,247 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution.synchronisation;
+
+import org.arrow.runtime.execution.State;
+import org.arrow.runtime.execution.service.ExecutionDataService.SynchronisationResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of all nodes and sequence flows upstream of a joining
+ * gateway. The graph is computed once per gateway definition, so that a join
+ * check only has to look at the execution states of the predecessor nodes
+ * instead of enumerating every path to the gateway. Each sequence flow is
+ * evaluated at most twice, which keeps the cost linear in the graph size.
+ *
+ * @param <K> the node key type
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class UpstreamGraph<K> {
+
+    private static final int GATEWAY = 0;
+
+    /** the node keys, the gateway is located at index 0 */
+    private final List<K> nodes;
+
+    /** the incoming flows of each node given as indices into the flow arrays */
+    private final int[][] incoming;
+
+    private final int[] flowSource;
+    private final String[] flowId;
+
+    private UpstreamGraph(List<K> nodes, int[][] incoming, int[] flowSource, String[] flowId) {
+        this.nodes = nodes;
+        this.incoming = incoming;
+        this.flowSource = flowSource;
+        this.flowId = flowId;
+    }
+
+    /**
+     * Returns the keys of the gateway and all upstream nodes.
+     *
+     * @return List
+     */
+    public List<K> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the count of sequence flows upstream of the gateway.
+     *
+     * @return int
+     */
+    public int getFlowCount() {
+        return flowId.length;
+    }
+
+    /**
+     * Evaluates the synchronisation state of an inclusive join. The upstream
+     * nodes are walked back from the gateway until a node with an execution
+     * is found. The join is not finished as long as a successful execution
+     * enabled a flow which reaches the gateway through nodes which are not
+     * executed yet. The expected flow count is the number of enabled flows
+     * leading directly into the gateway.
+     *
+     * @param states the execution states of the process instance
+     * @return SynchronisationResult
+     */
+    public SynchronisationResult depthFirstSynchronisation(ExecutionStates<K> states) {
+
+        int expect = 0;
+
+        boolean[] expanded = new boolean[nodes.size()];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        // the flows leading directly into the gateway
+        for (int flow : incoming[GATEWAY]) {
+            int source = flowSource[flow];
+            K node = nodes.get(source);
+            State state = states.stateOf(node);
+
+            if (state == null) {
+                enqueue(source, expanded, queue);
+            } else if (state.isSuccess() && states.isEnabled(node, flowId[flow])) {
+                expect++;
+            }
+        }
+
+        // the flows reaching the gateway through not executed nodes
+        while (!queue.isEmpty()) {
+            for (int flow : incoming[queue.poll()]) {
+                int source = flowSource[flow];
+                K node = nodes.get(source);
+                State state = states.stateOf(node);
+
+                if (state == null) {
+                    enqueue(source, expanded, queue);
+                } else if (state.isSuccess() && states.isEnabled(node, flowId[flow])) {
+                    return new SynchronisationResult(false, expect);
+                }
+            }
+        }
+        return new SynchronisationResult(true, expect);
+    }
+
+    /**
+     * Indicates if all upstream nodes of the gateway were executed successfully.
+     *
+     * @param states the execution states of the process instance
+     * @return boolean
+     */
+    public boolean breadthFirstSynchronisation(ExecutionStates<K> states) {
+
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i == GATEWAY && !isOwnPredecessor()) {
+                continue;
+            }
+            State state = states.stateOf(nodes.get(i));
+            if (state == null || !state.isSuccess()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates if the gateway is located on a cycle and therefore
+     * upstream of itself.
+     *
+     * @return boolean
+     */
+    private boolean isOwnPredecessor() {
+        for (int source : flowSource) {
+            if (source == GATEWAY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void enqueue(int node, boolean[] expanded, Deque<Integer> queue) {
+        if (!expanded[node]) {
+            expanded[node] = true;
+            queue.add(node);
+        }
+    }
+
+    /**
+     * Returns a new builder for the gateway with the given key.
+     *
+     * @param gateway the gateway node key
+     * @param <K>     the node key type
+     * @return Builder
+     */
+    public static <K> Builder<K> builder(K gateway) {
+        return new Builder<>(gateway);
+    }
+
+    /**
+     * Builder used to collect the upstream nodes and flows of a gateway.
+     *
+     * @param <K> the node key type
+     */
+    public static final class Builder<K> {
+
+        private final Map<K, Integer> indices = new HashMap<>();
+        private final List<K> nodes = new ArrayList<>();
+        private final List<List<Integer>> incoming = new ArrayList<>();
+        private final List<Integer> flowSource = new ArrayList<>();
+        private final List<String> flowIds = new ArrayList<>();
+
+        private Builder(K gateway) {
+            indexOf(gateway);
+        }
+
+        /**
+         * Adds a sequence flow to the graph.
+         *
+         * @param source the source node key
+         * @param flowId the sequence flow id
+         * @param target the target node key
+         * @return Builder
+         */
+        public Builder<K> flow(K source, String flowId, K target) {
+            int flow = flowIds.size();
+            flowSource.add(indexOf(source));
+            flowIds.add(flowId);
+            incoming.get(indexOf(target)).add(flow);
+            return this;
+        }
+
+        /**
+         * Builds the immutable upstream graph.
+         *
+         * @return UpstreamGraph
+         */
+        public UpstreamGraph<K> build() {
+            int[][] in = new int[nodes.size()][];
+            for (int i = 0; i < in.length; i++) {
+                in[i] = toArray(incoming.get(i));
+            }
+            return new UpstreamGraph<>(Collections.unmodifiableList(new ArrayList<>(nodes)), in,
+                    toArray(flowSource), flowIds.toArray(new String[flowIds.size()]));
+        }
+
+        private int indexOf(K node) {
+            Integer index = indices.get(node);
+            if (index == null) {
+                index = nodes.size();
+                indices.put(node, index);
+                nodes.add(node);
+                incoming.add(new ArrayList<>());
+            }
+            return index;
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            return array;
+        }
+    }
+
+}
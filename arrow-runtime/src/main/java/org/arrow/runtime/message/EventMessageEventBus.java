@@ -17,72 +17,190 @@
 package org.arrow.runtime.message;
 
 import akka.actor.ActorRef;
-import akka.event.japi.ScanningEventBus;
+import akka.event.japi.EventBus;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.metrics.Counter;
+import org.arrow.runtime.metrics.EngineMetrics;
+import org.arrow.runtime.metrics.NoOpEngineMetrics;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
- * {@link ScanningEventBus} implementation designed to publish
- * {@link EventMessage} messages.
+ * {@link EventBus} implementation designed to publish {@link EventMessage} messages.
+ * The subscribers are indexed by their classifier, the process instance id, so that
+ * publishing an event costs a single lookup regardless of the number of running
+ * process instances. Subscribers registered with a {@code null} classifier receive
+ * every published event.
  *
  * @author christian.weber
  * @since 1.0.0
  */
 @Component
-public class EventMessageEventBus extends ScanningEventBus<EventMessage, ActorRef, String> {
+public class EventMessageEventBus implements EventBus<EventMessage, ActorRef, String> {
+
+    /**
+     * The subscribers indexed by the process instance id.
+     */
+    private final ConcurrentMap<String, Set<ActorRef>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * The classifiers of each subscriber, used to unsubscribe without scanning the index.
+     */
+    private final ConcurrentMap<ActorRef, Set<String>> classifiers = new ConcurrentHashMap<>();
+
+    /**
+     * The subscribers which receive every published event.
+     */
+    private final Set<ActorRef> broadcastSubscribers = new CopyOnWriteArraySet<>();
+
+    /**
+     * The counter of published events.
+     */
+    private Counter published = NoOpEngineMetrics.COUNTER;
+
+    /**
+     * Sets the engine metrics used to count the published events.
+     *
+     * @param metrics the engine metrics
+     */
+    @Autowired(required = false)
+    public void setMetrics(EngineMetrics metrics) {
+        this.published = metrics.counter(EngineMetrics.EVENTBUS_PUBLISHED);
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public int compareClassifiers(String classifier1, String classifier2) {
+    public boolean subscribe(ActorRef subscriber, String classifier) {
 
-        if (classifier1 == null && classifier2 == null) {
-            return 0;
-        }
-        if (classifier1 == null) {
-            return 1;
-        }
-        if (classifier2 == null) {
-            return -1;
+        if (classifier == null) {
+            return broadcastSubscribers.add(subscriber);
         }
 
-        return classifier1.compareTo(classifier2);
+        // the classifier is added atomically with the entry, an empty entry is dropped concurrently
+        classifiers.compute(subscriber, (key, subscribed) -> {
+            Set<String> set = subscribed == null ? ConcurrentHashMap.newKeySet() : subscribed;
+            set.add(classifier);
+            return set;
+        });
+
+        // the subscriber is added atomically with the entry, an empty entry is dropped concurrently
+        boolean[] added = new boolean[1];
+        subscribers.compute(classifier, (key, refs) -> {
+            Set<ActorRef> set = refs == null ? new CopyOnWriteArraySet<>() : refs;
+            added[0] = set.add(subscriber);
+            return set;
+        });
+        return added[0];
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public int compareSubscribers(ActorRef obj1, ActorRef obj2) {
-        return obj1.compareTo(obj2);
+    public boolean unsubscribe(ActorRef subscriber, String classifier) {
+
+        if (classifier == null) {
+            return broadcastSubscribers.remove(subscriber);
+        }
+
+        classifiers.computeIfPresent(subscriber, (key, subscribed) -> {
+            subscribed.remove(classifier);
+            return subscribed.isEmpty() ? null : subscribed;
+        });
+        return removeSubscriber(subscriber, classifier);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void publish(EventMessage event, ActorRef subscriber) {
-        subscriber.tell(event, subscriber);
+    public void unsubscribe(ActorRef subscriber) {
+        broadcastSubscribers.remove(subscriber);
+
+        Set<String> subscribed = classifiers.remove(subscriber);
+        if (subscribed == null) {
+            return;
+        }
+        for (String classifier : subscribed) {
+            removeSubscriber(subscriber, classifier);
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public boolean matches(String classifier, EventMessage event) {
+    public void publish(EventMessage event) {
+        published.increment();
 
-        if (classifier == null) {
-            return true;
+        String classifier = classify(event);
+        if (classifier != null) {
+            Set<ActorRef> refs = subscribers.get(classifier);
+            if (refs != null) {
+                for (ActorRef subscriber : refs) {
+                    publish(event, subscriber);
+                }
+            }
+        }
+
+        for (ActorRef subscriber : broadcastSubscribers) {
+            publish(event, subscriber);
         }
+    }
+
+    /**
+     * Publishes the given event to the given subscriber.
+     *
+     * @param event      the event message
+     * @param subscriber the subscriber actor reference
+     */
+    public void publish(EventMessage event, ActorRef subscriber) {
+        subscriber.tell(event, subscriber);
+    }
+
+    /**
+     * Returns the count of process instances with at least one subscriber.
+     *
+     * @return int
+     */
+    public int size() {
+        return subscribers.size();
+    }
+
+    /**
+     * Returns the classifier of the given event, which is the id of the
+     * process instance the event belongs to.
+     *
+     * @param event the event message
+     * @return String
+     */
+    protected String classify(EventMessage event) {
         ProcessInstance pi = event.getProcessInstance();
-        return pi.getId().compareTo(classifier) == 0;
+        return pi == null ? null : pi.getId();
     }
 
+    /**
+     * Removes the subscriber from the index entry of the given classifier and
+     * drops the entry as soon as it becomes empty.
+     *
+     * @param subscriber the subscriber actor reference
+     * @param classifier the process instance id
+     * @return boolean
+     */
+    private boolean removeSubscriber(ActorRef subscriber, String classifier) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(classifier, (key, refs) -> {
+            removed[0] = refs.remove(subscriber);
+            return refs.isEmpty() ? null : refs;
+        });
+        return removed[0];
+    }
 
 }
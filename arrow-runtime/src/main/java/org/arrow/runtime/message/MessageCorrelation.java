@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.message;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Utility class which builds the correlation keys of message events. A
+ * correlation key combines the message reference with the correlation values
+ * ordered by their names, so that the key of a waiting execution equals the
+ * key of a message carrying the same values. Correlation keys are indexed,
+ * which resolves a correlated message with a single index lookup.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class MessageCorrelation {
+
+    private MessageCorrelation() {
+        super();
+    }
+
+    /**
+     * Returns the correlation key of the given message reference and
+     * correlation values or null if no values are given.
+     *
+     * @param messageRef the message reference
+     * @param values     the correlation values by name
+     * @return String
+     */
+    public static String key(String messageRef, Map<String, ?> values) {
+        if (messageRef == null || values == null || values.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(escape(messageRef));
+        for (Map.Entry<String, ?> entry : new TreeMap<>(values).entrySet()) {
+            if (entry.getValue() == null) {
+                return null;
+            }
+            key.append('&').append(escape(entry.getKey()));
+            key.append('=').append(escape(String.valueOf(entry.getValue())));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the correlation key of an execution waiting for the given
+     * message reference. The correlation values are read from the given
+     * variables, null is returned if no correlation names are declared or
+     * one of the variables is not set.
+     *
+     * @param messageRef the message reference
+     * @param names      the declared correlation names
+     * @param variables  the execution variables
+     * @return String
+     */
+    public static String key(String messageRef, String[] names, Map<String, Object> variables) {
+        if (names == null || names.length == 0) {
+            return null;
+        }
+
+        Map<String, Object> values = new TreeMap<>();
+        for (String name : names) {
+            values.put(name, variables.get(name));
+        }
+        return key(messageRef, values);
+    }
+
+    /**
+     * Escapes the separator characters of the given key part.
+     *
+     * @param part the key part
+     * @return String
+     */
+    private static String escape(String part) {
+        if (part.indexOf('\\') < 0 && part.indexOf('&') < 0 && part.indexOf('=') < 0) {
+            return part;
+        }
+        return part.replace("\\", "\\\\").replace("&", "\\&").replace("=", "\\=");
+    }
+
+}
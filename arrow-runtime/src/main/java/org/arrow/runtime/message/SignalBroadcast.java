@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.message;
+
+import scala.concurrent.Future;
+
+/**
+ * Progress of a signal broadcast. The waiting executions of the signal are
+ * resumed in bounded batches and the signal started process instances are
+ * created in chunks, the counters report the progress while the broadcast
+ * is running.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface SignalBroadcast {
+
+    /**
+     * Returns the signal reference.
+     *
+     * @return String
+     */
+    String getSignalRef();
+
+    /**
+     * Returns the count of waiting executions signalled so far.
+     *
+     * @return long
+     */
+    long getResumedCount();
+
+    /**
+     * Returns the count of process instances started so far.
+     *
+     * @return long
+     */
+    long getStartedCount();
+
+    /**
+     * Returns the count of published batches.
+     *
+     * @return int
+     */
+    int getBatchCount();
+
+    /**
+     * Indicates if all batches of the broadcast are published.
+     *
+     * @return boolean
+     */
+    boolean isDone();
+
+    /**
+     * Returns the future which completes with this broadcast as soon as all
+     * batches are published.
+     *
+     * @return Future
+     */
+    Future<SignalBroadcast> getFuture();
+
+}
@@ -17,6 +17,7 @@
 package org.arrow.runtime.message.impl;
 
 import org.arrow.runtime.api.BpmnNodeEntitySpecification;
+import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.ExecutionGroup;
 import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.message.AbstractExecuteEventMessage;
@@ -37,4 +38,8 @@ public class DefaultExecuteEventMessage extends AbstractExecuteEventMessage {
         super(entity, pi, group);
     }
 
+    public DefaultExecuteEventMessage(Execution execution) {
+        super(execution);
+    }
+
 }
@@ -21,6 +21,7 @@ import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.message.AbstractFinishEventMessage;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * {@link ApplicationEvent} class for signal events.
@@ -32,6 +33,7 @@ public class SignalEventMessage extends AbstractFinishEventMessage {
 
     private final String signalRef;
     private final Map<String, Object> variables;
+    private final AtomicReference<Runnable> acknowledgement = new AtomicReference<>();
 
     public SignalEventMessage(String signalRef, Execution execution, Map<String, Object> variables) {
         super(execution);
@@ -43,4 +45,25 @@ public class SignalEventMessage extends AbstractFinishEventMessage {
     public boolean continueNode() {
         return true;
     }
+
+    /**
+     * Sets the callback which is invoked as soon as the signal event is
+     * handled. Used by signal broadcasts to bound the signal events in flight.
+     *
+     * @param acknowledgement the acknowledgement callback
+     */
+    public void setAcknowledgement(Runnable acknowledgement) {
+        this.acknowledgement.set(acknowledgement);
+    }
+
+    /**
+     * Acknowledges the handling of the signal event. The callback is invoked
+     * at most once.
+     */
+    public void acknowledge() {
+        Runnable callback = acknowledgement.getAndSet(null);
+        if (callback != null) {
+            callback.run();
+        }
+    }
 }
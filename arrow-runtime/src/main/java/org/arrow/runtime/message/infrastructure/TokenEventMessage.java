@@ -40,6 +40,10 @@ public class TokenEventMessage implements InfrastructureEventMessage {
         return execution.getProcessInstance();
     }
 
+    public Execution getExecution() {
+        return execution;
+    }
+
     public TokenAction getTokenAction() {
         return tokenAction;
     }
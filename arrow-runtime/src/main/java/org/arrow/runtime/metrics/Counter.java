@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.runtime.metrics;
+
+/**
+ * Monotonic or up/down counter of an {@link EngineMetrics} instance.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface Counter {
+
+    /**
+     * Increments the counter by one.
+     */
+    void increment();
+
+    /**
+     * Adds the given delta to the counter.
+     *
+     * @param delta the delta, may be negative
+     */
+    void add(long delta);
+
+    /**
+     * Returns the current count.
+     *
+     * @return long
+     */
+    long getCount();
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.runtime.metrics;
+
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics SPI of the process engine. The engine records the latencies and
+ * counts of its hot paths through this interface, the names of the engine
+ * metrics are defined as constants. Instrumented code checks
+ * {@link #isEnabled()} before it takes timestamps, so that disabled metrics
+ * cost a single branch.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface EngineMetrics {
+
+    /** latency of node executions in nanoseconds, suffixed by the node type */
+    String NODE_EXECUTE = "node.execute.";
+    /** latency of node finishes in nanoseconds, suffixed by the node type */
+    String NODE_FINISH = "node.finish.";
+    /** latency of execution store transactions in nanoseconds */
+    String STORE_SAVE_EXECUTIONS = "store.save-executions";
+    /** latency of micro service queries in nanoseconds, suffixed by the service name */
+    String MICROSERVICE = "microservice.";
+    /** count of event messages published on the event bus */
+    String EVENTBUS_PUBLISHED = "eventbus.published";
+    /** count of started process instances */
+    String PROCESS_STARTED = "process.started";
+    /** count of completed process instances */
+    String PROCESS_COMPLETED = "process.completed";
+    /** count of active tokens of all running process instances */
+    String ACTIVE_TOKENS = "tokens.active";
+    /** count of queued tasks of an engine dispatcher, suffixed by the dispatcher name */
+    String DISPATCHER_QUEUE = "dispatcher.queue.";
+    /** count of admitted process instances which are not completed yet */
+    String ADMISSION_IN_FLIGHT = "admission.in-flight";
+
+    /**
+     * Indicates if the metrics are recorded.
+     *
+     * @return boolean
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the counter with the given name, creates it if necessary.
+     *
+     * @param name the metric name
+     * @return Counter
+     */
+    Counter counter(String name);
+
+    /**
+     * Returns the histogram with the given name, creates it if necessary.
+     *
+     * @param name the metric name
+     * @return Histogram
+     */
+    Histogram histogram(String name);
+
+    /**
+     * Registers a gauge with the given name, the supplier is invoked
+     * whenever the metrics are read.
+     *
+     * @param name  the metric name
+     * @param value the supplier of the gauge value
+     */
+    void gauge(String name, LongSupplier value);
+
+    /**
+     * Returns the current values of all counters and gauges by name.
+     *
+     * @return Map
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * Returns snapshots of all histograms by name.
+     *
+     * @return Map
+     */
+    Map<String, HistogramSnapshot> getHistograms();
+
+}
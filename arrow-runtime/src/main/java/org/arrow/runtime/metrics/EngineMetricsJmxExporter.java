@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.runtime.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link DynamicMBean} implementation which exposes the {@link EngineMetrics}
+ * via JMX. Each counter and gauge is a read-only attribute, each histogram is
+ * flattened into the attributes {@code <name>.count}, {@code <name>.mean},
+ * {@code <name>.p50}, {@code <name>.p95}, {@code <name>.p99} and
+ * {@code <name>.max}. The attributes are read from the metrics on every
+ * request, metrics created after the registration are therefore exposed too.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class EngineMetricsJmxExporter implements DynamicMBean {
+
+    private final EngineMetrics metrics;
+
+    private MBeanServer server;
+    private ObjectName name;
+
+    public EngineMetricsJmxExporter(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers the exporter at the given MBean server.
+     *
+     * @param server the MBean server
+     * @param name   the object name
+     * @throws Exception if the registration fails
+     */
+    public synchronized void register(MBeanServer server, ObjectName name) throws Exception {
+        server.registerMBean(this, name);
+        this.server = server;
+        this.name = name;
+    }
+
+    /**
+     * Unregisters the exporter, if registered.
+     *
+     * @throws Exception if the deregistration fails
+     */
+    public synchronized void unregister() throws Exception {
+        if (server != null && server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server = null;
+        name = null;
+    }
+
+    /**
+     * Returns the current values of all attributes by name.
+     *
+     * @return Map
+     */
+    private Map<String, Long> values() {
+        Map<String, Long> values = new TreeMap<>(metrics.getCounts());
+        for (Map.Entry<String, HistogramSnapshot> entry : metrics.getHistograms().entrySet()) {
+            HistogramSnapshot snapshot = entry.getValue();
+            values.put(entry.getKey() + ".count", snapshot.getCount());
+            values.put(entry.getKey() + ".mean", snapshot.getMean());
+            values.put(entry.getKey() + ".p50", snapshot.getP50());
+            values.put(entry.getKey() + ".p95", snapshot.getP95());
+            values.put(entry.getKey() + ".p99", snapshot.getP99());
+            values.put(entry.getKey() + ".max", snapshot.getMax());
+        }
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Long value = values().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Long> values = values();
+
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            Long value = values.get(attribute);
+            if (value != null) {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("read-only attribute " + attribute.getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException(actionName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (String attribute : values().keySet()) {
+            attributes.add(new MBeanAttributeInfo(attribute, Long.class.getName(), attribute, true, false, false));
+        }
+        return new MBeanInfo(getClass().getName(), "arrow engine metrics",
+                attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null, new MBeanOperationInfo[0], null);
+    }
+
+}
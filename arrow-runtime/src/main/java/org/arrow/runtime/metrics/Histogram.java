@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.runtime.metrics;
+
+/**
+ * Value distribution of an {@link EngineMetrics} instance, e.g. of
+ * latencies in nanoseconds.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface Histogram {
+
+    /**
+     * Records the given value, negative values are recorded as zero.
+     *
+     * @param value the value
+     */
+    void record(long value);
+
+    /**
+     * Returns a snapshot of the recorded values.
+     *
+     * @return HistogramSnapshot
+     */
+    HistogramSnapshot getSnapshot();
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.runtime.metrics;
+
+/**
+ * Immutable snapshot of a {@link Histogram}. The percentiles are upper
+ * bounds of the histogram buckets, exact within a factor of two.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class HistogramSnapshot {
+
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(0, 0, 0, 0, 0, 0);
+
+    private final long count;
+    private final long sum;
+    private final long max;
+    private final long p50;
+    private final long p95;
+    private final long p99;
+
+    public HistogramSnapshot(long count, long sum, long max, long p50, long p95, long p99) {
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded values, zero if no value is recorded.
+     *
+     * @return long
+     */
+    public long getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP95() {
+        return p95;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + ", mean=" + getMean() + ", p50=" + p50 + ", p95=" + p95 + ", p99=" + p99 + ", max=" + max;
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.runtime.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link EngineMetrics} implementation which records nothing. The counters
+ * and histograms are shared no-op instances, so that instrumented code paths
+ * neither allocate nor synchronize while the metrics are disabled.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class NoOpEngineMetrics implements EngineMetrics {
+
+    public static final NoOpEngineMetrics INSTANCE = new NoOpEngineMetrics();
+
+    public static final Counter COUNTER = new Counter() {
+
+        @Override
+        public void increment() {
+        }
+
+        @Override
+        public void add(long delta) {
+        }
+
+        @Override
+        public long getCount() {
+            return 0;
+        }
+    };
+
+    public static final Histogram HISTOGRAM = new Histogram() {
+
+        @Override
+        public void record(long value) {
+        }
+
+        @Override
+        public HistogramSnapshot getSnapshot() {
+            return HistogramSnapshot.EMPTY;
+        }
+    };
+
+    private NoOpEngineMetrics() {
+        super();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Counter counter(String name) {
+        return COUNTER;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Histogram histogram(String name) {
+        return HISTOGRAM;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void gauge(String name, LongSupplier value) {
+        // nothing to do
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getCounts() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return Collections.emptyMap();
+    }
+
+}
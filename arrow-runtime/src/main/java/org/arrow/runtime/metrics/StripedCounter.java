@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.runtime.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Counter} implementation backed by a {@link LongAdder}, which stripes
+ * concurrent updates over several cells instead of contending on a single
+ * atomic value.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class StripedCounter implements Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(long delta) {
+        count.add(delta);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+}
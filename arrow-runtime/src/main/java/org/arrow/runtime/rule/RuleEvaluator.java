@@ -16,6 +16,8 @@
 
 package org.arrow.runtime.rule;
 
+import java.util.List;
+
 /**
  * Created by christian.weber on 07.11.2014.
  */
@@ -23,4 +25,6 @@ public interface RuleEvaluator {
 
     Object evaluate(RuleSource ruleSource, RuleEvaluationContext context) throws RuleCompilationException;
 
+    List<Object> evaluateAll(RuleSource ruleSource, List<RuleEvaluationContext> contexts) throws RuleCompilationException;
+
 }
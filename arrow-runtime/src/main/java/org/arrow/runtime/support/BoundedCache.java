@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.support;
+
+import org.springframework.util.Assert;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Thread safe cache which holds at most the given count of entries and
+ * evicts the least recently used entry when it is full. Values are computed
+ * outside of the cache lock, so that an expensive computation does not
+ * block the lookups of other keys. Concurrent computations of the same key
+ * may happen, the first stored value wins.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final LinkedHashMap<K, V> entries;
+
+    private long evictions;
+
+    /**
+     * Creates a cache which holds at most the given count of entries.
+     *
+     * @param maxSize the maximal count of entries
+     */
+    public BoundedCache(int maxSize) {
+        Assert.isTrue(maxSize > 0, "max size must be positive");
+
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                boolean evict = size() > BoundedCache.this.maxSize;
+                evictions += evict ? 1 : 0;
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value of the given key or null.
+     *
+     * @param key the cache key
+     * @return V
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Returns the cached value of the given key. The value is computed and
+     * cached if the key is not present.
+     *
+     * @param key      the cache key
+     * @param function the function which computes the value of the key
+     * @return V
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = function.apply(key);
+        Assert.notNull(value, "cached values must not be null");
+
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            entries.put(key, value);
+            return value;
+        }
+    }
+
+    /**
+     * Returns the count of cached entries.
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the count of evicted entries.
+     *
+     * @return long
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+}
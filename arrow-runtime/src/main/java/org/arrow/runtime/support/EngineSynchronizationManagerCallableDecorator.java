@@ -39,10 +39,23 @@ public class EngineSynchronizationManagerCallableDecorator<T> implements Callabl
     private final ActorRef actorRef;
 
     public EngineSynchronizationManagerCallableDecorator(Map<String, Object> scopeMap, Callable<T> callable, ActorRef actorRef) {
+        this(scopeMap, callable, actorRef, EngineSynchronizationManager.getProcessInstanceId());
+    }
+
+    /**
+     * Creates a decorator with an explicit process instance id, e.g. for
+     * callables created on threads without engine synchronization values.
+     *
+     * @param scopeMap the process scope
+     * @param callable the decorated callable
+     * @param actorRef the current actor reference
+     * @param piId     the process instance id
+     */
+    public EngineSynchronizationManagerCallableDecorator(Map<String, Object> scopeMap, Callable<T> callable, ActorRef actorRef, String piId) {
         this.callable = callable;
         this.scopeMap = scopeMap;
         this.actorRef = actorRef;
-        this.piId = EngineSynchronizationManager.getProcessInstanceId();
+        this.piId = piId;
     }
 
     public EngineSynchronizationManagerCallableDecorator(Callable<T> callable) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.support;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks where each key is mapped to one lock by its hash code.
+ * Equal keys always share the same lock while different keys are spread
+ * over the stripes and can be held concurrently as long as they do not
+ * collide.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class StripedLock {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    /**
+     * Creates a striped lock with at least the given count of stripes.
+     * The count is rounded up to the next power of two.
+     *
+     * @param stripes the minimal count of stripes
+     */
+    public StripedLock(int stripes) {
+        Assert.isTrue(stripes > 0, "stripes must be positive");
+
+        int size = Integer.highestOneBit(stripes - 1) << 1;
+        size = Math.max(size, 1);
+
+        this.stripes = new Lock[size];
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Returns the lock of the given key.
+     *
+     * @param key the key instance
+     * @return Lock
+     */
+    public Lock get(Object key) {
+        return stripes[indexOf(key)];
+    }
+
+    /**
+     * Returns the count of stripes.
+     *
+     * @return int
+     */
+    public int size() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns the stripe index of the given key. The hash code is spread
+     * so that keys differing only in the upper bits do not collide.
+     *
+     * @param key the key instance
+     * @return int
+     */
+    int indexOf(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return h & mask;
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.timer;
+
+import java.util.List;
+
+/**
+ * Handles due {@link TimerJob} instances of a timer type.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface TimerHandler {
+
+    /**
+     * Handles a batch of due timers. Timers are delivered at least once, a
+     * timer may be delivered again after a restart if the handler failed or
+     * the deletion of the timer was not persisted yet, so that handlers have
+     * to ignore timers whose target is not waiting anymore.
+     *
+     * @param jobs the due timers
+     */
+    void onTimeout(List<TimerJob> jobs);
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.timer;
+
+import org.arrow.runtime.execution.Execution;
+import org.springframework.util.Assert;
+
+import java.util.Date;
+
+/**
+ * Persistent timer definition. The timer type selects the {@link TimerHandler}
+ * which is notified when the timer is due, the target id identifies the timer
+ * target of the handler, e.g. an execution or a timer start event.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class TimerJob {
+
+    /**
+     * Type of the timers which publish a timer event for a waiting execution.
+     */
+    public static final String EXECUTION = "execution";
+
+    /**
+     * Type of the timers which start a process instance.
+     */
+    public static final String START_EVENT = "startEvent";
+
+    private final String id;
+    private final String type;
+    private final String targetId;
+    private final long dueDate;
+
+    public TimerJob(String id, String type, String targetId, long dueDate) {
+        Assert.notNull(id, "timer id must not be null");
+        Assert.notNull(type, "timer type must not be null");
+
+        this.id = id;
+        this.type = type;
+        this.targetId = targetId;
+        this.dueDate = dueDate;
+    }
+
+    /**
+     * Returns a timer which publishes a timer event for the given execution
+     * at the given date.
+     *
+     * @param execution the waiting execution
+     * @param dueDate   the due date
+     * @return TimerJob
+     */
+    public static TimerJob forExecution(Execution execution, Date dueDate) {
+        return new TimerJob(executionTimerId(execution.getId()), EXECUTION, execution.getId(), dueDate.getTime());
+    }
+
+    /**
+     * Returns the id of the timer of the given waiting execution. Each
+     * execution of a node, e.g. within a loop, on parallel paths or per
+     * multi instance, has its own timer.
+     *
+     * @param executionId the id of the waiting execution
+     * @return String
+     */
+    public static String executionTimerId(String executionId) {
+        return EXECUTION + ":" + executionId;
+    }
+
+    /**
+     * Returns a copy of this timer with the given due date.
+     *
+     * @param dueDate the due date
+     * @return TimerJob
+     */
+    public TimerJob withDueDate(long dueDate) {
+        return new TimerJob(id, type, targetId, dueDate);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    public long getDueDate() {
+        return dueDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TimerJob)) {
+            return false;
+        }
+        TimerJob other = (TimerJob) o;
+        return dueDate == other.dueDate && id.equals(other.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * id.hashCode() + (int) (dueDate ^ (dueDate >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "TimerJob{id=" + id + ", dueDate=" + dueDate + '}';
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.timer;
+
+import java.util.Collection;
+
+/**
+ * Service definition for durable timers. Timers are persisted in a
+ * {@link TimerStore} and fired in batches to the {@link TimerHandler}
+ * registered for their type. Timers which became due while the engine was
+ * down are fired on startup.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface TimerService {
+
+    /**
+     * Registers the handler of the given timer type.
+     *
+     * @param type    the timer type
+     * @param handler the timer handler
+     */
+    void register(String type, TimerHandler handler);
+
+    /**
+     * Schedules the given timer. A pending timer with the same id is replaced.
+     *
+     * @param job the timer to schedule
+     */
+    void schedule(TimerJob job);
+
+    /**
+     * Schedules the given timers in a single store operation.
+     *
+     * @param jobs the timers to schedule
+     */
+    void schedule(Collection<TimerJob> jobs);
+
+    /**
+     * Cancels the timer with the given id. Unknown ids are ignored.
+     *
+     * @param id the timer id
+     */
+    void cancel(String id);
+
+    /**
+     * Returns the count of timers pending in memory.
+     *
+     * @return int
+     */
+    int getPendingCount();
+
+}
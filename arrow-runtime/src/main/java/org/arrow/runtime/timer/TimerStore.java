@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.timer;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Store definition used to persist {@link TimerJob} instances indexed by
+ * their due date, so that pending timers survive a restart.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface TimerStore {
+
+    /**
+     * Stores the given timers. A stored timer with the same id is replaced.
+     *
+     * @param jobs the timers to store
+     */
+    void save(Collection<TimerJob> jobs);
+
+    /**
+     * Deletes the timers with the given ids.
+     *
+     * @param ids the timer ids
+     */
+    void delete(Collection<String> ids);
+
+    /**
+     * Deletes the given fired timers. A timer is only deleted if it was not
+     * rescheduled with another due date in the meantime.
+     *
+     * @param jobs the fired timers
+     */
+    void deleteFired(Collection<TimerJob> jobs);
+
+    /**
+     * Returns at most the given count of timers with a due date within the
+     * given range, ordered by due date and id.
+     *
+     * @param from  the inclusive lower bound of the due date
+     * @param to    the exclusive upper bound of the due date
+     * @param limit the maximal count of timers
+     * @return List
+     */
+    List<TimerJob> findDue(long from, long to, int limit);
+
+}
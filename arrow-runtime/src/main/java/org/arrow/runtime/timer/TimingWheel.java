@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.timer;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Each level consists of a fixed count of buckets,
+ * a bucket of level n spans wheel size ^ n ticks. Timeouts are placed in the
+ * lowest level which covers their expiry and cascade to the lower levels
+ * while the wheel advances, so that scheduling and cancelling a timeout
+ * costs O(1) independent of the count of pending timeouts.
+ * <p>
+ * The wheel is not thread safe, callers have to synchronize the access.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Timeout<T>[][] levels;
+    private final Timeout<T> overdue = new Timeout<>(null, 0);
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a timing wheel starting at the given time.
+     *
+     * @param tickMillis  the duration of a tick in milliseconds
+     * @param wheelSize   the count of buckets per level, must be a power of two
+     * @param startMillis the start time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        Assert.isTrue(tickMillis > 0, "tick must be positive");
+        Assert.isTrue(wheelSize > 1 && Integer.bitCount(wheelSize) == 1, "wheel size must be a power of two");
+
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.currentTick = startMillis / tickMillis;
+
+        // enough levels to cover any expiry without overflow handling
+        this.levels = new Timeout[(62 + bits - 1) / bits][wheelSize];
+        for (Timeout<T>[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Timeout<>(null, 0);
+            }
+        }
+    }
+
+    /**
+     * Adds a timeout which expires at the given time. Timeouts which are
+     * already due expire with the next advance of the wheel.
+     *
+     * @param dueMillis the due date in milliseconds
+     * @param value     the timeout value
+     * @return Timeout
+     */
+    public Timeout<T> add(long dueMillis, T value) {
+        long expiryTick = dueMillis / tickMillis + (dueMillis % tickMillis == 0 ? 0 : 1);
+
+        Timeout<T> timeout = new Timeout<>(value, expiryTick);
+        timeout.wheel = this;
+
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel to the given time and returns the values of all
+     * expired timeouts in the order of their expiry.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return List
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+
+        drain(overdue, expired);
+
+        while (currentTick <= targetTick) {
+            if (size == 0) {
+                currentTick = targetTick + 1;
+                break;
+            }
+
+            int index = (int) (currentTick & mask);
+            if (index == 0) {
+                cascade(1);
+            }
+            drain(levels[0][index], expired);
+            currentTick++;
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the count of pending timeouts.
+     *
+     * @return int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Places the given timeout in the bucket which covers its expiry.
+     *
+     * @param timeout the timeout to place
+     */
+    private void place(Timeout<T> timeout) {
+        long delta = timeout.expiryTick - currentTick;
+        if (delta < 0) {
+            overdue.append(timeout);
+            return;
+        }
+
+        int level = 0;
+        while (level < levels.length - 1 && (delta >>> (bits * (level + 1))) != 0) {
+            level++;
+        }
+        levels[level][(int) ((timeout.expiryTick >>> (bits * level)) & mask)].append(timeout);
+    }
+
+    /**
+     * Moves the timeouts of the current bucket of the given level to the
+     * lower levels. The next level cascades if this level wrapped around.
+     *
+     * @param level the level to cascade
+     */
+    private void cascade(int level) {
+        if (level >= levels.length) {
+            return;
+        }
+
+        int index = (int) ((currentTick >>> (bits * level)) & mask);
+        if (index == 0) {
+            cascade(level + 1);
+        }
+
+        Timeout<T> bucket = levels[level][index];
+        Timeout<T> timeout = bucket.next;
+        while (timeout != bucket) {
+            Timeout<T> next = timeout.next;
+            timeout.unlink();
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void drain(Timeout<T> bucket, List<T> expired) {
+        Timeout<T> timeout = bucket.next;
+        while (timeout != bucket) {
+            Timeout<T> next = timeout.next;
+            timeout.unlink();
+            timeout.wheel = null;
+            expired.add(timeout.value);
+            size--;
+            timeout = next;
+        }
+    }
+
+    /**
+     * Handle of a timeout added to a {@link TimingWheel}. The handles of a
+     * bucket form a doubly linked list, which allows an unlink in O(1).
+     *
+     * @param <T> the value type
+     */
+    public static final class Timeout<T> {
+
+        private final T value;
+        private final long expiryTick;
+
+        private TimingWheel<T> wheel;
+        private Timeout<T> prev = this;
+        private Timeout<T> next = this;
+
+        private Timeout(T value, long expiryTick) {
+            this.value = value;
+            this.expiryTick = expiryTick;
+        }
+
+        /**
+         * Returns the timeout value.
+         *
+         * @return T
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Indicates if the timeout neither expired nor was cancelled.
+         *
+         * @return boolean
+         */
+        public boolean isPending() {
+            return wheel != null;
+        }
+
+        /**
+         * Removes the timeout from its wheel.
+         *
+         * @return true if the timeout was pending
+         */
+        public boolean cancel() {
+            if (wheel == null) {
+                return false;
+            }
+            unlink();
+            wheel.size--;
+            wheel = null;
+            return true;
+        }
+
+        private void append(Timeout<T> timeout) {
+            timeout.prev = prev;
+            timeout.next = this;
+            prev.next = timeout;
+            prev = timeout;
+        }
+
+        private void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+    }
+
+}
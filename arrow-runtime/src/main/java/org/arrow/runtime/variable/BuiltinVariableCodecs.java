@@ -0,0 +1,451 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.variable;
+
+import org.springframework.objenesis.Objenesis;
+import org.springframework.objenesis.ObjenesisStd;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The built-in {@link VariableCodec} implementations. Values without a
+ * dedicated codec are written field by field by the {@link #OBJECT} codec.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+final class BuiltinVariableCodecs {
+
+    static final int NULL = 0;
+    static final int REFERENCE = 1;
+    static final int STRING = 2;
+    static final int BOOLEAN = 3;
+    static final int BYTE = 4;
+    static final int SHORT = 5;
+    static final int CHARACTER = 6;
+    static final int INTEGER = 7;
+    static final int LONG = 8;
+    static final int FLOAT = 9;
+    static final int DOUBLE = 10;
+    static final int BIG_INTEGER = 11;
+    static final int BIG_DECIMAL = 12;
+    static final int DATE = 13;
+    static final int ENUM = 14;
+    static final int BYTES = 15;
+    static final int ARRAY = 16;
+    static final int LIST = 17;
+    static final int SET = 18;
+    static final int MAP = 19;
+    static final int OBJECT = 20;
+
+    private BuiltinVariableCodecs() {
+        super();
+    }
+
+    /**
+     * Returns the codecs which are registered by their exact type.
+     *
+     * @return List
+     */
+    static List<VariableCodec<?>> typed() {
+        return Arrays.<VariableCodec<?>>asList(
+                new Codec<String>(STRING, String.class) {
+                    public void write(String value, VariableOutput out) throws IOException {
+                        out.writeString(value);
+                    }
+                    public String read(VariableInput in) throws IOException {
+                        return in.readString();
+                    }
+                },
+                new Codec<Boolean>(BOOLEAN, Boolean.class) {
+                    public void write(Boolean value, VariableOutput out) throws IOException {
+                        out.writeBoolean(value);
+                    }
+                    public Boolean read(VariableInput in) throws IOException {
+                        return in.readBoolean();
+                    }
+                },
+                new Codec<Byte>(BYTE, Byte.class) {
+                    public void write(Byte value, VariableOutput out) throws IOException {
+                        out.writeByte(value);
+                    }
+                    public Byte read(VariableInput in) throws IOException {
+                        return in.readByte();
+                    }
+                },
+                new Codec<Short>(SHORT, Short.class) {
+                    public void write(Short value, VariableOutput out) throws IOException {
+                        out.writeVarLong(value);
+                    }
+                    public Short read(VariableInput in) throws IOException {
+                        return (short) in.readVarLong();
+                    }
+                },
+                new Codec<Character>(CHARACTER, Character.class) {
+                    public void write(Character value, VariableOutput out) throws IOException {
+                        out.writeChar(value);
+                    }
+                    public Character read(VariableInput in) throws IOException {
+                        return in.readChar();
+                    }
+                },
+                new Codec<Integer>(INTEGER, Integer.class) {
+                    public void write(Integer value, VariableOutput out) throws IOException {
+                        out.writeVarLong(value);
+                    }
+                    public Integer read(VariableInput in) throws IOException {
+                        return (int) in.readVarLong();
+                    }
+                },
+                new Codec<Long>(LONG, Long.class) {
+                    public void write(Long value, VariableOutput out) throws IOException {
+                        out.writeVarLong(value);
+                    }
+                    public Long read(VariableInput in) throws IOException {
+                        return in.readVarLong();
+                    }
+                },
+                new Codec<Float>(FLOAT, Float.class) {
+                    public void write(Float value, VariableOutput out) throws IOException {
+                        out.writeFloat(value);
+                    }
+                    public Float read(VariableInput in) throws IOException {
+                        return in.readFloat();
+                    }
+                },
+                new Codec<Double>(DOUBLE, Double.class) {
+                    public void write(Double value, VariableOutput out) throws IOException {
+                        out.writeDouble(value);
+                    }
+                    public Double read(VariableInput in) throws IOException {
+                        return in.readDouble();
+                    }
+                },
+                new Codec<BigInteger>(BIG_INTEGER, BigInteger.class) {
+                    public void write(BigInteger value, VariableOutput out) throws IOException {
+                        writeBytes(value.toByteArray(), out);
+                    }
+                    public BigInteger read(VariableInput in) throws IOException {
+                        return new BigInteger(readBytes(in));
+                    }
+                },
+                new Codec<BigDecimal>(BIG_DECIMAL, BigDecimal.class) {
+                    public void write(BigDecimal value, VariableOutput out) throws IOException {
+                        out.writeVarLong(value.scale());
+                        writeBytes(value.unscaledValue().toByteArray(), out);
+                    }
+                    public BigDecimal read(VariableInput in) throws IOException {
+                        int scale = (int) in.readVarLong();
+                        return new BigDecimal(new BigInteger(readBytes(in)), scale);
+                    }
+                },
+                new Codec<Date>(DATE, Date.class) {
+                    public void write(Date value, VariableOutput out) throws IOException {
+                        out.writeVarLong(value.getTime());
+                    }
+                    public Date read(VariableInput in) throws IOException {
+                        return new Date(in.readVarLong());
+                    }
+                },
+                new Codec<byte[]>(BYTES, byte[].class) {
+                    public void write(byte[] value, VariableOutput out) throws IOException {
+                        writeBytes(value, out);
+                    }
+                    public byte[] read(VariableInput in) throws IOException {
+                        return readBytes(in);
+                    }
+                });
+    }
+
+    /**
+     * Writes enum constants by class and name.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final VariableCodec<Enum> ENUM_CODEC = new Codec<Enum>(ENUM, Enum.class) {
+        public void write(Enum value, VariableOutput out) throws IOException {
+            out.writeClass(value.getDeclaringClass());
+            out.writeString(value.name());
+        }
+        public Enum read(VariableInput in) throws IOException {
+            Class cls = in.readClass();
+            return Enum.valueOf(cls, in.readString());
+        }
+    };
+
+    /**
+     * Writes arrays by component type and elements.
+     */
+    static final VariableCodec<Object> ARRAY_CODEC = new Codec<Object>(ARRAY, Object.class) {
+        public void write(Object value, VariableOutput out) throws IOException {
+            out.remember(value);
+            out.writeClass(value.getClass().getComponentType());
+
+            int length = Array.getLength(value);
+            out.writeVarInt(length);
+            for (int i = 0; i < length; i++) {
+                out.writeValue(Array.get(value, i));
+            }
+        }
+        public Object read(VariableInput in) throws IOException {
+            Class<?> componentType = in.readClass();
+            Object array = Array.newInstance(componentType, in.readVarInt());
+            in.remember(array);
+
+            for (int i = 0; i < Array.getLength(array); i++) {
+                Array.set(array, i, in.readValue());
+            }
+            return array;
+        }
+    };
+
+    /**
+     * Writes lists by elements, keeps the list class if it can be instantiated.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final VariableCodec<Collection> LIST_CODEC = new CollectionCodec(LIST, ArrayList.class);
+
+    /**
+     * Writes sets by elements, keeps the set class if it can be instantiated.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final VariableCodec<Collection> SET_CODEC = new CollectionCodec(SET, LinkedHashSet.class);
+
+    /**
+     * Writes maps by entries, keeps the map class if it can be instantiated.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final VariableCodec<Map> MAP_CODEC = new Codec<Map>(MAP, Map.class) {
+        public void write(Map value, VariableOutput out) throws IOException {
+            out.remember(value);
+            out.writeClass(instantiable(value.getClass(), LinkedHashMap.class));
+            out.writeVarInt(value.size());
+
+            for (Object object : value.entrySet()) {
+                Map.Entry entry = (Map.Entry) object;
+                out.writeValue(entry.getKey());
+                out.writeValue(entry.getValue());
+            }
+        }
+        public Map read(VariableInput in) throws IOException {
+            Map map = (Map) newInstance(in.readClass());
+            in.remember(map);
+
+            int size = in.readVarInt();
+            for (int i = 0; i < size; i++) {
+                map.put(in.readValue(), in.readValue());
+            }
+            return map;
+        }
+    };
+
+    /**
+     * Writes any other object field by field, static and transient fields
+     * are skipped. The field names of a class are written once per encoded
+     * variable, so that values written by another version of the class can
+     * be read: unknown fields and fields of an incompatible type are skipped,
+     * missing fields keep their default. Objects are instantiated without
+     * calling a constructor.
+     */
+    static final VariableCodec<Object> OBJECT_CODEC = new Codec<Object>(OBJECT, Object.class) {
+
+        private final Objenesis objenesis = new ObjenesisStd(true);
+        private final Map<Class<?>, FieldLayout> layouts = new ConcurrentHashMap<>();
+
+        public void write(Object value, VariableOutput out) throws IOException {
+            out.remember(value);
+            out.writeClass(value.getClass());
+
+            FieldLayout layout = getLayout(value.getClass());
+            out.writeFieldNames(value.getClass(), layout.names);
+            for (Field field : layout.fields) {
+                out.writeValue(ReflectionUtils.getField(field, value));
+            }
+        }
+
+        public Object read(VariableInput in) throws IOException {
+            Class<?> cls = in.readClass();
+            Object value = objenesis.newInstance(cls);
+            in.remember(value);
+
+            FieldLayout layout = getLayout(cls);
+            String[] names = in.readFieldNames();
+            for (String name : names) {
+                Object fieldValue = in.readValue();
+                Field field = layout.byName.get(name);
+                if (field != null && ClassUtils.isAssignableValue(field.getType(), fieldValue)) {
+                    ReflectionUtils.setField(field, value, fieldValue);
+                }
+            }
+            return value;
+        }
+
+        private FieldLayout getLayout(Class<?> cls) {
+            FieldLayout layout = layouts.get(cls);
+            if (layout == null) {
+                layout = new FieldLayout(cls);
+                layouts.put(cls, layout);
+            }
+            return layout;
+        }
+    };
+
+    private static void writeBytes(byte[] bytes, VariableOutput out) throws IOException {
+        out.writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(VariableInput in) throws IOException {
+        byte[] bytes = new byte[in.readVarInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Returns the given class if it has a public no-arg constructor,
+     * otherwise the fallback class.
+     */
+    private static Class<?> instantiable(Class<?> cls, Class<?> fallback) {
+        if (!Modifier.isPublic(cls.getModifiers())) {
+            return fallback;
+        }
+        for (Constructor<?> constructor : cls.getConstructors()) {
+            if (constructor.getParameterTypes().length == 0) {
+                return cls;
+            }
+        }
+        return fallback;
+    }
+
+    private static Object newInstance(Class<?> cls) throws IOException {
+        try {
+            return cls.newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new IOException("could not instantiate " + cls.getName(), ex);
+        }
+    }
+
+    /**
+     * The fields written by the {@link #OBJECT_CODEC}, ordered by declaring
+     * class and name. A field shadowed by a subclass field is named by its
+     * declaring class.
+     */
+    private static class FieldLayout {
+
+        private final Field[] fields;
+        private final String[] names;
+        private final Map<String, Field> byName = new HashMap<>();
+
+        private FieldLayout(Class<?> cls) {
+            List<Field> list = new ArrayList<>();
+            for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+                List<Field> declared = new ArrayList<>();
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                        ReflectionUtils.makeAccessible(field);
+                        declared.add(field);
+                    }
+                }
+                declared.sort(Comparator.comparing(Field::getName));
+                list.addAll(0, declared);
+            }
+
+            this.fields = list.toArray(new Field[list.size()]);
+            this.names = new String[fields.length];
+            for (int i = fields.length - 1; i >= 0; i--) {
+                String name = fields[i].getName();
+                if (byName.containsKey(name)) {
+                    name = fields[i].getDeclaringClass().getName() + "." + name;
+                }
+                names[i] = name;
+                byName.put(name, fields[i]);
+            }
+        }
+    }
+
+    /**
+     * Base class of the built-in codecs.
+     */
+    private abstract static class Codec<T> implements VariableCodec<T> {
+
+        private final int id;
+        private final Class<T> type;
+
+        private Codec(int id, Class<T> type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public Class<T> getType() {
+            return type;
+        }
+    }
+
+    /**
+     * Codec of lists and sets.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static class CollectionCodec extends Codec<Collection> {
+
+        private final Class<?> fallback;
+
+        private CollectionCodec(int id, Class<?> fallback) {
+            super(id, Collection.class);
+            this.fallback = fallback;
+        }
+
+        @Override
+        public void write(Collection value, VariableOutput out) throws IOException {
+            out.remember(value);
+            out.writeClass(instantiable(value.getClass(), fallback));
+            out.writeVarInt(value.size());
+
+            for (Object element : value) {
+                out.writeValue(element);
+            }
+        }
+
+        @Override
+        public Collection read(VariableInput in) throws IOException {
+            Collection collection = (Collection) newInstance(in.readClass());
+            in.remember(collection);
+
+            int size = in.readVarInt();
+            for (int i = 0; i < size; i++) {
+                collection.add(in.readValue());
+            }
+            return collection;
+        }
+    }
+
+}
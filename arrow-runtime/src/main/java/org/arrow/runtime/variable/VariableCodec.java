@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.variable;
+
+import java.io.IOException;
+
+/**
+ * Encodes and decodes process variables of a single type. Codecs are
+ * registered at the {@link VariableCodecRegistry}, either programmatically
+ * or as Spring beans. The id is stored as type tag next to the encoded
+ * variable and must therefore never change once variables are persisted.
+ * Ids below {@link VariableCodecRegistry#FIRST_CUSTOM_ID} are reserved for
+ * the built-in codecs.
+ * <p>
+ * Codecs must be stateless, a single instance is used by all threads.
+ *
+ * @param <T> the variable type
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public interface VariableCodec<T> {
+
+    /**
+     * Returns the unique type tag of the codec.
+     *
+     * @return int
+     */
+    int getId();
+
+    /**
+     * Returns the variable type handled by the codec.
+     *
+     * @return Class
+     */
+    Class<T> getType();
+
+    /**
+     * Writes the given value. Nested values should be written by
+     * {@link VariableOutput#writeValue(Object)}.
+     *
+     * @param value the value to write, never null
+     * @param out   the output to write to
+     * @throws IOException in case of an I/O error
+     */
+    void write(T value, VariableOutput out) throws IOException;
+
+    /**
+     * Reads a value written by {@link #write(Object, VariableOutput)}.
+     *
+     * @param in the input to read from
+     * @return T
+     * @throws IOException in case of an I/O error
+     */
+    T read(VariableInput in) throws IOException;
+
+}
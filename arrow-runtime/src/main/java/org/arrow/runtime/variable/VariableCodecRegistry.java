@@ -0,0 +1,220 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.variable;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link VariableCodec} instances used to persist process
+ * variables in a compact binary form. The id of the codec is stored as type
+ * tag next to the encoded bytes.
+ * <p>
+ * Custom codecs are registered by type, all {@link VariableCodec} beans of
+ * the application context are registered automatically. Values without a
+ * custom codec are handled by the built-in codecs for strings, numbers,
+ * dates, enums, arrays, collections and maps, any other object is written
+ * field by field. The input and output buffers are reused per thread.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Component
+public class VariableCodecRegistry {
+
+    /** the first id which may be used by custom codecs */
+    public static final int FIRST_CUSTOM_ID = 64;
+
+    private final Map<Integer, VariableCodec<?>> codecsById = new ConcurrentHashMap<>();
+    private final Map<Class<?>, VariableCodec<?>> codecsByType = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<VariableOutput> outputs = new ThreadLocal<>();
+    private final ThreadLocal<VariableInput> inputs = new ThreadLocal<>();
+
+    public VariableCodecRegistry() {
+        for (VariableCodec<?> codec : BuiltinVariableCodecs.typed()) {
+            put(codec);
+        }
+        codecsById.put(BuiltinVariableCodecs.ENUM, BuiltinVariableCodecs.ENUM_CODEC);
+        codecsById.put(BuiltinVariableCodecs.ARRAY, BuiltinVariableCodecs.ARRAY_CODEC);
+        codecsById.put(BuiltinVariableCodecs.LIST, BuiltinVariableCodecs.LIST_CODEC);
+        codecsById.put(BuiltinVariableCodecs.SET, BuiltinVariableCodecs.SET_CODEC);
+        codecsById.put(BuiltinVariableCodecs.MAP, BuiltinVariableCodecs.MAP_CODEC);
+        codecsById.put(BuiltinVariableCodecs.OBJECT, BuiltinVariableCodecs.OBJECT_CODEC);
+    }
+
+    /**
+     * Registers the given custom codecs.
+     *
+     * @param codecs the codecs to register
+     */
+    @Autowired(required = false)
+    public void setCodecs(List<VariableCodec<?>> codecs) {
+        for (VariableCodec<?> codec : codecs) {
+            register(codec);
+        }
+    }
+
+    /**
+     * Registers the given custom codec for its exact type.
+     *
+     * @param codec the codec to register
+     */
+    public void register(VariableCodec<?> codec) {
+        Assert.isTrue(codec.getId() >= FIRST_CUSTOM_ID, "codec ids below " + FIRST_CUSTOM_ID + " are reserved");
+
+        VariableCodec<?> registered = codecsById.get(codec.getId());
+        Assert.isTrue(registered == null || registered.getType() == codec.getType(),
+                "codec id " + codec.getId() + " is already registered for " + (registered == null ? null : registered.getType()));
+
+        put(codec);
+    }
+
+    private void put(VariableCodec<?> codec) {
+        codecsById.put(codec.getId(), codec);
+        codecsByType.put(codec.getType(), codec);
+    }
+
+    /**
+     * Returns the codec for the given type.
+     *
+     * @param type the variable type
+     * @return VariableCodec
+     */
+    public VariableCodec<?> getCodec(Class<?> type) {
+        VariableCodec<?> codec = codecsByType.get(type);
+        if (codec == null) {
+            codec = resolve(type);
+            codecsByType.putIfAbsent(type, codec);
+        }
+        return codec;
+    }
+
+    /**
+     * Returns the codec with the given id.
+     *
+     * @param id the codec id
+     * @return VariableCodec
+     */
+    public VariableCodec<?> getCodec(int id) {
+        VariableCodec<?> codec = codecsById.get(id);
+        Assert.notNull(codec, "no variable codec registered for id " + id);
+        return codec;
+    }
+
+    private VariableCodec<?> resolve(Class<?> type) {
+        if (Enum.class.isAssignableFrom(type)) {
+            return BuiltinVariableCodecs.ENUM_CODEC;
+        }
+        if (type.isArray()) {
+            return BuiltinVariableCodecs.ARRAY_CODEC;
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return BuiltinVariableCodecs.LIST_CODEC;
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            return BuiltinVariableCodecs.SET_CODEC;
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return BuiltinVariableCodecs.MAP_CODEC;
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return BuiltinVariableCodecs.LIST_CODEC;
+        }
+        return BuiltinVariableCodecs.OBJECT_CODEC;
+    }
+
+    /**
+     * Returns the type tag of the given value.
+     *
+     * @param value the variable value
+     * @return int
+     */
+    public int getTypeId(Object value) {
+        return getCodec(value.getClass()).getId();
+    }
+
+    /**
+     * Encodes the given value with the codec of its type.
+     *
+     * @param value the variable value
+     * @return byte[]
+     */
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object value) {
+        Assert.notNull(value, "variable value must not be null");
+
+        VariableOutput out = outputs.get();
+        if (out == null || out.isOpen()) {
+            out = new VariableOutput(this);
+        }
+
+        out.open();
+        try {
+            VariableCodec<Object> codec = (VariableCodec<Object>) getCodec(value.getClass());
+            codec.write(value, out);
+            return out.release();
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("could not encode variable of type " + value.getClass().getName(), ex);
+        } finally {
+            outputs.set(out.isOpen() || !out.isRetainable() ? null : out);
+        }
+    }
+
+    /**
+     * Decodes the given bytes with the codec of the given type tag.
+     *
+     * @param typeId the type tag
+     * @param bytes  the encoded variable
+     * @return Object
+     */
+    public Object decode(int typeId, byte[] bytes) {
+        VariableInput in = inputs.get();
+        if (in == null || in.isOpen()) {
+            in = new VariableInput(this);
+        }
+
+        in.open(bytes);
+        try {
+            return getCodec(typeId).read(in);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("could not decode variable with type id " + typeId, ex);
+        } finally {
+            in.release();
+            inputs.set(in);
+        }
+    }
+
+    /**
+     * Returns the class loader used to resolve the classes of decoded values.
+     *
+     * @return ClassLoader
+     */
+    ClassLoader getClassLoader() {
+        return ClassUtils.getDefaultClassLoader();
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.variable;
+
+import com.thoughtworks.xstream.XStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Decodes the stored form of process variables. A complex variable is stored
+ * next to a type tag, a property named after the variable with the
+ * {@value #TYPE_SUFFIX} suffix. The type tag holds either the id of the
+ * {@link VariableCodec} of a binary encoded value or the class name of a
+ * value converted to a string.
+ * <p>
+ * The decoder of the application context is installed as the current
+ * decoder, so that the runtime entities decode their variables with the
+ * registered codecs and converters.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Component
+public class VariableDecoder {
+
+    /** the suffix of the type tag of a stored variable */
+    public static final String TYPE_SUFFIX = "-type";
+
+    /** the decoded types which can be shared by several readers */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.<Class<?>>asList(String.class,
+            Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class,
+            Double.class, BigInteger.class, BigDecimal.class, UUID.class, Locale.class));
+
+    private static volatile VariableDecoder current = new VariableDecoder();
+
+    @Autowired(required = false)
+    private VariableCodecRegistry variableCodecs = new VariableCodecRegistry();
+
+    @Autowired(required = false)
+    private ConversionService conversionService = new DefaultConversionService();
+
+    /**
+     * Installs this decoder as the current decoder.
+     */
+    @PostConstruct
+    public void install() {
+        current = this;
+    }
+
+    /**
+     * Returns the current decoder.
+     *
+     * @return VariableDecoder
+     */
+    public static VariableDecoder current() {
+        return current;
+    }
+
+    /**
+     * Returns the key of the type tag of the given variable.
+     *
+     * @param key the variable key
+     * @return String
+     */
+    public static String typeKey(String key) {
+        return key + TYPE_SUFFIX;
+    }
+
+    /**
+     * Indicates if the given key is the type tag of a variable of the given
+     * variables.
+     *
+     * @param key       the key
+     * @param variables the stored variables
+     * @return boolean
+     */
+    public static boolean isTypeKey(String key, Map<String, Object> variables) {
+        String variable = variableKey(key);
+        return variable != null && variables.containsKey(variable);
+    }
+
+    /**
+     * Returns the key of the variable the given key would be the type tag
+     * of, null if the key has no type tag suffix.
+     *
+     * @param key the key
+     * @return String
+     */
+    public static String variableKey(String key) {
+        return key.endsWith(TYPE_SUFFIX) ? key.substring(0, key.length() - TYPE_SUFFIX.length()) : null;
+    }
+
+    /**
+     * Indicates if the given decoded value is immutable, so that it can be
+     * shared by several readers.
+     *
+     * @param value the decoded value
+     * @return boolean
+     */
+    public static boolean isImmutable(Object value) {
+        return value == null || value instanceof Enum || IMMUTABLE_TYPES.contains(value.getClass());
+    }
+
+    /**
+     * Decodes the given stored value with the given type tag. Values without
+     * a type tag are returned as they are.
+     *
+     * @param value the stored value
+     * @param type  the type tag, may be null
+     * @return Object
+     */
+    public Object decode(Object value, Object type) {
+        if (value == null || type == null) {
+            return value;
+        }
+        if (type instanceof Number) {
+            return variableCodecs.decode(((Number) type).intValue(), (byte[]) value);
+        }
+
+        Class<?> cls = ClassUtils.resolveClassName(type.toString(), ClassUtils.getDefaultClassLoader());
+        if (conversionService.canConvert(String.class, cls)) {
+            return conversionService.convert(value, cls);
+        }
+
+        // variables stored before the binary codecs were introduced
+        XStream xstream = new XStream();
+        xstream.processAnnotations(cls);
+        return xstream.fromXML(value.toString());
+    }
+
+    /**
+     * Decodes the given stored variables. The type tags are dropped.
+     *
+     * @param variables the stored variables
+     * @return Map
+     */
+    public Map<String, Object> decodeAll(Map<String, Object> variables) {
+        Map<String, Object> decoded = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : variables.entrySet()) {
+            String key = entry.getKey();
+            if (!isTypeKey(key, variables)) {
+                decoded.put(key, decode(entry.getValue(), variables.get(typeKey(key))));
+            }
+        }
+        return decoded;
+    }
+
+}
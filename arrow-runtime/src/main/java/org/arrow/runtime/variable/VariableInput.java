@@ -0,0 +1,203 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.variable;
+
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary input of the {@link VariableCodec} instances, the counterpart of
+ * {@link VariableOutput}. Instances are reused by the
+ * {@link VariableCodecRegistry} and must not be kept by codecs.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class VariableInput extends DataInputStream {
+
+    private final VariableCodecRegistry registry;
+    private final List<Object> references = new ArrayList<>();
+    private final List<Class<?>> classes = new ArrayList<>();
+    private final List<String[]> fieldNames = new ArrayList<>();
+    private boolean open;
+
+    VariableInput(VariableCodecRegistry registry) {
+        super(new Source());
+        this.registry = registry;
+    }
+
+    /**
+     * Reads a value written by {@link VariableOutput#writeValue(Object)}.
+     *
+     * @return Object
+     * @throws IOException in case of an I/O error
+     */
+    public Object readValue() throws IOException {
+        int id = readVarInt();
+        if (id == BuiltinVariableCodecs.NULL) {
+            return null;
+        }
+        if (id == BuiltinVariableCodecs.REFERENCE) {
+            return references.get(readVarInt());
+        }
+        return registry.getCodec(id).read(this);
+    }
+
+    /**
+     * Remembers the given value as target of back references, the
+     * counterpart of {@link VariableOutput#remember(Object)}.
+     *
+     * @param value the value to remember
+     */
+    public void remember(Object value) {
+        references.add(value);
+    }
+
+    /**
+     * Reads an int written by {@link VariableOutput#writeVarInt(int)}.
+     *
+     * @return int
+     * @throws IOException in case of an I/O error
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("malformed variable length int");
+    }
+
+    /**
+     * Reads a long written by {@link VariableOutput#writeVarLong(long)}.
+     *
+     * @return long
+     * @throws IOException in case of an I/O error
+     */
+    public long readVarLong() throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("malformed variable length long");
+    }
+
+    /**
+     * Reads a string written by {@link VariableOutput#writeString(String)}.
+     *
+     * @return String
+     * @throws IOException in case of an I/O error
+     */
+    public String readString() throws IOException {
+        byte[] bytes = new byte[readVarInt()];
+        readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a class written by {@link VariableOutput#writeClass(Class)}.
+     *
+     * @return Class
+     * @throws IOException in case of an I/O error or an unknown class
+     */
+    public Class<?> readClass() throws IOException {
+        int index = readVarInt();
+        if (index > 0) {
+            return classes.get(index - 1);
+        }
+
+        String name = readString();
+        try {
+            Class<?> cls = ClassUtils.forName(name, registry.getClassLoader());
+            classes.add(cls);
+            return cls;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            throw new IOException("unknown variable type " + name, ex);
+        }
+    }
+
+    /**
+     * Reads field names written by
+     * {@link VariableOutput#writeFieldNames(Class, String[])}.
+     *
+     * @return String[]
+     * @throws IOException in case of an I/O error
+     */
+    public String[] readFieldNames() throws IOException {
+        int index = readVarInt();
+        if (index > 0) {
+            return fieldNames.get(index - 1);
+        }
+
+        String[] names = new String[readVarInt()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = readString();
+        }
+        fieldNames.add(names);
+        return names;
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    void open(byte[] bytes) {
+        ((Source) in).reset(bytes);
+        this.open = true;
+    }
+
+    void release() {
+        ((Source) in).reset(null);
+        references.clear();
+        classes.clear();
+        fieldNames.clear();
+        open = false;
+    }
+
+    /**
+     * {@link ByteArrayInputStream} which can be pointed to another array.
+     */
+    private static class Source extends ByteArrayInputStream {
+
+        private static final byte[] EMPTY = new byte[0];
+
+        private Source() {
+            super(EMPTY);
+        }
+
+        private void reset(byte[] bytes) {
+            this.buf = bytes == null ? EMPTY : bytes;
+            this.pos = 0;
+            this.mark = 0;
+            this.count = buf.length;
+        }
+    }
+
+}
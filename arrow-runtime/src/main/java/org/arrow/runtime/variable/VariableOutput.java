@@ -0,0 +1,221 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.variable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Binary output of the {@link VariableCodec} instances. Besides the
+ * {@link java.io.DataOutput} methods it writes tagged nested values, variable
+ * length integers, strings and classes. Classes are written by name once per
+ * variable and by index afterwards. Instances are reused by the
+ * {@link VariableCodecRegistry} and must not be kept by codecs.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public final class VariableOutput extends DataOutputStream {
+
+    /** buffers above this capacity are not kept for reuse */
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private final VariableCodecRegistry registry;
+    private final Map<Object, Integer> references = new IdentityHashMap<>();
+    private final Map<Class<?>, Integer> classes = new HashMap<>();
+    private final Map<Class<?>, Integer> fieldNames = new HashMap<>();
+    private boolean open;
+
+    VariableOutput(VariableCodecRegistry registry) {
+        super(new Buffer());
+        this.registry = registry;
+    }
+
+    /**
+     * Writes the given value prefixed with the id of its codec. Values which
+     * were remembered before are written as back reference.
+     *
+     * @param value the value to write, may be null
+     * @throws IOException in case of an I/O error
+     */
+    @SuppressWarnings("unchecked")
+    public void writeValue(Object value) throws IOException {
+        if (value == null) {
+            writeVarInt(BuiltinVariableCodecs.NULL);
+            return;
+        }
+
+        Integer reference = references.get(value);
+        if (reference != null) {
+            writeVarInt(BuiltinVariableCodecs.REFERENCE);
+            writeVarInt(reference);
+            return;
+        }
+
+        VariableCodec<Object> codec = (VariableCodec<Object>) registry.getCodec(value.getClass());
+        writeVarInt(codec.getId());
+        codec.write(value, this);
+    }
+
+    /**
+     * Remembers the given value so that further occurrences are written as
+     * back reference. Must be called before nested values are written and
+     * mirrored by {@link VariableInput#remember(Object)}.
+     *
+     * @param value the value to remember
+     */
+    public void remember(Object value) {
+        references.put(value, references.size());
+    }
+
+    /**
+     * Writes a non-negative int in 1 to 5 bytes.
+     *
+     * @param value the value to write
+     * @throws IOException in case of an I/O error
+     */
+    public void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        write(value);
+    }
+
+    /**
+     * Writes a long in 1 to 10 bytes, small negative values stay small.
+     *
+     * @param value the value to write
+     * @throws IOException in case of an I/O error
+     */
+    public void writeVarLong(long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        write((int) zigzag);
+    }
+
+    /**
+     * Writes the given string as length prefixed UTF-8.
+     *
+     * @param value the value to write
+     * @throws IOException in case of an I/O error
+     */
+    public void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        write(bytes);
+    }
+
+    /**
+     * Writes the given class, by name on its first occurrence and by index
+     * afterwards.
+     *
+     * @param cls the class to write
+     * @throws IOException in case of an I/O error
+     */
+    public void writeClass(Class<?> cls) throws IOException {
+        Integer index = classes.get(cls);
+        if (index != null) {
+            writeVarInt(index + 1);
+            return;
+        }
+        classes.put(cls, classes.size());
+        writeVarInt(0);
+        writeString(cls.getName());
+    }
+
+    /**
+     * Writes the field names of the given class, by name on their first
+     * occurrence and by index afterwards.
+     *
+     * @param cls   the class the field names belong to
+     * @param names the field names in the order the field values are written
+     * @throws IOException in case of an I/O error
+     */
+    public void writeFieldNames(Class<?> cls, String[] names) throws IOException {
+        Integer index = fieldNames.get(cls);
+        if (index != null) {
+            writeVarInt(index + 1);
+            return;
+        }
+        fieldNames.put(cls, fieldNames.size());
+        writeVarInt(0);
+        writeVarInt(names.length);
+        for (String name : names) {
+            writeString(name);
+        }
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    void open() {
+        this.open = true;
+    }
+
+    /**
+     * Returns the written bytes and resets the output for reuse.
+     *
+     * @return byte[]
+     */
+    byte[] release() throws IOException {
+        flush();
+        Buffer buffer = (Buffer) out;
+        byte[] bytes = buffer.toByteArray();
+
+        buffer.reset();
+        references.clear();
+        classes.clear();
+        fieldNames.clear();
+        written = 0;
+        open = false;
+        return bytes;
+    }
+
+    /**
+     * Returns true if the buffer is small enough to be kept for reuse.
+     *
+     * @return boolean
+     */
+    boolean isRetainable() {
+        return ((Buffer) out).capacity() <= MAX_RETAINED_CAPACITY;
+    }
+
+    /**
+     * {@link ByteArrayOutputStream} which exposes its capacity.
+     */
+    private static class Buffer extends ByteArrayOutputStream {
+
+        private Buffer() {
+            super(256);
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
+    }
+
+}
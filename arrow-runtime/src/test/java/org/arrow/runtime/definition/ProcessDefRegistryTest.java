@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.definition;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class ProcessDefRegistryTest {
+
+	/**
+	 * start -> task -> end
+	 */
+	private ProcessDef process(long firstNodeId) {
+		return process("process", firstNodeId);
+	}
+
+	/**
+	 * start -> task -> end
+	 */
+	private ProcessDef process(String processId, long firstNodeId) {
+		FlowDef flow1 = new FlowDef("flow1", "start", Start.class, "task", Task.class);
+		FlowDef flow2 = new FlowDef("flow2", "task", Task.class, "end", End.class);
+
+		return ProcessDef.builder(processId)
+				.node(NodeDef.builder("start", firstNodeId, Start.class).outgoing(flow1).build())
+				.node(NodeDef.builder("task", firstNodeId + 1, Task.class).incoming(flow1).outgoing(flow2)
+						.boundaryEvent("timer").build())
+				.node(NodeDef.builder("end", firstNodeId + 2, End.class).incoming(flow2).build())
+				.build();
+	}
+
+	@Test
+	public void nodesShouldBeResolvedByGraphId() {
+		ProcessDefRegistry registry = new ProcessDefRegistry();
+		ProcessDef definition = registry.register(process(10));
+
+		Assert.assertThat(registry.getProcessDefOfNode(11L), sameInstance(definition));
+		Assert.assertThat(registry.getNode(11L).getId(), equalTo("task"));
+		Assert.assertThat(registry.getNode(11L).getBoundaryEvents().size(), equalTo(1));
+		Assert.assertThat(registry.getNode(99L), nullValue());
+		Assert.assertThat(registry.getNode(null), nullValue());
+	}
+
+	@Test
+	public void redeploymentShouldRegisterNextVersion() {
+		ProcessDefRegistry registry = new ProcessDefRegistry();
+		ProcessDef first = registry.register(process(10));
+		ProcessDef second = registry.register(process(20));
+
+		Assert.assertThat(first.getVersion(), equalTo(1));
+		Assert.assertThat(second.getVersion(), equalTo(2));
+		Assert.assertThat(registry.getProcessDef("process"), sameInstance(second));
+
+		// the nodes of the previous version are evicted
+		Assert.assertThat(registry.getProcessDefOfNode(10L), nullValue());
+		Assert.assertThat(registry.getProcessDefOfNode(20L).getVersion(), equalTo(2));
+	}
+
+	@Test
+	public void reusedGraphIdsShouldResolveTheLatestDefinition() {
+		ProcessDefRegistry registry = new ProcessDefRegistry();
+		registry.register(process(10));
+
+		// the redeployed start event reuses the graph id of the previous end event
+		ProcessDef second = registry.register(process(12));
+
+		Assert.assertThat(registry.getNode(12L).getId(), equalTo("start"));
+		Assert.assertThat(registry.getProcessDefOfNode(12L), sameInstance(second));
+		Assert.assertThat(registry.getNode(10L), nullValue());
+		Assert.assertThat(registry.getNode(11L), nullValue());
+	}
+
+	@Test
+	public void unregisterShouldEvictTheNodesOfTheDefinition() {
+		ProcessDefRegistry registry = new ProcessDefRegistry();
+		registry.register(process(10));
+		ProcessDef other = registry.register(process("other", 20));
+
+		Assert.assertThat(registry.unregister("process").getProcessId(), equalTo("process"));
+		Assert.assertThat(registry.getProcessDef("process"), nullValue());
+		Assert.assertThat(registry.getNode(11L), nullValue());
+		Assert.assertThat(registry.getProcessDefOfNode(21L), sameInstance(other));
+		Assert.assertThat(registry.unregister("process"), nullValue());
+	}
+
+	@Test
+	public void definitionShouldAnswerTypeQueries() {
+		ProcessDef definition = process(10);
+
+		Assert.assertThat(definition.containsNodeOfType(Task.class), equalTo(true));
+		Assert.assertThat(definition.containsNodeOfType(Gateway.class), equalTo(false));
+		Assert.assertThat(definition.getNode("end").hasIncomingFlowFrom(Task.class), equalTo(true));
+		Assert.assertThat(definition.getNode("end").hasIncomingFlowFrom(Start.class), equalTo(false));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void definitionShouldBeImmutable() {
+		process(10).getNode("task").getOutgoingFlows().clear();
+	}
+
+	private static class Start {
+	}
+
+	private static class Task {
+	}
+
+	private static class End {
+	}
+
+	private static class Gateway {
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Category(UnitTest.class)
+public class VariableScopeTest {
+
+	private Execution execution;
+	private ProcessInstance pi;
+	private ProcessInstance parent;
+	private ProcessInstance root;
+
+	@Before
+	public void setUp() {
+		root = new ProcessInstance();
+		root.addVariable("a", "root");
+		root.addVariable("root", true);
+
+		parent = new ProcessInstance();
+		parent.setParentProcessInstance(root);
+		parent.addVariable("a", "parent");
+		parent.addVariable("b", "parent");
+
+		pi = new ProcessInstance();
+		pi.setParentProcessInstance(parent);
+		pi.addVariable("b", "pi");
+		pi.addVariable("c", "pi");
+
+		execution = new Execution();
+		execution.setProcessInstance(pi);
+		execution.addLocalVariable("c", "local");
+	}
+
+	@Test
+	public void lookupsShouldPreferTheInnermostLayer() {
+		Assert.assertThat(execution.getVariable("a"), equalTo((Object) "parent"));
+		Assert.assertThat(execution.getVariable("b"), equalTo((Object) "pi"));
+		Assert.assertThat(execution.getVariable("c"), equalTo((Object) "local"));
+		Assert.assertThat(execution.getVariable("root"), equalTo((Object) true));
+		Assert.assertThat(execution.hasVariable("root"), equalTo(true));
+		Assert.assertThat(execution.hasVariable("d"), equalTo(false));
+	}
+
+	@Test
+	public void iterationShouldMergeAllLayers() {
+		Map<String, Object> expected = new HashMap<>();
+		expected.put("a", "parent");
+		expected.put("b", "pi");
+		expected.put("c", "local");
+		expected.put("root", true);
+
+		Assert.assertThat(new HashMap<>(execution.getVariables()), equalTo(expected));
+		Assert.assertThat(execution.getVariables().size(), equalTo(4));
+	}
+
+	@Test
+	public void scopeShouldReadTheLayersLazily() {
+		Map<String, Object> variables = execution.getVariables();
+		pi.addVariable("d", "pi");
+
+		Assert.assertThat(variables.get("d"), equalTo((Object) "pi"));
+	}
+
+	@Test
+	public void writesShouldNotReachTheLayers() {
+		Map<String, Object> variables = execution.getVariables();
+		variables.put("b", "scope");
+		variables.remove("a");
+
+		Assert.assertThat(variables.get("b"), equalTo((Object) "scope"));
+		Assert.assertThat(variables.containsKey("a"), equalTo(false));
+		Assert.assertThat(variables.size(), equalTo(3));
+
+		Assert.assertThat(execution.getVariable("b"), equalTo((Object) "pi"));
+		Assert.assertThat(execution.getVariable("a"), equalTo((Object) "parent"));
+		Assert.assertThat(execution.getVariables().containsKey("a"), equalTo(true));
+	}
+
+}
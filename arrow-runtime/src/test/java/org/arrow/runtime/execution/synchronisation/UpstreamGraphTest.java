@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.execution.synchronisation;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+
+import org.arrow.runtime.execution.State;
+import org.arrow.runtime.execution.service.ExecutionDataService.SynchronisationResult;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Category(UnitTest.class)
+public class UpstreamGraphTest {
+
+	/**
+	 * start -> split -> (task1, task2) -> join
+	 */
+	private UpstreamGraph<String> diamond() {
+		return UpstreamGraph.builder("join")
+				.flow("start", "flow1", "split")
+				.flow("split", "flow2", "task1")
+				.flow("split", "flow3", "task2")
+				.flow("task1", "flow4", "join")
+				.flow("task2", "flow5", "join")
+				.build();
+	}
+
+	@Test
+	public void joinShouldBeFinishedWhenAllEnabledBranchesArrived() {
+		States states = new States()
+				.success("start", "flow1").success("split", "flow2", "flow3")
+				.success("task1", "flow4").success("task2", "flow5");
+
+		SynchronisationResult result = diamond().depthFirstSynchronisation(states);
+
+		Assert.assertThat(result.isSynchronised(), equalTo(true));
+		Assert.assertThat(result.getExpectedFlows(), equalTo(2));
+	}
+
+	@Test
+	public void joinShouldNotBeFinishedWhileATokenIsInFlight() {
+		States states = new States()
+				.success("start", "flow1").success("split", "flow2", "flow3")
+				.success("task1", "flow4");
+
+		SynchronisationResult result = diamond().depthFirstSynchronisation(states);
+
+		Assert.assertThat(result.isSynchronised(), equalTo(false));
+	}
+
+	@Test
+	public void joinShouldIgnoreDisabledBranches() {
+		States states = new States()
+				.success("start", "flow1").success("split", "flow2")
+				.success("task1", "flow4");
+
+		SynchronisationResult result = diamond().depthFirstSynchronisation(states);
+
+		Assert.assertThat(result.isSynchronised(), equalTo(true));
+		Assert.assertThat(result.getExpectedFlows(), equalTo(1));
+	}
+
+	@Test
+	public void breadthFirstShouldRequireAllUpstreamNodes() {
+		States states = new States()
+				.success("start", "flow1").success("split", "flow2", "flow3")
+				.success("task1", "flow4");
+
+		Assert.assertThat(diamond().breadthFirstSynchronisation(states), equalTo(false));
+
+		states.success("task2", "flow5");
+		Assert.assertThat(diamond().breadthFirstSynchronisation(states), equalTo(true));
+	}
+
+	@Test
+	public void graphShouldContainEachNodeOnce() {
+		UpstreamGraph<String> graph = diamond();
+
+		Assert.assertThat(graph.getNodes().size(), equalTo(5));
+		Assert.assertThat(graph.getFlowCount(), equalTo(5));
+		Assert.assertThat(graph.getNodes().get(0), equalTo("join"));
+	}
+
+	private static class States implements ExecutionStates<String> {
+
+		private final Map<String, State> states = new HashMap<>();
+		private final Set<String> enabled = new HashSet<>();
+
+		States success(String node, String... flowIds) {
+			states.put(node, State.SUCCESS);
+			for (String flowId : flowIds) {
+				enabled.add(node + ":" + flowId);
+			}
+			return this;
+		}
+
+		@Override
+		public State stateOf(String node) {
+			return states.get(node);
+		}
+
+		@Override
+		public boolean isEnabled(String node, String flowId) {
+			return enabled.contains(node + ":" + flowId);
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.message;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.UntypedActor;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Category(UnitTest.class)
+public class EventMessageEventBusTest {
+
+	private static ActorSystem system;
+
+	@BeforeClass
+	public static void setUp() {
+		system = ActorSystem.create("EventMessageEventBusTest");
+	}
+
+	@AfterClass
+	public static void tearDown() {
+		system.shutdown();
+	}
+
+	@Test
+	public void publishShouldOnlyNotifySubscribersOfTheProcessInstance() {
+		CountingEventBus bus = new CountingEventBus();
+		ActorRef master1 = actor();
+		ActorRef master2 = actor();
+
+		bus.subscribe(master1, "pi-1");
+		bus.subscribe(master2, "pi-2");
+		bus.publish(message("pi-1"));
+
+		Assert.assertThat(bus.received, equalTo(list(master1)));
+	}
+
+	@Test
+	public void publishShouldNotifyBroadcastSubscribers() {
+		CountingEventBus bus = new CountingEventBus();
+		ActorRef master = actor();
+		ActorRef listener = actor();
+
+		bus.subscribe(master, "pi-1");
+		bus.subscribe(listener, null);
+		bus.publish(message("pi-1"));
+		bus.publish(message("pi-2"));
+
+		Assert.assertThat(bus.received, equalTo(list(master, listener, listener)));
+	}
+
+	@Test
+	public void unsubscribeShouldRemoveAllClassifiers() {
+		CountingEventBus bus = new CountingEventBus();
+		ActorRef master = actor();
+
+		bus.subscribe(master, "pi-1");
+		bus.subscribe(master, "pi-2");
+		bus.unsubscribe(master);
+		bus.publish(message("pi-1"));
+		bus.publish(message("pi-2"));
+
+		Assert.assertThat(bus.received.isEmpty(), equalTo(true));
+		Assert.assertThat(bus.size(), equalTo(0));
+	}
+
+	@Test
+	public void unsubscribeClassifierShouldKeepOtherClassifiers() {
+		CountingEventBus bus = new CountingEventBus();
+		ActorRef master = actor();
+
+		bus.subscribe(master, "pi-1");
+		bus.subscribe(master, "pi-2");
+
+		Assert.assertThat(bus.unsubscribe(master, "pi-1"), equalTo(true));
+		Assert.assertThat(bus.unsubscribe(master, "pi-1"), equalTo(false));
+
+		bus.publish(message("pi-1"));
+		bus.publish(message("pi-2"));
+
+		Assert.assertThat(bus.received, equalTo(list(master)));
+		Assert.assertThat(bus.size(), equalTo(1));
+	}
+
+	@Test
+	public void publishShouldNotVisitSubscribersOfOtherProcessInstances() {
+		CountingEventBus bus = new CountingEventBus();
+		ActorRef master = actor();
+
+		final int subscriptions = 100000;
+		for (int i = 0; i < subscriptions; i++) {
+			bus.subscribe(master, "pi-" + i);
+		}
+		for (int i = 0; i < 1000; i++) {
+			bus.publish(message("pi-" + (i * 31 % subscriptions)));
+		}
+
+		Assert.assertThat(bus.count, equalTo(1000));
+	}
+
+	@Test
+	public void concurrentSubscribeAndUnsubscribeShouldNotLoseSubscriptions() throws Exception {
+		final EventMessageEventBus bus = new EventMessageEventBus();
+		final ActorRef stable = actor();
+		final ActorRef churning = actor();
+		final int rounds = 10000;
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final CountDownLatch start = new CountDownLatch(1);
+			Future<?> churn = executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < rounds; i++) {
+					bus.subscribe(churning, "pi-" + i);
+					bus.unsubscribe(churning, "pi-" + i);
+				}
+				return null;
+			});
+			Future<?> subscribe = executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < rounds; i++) {
+					bus.subscribe(stable, "pi-" + i);
+				}
+				return null;
+			});
+			start.countDown();
+			churn.get(30, TimeUnit.SECONDS);
+			subscribe.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Assert.assertThat(bus.size(), equalTo(rounds));
+		for (int i = 0; i < rounds; i++) {
+			Assert.assertThat(bus.unsubscribe(stable, "pi-" + i), equalTo(true));
+		}
+		Assert.assertThat(bus.size(), equalTo(0));
+	}
+
+	@Test
+	public void concurrentUnsubscribeShouldNotLoseClassifiersOfTheSameSubscriber() throws Exception {
+		final EventMessageEventBus bus = new EventMessageEventBus();
+		final ActorRef subscriber = actor();
+		final int rounds = 10000;
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			final CountDownLatch start = new CountDownLatch(1);
+			Future<?> churn = executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < rounds; i++) {
+					bus.subscribe(subscriber, "churn-" + i);
+					bus.unsubscribe(subscriber, "churn-" + i);
+				}
+				return null;
+			});
+			Future<?> subscribe = executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < rounds; i++) {
+					bus.subscribe(subscriber, "pi-" + i);
+				}
+				return null;
+			});
+			start.countDown();
+			churn.get(30, TimeUnit.SECONDS);
+			subscribe.get(30, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		// every classifier must be known, otherwise its entry outlives the subscriber
+		Assert.assertThat(bus.size(), equalTo(rounds));
+		bus.unsubscribe(subscriber);
+		Assert.assertThat(bus.size(), equalTo(0));
+	}
+
+	private static ActorRef actor() {
+		return system.actorOf(Props.create(NoopActor.class));
+	}
+
+	private static EventMessage message(String piId) {
+		ProcessInstance pi = new ProcessInstance();
+		pi.setId(piId);
+		return () -> pi;
+	}
+
+	private static List<ActorRef> list(ActorRef... refs) {
+		List<ActorRef> list = new ArrayList<>();
+		for (ActorRef ref : refs) {
+			list.add(ref);
+		}
+		return list;
+	}
+
+	/**
+	 * Event bus which records the notified subscribers instead of telling them.
+	 */
+	private static class CountingEventBus extends EventMessageEventBus {
+
+		private final List<ActorRef> received = new ArrayList<>();
+		private int count;
+
+		@Override
+		public void publish(EventMessage event, ActorRef subscriber) {
+			if (count++ < 1000) {
+				received.add(subscriber);
+			}
+		}
+	}
+
+	public static class NoopActor extends UntypedActor {
+
+		@Override
+		public void onReceive(Object message) {
+			unhandled(message);
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.message;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Category(UnitTest.class)
+public class MessageCorrelationTest {
+
+	@Test
+	public void keyOfWaitingExecutionShouldMatchKeyOfMessage() {
+		Map<String, Object> variables = new HashMap<>();
+		variables.put("orderId", 42);
+		variables.put("customerId", "c1");
+		variables.put("amount", 100);
+
+		Map<String, Object> message = new LinkedHashMap<>();
+		message.put("orderId", 42L);
+		message.put("customerId", "c1");
+
+		String waiting = MessageCorrelation.key("order", new String[]{"orderId", "customerId"}, variables);
+		Assert.assertThat(MessageCorrelation.key("order", message), equalTo(waiting));
+	}
+
+	@Test
+	public void keyShouldBeNullWithoutCorrelationValues() {
+		Map<String, Object> variables = Collections.<String, Object>singletonMap("orderId", 42);
+
+		Assert.assertThat(MessageCorrelation.key("order", null, variables), nullValue());
+		Assert.assertThat(MessageCorrelation.key("order", new String[]{"customerId"}, variables), nullValue());
+		Assert.assertThat(MessageCorrelation.key("order", Collections.<String, Object>emptyMap()), nullValue());
+	}
+
+	@Test
+	public void separatorsInValuesShouldNotCollide() {
+		Map<String, Object> first = new HashMap<>();
+		first.put("a", "1&b=2");
+
+		Map<String, Object> second = new HashMap<>();
+		second.put("a", "1");
+		second.put("b", "2");
+
+		Assert.assertThat(MessageCorrelation.key("order", first), not(equalTo(MessageCorrelation.key("order", second))));
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.runtime.metrics;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Category(UnitTest.class)
+public class InMemoryEngineMetricsTest {
+
+	@Test
+	public void countersShouldBeCreatedOncePerName() {
+		InMemoryEngineMetrics metrics = new InMemoryEngineMetrics();
+		Counter counter = metrics.counter(EngineMetrics.PROCESS_STARTED);
+		counter.increment();
+		counter.add(2);
+
+		Assert.assertThat(metrics.counter(EngineMetrics.PROCESS_STARTED), sameInstance(counter));
+		Assert.assertThat(metrics.getCounts().get(EngineMetrics.PROCESS_STARTED), equalTo(3L));
+	}
+
+	@Test
+	public void gaugesShouldBeReadWithTheCounts() {
+		InMemoryEngineMetrics metrics = new InMemoryEngineMetrics();
+		AtomicLong value = new AtomicLong(5);
+		metrics.gauge("queue", value::get);
+		value.set(7);
+
+		Assert.assertThat(metrics.getCounts().get("queue"), equalTo(7L));
+	}
+
+	@Test
+	public void histogramPercentilesShouldBeBoundedByTheBuckets() {
+		Histogram histogram = new InMemoryEngineMetrics().histogram("latency");
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		histogram.record(-1);
+
+		HistogramSnapshot snapshot = histogram.getSnapshot();
+		Assert.assertThat(snapshot.getCount(), equalTo(101L));
+		Assert.assertThat(snapshot.getSum(), equalTo(5050L));
+		Assert.assertThat(snapshot.getMax(), equalTo(100L));
+		Assert.assertThat(snapshot.getMean(), equalTo(50L));
+		Assert.assertThat(snapshot.getP50(), equalTo(63L));
+		Assert.assertThat(snapshot.getP99(), equalTo(100L));
+	}
+
+	@Test
+	public void noOpMetricsShouldRecordNothing() {
+		EngineMetrics metrics = NoOpEngineMetrics.INSTANCE;
+		metrics.counter("count").increment();
+		metrics.histogram("latency").record(10);
+
+		Assert.assertThat(metrics.isEnabled(), equalTo(false));
+		Assert.assertThat(metrics.getCounts().isEmpty(), equalTo(true));
+		Assert.assertThat(metrics.histogram("latency").getSnapshot().getCount(), equalTo(0L));
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.support;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Category(UnitTest.class)
+public class BoundedCacheTest {
+
+	@Test
+	public void valuesShouldBeComputedOnce() {
+		BoundedCache<String, Integer> cache = new BoundedCache<>(4);
+		AtomicInteger computations = new AtomicInteger();
+
+		Assert.assertThat(cache.computeIfAbsent("a", key -> computations.incrementAndGet()), equalTo(1));
+		Assert.assertThat(cache.computeIfAbsent("a", key -> computations.incrementAndGet()), equalTo(1));
+		Assert.assertThat(computations.get(), equalTo(1));
+	}
+
+	@Test
+	public void leastRecentlyUsedEntryShouldBeEvicted() {
+		BoundedCache<String, String> cache = new BoundedCache<>(2);
+		cache.computeIfAbsent("a", key -> key);
+		cache.computeIfAbsent("b", key -> key);
+
+		// touch a so that b is the eldest entry
+		cache.get("a");
+		cache.computeIfAbsent("c", key -> key);
+
+		Assert.assertThat(cache.size(), equalTo(2));
+		Assert.assertThat(cache.getEvictions(), equalTo(1L));
+		Assert.assertThat(cache.get("a"), equalTo("a"));
+		Assert.assertThat(cache.get("b"), nullValue());
+		Assert.assertThat(cache.get("c"), equalTo("c"));
+	}
+
+}
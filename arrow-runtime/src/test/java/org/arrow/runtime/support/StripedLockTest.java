@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.support;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+@Category(UnitTest.class)
+public class StripedLockTest {
+
+	@Test
+	public void sizeShouldBeRoundedToPowerOfTwo() {
+		Assert.assertThat(new StripedLock(1).size(), equalTo(1));
+		Assert.assertThat(new StripedLock(3).size(), equalTo(4));
+		Assert.assertThat(new StripedLock(64).size(), equalTo(64));
+	}
+
+	@Test
+	public void equalKeysShouldShareTheLock() {
+		StripedLock locks = new StripedLock(64);
+		Assert.assertThat(locks.get(new String("pi-1")), sameInstance(locks.get("pi-1")));
+	}
+
+	@Test
+	public void differentStripesShouldBeHeldConcurrently() throws Exception {
+		StripedLock locks = new StripedLock(64);
+		String key1 = "pi-1";
+		String key2 = keyOnOtherStripe(locks, key1);
+
+		Lock lock = locks.get(key1);
+		lock.lock();
+		try {
+			ExecutorService executor = Executors.newSingleThreadExecutor();
+			Future<Boolean> acquired = executor.submit(() -> {
+				Lock other = locks.get(key2);
+				boolean result = other.tryLock(1, TimeUnit.SECONDS);
+				if (result) {
+					other.unlock();
+				}
+				return result;
+			});
+			Assert.assertThat(acquired.get(), equalTo(true));
+			executor.shutdown();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Test
+	public void sameKeyShouldBeMutuallyExclusive() throws Exception {
+		StripedLock locks = new StripedLock(64);
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+
+		run(8, 200, i -> "pi-1", locks, () -> {
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			active.decrementAndGet();
+		});
+
+		Assert.assertThat(maxActive.get(), equalTo(1));
+	}
+
+	/**
+	 * Executes the given work under the lock of the key provided for each thread.
+	 */
+	private static void run(int threads, int iterations, KeyProvider keys, StripedLock locks, Runnable work) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+
+		for (int t = 0; t < threads; t++) {
+			final Object key = keys.keyOf(t);
+			futures.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < iterations; i++) {
+					Lock lock = locks.get(key);
+					lock.lock();
+					try {
+						work.run();
+					} finally {
+						lock.unlock();
+					}
+				}
+				return null;
+			}));
+		}
+
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+	}
+
+	private static String keyOnOtherStripe(StripedLock locks, String key) {
+		int i = 0;
+		while (locks.indexOf("pi-" + i) == locks.indexOf(key)) {
+			i++;
+		}
+		return "pi-" + i;
+	}
+
+	private interface KeyProvider {
+		Object keyOf(int thread);
+	}
+
+}
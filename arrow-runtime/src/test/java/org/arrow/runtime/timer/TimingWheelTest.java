@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.timer;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+
+import org.arrow.runtime.timer.TimingWheel.Timeout;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@Category(UnitTest.class)
+public class TimingWheelTest {
+
+	@Test
+	public void timeoutsShouldExpireInOrderAcrossLevels() {
+		TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+		wheel.add(50000, "far");
+		wheel.add(35, "near");
+		wheel.add(170, "middle");
+
+		List<String> expired = new ArrayList<>();
+		for (long now = 0; now <= 50000; now += 10) {
+			expired.addAll(wheel.advance(now));
+		}
+
+		Assert.assertThat(expired, equalTo(Arrays.asList("near", "middle", "far")));
+		Assert.assertThat(wheel.size(), equalTo(0));
+	}
+
+	@Test
+	public void timeoutsShouldNotExpireBeforeTheirDueDate() {
+		TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+		wheel.add(1000, "timeout");
+
+		Assert.assertThat(wheel.advance(990), equalTo(Collections.<String>emptyList()));
+		Assert.assertThat(wheel.advance(1000), equalTo(Collections.singletonList("timeout")));
+	}
+
+	@Test
+	public void cancelledTimeoutShouldNotExpire() {
+		TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+		Timeout<String> timeout = wheel.add(100, "cancelled");
+		wheel.add(100, "kept");
+
+		Assert.assertThat(timeout.cancel(), equalTo(true));
+		Assert.assertThat(timeout.cancel(), equalTo(false));
+		Assert.assertThat(wheel.size(), equalTo(1));
+		Assert.assertThat(wheel.advance(100), equalTo(Collections.singletonList("kept")));
+	}
+
+	@Test
+	public void overdueTimeoutShouldExpireWithNextAdvance() {
+		TimingWheel<String> wheel = new TimingWheel<>(10, 4, 1000);
+		wheel.advance(2000);
+		Timeout<String> timeout = wheel.add(500, "overdue");
+
+		Assert.assertThat(wheel.advance(2000), equalTo(Collections.singletonList("overdue")));
+		Assert.assertThat(timeout.isPending(), equalTo(false));
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.variable;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import org.arrow.runtime.execution.State;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Category(UnitTest.class)
+public class VariableCodecRegistryTest {
+
+	private final VariableCodecRegistry registry = new VariableCodecRegistry();
+
+	@Test
+	public void builtinValuesShouldRoundTrip() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("string", "\u00e4\u00f6\u00fc");
+		map.put("int", -42);
+		map.put("long", Long.MAX_VALUE);
+		map.put("decimal", new BigDecimal("-1234.5678"));
+		map.put("date", new Date(1416000000000L));
+		map.put("state", State.SUCCESS);
+		map.put("list", Arrays.asList(1, "two", null));
+		map.put("set", new TreeSet<>(Arrays.asList("b", "a")));
+		map.put("ints", new int[] {1, 2, 3});
+
+		Object decoded = roundTrip(map);
+
+		Assert.assertThat(decoded, instanceOf(LinkedHashMap.class));
+		Map<?, ?> result = (Map<?, ?>) decoded;
+		Assert.assertThat(result.get("string"), equalTo((Object) "\u00e4\u00f6\u00fc"));
+		Assert.assertThat(result.get("int"), equalTo((Object) (-42)));
+		Assert.assertThat(result.get("long"), equalTo((Object) Long.MAX_VALUE));
+		Assert.assertThat(result.get("decimal"), equalTo((Object) new BigDecimal("-1234.5678")));
+		Assert.assertThat(result.get("date"), equalTo((Object) new Date(1416000000000L)));
+		Assert.assertThat(result.get("state"), sameInstance((Object) State.SUCCESS));
+		Assert.assertThat(result.get("list"), equalTo((Object) Arrays.asList(1, "two", null)));
+		Assert.assertThat(result.get("set"), equalTo((Object) new TreeSet<>(Arrays.asList("a", "b"))));
+		Assert.assertThat(Arrays.toString((int[]) result.get("ints")), equalTo("[1, 2, 3]"));
+	}
+
+	@Test
+	public void objectsShouldRoundTripFieldByField() {
+		Order order = new Order("order-1", new BigDecimal("99.95"));
+		order.lines.add(new Line("sku-1", 2));
+		order.lines.add(new Line("sku-2", 1));
+
+		Order result = (Order) roundTrip(order);
+
+		Assert.assertThat(result.id, equalTo("order-1"));
+		Assert.assertThat(result.total, equalTo(new BigDecimal("99.95")));
+		Assert.assertThat(result.lines.size(), equalTo(2));
+		Assert.assertThat(result.lines.get(1).sku, equalTo("sku-2"));
+		Assert.assertThat(result.lines.get(1).quantity, equalTo(1));
+		Assert.assertThat(result.cache, equalTo(null));
+	}
+
+	@Test
+	public void sharedAndCyclicReferencesShouldBePreserved() {
+		Line line = new Line("sku-1", 1);
+		Order order = new Order("order-1", BigDecimal.ONE);
+		order.lines.add(line);
+		order.lines.add(line);
+		order.parent = order;
+
+		Order result = (Order) roundTrip(order);
+
+		Assert.assertThat(result.parent, sameInstance(result));
+		Assert.assertThat(result.lines.get(0), sameInstance(result.lines.get(1)));
+	}
+
+	@Test
+	public void objectsWrittenByAnotherClassVersionShouldBeRead() throws IOException {
+		// a former version of Line had a note field and a quantity of type long
+		VariableOutput out = new VariableOutput(registry);
+		out.open();
+		out.writeClass(Line.class);
+		out.writeFieldNames(Line.class, new String[] {"note", "quantity", "sku"});
+		out.writeValue("gift");
+		out.writeValue(3L);
+		out.writeValue("sku-1");
+		byte[] bytes = out.release();
+
+		Line result = (Line) registry.decode(BuiltinVariableCodecs.OBJECT, bytes);
+
+		// the unknown note and the incompatible quantity are skipped
+		Assert.assertThat(result.sku, equalTo("sku-1"));
+		Assert.assertThat(result.quantity, equalTo(0));
+	}
+
+	@Test
+	public void customCodecShouldBeUsedForItsType() {
+		registry.register(new LineCodec());
+
+		Line line = new Line("sku-1", 3);
+		Assert.assertThat(registry.getTypeId(line), equalTo(100));
+
+		Line result = (Line) roundTrip(line);
+		Assert.assertThat(result.sku, equalTo("sku-1"));
+		Assert.assertThat(result.quantity, equalTo(3));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void reservedIdsShouldBeRejected() {
+		registry.register(new LineCodec() {
+			@Override
+			public int getId() {
+				return 1;
+			}
+		});
+	}
+
+	private Object roundTrip(Object value) {
+		byte[] bytes = registry.encode(value);
+		return registry.decode(registry.getTypeId(value), bytes);
+	}
+
+	static class Order {
+		private final String id;
+		private final BigDecimal total;
+		private final List<Line> lines = new ArrayList<>();
+		private Order parent;
+		private transient Object cache = new Object();
+
+		Order(String id, BigDecimal total) {
+			this.id = id;
+			this.total = total;
+		}
+	}
+
+	static class Line {
+		private final String sku;
+		private final int quantity;
+
+		Line(String sku, int quantity) {
+			this.sku = sku;
+			this.quantity = quantity;
+		}
+	}
+
+	static class LineCodec implements VariableCodec<Line> {
+
+		@Override
+		public int getId() {
+			return 100;
+		}
+
+		@Override
+		public Class<Line> getType() {
+			return Line.class;
+		}
+
+		@Override
+		public void write(Line value, VariableOutput out) throws IOException {
+			out.writeString(value.sku);
+			out.writeVarInt(value.quantity);
+		}
+
+		@Override
+		public Line read(VariableInput in) throws IOException {
+			return new Line(in.readString(), in.readVarInt());
+		}
+	}
+
+}
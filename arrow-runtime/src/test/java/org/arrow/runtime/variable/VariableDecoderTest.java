@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.runtime.variable;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Category(UnitTest.class)
+public class VariableDecoderTest {
+
+	private final VariableCodecRegistry registry = new VariableCodecRegistry();
+	private final List<Object> items = Arrays.<Object>asList("a", 1);
+
+	private ProcessInstance pi;
+	private Execution execution;
+
+	@Before
+	public void setUp() {
+		pi = new ProcessInstance();
+		pi.addVariable("plain", "value");
+		pi.addVariable("items", registry.encode(items));
+		pi.addVariable(VariableDecoder.typeKey("items"), registry.getTypeId(items));
+		pi.addVariable("amount", "12.50");
+		pi.addVariable(VariableDecoder.typeKey("amount"), BigDecimal.class.getName());
+
+		execution = new Execution();
+		execution.setProcessInstance(pi);
+	}
+
+	@Test
+	public void processInstanceShouldReturnDecodedVariables() {
+		Assert.assertThat(pi.getVariable("plain"), equalTo((Object) "value"));
+		Assert.assertThat(pi.getVariable("items"), equalTo((Object) items));
+		Assert.assertThat(pi.getVariable("amount"), equalTo((Object) new BigDecimal("12.50")));
+	}
+
+	@Test
+	public void processInstanceShouldHideTheTypeTags() {
+		Map<String, Object> expected = new HashMap<>();
+		expected.put("plain", "value");
+		expected.put("items", items);
+		expected.put("amount", new BigDecimal("12.50"));
+
+		Assert.assertThat(pi.getVariables(), equalTo(expected));
+	}
+
+	@Test
+	public void variableScopeShouldReturnDecodedVariables() {
+		execution.addLocalVariable("local", registry.encode(items));
+		execution.addLocalVariable(VariableDecoder.typeKey("local"), registry.getTypeId(items));
+
+		Assert.assertThat(execution.getVariable("items"), equalTo((Object) items));
+		Assert.assertThat(execution.getVariable("local"), equalTo((Object) items));
+		Assert.assertThat(execution.getVariables().get("items"), equalTo((Object) items));
+		Assert.assertThat(execution.getVariables().get("local"), equalTo((Object) items));
+		Assert.assertThat(execution.getVariables().containsKey(VariableDecoder.typeKey("items")), equalTo(false));
+		Assert.assertThat(execution.getVariables().containsKey(VariableDecoder.typeKey("local")), equalTo(false));
+	}
+
+	@Test
+	public void immutableVariableShouldBeDecodedOnce() {
+		Assert.assertThat(pi.getVariable("amount"), sameInstance(pi.getVariable("amount")));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void mutableVariableShouldBeCopiedForEachRead() {
+		List<Object> first = (List<Object>) pi.getVariable("items");
+		first.set(0, "changed");
+
+		Assert.assertThat(pi.getVariable("items"), not(sameInstance((Object) first)));
+		Assert.assertThat(pi.getVariable("items"), equalTo((Object) items));
+		Assert.assertThat(execution.getVariable("items"), equalTo((Object) items));
+	}
+
+	@Test
+	public void localImmutableVariableShouldBeDecodedOnce() {
+		execution.addLocalVariable("rate", "1.5");
+		execution.addLocalVariable(VariableDecoder.typeKey("rate"), BigDecimal.class.getName());
+
+		Assert.assertThat(execution.getVariable("rate"), sameInstance(execution.getVariables().get("rate")));
+	}
+
+	@Test
+	public void processInstanceVariablesShouldBeAReadOnlyView() {
+		Map<String, Object> variables = pi.getVariables();
+		pi.addVariable("later", 1);
+
+		Assert.assertThat(variables.get("later"), equalTo((Object) 1));
+		Assert.assertThat(variables.size(), equalTo(4));
+		try {
+			variables.put("other", 2);
+			Assert.fail("the view should be read only");
+		} catch (UnsupportedOperationException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void newValueShouldReplaceTheComplexVariable() {
+		pi.getVariable("items");
+		pi.addVariable("items", "plain");
+
+		Assert.assertThat(pi.getVariable("items"), equalTo((Object) "plain"));
+		Assert.assertThat(pi.getVariables().containsKey(VariableDecoder.typeKey("items")), equalTo(false));
+	}
+
+	@Test
+	public void valuesWithoutTypeTagShouldNotBeDecoded() {
+		byte[] bytes = {1, 2, 3};
+
+		Assert.assertThat(new VariableDecoder().decode(bytes, null), sameInstance((Object) bytes));
+	}
+
+}
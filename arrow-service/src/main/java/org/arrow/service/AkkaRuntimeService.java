@@ -19,6 +19,7 @@ package org.arrow.service;
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
 import org.arrow.data.neo4j.store.ProcessInstanceStore;
 import org.arrow.model.definition.timer.TimerEventDefinition;
 import org.arrow.model.event.startevent.impl.TimerStartEvent;
@@ -28,25 +29,34 @@ import org.arrow.runtime.api.TimerStartEventSpecification;
 import org.arrow.runtime.api.event.BusinessCondition;
 import org.arrow.runtime.api.event.BusinessCondition.BusinessConditionContext;
 import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessCompletion;
 import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.service.data.ExecutionRepository;
 import org.arrow.runtime.execution.service.data.ProcessRepository;
 import org.arrow.runtime.execution.service.data.StartEventRepository;
+import org.arrow.runtime.logger.LoggerFacade;
 import org.arrow.runtime.mapper.EventMessage2ProcessInstanceMapper;
 import org.arrow.runtime.mapper.EventMessage2ProcessInstancesMapper;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.EventMessageEventBus;
+import org.arrow.runtime.message.SignalBroadcast;
 import org.arrow.runtime.message.impl.ErrorEventMessage;
 import org.arrow.runtime.message.impl.MessageEventMessage;
 import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.runtime.timer.TimerJob;
+import org.arrow.runtime.timer.TimerService;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController;
+import org.arrow.service.engine.concurrent.ProcessCompletionRegistry;
 import org.arrow.service.engine.concurrent.dispatch.onfailure.PrintStacktraceOnFailure;
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.PublishEventMessagesOnSuccess;
 import org.arrow.service.microservice.EventMessageService;
+import org.arrow.service.microservice.impl.bulk.BulkProcessStartingService;
 import org.arrow.service.microservice.impl.conditional.ConditionalEventRequest;
 import org.arrow.service.microservice.impl.message.MessageEventCompoundService;
 import org.arrow.service.microservice.impl.message.MessageEventRequest;
 import org.arrow.service.microservice.impl.none.NoneEventCompoundService;
 import org.arrow.service.microservice.impl.none.NoneEventRequest;
+import org.arrow.service.microservice.impl.signal.SignalBroadcastService;
 import org.arrow.service.microservice.impl.signal.SignalEventCompoundService;
 import org.arrow.service.microservice.impl.signal.SignalEventRequest;
 import org.arrow.util.TriggerUtils;
@@ -54,16 +64,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
-import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
 import org.springframework.stereotype.Service;
 import scala.concurrent.ExecutionContextExecutor;
 import scala.concurrent.Future;
+import scala.concurrent.Promise;
 
+import javax.annotation.PostConstruct;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Akka based {@link RuntimeService} implementation class.
+ * Akka based {@link RuntimeService} implementation class. Process starts by
+ * id, signal and message pass the {@link ProcessAdmissionController}, a
+ * saturated engine fails the returned future with a
+ * {@link org.arrow.service.engine.concurrent.ProcessAdmissionException}.
+ * Executed process instances are completed through the
+ * {@link ProcessCompletionRegistry}.
  *
  * @author christian.weber
  * @since 1.0.0
@@ -71,6 +89,11 @@ import java.util.*;
 @Service
 public class AkkaRuntimeService implements RuntimeService {
 
+    private static final LoggerFacade LOGGER = new LoggerFacade(AkkaRuntimeService.class);
+
+    /** the delay in milliseconds after which the timer of an undeployed timer start event is retried */
+    private static final long TIMER_START_EVENT_RETRY = 60000;
+
     @Autowired
     private ApplicationContext context;
     @Autowired
@@ -80,17 +103,26 @@ public class AkkaRuntimeService implements RuntimeService {
     @Autowired
     private StartEventRepository startEventRepository;
     @Autowired
-    private TaskScheduler scheduler;
+    private TimerService timerService;
 
     @Autowired
     private EventMessageEventBus eventMessageEventBus;
     @Autowired
     private ExecutionRepository executionRepository;
+    @Autowired
+    private ProcessAdmissionController admissionController;
+    @Autowired
+    private ProcessCompletionRegistry completionRegistry;
 
     @Autowired
     @Qualifier("conditional")
     private EventMessageService<ConditionalEventRequest> conditionalEventService;
 
+    /**
+     * The scheduled timer start events by their id.
+     */
+    private final Map<String, TimerStartEvent> timerStartEvents = new ConcurrentHashMap<>();
+
     /**
      * {@inheritDoc}
      */
@@ -110,7 +142,7 @@ public class AkkaRuntimeService implements RuntimeService {
         NoneEventRequest request = new NoneEventRequest(id, variables);
 
         Future<Iterable<EventMessage>> messages;
-        messages = noneEventCompoundService.getEventMessages(request);
+        messages = admissionController.admit(() -> noneEventCompoundService.getEventMessages(request));
 
         // register success/failure hooks
         messages.onSuccess(new PublishEventMessagesOnSuccess(context), getExecutionContextExecutor());
@@ -120,6 +152,28 @@ public class AkkaRuntimeService implements RuntimeService {
         return messages.map(mapper, getExecutionContextExecutor());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<ProcessCompletion> executeProcessById(String id, Map<String, Object> variables) {
+
+        NoneEventCompoundService noneEventCompoundService = context.getBean(NoneEventCompoundService.class);
+
+        NoneEventRequest request = new NoneEventRequest(id, variables);
+        return execute(admissionController.admit(() -> noneEventCompoundService.getEventMessages(request)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Future<ProcessInstance>> startProcessesById(String id, Iterable<Map<String, Object>> variables) {
+        List<Future<Iterable<EventMessage>>> messages = getBulkProcessStartingService().start(
+                () -> startEvents(startEventRepository.findNoneStartEventByProcessId(id)), variables);
+        return map(messages, EventMessage2ProcessInstanceMapper.INSTANCE);
+    }
+
     /**
      * Executes the BPMN process asynchronously.
      *
@@ -178,6 +232,11 @@ public class AkkaRuntimeService implements RuntimeService {
     @Override
     public Future<Iterable<EventMessage>> signal(String signalRef, Execution exec, Map<String, Object> vars) {
 
+        // signal reference based signals are broadcast in batches
+        if (exec == null) {
+            return context.getBean(SignalBroadcastService.class).signal(signalRef, vars);
+        }
+
         SignalEventCompoundService signalEventCompoundService = context.getBean(SignalEventCompoundService.class);
 
         // prepare the request
@@ -194,6 +253,14 @@ public class AkkaRuntimeService implements RuntimeService {
         return messages;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SignalBroadcast broadcast(String signalRef, Map<String, Object> variables) {
+        return context.getBean(SignalBroadcastService.class).broadcast(signalRef, variables);
+    }
+
     /**
      * Returns the {@link ExecutionContextExecutor} instance.
      *
@@ -221,7 +288,8 @@ public class AkkaRuntimeService implements RuntimeService {
         SignalEventCompoundService signalEventCompoundService = context.getBean(SignalEventCompoundService.class);
 
         SignalEventRequest request = new SignalEventRequest(signalRef, null, variables);
-        Future<Iterable<EventMessage>> messages = signalEventCompoundService.getEventMessages(request);
+        Future<Iterable<EventMessage>> messages;
+        messages = admissionController.admit(() -> signalEventCompoundService.getEventMessages(request));
 
         // register success/failure hooks
         messages.onSuccess(new PublishEventMessagesOnSuccess(context), getExecutionContextExecutor());
@@ -231,6 +299,17 @@ public class AkkaRuntimeService implements RuntimeService {
         return messages.map(mapper, getExecutionContextExecutor());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Future<Iterable<ProcessInstance>>> startProcessesBySignal(String signalRef,
+                                                                          Iterable<Map<String, Object>> variables) {
+        List<Future<Iterable<EventMessage>>> messages = getBulkProcessStartingService().start(
+                () -> startEvents(startEventRepository.findSignalStartEventsByReference(signalRef)), variables);
+        return map(messages, EventMessage2ProcessInstancesMapper.INSTANCE);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -263,6 +342,21 @@ public class AkkaRuntimeService implements RuntimeService {
         return future;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Iterable<EventMessage>> message(String message, Map<String, Object> correlationKeys,
+                                                  Map<String, Object> variables) {
+        MessageEventCompoundService messageEventCompoundService = context.getBean(MessageEventCompoundService.class);
+
+        MessageEventRequest request = new MessageEventRequest(message, correlationKeys, variables);
+        Future<Iterable<EventMessage>> future = messageEventCompoundService.getEventMessages(request);
+        future.onSuccess(getEventPublisher(), getExecutionContextExecutor());
+
+        return future;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -282,8 +376,9 @@ public class AkkaRuntimeService implements RuntimeService {
         // prepare the request
         MessageEventRequest request = new MessageEventRequest(messageRef, variables, true);
 
-        // call the micro service
-        Future<Iterable<EventMessage>> messages = messageEventCompoundService.getEventMessages(request);
+        // call the micro service once the start is admitted
+        Future<Iterable<EventMessage>> messages;
+        messages = admissionController.admit(() -> messageEventCompoundService.getEventMessages(request));
 
         // register success/failure hooks
         messages.onSuccess(new PublishEventMessagesOnSuccess(context), getExecutionContextExecutor());
@@ -298,29 +393,183 @@ public class AkkaRuntimeService implements RuntimeService {
      * {@inheritDoc}
      */
     @Override
-    public void schedule(TimerStartEventSpecification event) {
-        TimerEventDefinition definition = (TimerEventDefinition) event.getTimerEventDefinition();
+    public Future<ProcessCompletion> executeProcessByMessage(String messageRef, Map<String, Object> variables) {
 
-        Trigger trigger = TriggerUtils.getTrigger(definition);
-        scheduler.schedule(new TimerStartEventRunnable((TimerStartEvent) event, this), trigger);
+        MessageEventCompoundService messageEventCompoundService = context.getBean(MessageEventCompoundService.class);
+
+        MessageEventRequest request = new MessageEventRequest(messageRef, variables, true);
+        return execute(admissionController.admit(() -> messageEventCompoundService.getEventMessages(request)));
     }
 
-    private class TimerStartEventRunnable implements Runnable {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Future<ProcessInstance>> startProcessesByMessage(String messageRef,
+                                                                 Iterable<Map<String, Object>> variables) {
+        List<Future<Iterable<EventMessage>>> messages = getBulkProcessStartingService().start(
+                () -> startEvents(startEventRepository.findMessageStartEvent(messageRef)), variables);
+        return map(messages, EventMessage2ProcessInstanceMapper.INSTANCE);
+    }
+
+    /**
+     * Publishes the given start event messages once the completion of the
+     * started process instance is registered, so that the completion cannot
+     * be missed by the caller.
+     *
+     * @param admitted the start event messages of the admitted start
+     * @return Future the completion of the started process instance
+     */
+    private Future<ProcessCompletion> execute(Future<Iterable<EventMessage>> admitted) {
+
+        final Promise<ProcessCompletion> completion = Futures.promise();
+
+        Future<Iterable<EventMessage>> messages = admitted.map(new Mapper<Iterable<EventMessage>, Iterable<EventMessage>>() {
+            @Override
+            public Iterable<EventMessage> apply(Iterable<EventMessage> messages) {
+                ProcessInstance pi = EventMessage2ProcessInstanceMapper.INSTANCE.apply(messages);
+                if (pi == null) {
+                    completion.failure(new IllegalStateException("no process instance started"));
+                } else {
+                    completion.completeWith(completionRegistry.register(pi.getId()));
+                }
+                return messages;
+            }
+        }, getExecutionContextExecutor());
+
+        // register success/failure hooks
+        messages.onSuccess(new PublishEventMessagesOnSuccess(context), getExecutionContextExecutor());
+        messages.onFailure(new PrintStacktraceOnFailure(), getExecutionContextExecutor());
+
+        return messages.flatMap(new Mapper<Iterable<EventMessage>, Future<ProcessCompletion>>() {
+            @Override
+            public Future<ProcessCompletion> apply(Iterable<EventMessage> messages) {
+                return completion.future();
+            }
+        }, getExecutionContextExecutor());
+    }
 
-        private final TimerStartEvent event;
-        private final RuntimeService runtimeService;
+    /**
+     * Returns the {@link BulkProcessStartingService} instance.
+     *
+     * @return BulkProcessStartingService
+     */
+    private BulkProcessStartingService getBulkProcessStartingService() {
+        return context.getBean(BulkProcessStartingService.class);
+    }
+
+    /**
+     * Returns the non-null start events as list.
+     *
+     * @param startEvents the start events
+     * @return List
+     */
+    private List<StartEventSpecification> startEvents(StartEventSpecification... startEvents) {
+        return startEvents(Arrays.asList(startEvents));
+    }
 
-        public TimerStartEventRunnable(TimerStartEvent event,
-                                       RuntimeService runtimeService) {
-            this.event = event;
-            this.runtimeService = runtimeService;
+    /**
+     * Returns the non-null start events as list.
+     *
+     * @param startEvents the start events
+     * @return List
+     */
+    private List<StartEventSpecification> startEvents(Iterable<? extends StartEventSpecification> startEvents) {
+        List<StartEventSpecification> list = new ArrayList<>();
+        for (StartEventSpecification startEvent : startEvents) {
+            if (startEvent != null) {
+                list.add(startEvent);
+            }
         }
+        return list;
+    }
 
-        @Override
-        public void run() {
-            runtimeService.startProcessByStartEvent(event);
+    /**
+     * Maps each of the given futures with the given mapper.
+     *
+     * @param futures the futures to map
+     * @param mapper  the mapper instance
+     * @return List
+     */
+    private <T> List<Future<T>> map(List<Future<Iterable<EventMessage>>> futures, Mapper<Iterable<EventMessage>, T> mapper) {
+        List<Future<T>> result = new ArrayList<>(futures.size());
+        for (Future<Iterable<EventMessage>> future : futures) {
+            result.add(future.map(mapper, getExecutionContextExecutor()));
         }
+        return result;
+    }
+
+    /**
+     * Registers the handler of the timer start event timers.
+     */
+    @PostConstruct
+    public void init() {
+        timerService.register(TimerJob.START_EVENT, this::fireTimerStartEvents);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(TimerStartEventSpecification event) {
+        TimerEventDefinition definition = (TimerEventDefinition) event.getTimerEventDefinition();
+        Date dueDate = TriggerUtils.getDueDate(definition);
 
+        timerStartEvents.put(event.getId(), (TimerStartEvent) event);
+
+        // a redeployed timer start event replaces its pending timer
+        String id = TimerJob.START_EVENT + ":" + event.getId();
+        timerService.schedule(new TimerJob(id, TimerJob.START_EVENT, event.getId(), dueDate.getTime()));
+    }
+
+    /**
+     * Starts a process instance for each of the given due timers and
+     * reschedules the timers of cyclic timer start events.
+     *
+     * @param jobs the due timer start event timers
+     */
+    private void fireTimerStartEvents(List<TimerJob> jobs) {
+        for (TimerJob job : jobs) {
+            TimerStartEvent event = getTimerStartEvent(job.getTargetId());
+            if (event == null) {
+                // keep the timer in the store until the process is deployed
+                LOGGER.warn("timer start event %s is not deployed, retry timer", job.getTargetId());
+                timerService.schedule(job.withDueDate(System.currentTimeMillis() + TIMER_START_EVENT_RETRY));
+                continue;
+            }
+
+            startProcessByStartEvent(event);
+
+            Date dueDate = new Date(job.getDueDate());
+            SimpleTriggerContext triggerContext = new SimpleTriggerContext();
+            triggerContext.update(dueDate, dueDate, new Date());
+
+            Trigger trigger = TriggerUtils.getTrigger(event.getTimerEventDefinition());
+            Date next = trigger.nextExecutionTime(triggerContext);
+            if (next != null) {
+                timerService.schedule(job.withDueDate(next.getTime()));
+            }
+        }
+    }
+
+    /**
+     * Returns the timer start event with the given id. Timers which fall due
+     * before the process definitions are deployed again, e.g. the overdue
+     * timers after a restart, resolve the start event from the persisted
+     * definition.
+     *
+     * @param id the timer start event id
+     * @return TimerStartEvent
+     */
+    private TimerStartEvent getTimerStartEvent(String id) {
+        TimerStartEvent event = timerStartEvents.get(id);
+        if (event == null) {
+            event = (TimerStartEvent) startEventRepository.findTimerStartEvent(id);
+            if (event != null) {
+                timerStartEvents.putIfAbsent(id, event);
+            }
+        }
+        return event;
     }
 
     /**
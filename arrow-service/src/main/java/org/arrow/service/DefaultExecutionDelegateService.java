@@ -0,0 +1,297 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service;
+
+import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
+import akka.dispatch.Futures;
+import akka.dispatch.OnComplete;
+import org.arrow.runtime.api.task.JavaDelegate;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.service.ExecutionDelegateService;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.support.EngineSynchronizationManager;
+import org.arrow.runtime.support.EngineSynchronizationManagerCallableDecorator;
+import org.arrow.service.engine.concurrent.DelegateAdmissionException;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+import scala.concurrent.duration.Duration;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default execution delegate service implementation. The java delegates are
+ * executed on the delegation dispatcher of the {@link EngineDispatchers}.
+ * <p>
+ * At most {@code arrow.delegate.<name>.max-concurrency} executions of a
+ * delegate run at the same time, further executions are queued per delegate
+ * and started as soon as a running execution has returned. At most
+ * {@code arrow.delegate.<name>.queue-size} executions are queued, further
+ * executions fail with a {@link DelegateAdmissionException}. An execution
+ * which does not complete within {@code arrow.delegate.<name>.timeout}
+ * milliseconds fails with a {@link TimeoutException} and its thread is
+ * interrupted; its slot is released once the delegate has returned.
+ * <p>
+ * The settings default to {@code arrow.delegate.max-concurrency},
+ * {@code arrow.delegate.queue-size} and {@code arrow.delegate.timeout}, zero
+ * meaning unlimited, and are resolved per execution. The queue size defaults
+ * to {@value #DEFAULT_QUEUE_SIZE}, the other settings to unlimited.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Service
+@SuppressWarnings("unused") // spring bean
+public class DefaultExecutionDelegateService implements ExecutionDelegateService {
+
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+
+    private static final Cancellable NO_TIMEOUT = new Cancellable() {
+        @Override
+        public boolean cancel() {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private ActorSystem actorSystem;
+    @Autowired
+    private EngineDispatchers dispatchers;
+
+    private final Map<String, DelegateLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Iterable<EventMessage>> executeAsync(String delegateName, JavaDelegate delegate, Execution execution) {
+        Callable<Future<Iterable<EventMessage>>> callable = () -> delegate.execute(execution);
+        callable = new EngineSynchronizationManagerCallableDecorator<>(EngineSynchronizationManager.getProcessScope(),
+                callable, EngineSynchronizationManager.getCurrentActor());
+
+        return limiters.computeIfAbsent(delegateName, DelegateLimiter::new).submit(callable);
+    }
+
+    /**
+     * Returns the given delegate setting, falling back to the default
+     * setting of all delegates.
+     *
+     * @param delegateName the delegate name
+     * @param key          the setting key
+     * @param type         the setting type
+     * @param defaultValue the default value
+     * @return T
+     */
+    private <T> T getSetting(String delegateName, String key, Class<T> type, T defaultValue) {
+        return environment.getProperty("arrow.delegate." + delegateName + "." + key, type,
+                environment.getProperty("arrow.delegate." + key, type, defaultValue));
+    }
+
+    /**
+     * Limits the concurrent executions of a single delegate and applies its
+     * timeout.
+     */
+    private class DelegateLimiter {
+
+        private final String delegateName;
+
+        // guarded by this
+        private final Queue<DelegateRun> pending = new ArrayDeque<>();
+        private int running;
+
+        private DelegateLimiter(String delegateName) {
+            this.delegateName = delegateName;
+        }
+
+        /**
+         * Starts the given delegate execution or queues it if the maximum of
+         * concurrent executions is reached.
+         *
+         * @param callable the delegate execution
+         * @return Future
+         */
+        private Future<Iterable<EventMessage>> submit(Callable<Future<Iterable<EventMessage>>> callable) {
+            int maxConcurrency = getSetting(delegateName, "max-concurrency", Integer.class, 0);
+            int queueSize = getSetting(delegateName, "queue-size", Integer.class, DEFAULT_QUEUE_SIZE);
+            DelegateRun run = new DelegateRun(callable, getSetting(delegateName, "timeout", Long.class, 0L));
+
+            boolean start;
+            synchronized (this) {
+                start = maxConcurrency <= 0 || running < maxConcurrency;
+                if (start) {
+                    running++;
+                } else if (queueSize > 0 && pending.size() >= queueSize) {
+                    return Futures.failed(new DelegateAdmissionException("java delegate " + delegateName
+                            + " rejected", running, pending.size()));
+                } else {
+                    pending.add(run);
+                }
+            }
+            if (start) {
+                start(run);
+            }
+            return run.promise.future();
+        }
+
+        /**
+         * Executes the given delegate execution on the delegation dispatcher.
+         * An execution rejected by the dispatcher fails and releases its slot.
+         *
+         * @param run the delegate execution
+         */
+        private void start(DelegateRun run) {
+            try {
+                dispatchers.delegation().execute(run);
+            } catch (RejectedExecutionException ex) {
+                run.promise.tryFailure(ex);
+                release();
+            }
+        }
+
+        /**
+         * Releases the slot of a returned execution and starts the next
+         * queued execution.
+         */
+        private void release() {
+            DelegateRun next;
+            synchronized (this) {
+                next = pending.poll();
+                if (next == null) {
+                    running--;
+                }
+            }
+            if (next != null) {
+                start(next);
+            }
+        }
+
+        /**
+         * A single delegate execution. Its slot is released as soon as both
+         * the delegate has returned and its promise is completed, so that an
+         * expired delegate keeps its slot until its thread is free again.
+         */
+        private class DelegateRun implements Runnable {
+
+            private final Callable<Future<Iterable<EventMessage>>> callable;
+            private final long timeout;
+            private final Promise<Iterable<EventMessage>> promise = Futures.promise();
+            private final AtomicInteger outstanding = new AtomicInteger(2);
+
+            // guarded by this
+            private Thread worker;
+            private boolean interrupted;
+
+            private DelegateRun(Callable<Future<Iterable<EventMessage>>> callable, long timeout) {
+                this.callable = callable;
+                this.timeout = timeout;
+            }
+
+            /**
+             * Runs the delegate execution and completes the promise with its
+             * result.
+             */
+            @Override
+            public void run() {
+                synchronized (this) {
+                    worker = Thread.currentThread();
+                }
+                Cancellable timer = scheduleTimeout();
+
+                promise.future().onComplete(new OnComplete<Iterable<EventMessage>>() {
+                    @Override
+                    public void onComplete(Throwable failure, Iterable<EventMessage> result) {
+                        timer.cancel();
+                        done();
+                    }
+                }, actorSystem.dispatcher());
+
+                try {
+                    promise.tryCompleteWith(callable.call());
+                } catch (Exception ex) {
+                    promise.tryFailure(ex);
+                } finally {
+                    synchronized (this) {
+                        worker = null;
+                        // the timeout interrupt must not leak into the next task of the thread
+                        if (interrupted) {
+                            Thread.interrupted();
+                        }
+                    }
+                    done();
+                }
+            }
+
+            /**
+             * Schedules the timeout of the delegate execution.
+             *
+             * @return Cancellable
+             */
+            private Cancellable scheduleTimeout() {
+                if (timeout <= 0) {
+                    return NO_TIMEOUT;
+                }
+                return actorSystem.scheduler().scheduleOnce(Duration.create(timeout, TimeUnit.MILLISECONDS),
+                        this::expire, actorSystem.dispatcher());
+            }
+
+            /**
+             * Fails the delegate execution with a {@link TimeoutException}.
+             * The thread of the execution is interrupted as long as the
+             * delegate is running on it.
+             */
+            private void expire() {
+                TimeoutException ex = new TimeoutException("java delegate " + delegateName + " timed out after " + timeout + " ms");
+                if (promise.tryFailure(ex)) {
+                    synchronized (this) {
+                        if (worker != null) {
+                            interrupted = true;
+                            worker.interrupt();
+                        }
+                    }
+                }
+            }
+
+            private void done() {
+                if (outstanding.decrementAndGet() == 0) {
+                    release();
+                }
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service;
+
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.service.ExecutionExpressionService;
+import org.arrow.runtime.logger.LoggerFacade;
+import org.arrow.runtime.support.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.core.env.Environment;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+
+/**
+ * Default {@link ExecutionExpressionService} implementation. Parsed
+ * expressions are cached by key and by expression source, so that a
+ * redeployed definition with a changed condition does not see the former
+ * expression. The cache is bounded by {@code arrow.expression.cache-size},
+ * expressions of former deployments are evicted as least recently used
+ * entries. The expressions run in the SpEL compiler mode configured by
+ * {@code arrow.expression.compiler-mode}, {@link SpelCompilerMode#MIXED} by
+ * default, which falls back to interpretation where an expression cannot be
+ * compiled.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Service
+public class DefaultExecutionExpressionService implements ExecutionExpressionService {
+
+    private static final LoggerFacade LOGGER = new LoggerFacade(DefaultExecutionExpressionService.class);
+
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private Environment environment;
+
+    private BoundedCache<ExpressionKey, Expression> expressions = new BoundedCache<>(DEFAULT_CACHE_SIZE);
+
+    private volatile SpelExpressionParser parser = parser(SpelCompilerMode.MIXED);
+
+    @PostConstruct
+    public void init() {
+        SpelCompilerMode mode = environment.getProperty("arrow.expression.compiler-mode",
+                SpelCompilerMode.class, SpelCompilerMode.MIXED);
+        parser = parser(mode);
+        expressions = new BoundedCache<>(environment.getProperty("arrow.expression.cache-size",
+                Integer.class, DEFAULT_CACHE_SIZE));
+
+        LOGGER.info("expression compiler mode %s", mode);
+    }
+
+    private static SpelExpressionParser parser(SpelCompilerMode mode) {
+        return new SpelExpressionParser(new SpelParserConfiguration(mode, ClassUtils.getDefaultClassLoader()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void prepare(String key, String expression) {
+        getExpression(key, expression);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public EvaluationContext createContext(Execution execution) {
+        return new ExecutionEvaluationContext(execution.getVariables());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T evaluate(String key, String expression, EvaluationContext context, Class<T> type) {
+        return getExpression(key, expression).getValue(context, type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object evaluate(String expression) {
+        StandardEvaluationContext ec = new StandardEvaluationContext();
+        ec.setBeanResolver(new BeanFactoryResolver(context));
+
+        return getExpression(expression, expression).getValue(ec);
+    }
+
+    private Expression getExpression(String key, String source) {
+        return expressions.computeIfAbsent(new ExpressionKey(key, source), k -> parser.parseExpression(source));
+    }
+
+    /**
+     * Returns the count of cached expressions.
+     *
+     * @return int
+     */
+    public int getCachedExpressions() {
+        return expressions.size();
+    }
+
+    /**
+     * {@link StandardEvaluationContext} which resolves the SpEL variables
+     * from the given variables, e.g. the layered variable scope of an
+     * execution, instead of copying them into the context.
+     */
+    private static class ExecutionEvaluationContext extends StandardEvaluationContext {
+
+        private final Map<String, Object> variables;
+
+        public ExecutionEvaluationContext(Map<String, Object> variables) {
+            this.variables = variables;
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            Object value = super.lookupVariable(name);
+            return value != null ? value : variables.get(name);
+        }
+    }
+
+    /**
+     * Cache key of a parsed expression.
+     */
+    private static final class ExpressionKey {
+
+        private final String key;
+        private final String source;
+
+        private ExpressionKey(String key, String source) {
+            this.key = key;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExpressionKey)) {
+                return false;
+            }
+            ExpressionKey other = (ExpressionKey) o;
+            return key.equals(other.key) && source.equals(other.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * key.hashCode() + source.hashCode();
+        }
+    }
+
+}
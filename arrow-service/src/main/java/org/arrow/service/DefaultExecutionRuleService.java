@@ -23,6 +23,8 @@ import org.arrow.runtime.rule.RuleEvaluationContext;
 import org.arrow.runtime.rule.RuleSource;
 import org.arrow.service.rule.DroolsRuleEvaluator;
 
+import java.util.List;
+
 /**
  * Default {@link ExecutionRuleService} implementation.
  *
@@ -43,4 +45,12 @@ public class DefaultExecutionRuleService implements ExecutionRuleService {
         droolsRuleEvaluator.evaluate(source, context);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void evaluateAll(RuleSource source, List<RuleEvaluationContext> contexts) {
+        droolsRuleEvaluator.evaluateAll(source, contexts);
+    }
+
 }
@@ -16,23 +16,44 @@
 
 package org.arrow.service;
 
+import groovy.lang.Binding;
 import groovy.lang.GroovyClassLoader;
+import groovy.lang.GroovyCodeSource;
 import groovy.lang.GroovyShell;
-import groovy.lang.Script;
+import org.arrow.runtime.execution.service.ExecutionScriptService;
+import org.arrow.runtime.logger.LoggerFacade;
+import org.arrow.runtime.support.BoundedCache;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.runtime.InvokerHelper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.scripting.ScriptCompilationException;
 import org.springframework.scripting.ScriptSource;
 import org.springframework.scripting.groovy.GroovyScriptEvaluator;
-import org.springframework.scripting.support.StandardScriptEvaluator;
+import org.springframework.scripting.support.StaticScriptSource;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StopWatch;
-import org.arrow.runtime.execution.service.ExecutionScriptService;
+import org.springframework.util.ClassUtils;
 
+import javax.annotation.PostConstruct;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Default execution script service implementation based on spring dynamic language support features.
+ * <p>
+ * Compiled groovy script classes and JSR-223 {@link CompiledScript} instances are kept in bounded
+ * caches keyed by script language and content, sized by {@code arrow.script.cache-size}. Each
+ * evaluation gets its own binding, so that concurrent evaluations of the same script do not see
+ * each other's arguments.
  *
  * @author christian.weber
  * @since 1.0.0
@@ -41,16 +62,48 @@ import java.util.concurrent.ConcurrentHashMap;
 @SuppressWarnings("unused") // spring bean
 public class DefaultExecutionScriptService implements ExecutionScriptService {
 
-    private final static Map<Integer, Script> GROOVY_SCRIPT_CACHE = new ConcurrentHashMap<>();
+    private static final LoggerFacade LOGGER = new LoggerFacade(DefaultExecutionScriptService.class);
+
+    private static final String GROOVY = "groovy";
+    private static final int DEFAULT_CACHE_SIZE = 512;
+
+    private final AtomicLong scriptCounter = new AtomicLong();
+    private final Map<String, ScriptEngine> engines = new ConcurrentHashMap<>();
+    private final ScriptEngineManager engineManager = new ScriptEngineManager(ClassUtils.getDefaultClassLoader());
+
+    @Autowired
+    private Environment environment;
+
+    private BoundedCache<ScriptKey, Class<?>> groovyScripts = new BoundedCache<>(DEFAULT_CACHE_SIZE);
+    private BoundedCache<ScriptKey, CompiledScript> compiledScripts = new BoundedCache<>(DEFAULT_CACHE_SIZE);
+
+    @PostConstruct
+    public void init() {
+        int cacheSize = environment.getProperty("arrow.script.cache-size", Integer.class, DEFAULT_CACHE_SIZE);
+        groovyScripts = new BoundedCache<>(cacheSize);
+        compiledScripts = new BoundedCache<>(cacheSize);
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public Object evaluate(ScriptSource source, ScriptEvaluationContext context) {
-        StandardScriptEvaluator scriptEvaluator = new StandardScriptEvaluator();
-        scriptEvaluator.setLanguage(context.getScriptLanguage());
-        return scriptEvaluator.evaluate(source, context.getArguments());
+        ScriptEngine engine = getEngine(context.getScriptLanguage());
+
+        Bindings bindings = engine.createBindings();
+        bindings.putAll(context.getArguments());
+
+        try {
+            String script = source.getScriptAsString();
+
+            if (engine instanceof Compilable) {
+                return getCompiledScript(context.getScriptLanguage(), script, engine).eval(bindings);
+            }
+            return engine.eval(script, bindings);
+        } catch (ScriptException | IOException ex) {
+            throw new ScriptCompilationException(source, ex);
+        }
     }
 
     /**
@@ -69,21 +122,100 @@ public class DefaultExecutionScriptService implements ExecutionScriptService {
     public Object evaluateCompiledGroovy(ScriptSource source, ScriptEvaluationContext context) {
 
         try {
-            final String script = source.getScriptAsString();
+            Class<?> scriptClass = getGroovyScript(source.getScriptAsString());
 
-            if (GROOVY_SCRIPT_CACHE.containsKey(script.hashCode())) {
-                return GROOVY_SCRIPT_CACHE.get(script.hashCode()).run();
+            // a new script instance with its own binding per evaluation
+            return InvokerHelper.createScript(scriptClass, new Binding(context.getArguments())).run();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void prepare(String scriptLanguage, String script) {
+        if (GROOVY.equals(scriptLanguage)) {
+            getGroovyScript(script);
+            return;
+        }
+
+        ScriptEngine engine = scriptLanguage == null ? null : engines.computeIfAbsent(scriptLanguage, engineManager::getEngineByName);
+        if (engine == null) {
+            LOGGER.warn("no script engine found for language %s, skip compilation", scriptLanguage);
+        } else if (engine instanceof Compilable) {
+            try {
+                getCompiledScript(scriptLanguage, script, engine);
+            } catch (ScriptException ex) {
+                throw new ScriptCompilationException(new StaticScriptSource(script), ex);
             }
+        }
+    }
 
-            GroovyShell shell = new GroovyShell();
-            context.getArguments().forEach((k, v) -> shell.setVariable((String) k, v));
-            Script gs = shell.parse(new StringReader(source.getScriptAsString()));
+    private Class<?> getGroovyScript(String script) {
+        return groovyScripts.computeIfAbsent(new ScriptKey(GROOVY, script), key -> {
+            // one class loader per script class, so that evicted classes can be unloaded
+            GroovyClassLoader loader = new GroovyClassLoader(ClassUtils.getDefaultClassLoader());
+            String name = "ArrowScript" + scriptCounter.incrementAndGet() + ".groovy";
 
-            GROOVY_SCRIPT_CACHE.put(script.hashCode(), gs);
-            return gs.run();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            try {
+                return loader.parseClass(new GroovyCodeSource(script, name, GroovyShell.DEFAULT_CODE_BASE), false);
+            } catch (CompilationFailedException ex) {
+                throw new ScriptCompilationException(new StaticScriptSource(script), ex);
+            }
+        });
+    }
+
+    private CompiledScript getCompiledScript(String language, String script, ScriptEngine engine) throws ScriptException {
+        ScriptKey key = new ScriptKey(language, script);
+
+        CompiledScript compiled = compiledScripts.get(key);
+        if (compiled == null) {
+            CompiledScript compiledScript = ((Compilable) engine).compile(script);
+            compiled = compiledScripts.computeIfAbsent(key, k -> compiledScript);
         }
+        return compiled;
+    }
 
+    private ScriptEngine getEngine(String language) {
+        ScriptEngine engine = engines.computeIfAbsent(language, engineManager::getEngineByName);
+        if (engine == null) {
+            throw new IllegalStateException("no script engine found for language " + language);
+        }
+        return engine;
     }
+
+    /**
+     * Cache key of a compiled script.
+     */
+    private static final class ScriptKey {
+
+        private final String language;
+        private final String script;
+
+        private ScriptKey(String language, String script) {
+            this.language = language;
+            this.script = script;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ScriptKey)) {
+                return false;
+            }
+            ScriptKey other = (ScriptKey) o;
+            return Objects.equals(language, other.language) && script.equals(other.script);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(language) + script.hashCode();
+        }
+    }
+
 }
@@ -30,22 +30,18 @@ import org.arrow.runtime.execution.service.*;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.EscalationEventMessage;
 import org.arrow.runtime.message.impl.TimerEventMessage;
+import org.arrow.runtime.timer.TimerJob;
+import org.arrow.runtime.timer.TimerService;
 import org.arrow.service.engine.concurrent.ScheduledFutureCancellableAdapter;
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.PublishEventMessagesOnSuccess;
 import org.arrow.service.engine.service.ProcessEngine;
 import org.arrow.service.microservice.impl.message.MessageEventCompoundService;
 import org.arrow.service.microservice.impl.message.MessageEventRequest;
-import org.arrow.service.microservice.impl.signal.SignalEventCompoundService;
-import org.arrow.service.microservice.impl.signal.SignalEventRequest;
+import org.arrow.service.microservice.impl.signal.SignalBroadcastService;
 import org.arrow.util.DelegateUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
-import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.retry.backoff.FixedBackOffPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
@@ -56,6 +52,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import scala.concurrent.Future;
 
+import javax.annotation.PostConstruct;
 import java.util.*;
 import java.util.concurrent.ScheduledFuture;
 
@@ -88,6 +85,20 @@ public class DefaultExecutionService implements ExecutionService {
     private ExecutionUserService executionUserService;
     @Autowired
     private ExecutionAdHocService executionAdHocService;
+    @Autowired
+    private ExecutionExpressionService executionExpressionService;
+    @Autowired
+    private ExecutionDelegateService executionDelegateService;
+    @Autowired
+    private TimerService timerService;
+
+    /**
+     * Registers the handler of the execution timers.
+     */
+    @PostConstruct
+    public void init() {
+        timerService.register(TimerJob.EXECUTION, this::fireExecutionTimers);
+    }
 
     /**
      * {@inheritDoc}
@@ -102,10 +113,7 @@ public class DefaultExecutionService implements ExecutionService {
      */
     @Override
     public Future<Iterable<EventMessage>> signal(String signalRef, Map<String, Object> variables) {
-        SignalEventCompoundService signalEventCompoundService = context.getBean(SignalEventCompoundService.class);
-
-        SignalEventRequest req = new SignalEventRequest(signalRef, null, variables);
-        return signalEventCompoundService.getEventMessages(req);
+        return context.getBean(SignalBroadcastService.class).signal(signalRef, variables);
     }
 
     /**
@@ -122,13 +130,7 @@ public class DefaultExecutionService implements ExecutionService {
      */
     @Override
     public Object evaluateExpression(String expression) {
-        ExpressionParser parser = new SpelExpressionParser();
-
-        StandardEvaluationContext ec = new StandardEvaluationContext();
-        ec.setBeanResolver(new BeanFactoryResolver(context));
-        Expression expr = parser.parseExpression(expression);
-
-        return expr.getValue(ec);
+        return expression().evaluate(expression);
     }
 
     /**
@@ -299,6 +301,29 @@ public class DefaultExecutionService implements ExecutionService {
         return Futures.successful(msg);
     }
 
+    /**
+     * Publishes a timer event for each execution of the given due timers
+     * which is still waiting. The executions are fetched in one query and
+     * the timer events are published at once.
+     *
+     * @param jobs the due execution timers
+     */
+    private void fireExecutionTimers(List<TimerJob> jobs) {
+        Set<String> ids = new HashSet<>(jobs.size());
+        for (TimerJob job : jobs) {
+            ids.add(job.getTargetId());
+        }
+
+        List<EventMessage> messages = new ArrayList<>(jobs.size());
+        for (Execution execution : data().execution().findByIds(ids)) {
+            // timers of finished or interrupted executions are obsolete
+            if (execution.getState() == State.WAITING) {
+                messages.add(new TimerEventMessage(execution));
+            }
+        }
+        new PublishEventMessagesOnSuccess(context).onSuccess(messages);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -340,6 +365,30 @@ public class DefaultExecutionService implements ExecutionService {
         return context.getBean(ExecutionScriptService.class);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionExpressionService expression() {
+        return executionExpressionService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionDelegateService delegate() {
+        return executionDelegateService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TimerService timer() {
+        return timerService;
+    }
+
     @Override
     public ExecutionAdHocService adhoc() {
         return executionAdHocService;
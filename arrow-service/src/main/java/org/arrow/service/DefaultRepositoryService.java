@@ -20,12 +20,20 @@ import org.apache.log4j.Logger;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.data.neo4j.support.Neo4jTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import org.arrow.model.BpmnNodeEntity;
+import org.arrow.model.definition.multiple.MultipleEventAware;
+import org.arrow.model.event.boundary.BoundaryEventAware;
+import org.arrow.model.gateway.AbstractGateway;
+import org.arrow.model.gateway.Gateway;
 import org.arrow.model.process.*;
 import org.arrow.model.process.Process;
 import org.arrow.model.process.event.BpmnEventDefinitionEntity;
@@ -35,12 +43,28 @@ import org.arrow.model.process.visitor.node.AddProcessRelationEntityVisitor;
 import org.arrow.model.process.visitor.node.CacheBpmnEntityVisitor;
 import org.arrow.model.process.visitor.node.EventDefinitionBpmnEntityVisitor;
 import org.arrow.model.process.visitor.relationship.InitBpmnRelationshipEntityVisitor;
+import org.arrow.model.task.Task;
+import org.arrow.model.task.impl.ScriptTask;
+import org.arrow.model.task.impl.ServiceTask;
+import org.arrow.model.transition.Flow;
+import org.arrow.model.transition.IncomingFlowAware;
+import org.arrow.model.transition.OutgoingFlowAware;
+import org.arrow.model.transition.impl.ConditionExpression;
+import org.arrow.model.transition.impl.SequenceFlow;
 import org.arrow.model.visitor.BpmnNodeEntityVisitor;
 import org.arrow.model.visitor.adapter.BpmnNodeEntityVisitorAdapter;
 import org.arrow.runtime.RuntimeService;
+import org.arrow.runtime.definition.FlowDef;
+import org.arrow.runtime.definition.NodeDef;
+import org.arrow.runtime.definition.ProcessDef;
+import org.arrow.runtime.definition.ProcessDefRegistry;
+import org.arrow.runtime.execution.service.ExecutionDataService;
+import org.arrow.runtime.execution.service.ExecutionExpressionService;
+import org.arrow.runtime.execution.service.ExecutionScriptService;
 import org.arrow.runtime.meta.ProcessMetaData;
 import org.arrow.runtime.meta.ProcessMetaDataRepository;
 import org.arrow.runtime.service.RepositoryService;
+import org.arrow.service.engine.execution.interceptor.BpmnEntityInitializerAdapter;
 import org.arrow.service.repository.visitor.node.InitBpmnNodeEntityVisitor;
 import org.arrow.util.IterableUtils;
 
@@ -50,13 +74,16 @@ import java.util.function.Predicate;
 import static org.arrow.util.StreamUtils.containsInstanceOf;
 
 /**
- * {@link RepositoryService} implementation class.
+ * {@link RepositoryService} implementation class. The compiled process
+ * definitions of the deployed processes are rebuilt when the application
+ * context is refreshed, so that the {@link ProcessDefRegistry} survives a
+ * restart of the engine.
  *
  * @author christian.weber
  * @since 1.0.0
  */
 @Service
-public class DefaultRepositoryService implements RepositoryService {
+public class DefaultRepositoryService implements RepositoryService, ApplicationListener<ContextRefreshedEvent> {
 
     private Logger logger = Logger.getLogger(DefaultRepositoryService.class);
 
@@ -70,6 +97,16 @@ public class DefaultRepositoryService implements RepositoryService {
     private ApplicationContext context;
     @Autowired
     private ProcessMetaDataRepository processMetaDataRepository;
+    @Autowired
+    private ExecutionDataService executionDataService;
+    @Autowired
+    private ExecutionExpressionService expressionService;
+    @Autowired
+    private ExecutionScriptService scriptService;
+    @Autowired
+    private ProcessDefRegistry processDefRegistry;
+    @Autowired
+    private BpmnEntityInitializerAdapter initializerAdapter;
 
     /**
      * {@inheritDoc}
@@ -101,6 +138,91 @@ public class DefaultRepositoryService implements RepositoryService {
         template.save(definitions);
     }
 
+    /**
+     * Compiles the latest deployment of every deployed process which is not
+     * registered yet.
+     *
+     * @param event the context refreshed event
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        try (org.neo4j.graphdb.Transaction tx = graphService.beginTx()) {
+            Map<String, Process> processes = new HashMap<>();
+            for (Process process : template.findAll(Process.class)) {
+                if (!(process instanceof SubProcess) && process.getId() != null) {
+                    processes.merge(process.getId(), process, DefaultRepositoryService::latest);
+                }
+            }
+            processes.values().stream()
+                    .filter(process -> processDefRegistry.getProcessDef(process.getId()) == null)
+                    .forEach(this::recompileProcessDefinition);
+            tx.success();
+        }
+    }
+
+    private static Process latest(Process process1, Process process2) {
+        Comparator<Process> comparator = Comparator.comparing(Process::getTimestamp,
+                Comparator.nullsFirst(Comparator.<Date>naturalOrder())).thenComparing(Process::getNodeId);
+        return comparator.compare(process1, process2) < 0 ? process2 : process1;
+    }
+
+    /**
+     * Compiles the process definition of the given deployed process and of
+     * its sub processes.
+     *
+     * @param process the deployed process
+     */
+    private void recompileProcessDefinition(Process process) {
+        Collection<BpmnNodeEntity> entities = loadProcessEntities(process);
+        compileProcessDefinition(process, entities);
+
+        Map<Long, Process> subProcesses = new LinkedHashMap<>();
+        for (BpmnNodeEntity entity : entities) {
+            if (entity instanceof Process) {
+                subProcesses.put(entity.getNodeId(), (Process) entity);
+            }
+        }
+        subProcesses.values().forEach(this::recompileProcessDefinition);
+    }
+
+    /**
+     * Loads the node entities of the given deployed process by following the
+     * sequence flows and boundary events from its start events. The embedded
+     * sub processes are loaded as nodes of the process. Nodes which are not
+     * reachable this way, like compensation handlers, are answered by their
+     * entities at runtime.
+     *
+     * @param process the deployed process
+     * @return Collection
+     */
+    private Collection<BpmnNodeEntity> loadProcessEntities(Process process) {
+        Map<Long, BpmnNodeEntity> entities = new LinkedHashMap<>();
+
+        Deque<BpmnNodeEntity> queue = new LinkedList<>();
+        IterableUtils.emptyIfNull(process.getStartEvents()).forEach(queue::add);
+        IterableUtils.emptyIfNull(process.getSubProcesses()).forEach(queue::add);
+
+        while (!queue.isEmpty()) {
+            BpmnNodeEntity entity = queue.poll();
+            if (entity == null || entities.containsKey(entity.getNodeId())) {
+                continue;
+            }
+            if (entity.getId() == null) {
+                template.fetch(entity);
+            }
+            entities.put(entity.getNodeId(), entity);
+
+            if (entity instanceof OutgoingFlowAware) {
+                IterableUtils.emptyIfNull(((OutgoingFlowAware) entity).getOutgoingFlows())
+                        .forEach(flow -> queue.add(flow.getTargetRef()));
+            }
+            if (entity instanceof BoundaryEventAware) {
+                IterableUtils.emptyIfNull(((BoundaryEventAware) entity).getBoundaryEvents()).forEach(queue::add);
+            }
+        }
+        return entities.values();
+    }
+
     private Collection<ProcessMetaData> prepareProcessMetaData(Definitions definitions) {
         List<ProcessMetaData> list = new ArrayList<>();
         definitions.getProcesses().forEach(process -> list.addAll(prepareProcessMetaData(process)));
@@ -143,6 +265,11 @@ public class DefaultRepositoryService implements RepositoryService {
         process.visit(new InitBpmnNodeEntityVisitor(context, cacheVisitor.getCache()));
 
         saveProcessDefinition(process);
+        prepareSynchronizations(cacheVisitor.getCache().values());
+        prepareExpressions(cacheVisitor.getCache().values());
+        prepareScripts(cacheVisitor.getCache().values());
+        compileProcessDefinition(process, cacheVisitor.getCache().values());
+        prepareInterceptors(cacheVisitor.getCache().values());
 
         scheduleTimerStartEvents(process);
         prepareSubProcesses(process, defCache);
@@ -151,6 +278,118 @@ public class DefaultRepositoryService implements RepositoryService {
 
     }
 
+    /**
+     * Precomputes the synchronisation information of all gateways so that
+     * joins do not have to traverse the process definition at runtime.
+     *
+     * @param entities the BPMN entities of the process
+     */
+    private void prepareSynchronizations(Collection<BpmnNodeEntity> entities) {
+        entities.stream().filter(entity -> entity instanceof Gateway).distinct()
+                .forEach(executionDataService::prepareSynchronization);
+    }
+
+    /**
+     * Parses the sequence flow conditions of all gateways, the service task
+     * expressions and the multi instance completion conditions once so that
+     * executions use the cached expressions.
+     *
+     * @param entities the BPMN entities of the process
+     */
+    private void prepareExpressions(Collection<BpmnNodeEntity> entities) {
+        entities.stream().distinct().forEach(entity -> {
+            if (entity instanceof AbstractGateway) {
+                for (Flow flow : ((AbstractGateway) entity).getOutgoingFlows()) {
+                    ConditionExpression ce = ((SequenceFlow) flow).getConditionExpression();
+                    if (ce != null) {
+                        expressionService.prepare(flow.getId(), ce.getCondition());
+                    }
+                }
+            }
+            if (entity instanceof ServiceTask && !StringUtils.isEmpty(((ServiceTask) entity).getExpression())) {
+                String expression = ((ServiceTask) entity).getExpression();
+                expressionService.prepare(expression, expression);
+            }
+            if (entity instanceof Task && ((Task) entity).getMultiInstanceLoopCharacteristics() != null) {
+                String condition = ((Task) entity).getMultiInstanceLoopCharacteristics().getCompletionCondition();
+                if (!StringUtils.isEmpty(condition)) {
+                    expressionService.prepare(condition, condition);
+                }
+            }
+        });
+    }
+
+    /**
+     * Compiles the scripts of all script tasks once so that executions use
+     * the cached compiled scripts.
+     *
+     * @param entities the BPMN entities of the process
+     */
+    private void prepareScripts(Collection<BpmnNodeEntity> entities) {
+        entities.stream().filter(entity -> entity instanceof ScriptTask).distinct()
+                .map(entity -> (ScriptTask) entity)
+                .filter(task -> !StringUtils.isEmpty(task.getScript()))
+                .forEach(task -> scriptService.prepare(task.getScriptLanguage(), task.getScript()));
+    }
+
+    /**
+     * Compiles the immutable process definition used by the actors to answer
+     * definition questions without navigating the entity graph. The node
+     * entities are saved at this point, so that the definition is indexed by
+     * the graph ids the executions refer to.
+     *
+     * @param process  the process
+     * @param entities the BPMN entities of the process
+     */
+    private void compileProcessDefinition(Process process, Collection<BpmnNodeEntity> entities) {
+        ProcessDef.Builder builder = ProcessDef.builder(process.getId());
+
+        entities.stream().distinct().forEach(entity -> {
+            NodeDef.Builder node = NodeDef.builder(entity.getId(), entity.getNodeId(), entity.getClass());
+
+            if (entity instanceof IncomingFlowAware) {
+                IterableUtils.emptyIfNull(((IncomingFlowAware) entity).getIncomingFlows())
+                        .forEach(flow -> node.incoming(compileFlow(flow)));
+            }
+            if (entity instanceof OutgoingFlowAware) {
+                IterableUtils.emptyIfNull(((OutgoingFlowAware) entity).getOutgoingFlows())
+                        .forEach(flow -> node.outgoing(compileFlow(flow)));
+            }
+            if (entity instanceof BoundaryEventAware) {
+                IterableUtils.emptyIfNull(((BoundaryEventAware) entity).getBoundaryEvents())
+                        .forEach(event -> node.boundaryEvent(event.getId()));
+            }
+            if (entity instanceof MultipleEventAware) {
+                IterableUtils.emptyIfNull(((MultipleEventAware) entity).getEventDefinitions())
+                        .forEach(definition -> node.eventDefinition(definition.getId()));
+            }
+            builder.node(node.build());
+        });
+
+        ProcessDef definition = processDefRegistry.register(builder.build());
+        logger.debug("compiled " + definition);
+    }
+
+    /**
+     * Resolves the execution interceptor and decorator of all BPMN entities
+     * once so that executions do not have to scan the interceptors and build
+     * the proxy configuration per message.
+     *
+     * @param entities the BPMN entities of the process
+     */
+    private void prepareInterceptors(Collection<BpmnNodeEntity> entities) {
+        entities.stream().distinct().forEach(initializerAdapter::prepare);
+    }
+
+    private FlowDef compileFlow(Flow flow) {
+        BpmnNodeEntity source = flow.getSourceRef();
+        BpmnNodeEntity target = flow.getTargetRef();
+
+        return new FlowDef(flow.getId(),
+                source == null ? null : source.getId(), source == null ? null : source.getClass(),
+                target == null ? null : target.getId(), target == null ? null : target.getClass());
+    }
+
     /**
      * Schedules the given {@link Process} instance.
      *
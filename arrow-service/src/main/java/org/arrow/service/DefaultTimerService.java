@@ -0,0 +1,453 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service;
+
+import org.arrow.runtime.logger.LoggerFacade;
+import org.arrow.runtime.timer.TimerHandler;
+import org.arrow.runtime.timer.TimerJob;
+import org.arrow.runtime.timer.TimerService;
+import org.arrow.runtime.timer.TimerStore;
+import org.arrow.runtime.timer.TimingWheel;
+import org.arrow.runtime.timer.TimingWheel.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Default {@link TimerService} implementation. The timers which are due
+ * within the configured horizon are kept in a hierarchical
+ * {@link TimingWheel}, all timers are persisted in the {@link TimerStore}.
+ * A single timer thread advances the wheel every tick, fires the expired
+ * timers in batches per timer type and loads the timers entering the
+ * horizon from the store in due date order. Timers which became due while
+ * the engine was down are loaded and fired with the first tick.
+ * <p>
+ * Cancelling a timer unlinks it from the wheel, the store deletions are
+ * collected and flushed in a single store operation per tick. Timers whose
+ * handler failed or is not registered yet are fired again after the retry
+ * delay.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Service
+public class DefaultTimerService implements TimerService, ApplicationListener<ContextRefreshedEvent> {
+
+    private static final LoggerFacade LOGGER = new LoggerFacade(DefaultTimerService.class);
+
+    @Autowired
+    private TimerStore store;
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, TimerHandler> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes the store deletions against the store writes of schedule
+     * calls, so that a timer rescheduled after a cancellation is not deleted.
+     */
+    private final ReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    // guarded by this
+    private TimingWheel<TimerJob> wheel;
+    private final Map<String, Timeout<TimerJob>> pending = new HashMap<>();
+    private Map<String, TimerJob> cancelled = new HashMap<>();
+
+    /**
+     * Upper bound of the loaded timers in due date and id order, all stored
+     * timers up to this bound are pending in the wheel. A null id includes
+     * all timers with the due date.
+     */
+    private long loadedDueDate = Long.MIN_VALUE;
+    private String loadedId;
+
+    /**
+     * Exclusive upper bound of the due dates loaded from the store at the
+     * moment. The store is queried outside of the lock, timers scheduled
+     * within this bound meanwhile are added to the wheel by the schedule
+     * call.
+     */
+    private long loadingDueDate = Long.MIN_VALUE;
+
+    private long tickMillis;
+    private long horizonMillis;
+    private long retryDelayMillis;
+    private int batchSize;
+    private int loadSize;
+
+    private ScheduledExecutorService timerThread;
+
+    /**
+     * Starts the timer thread as soon as the application context is
+     * refreshed, so that the timer handlers are registered before the
+     * overdue timers are fired.
+     *
+     * @param event the context refreshed event
+     */
+    @Override
+    public synchronized void onApplicationEvent(ContextRefreshedEvent event) {
+        if (timerThread != null) {
+            return;
+        }
+
+        tickMillis = environment.getProperty("arrow.timer.tick", Long.class, 100L);
+        horizonMillis = environment.getProperty("arrow.timer.horizon", Long.class, 60000L);
+        retryDelayMillis = environment.getProperty("arrow.timer.retry-delay", Long.class, 5000L);
+        batchSize = environment.getProperty("arrow.timer.batch-size", Integer.class, 512);
+        loadSize = environment.getProperty("arrow.timer.load-size", Integer.class, 10000);
+        int wheelSize = environment.getProperty("arrow.timer.wheel-size", Integer.class, 512);
+
+        wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+
+        timerThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "arrow-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timerThread.scheduleWithFixedDelay(this::tick, 0, tickMillis, TimeUnit.MILLISECONDS);
+
+        LOGGER.info("timer service started (tick %sms, horizon %sms)", tickMillis, horizonMillis);
+    }
+
+    /**
+     * Stops the timer thread. A running tick is completed, interrupting it
+     * would close the store files in use.
+     *
+     * @throws InterruptedException if interrupted while waiting for the tick
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (timerThread != null) {
+            timerThread.shutdown();
+            if (!timerThread.awaitTermination(10, TimeUnit.SECONDS)) {
+                timerThread.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void register(String type, TimerHandler handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(TimerJob job) {
+        schedule(Collections.singletonList(job));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(Collection<TimerJob> jobs) {
+
+        storeLock.readLock().lock();
+        try {
+            synchronized (this) {
+                for (TimerJob job : jobs) {
+                    cancelled.remove(job.getId());
+                }
+            }
+            store.save(jobs);
+        } finally {
+            storeLock.readLock().unlock();
+        }
+
+        synchronized (this) {
+            for (TimerJob job : jobs) {
+                if (wheel == null) {
+                    continue;
+                }
+                if (isLoaded(job) || job.getDueDate() < loadingDueDate) {
+                    addPending(job);
+                } else {
+                    // timers beyond the horizon are loaded when they enter it
+                    removePending(job.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void cancel(String id) {
+        Timeout<TimerJob> timeout = removePending(id);
+        cancelled.put(id, timeout == null ? null : timeout.getValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int getPendingCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    /**
+     * Executes a timer tick. Flushes the cancellations, loads the timers
+     * entering the horizon and fires the expired timers.
+     */
+    private void tick() {
+        try {
+            flushCancellations();
+
+            long now = System.currentTimeMillis();
+            load(now);
+
+            List<TimerJob> expired;
+            synchronized (this) {
+                expired = wheel.advance(now);
+                for (TimerJob job : expired) {
+                    pending.remove(job.getId());
+                }
+            }
+
+            if (!expired.isEmpty()) {
+                fire(expired);
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.error(ex, "timer tick failed");
+        }
+    }
+
+    /**
+     * Deletes the cancelled timers from the store. Timers cancelled while
+     * pending are only deleted with their due date, so that a timer which
+     * was rescheduled meanwhile is kept.
+     */
+    private void flushCancellations() {
+
+        storeLock.writeLock().lock();
+        try {
+            Map<String, TimerJob> flush;
+            synchronized (this) {
+                if (cancelled.isEmpty()) {
+                    return;
+                }
+                flush = cancelled;
+                cancelled = new HashMap<>();
+            }
+
+            List<String> ids = new ArrayList<>();
+            List<TimerJob> jobs = new ArrayList<>();
+            for (Map.Entry<String, TimerJob> entry : flush.entrySet()) {
+                if (entry.getValue() == null) {
+                    ids.add(entry.getKey());
+                } else {
+                    jobs.add(entry.getValue());
+                }
+            }
+
+            if (!ids.isEmpty()) {
+                store.delete(ids);
+            }
+            if (!jobs.isEmpty()) {
+                store.deleteFired(jobs);
+            }
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Loads the stored timers which enter the horizon into the wheel. The
+     * timers are loaded in pages, a full page continues with the next tick.
+     * The store is queried without holding the lock, so that schedule and
+     * cancel calls do not wait for the store.
+     *
+     * @param now the current time in milliseconds
+     */
+    private void load(long now) {
+
+        long to = now + horizonMillis;
+        long from;
+        synchronized (this) {
+            if (loadedId == null && loadedDueDate >= now + horizonMillis / 2) {
+                return;
+            }
+            from = loadedDueDate;
+            loadingDueDate = to;
+        }
+
+        try {
+            int limit = loadSize;
+            List<TimerJob> page = store.findDue(from, to, limit);
+            while (!addLoaded(page, limit, to)) {
+                // the page holds already loaded timers of a single due date only
+                limit *= 2;
+                page = store.findDue(from, to, limit);
+            }
+        } finally {
+            synchronized (this) {
+                loadingDueDate = Long.MIN_VALUE;
+            }
+        }
+    }
+
+    /**
+     * Adds the given page of loaded timers to the wheel and advances the
+     * loaded range. Timers which were scheduled or cancelled while the page
+     * was loaded are skipped, the page may hold their former state.
+     *
+     * @param page  the loaded timers
+     * @param limit the page size
+     * @param to    the exclusive upper bound of the loaded due dates
+     * @return boolean false if a larger page has to be loaded
+     */
+    private synchronized boolean addLoaded(List<TimerJob> page, int limit, long to) {
+
+        int loaded = 0;
+        for (TimerJob job : page) {
+            if (!isLoaded(job) && !pending.containsKey(job.getId()) && !cancelled.containsKey(job.getId())) {
+                addPending(job);
+                loaded++;
+            }
+        }
+
+        if (page.size() < limit) {
+            loadedDueDate = to - 1;
+            loadedId = null;
+            return true;
+        }
+
+        TimerJob last = page.get(page.size() - 1);
+        if (loaded > 0 || !isLoaded(last)) {
+            loadedDueDate = last.getDueDate();
+            loadedId = last.getId();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Indicates if the given timer lies within the loaded range.
+     *
+     * @param job the timer
+     * @return boolean
+     */
+    private boolean isLoaded(TimerJob job) {
+        if (job.getDueDate() != loadedDueDate) {
+            return job.getDueDate() < loadedDueDate;
+        }
+        return loadedId == null || job.getId().compareTo(loadedId) <= 0;
+    }
+
+    private void addPending(TimerJob job) {
+        Timeout<TimerJob> former = pending.put(job.getId(), wheel.add(job.getDueDate(), job));
+        if (former != null) {
+            former.cancel();
+        }
+    }
+
+    private Timeout<TimerJob> removePending(String id) {
+        Timeout<TimerJob> timeout = pending.remove(id);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        return timeout;
+    }
+
+    /**
+     * Fires the given timers in batches per timer type. Fired timers are
+     * deleted from the store once their handler succeeded, the timers of a
+     * failed batch or without a handler stay in the store and are fired
+     * again after the retry delay.
+     *
+     * @param expired the expired timers
+     */
+    private void fire(List<TimerJob> expired) {
+
+        Map<String, List<TimerJob>> byType = new LinkedHashMap<>();
+        for (TimerJob job : expired) {
+            byType.computeIfAbsent(job.getType(), type -> new ArrayList<>()).add(job);
+        }
+
+        List<TimerJob> fired = new ArrayList<>(expired.size());
+        List<TimerJob> failed = new ArrayList<>();
+        for (Map.Entry<String, List<TimerJob>> entry : byType.entrySet()) {
+            TimerHandler handler = handlers.get(entry.getKey());
+            if (handler == null) {
+                LOGGER.warn("no timer handler registered for type %s, retry %s timers in %sms",
+                        entry.getKey(), entry.getValue().size(), retryDelayMillis);
+                failed.addAll(entry.getValue());
+                continue;
+            }
+
+            List<TimerJob> jobs = entry.getValue();
+            for (int i = 0; i < jobs.size(); i += batchSize) {
+                List<TimerJob> batch = jobs.subList(i, Math.min(i + batchSize, jobs.size()));
+                try {
+                    handler.onTimeout(batch);
+                    fired.addAll(batch);
+                } catch (RuntimeException ex) {
+                    LOGGER.error(ex, "timer handler of type %s failed, retry %s timers in %sms",
+                            entry.getKey(), batch.size(), retryDelayMillis);
+                    failed.addAll(batch);
+                }
+            }
+        }
+
+        if (!fired.isEmpty()) {
+            store.deleteFired(fired);
+        }
+        if (!failed.isEmpty()) {
+            retry(failed);
+        }
+    }
+
+    /**
+     * Adds the given timers to the wheel again, they fire after the retry
+     * delay. Their stored due date is kept. Timers which were scheduled or
+     * cancelled while they were fired are skipped.
+     *
+     * @param jobs the timers to retry
+     */
+    private synchronized void retry(List<TimerJob> jobs) {
+        long deadline = System.currentTimeMillis() + retryDelayMillis;
+        for (TimerJob job : jobs) {
+            if (!pending.containsKey(job.getId()) && !cancelled.containsKey(job.getId())) {
+                pending.put(job.getId(), wheel.add(deadline, job));
+            }
+        }
+    }
+
+}
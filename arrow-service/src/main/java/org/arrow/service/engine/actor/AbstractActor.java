@@ -20,9 +20,13 @@ import akka.actor.UntypedActor;
 import org.spockframework.util.Assert;
 import org.springframework.context.ApplicationContext;
 import org.arrow.runtime.api.BpmnNodeEntitySpecification;
+import org.arrow.runtime.definition.NodeDef;
+import org.arrow.runtime.definition.ProcessDefRegistry;
 import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.metrics.EngineMetrics;
+import org.arrow.runtime.metrics.NoOpEngineMetrics;
 import org.arrow.runtime.support.EngineSynchronizationManager;
 import scala.PartialFunction;
 import scala.concurrent.ExecutionContext;
@@ -42,6 +46,8 @@ public abstract class AbstractActor extends UntypedActor {
 
 	private final ApplicationContext context;
     private final Map<String, Object> scopeMap;
+    private EngineMetrics metrics;
+    private ProcessDefRegistry processDefRegistry;
 
     public AbstractActor(ApplicationContext context, Map<String, Object> scopeMap) {
         Assert.notNull(context);
@@ -101,6 +107,34 @@ public abstract class AbstractActor extends UntypedActor {
 		return getBean(ExecutionService.class);
 	}
 
+	/**
+	 * Returns the {@link EngineMetrics} instance, the no-op metrics if the
+	 * application context does not define a metrics bean.
+	 *
+	 * @return EngineMetrics
+	 */
+	protected EngineMetrics getMetrics() {
+		if (metrics == null) {
+			String[] names = context.getBeanNamesForType(EngineMetrics.class);
+			metrics = names.length == 0 ? NoOpEngineMetrics.INSTANCE : context.getBean(names[0], EngineMetrics.class);
+		}
+		return metrics;
+	}
+
+	/**
+	 * Returns the compiled definition of the given node entity or null if the
+	 * node is not part of a compiled process definition.
+	 *
+	 * @param entity the node entity
+	 * @return NodeDef
+	 */
+	protected NodeDef getNodeDef(BpmnNodeEntitySpecification entity) {
+		if (processDefRegistry == null) {
+			processDefRegistry = getBean(ProcessDefRegistry.class);
+		}
+		return entity == null ? null : processDefRegistry.getNode(entity.getNodeId());
+	}
+
     protected void initEngineSynchronizationManager(EventMessage msg) {
         EngineSynchronizationManager.setProcessScope(getScopeMap());
         EngineSynchronizationManager.setCurrentActor(getSelf());
@@ -115,9 +149,18 @@ public abstract class AbstractActor extends UntypedActor {
         EngineSynchronizationManager.setProcessInstanceId(null);
     }
 
+    /**
+     * Loads the state of the given node entity unless it is already loaded.
+     * Node actors of a shared pool may resolve the same entity concurrently,
+     * the entity is therefore loaded under its own lock.
+     *
+     * @param entity the node entity
+     */
     protected void fetchEntityIfNecessary(BpmnNodeEntitySpecification entity) {
-        if (entity.getId() == null) {
-            getExecutionService().fetchEntity(entity);
+        synchronized (entity) {
+            if (entity.getId() == null) {
+                getExecutionService().fetchEntity(entity);
+            }
         }
     }
 
@@ -17,7 +17,11 @@
 package org.arrow.service.engine.actor
 
 import akka.actor.ActorRef
+import akka.actor.PoisonPill
+import akka.actor.Status
 import akka.dispatch.Futures
+import akka.dispatch.Mapper
+import akka.dispatch.OnFailure
 import akka.dispatch.OnSuccess
 import groovy.transform.CompileStatic
 import org.arrow.data.neo4j.store.ProcessInstanceStore
@@ -27,8 +31,10 @@ import org.arrow.model.process.SubProcess
 import org.arrow.model.process.SubProcessEntity
 import org.arrow.model.task.impl.CallActivityTask
 import org.arrow.runtime.execution.Execution
+import org.arrow.runtime.execution.ProcessCompletion
 import org.arrow.runtime.execution.ProcessInstance
 import org.arrow.runtime.execution.State
+import org.arrow.runtime.execution.service.ExecutionService
 import org.arrow.runtime.execution.service.data.ExecutionRepository
 import org.arrow.runtime.message.ContinueEventMessage
 import org.arrow.runtime.message.EventMessage
@@ -37,39 +43,74 @@ import org.arrow.runtime.message.FinishEventMessage
 import org.arrow.runtime.message.impl.*
 import org.arrow.runtime.message.infrastructure.CallableEventMessage
 import org.arrow.runtime.message.infrastructure.PersistEventMessage
+import org.arrow.runtime.metrics.EngineMetrics
 import org.arrow.runtime.support.EngineSynchronizationManagerCallableDecorator
 import org.arrow.service.engine.actor.template.MasterTemplate
+import org.arrow.service.engine.concurrent.EngineDispatchers
+import org.arrow.service.engine.concurrent.ProcessAdmissionController
+import org.arrow.service.engine.concurrent.ProcessCompletionRegistry
 import org.arrow.service.engine.concurrent.SynchronisationCallable
 import org.arrow.service.engine.concurrent.dispatch.onfailure.PrintStacktraceOnFailure
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.NotifyOnSuccess
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.PublishEventMessagesOnSuccess
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.TellActorForEachMessage
 import org.arrow.service.engine.concurrent.dispatch.recover.Recovers
+import org.arrow.service.engine.config.NodeActorPool
 import org.arrow.util.FutureUtil
 import org.arrow.util.Objects
 import org.springframework.context.ApplicationContext
 
 import java.util.concurrent.Callable
+import java.util.concurrent.CancellationException
 
 public class MasterActor extends MasterTemplate {
 
     private ActorRef nodeWorker;
+    private NodeActorPool nodeActorPool;
     private ProcessInstance monitor;
 
+    /** the end event which completed the process instance */
+    private EndEventMessage completion;
+
     /**
      * The super actor in the actor hierarchy. Represents the actor instance
      * in a process/sub-process constellation.
      */
     private ActorRef parentActor;
 
+    /**
+     * The beans needed to end the process instance, resolved once since the
+     * actor may stop while the application context shuts down.
+     */
+    private final ProcessAdmissionController admissionController;
+    private final ProcessCompletionRegistry completionRegistry;
+
     public MasterActor(ApplicationContext context, Map<String, Object> scopeMap) {
         super(context, scopeMap);
+        this.admissionController = getBean(ProcessAdmissionController)
+        this.completionRegistry = getBean(ProcessCompletionRegistry)
     }
 
     public void setNodeWorker(ActorRef nodeWorker) {
         this.nodeWorker = nodeWorker;
     }
 
+    public void setNodeActorPool(NodeActorPool nodeActorPool) {
+        this.nodeActorPool = nodeActorPool;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postStop() throws Exception {
+        nodeActorPool?.unregister(self)
+        admissionController?.release(monitor?.id)
+        completionRegistry?.fail(monitor?.id,
+                new IllegalStateException("process instance stopped before its completion"))
+        super.postStop()
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -80,6 +121,7 @@ public class MasterActor extends MasterTemplate {
 
         this.parentActor = sender
         this.monitor = start.processInstance
+        getMetrics().counter(EngineMetrics.PROCESS_STARTED).increment()
 
         if (start.getEntity() != null) {
             nodeWorker.tell(start, self)
@@ -88,16 +130,15 @@ public class MasterActor extends MasterTemplate {
 
     /**
      * {@inheritDoc}
+     * The node actor loads the entity, the master does not touch the graph.
      */
     @Override
     protected void onReceiveContinue(ContinueEventMessage msg) {
-        fetchEntityIfNecessary(msg.entity)
         nodeWorker.tell(msg, self)
     }
 
     @Override
     protected void onReceiveExecute(ExecuteEventMessage executeEventMessage) {
-        fetchEntityIfNecessary(executeEventMessage.entity);
         nodeWorker.tell(executeEventMessage, self)
     }
 
@@ -106,7 +147,44 @@ public class MasterActor extends MasterTemplate {
      */
     @Override
     protected void onReceiveAbort(AbortEventMessage abort) {
-        throw new UnsupportedOperationException();
+        failProcessInstance(new CancellationException("process instance aborted at " + abort.entity?.id))
+    }
+
+    /**
+     * {@inheritDoc}
+     * A failure after the end event is left to the stored futures. The
+     * failure of a sub process instance fails its parent as well.
+     */
+    @Override
+    protected void onReceiveFailure(Status.Failure failure) {
+        if (completion != null) {
+            return
+        }
+        if (monitor?.parentProcessInstance != null) {
+            parentActor?.tell(failure, self)
+        }
+        failProcessInstance(failure.cause())
+    }
+
+    /**
+     * Ends the process instance without completion. Releases its admission
+     * permit, fails its awaited completion, notifies the threads waiting on
+     * the process instance and stops the actor. May be called from future
+     * callbacks.
+     *
+     * @param failure the cause
+     */
+    protected void failProcessInstance(Throwable failure) {
+        admissionController.release(monitor?.id)
+        completionRegistry.fail(monitor?.id, failure)
+        if (monitor != null) {
+            synchronized (monitor) {
+                monitor.setState(State.FAILURE)
+                monitor.setFinished(true)
+                monitor.notifyAll()
+            }
+        }
+        self.tell(PoisonPill.getInstance(), self)
     }
 
     /**
@@ -116,14 +194,40 @@ public class MasterActor extends MasterTemplate {
     protected void onReceiveEnd(final EndEventMessage end) {
 
         if (!tokenRegistry.hasToken()) {
-            monitor.setState(State.SUCCESS)
-
-            storedFutures.onSuccess(new NotifyOnSuccess(monitor), dispatcher())
-            storedFutures.onFailure(new PrintStacktraceOnFailure(monitor), dispatcher())
+            // a deferred end event may arrive after the process completed
+            if (completion != null && !completion.is(end)) {
+                return;
+            }
+            completion = end
 
             def pi = end.processInstance
+            def admission = admissionController
+            def completions = completionRegistry
+            def persistence = getBean(EngineDispatchers).persistence()
+            def service = executionService
+            def completed = getMetrics().counter(EngineMetrics.PROCESS_COMPLETED)
+
+            // the process instance succeeds once the stored futures succeed
+            def stored = storedFutures.map(new Mapper<Iterable<Object>, Iterable<Object>>() {
+                @Override
+                public Iterable<Object> apply(Iterable<Object> objects) {
+                    monitor.setState(State.SUCCESS)
+                    completed.increment()
+                    return objects
+                }
+            }, dispatcher())
+
+            stored.onSuccess(new NotifyOnSuccess(monitor), dispatcher())
+            stored.onFailure(new PrintStacktraceOnFailure(), dispatcher())
+
+            stored.onFailure(new OnFailure() {
+                @Override
+                public void onFailure(Throwable failure) throws Throwable {
+                    failProcessInstance(failure)
+                }
+            }, dispatcher())
 
-            storedFutures.onSuccess(new OnSuccess<Iterable<Object>>() {
+            stored.onSuccess(new OnSuccess<Iterable<Object>>() {
 
                 /**
                  * {@inheritDoc}
@@ -131,6 +235,16 @@ public class MasterActor extends MasterTemplate {
                 @Override
                 public void onSuccess(Iterable<Object> objects) throws Throwable {
 
+                    admission.release(pi.id)
+
+                    // take the awaited completion before the actor stops, the
+                    // process instance is read on the persistence dispatcher
+                    if (completions.isRegistered(pi.id)) {
+                        completions.complete(pi.id, Futures.future({ ->
+                            toCompletion(service, pi)
+                        } as Callable<ProcessCompletion>, persistence))
+                    }
+
                     def repo = executionService.data().execution();
                     BpmnNodeEntity subProcess = (BpmnNodeEntity) Objects.firstNonNull(pi.processTrigger, pi.process)
 
@@ -153,6 +267,8 @@ public class MasterActor extends MasterTemplate {
             }, dispatcher());
 
         } else {
+            deferEnd(end)
+
             def callable = new SynchronisationCallable(end.execution, executionService)
             def message = new PersistEventMessage(end.execution, new CallableEventMessage(end.execution, callable))
 
@@ -160,6 +276,21 @@ public class MasterActor extends MasterTemplate {
         }
     }
 
+    /**
+     * Returns the successful completion of the given process instance. The
+     * variables are read from the persisted process instance since the
+     * executions update their own copies of it.
+     *
+     * @param service the execution service
+     * @param pi      the completed process instance
+     * @return ProcessCompletion
+     */
+    private static ProcessCompletion toCompletion(ExecutionService service, ProcessInstance pi) {
+        def persisted = service.data().processInstance().findById(pi.id)
+        def variables = (persisted ?: pi).variables
+        return new ProcessCompletion(pi.id, State.SUCCESS, variables)
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -238,7 +369,6 @@ public class MasterActor extends MasterTemplate {
 
     @Override
     protected void onReceiveFinishMessage(FinishEventMessage message) {
-        fetchEntityIfNecessary(message.entity)
         nodeWorker.tell(message, self)
     }
 
@@ -252,8 +382,8 @@ public class MasterActor extends MasterTemplate {
         final Execution execution = msg.getExecution();
 
         if (isCallActivityOrStandardSubProcess(sub)) {
-            self().tell(new DefaultFinishEventMessage(execution), self());
-            self().tell(new DefaultContinueEventMessage(execution), self());
+            // continue once finished, a separate continue message may overtake the finish
+            self().tell(new ContinuingFinishEventMessage(execution), self());
         } else {
             self().tell(new DefaultFinishEventMessage(execution), self());
         }
@@ -318,7 +448,7 @@ public class MasterActor extends MasterTemplate {
             }
         }
 
-        def future = Futures.future(decorateAll(callable), dispatcher())
+        def future = Futures.future(decorateAll(callable), getBean(EngineDispatchers).persistence())
         future.recover(Recovers.logAndReturnNull(), dispatcher())
         future.onSuccess(new TellActorForEachMessage(self, nodeWorker), dispatcher())
     }
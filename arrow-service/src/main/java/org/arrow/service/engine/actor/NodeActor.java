@@ -16,12 +16,17 @@
 
 package org.arrow.service.engine.actor;
 
+import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
+import akka.dispatch.OnComplete;
 import akka.dispatch.OnSuccess;
 import org.springframework.context.ApplicationContext;
 import org.arrow.model.BpmnNodeEntity;
 import org.arrow.model.definition.escalation.introduction.EscalationEventHandler;
 import org.arrow.model.definition.message.introduction.MessageEventHandler;
 import org.arrow.model.definition.signal.introduction.SignalEventHandler;
+import org.arrow.model.task.impl.BusinessRuleTask;
+import org.arrow.model.task.impl.ScriptTask;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EntityEventMessage;
@@ -30,15 +35,24 @@ import org.arrow.runtime.message.FinishEventMessage;
 import org.arrow.runtime.message.impl.EscalationEventMessage;
 import org.arrow.runtime.message.impl.MessageEventMessage;
 import org.arrow.runtime.message.impl.SignalEventMessage;
+import org.arrow.runtime.metrics.EngineMetrics;
+import org.arrow.runtime.support.EngineSynchronizationManagerCallableDecorator;
 import org.arrow.service.engine.actor.template.NodeActorTemplate;
+import org.arrow.service.engine.config.NodeActorPool;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.service.engine.concurrent.dispatch.oncomplete.RecordLatencyOnComplete;
 import org.arrow.service.engine.concurrent.dispatch.onfailure.PrintStacktraceOnFailure;
+import org.arrow.service.engine.concurrent.dispatch.onfailure.TellActorOnFailure;
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.*;
 import org.arrow.service.engine.execution.interceptor.BpmnEntityInitializerAdapter;
 import org.arrow.util.FutureUtil;
+import org.springframework.util.ClassUtils;
 import scala.concurrent.ExecutionContext;
+import scala.concurrent.ExecutionContextExecutor;
 import scala.concurrent.Future;
 
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Actor class designed to handle {@link org.arrow.runtime.message.EventMessage} messages.
@@ -48,8 +62,25 @@ import java.util.Map;
  */
 public class NodeActor extends NodeActorTemplate {
 
+    private final NodeActorPool nodeActorPool;
+
     public NodeActor(ApplicationContext context, Map<String, Object> scopeMap) {
         super(context, scopeMap);
+        this.nodeActorPool = null;
+    }
+
+    public NodeActor(ApplicationContext context, NodeActorPool nodeActorPool) {
+        super(context, null);
+        this.nodeActorPool = nodeActorPool;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Node actors of a shared pool use the process scope of the sending master.
+     */
+    @Override
+    protected Map<String, Object> getScopeMap() {
+        return nodeActorPool == null ? super.getScopeMap() : nodeActorPool.scopeOf(getSender());
     }
 
     /**
@@ -57,7 +88,9 @@ public class NodeActor extends NodeActorTemplate {
      */
     @Override
     protected void onReceiveExecuteMessage(EntityEventMessage msg) {
+        long start = getMetrics().isEnabled() ? System.nanoTime() : 0;
         Future<Iterable<EventMessage>> future = execute(msg);
+        recordLatency(future, EngineMetrics.NODE_EXECUTE, msg, start);
         savePublishHandle(future, msg);
     }
 
@@ -66,6 +99,7 @@ public class NodeActor extends NodeActorTemplate {
      */
     @Override
     protected void onReceiveContinueMessage(EntityEventMessage msg) {
+        fetchEntityIfNecessary(msg.getEntity());
         Future<Iterable<EventMessage>> future = FutureUtil.result();
         saveHandle(future, msg);
     }
@@ -78,16 +112,18 @@ public class NodeActor extends NodeActorTemplate {
 
         Execution execution = msg.getExecution();
         execution.setCurrentEventMessage(msg);
+        long start = getMetrics().isEnabled() ? System.nanoTime() : 0;
         Future<Iterable<EventMessage>> future = finish(msg);
+        recordLatency(future, EngineMetrics.NODE_FINISH, msg, start);
 
         ExecutionContext ec = getContext().system().dispatcher();
 
-        OnSuccess<Iterable<EventMessage>> os1 = saveNodeOnSuccess(ec, msg);
+        OnSuccess<Iterable<EventMessage>> os1 = saveNodeOnSuccess(msg);
         OnSuccess<Iterable<EventMessage>> os2 = publishNodeOnSuccess();
         OnSuccess<Iterable<EventMessage>> os4 = msg.continueNode() ? handleNodeOnSuccess(msg) : placeholder();
 
         future.onSuccess(new OnSuccessComposite(os1, os2, os4), ec);
-        future.onFailure(new PrintStacktraceOnFailure(), ec);
+        failOnFailure(future, ec);
     }
 
     /**
@@ -112,53 +148,78 @@ public class NodeActor extends NodeActorTemplate {
 
     /**
      * {@inheritDoc}
+     * The signal event is acknowledged as soon as it is handled, which
+     * releases its slot of the signal broadcast.
      */
     @Override
-    protected void onReceiveSignalEventMessage(SignalEventMessage msg) {
+    protected void onReceiveSignalEventMessage(final SignalEventMessage msg) {
         SignalEventHandler handler = ((SignalEventHandler) proxy(msg));
         Future<Iterable<EventMessage>> future = handler.handleSignalEvent(msg.getExecution(), getExecutionService());
         savePublishHandle(future, msg);
+
+        future.onComplete(new OnComplete<Iterable<EventMessage>>() {
+            @Override
+            public void onComplete(Throwable failure, Iterable<EventMessage> messages) {
+                msg.acknowledge();
+            }
+        }, getContext().system().dispatcher());
     }
 
     private void savePublishHandle(Future<Iterable<EventMessage>> future, EntityEventMessage msg) {
         ExecutionContext ec = getContext().system().dispatcher();
-        OnSuccess<Iterable<EventMessage>> os1 = saveNodeOnSuccess(ec, msg);
+        OnSuccess<Iterable<EventMessage>> os1 = saveNodeOnSuccess(msg);
         OnSuccess<Iterable<EventMessage>> os2 = publishNodeOnSuccess();
 //        OnSuccess<Iterable<EventMessage>> os3 = notifyNodeOnSuccess(msg);
         OnSuccess<Iterable<EventMessage>> os4 = interruptNodeOnSuccess(msg);
         OnSuccess<Iterable<EventMessage>> os5 = handleNodeOnSuccess(msg);
 
         future.onSuccess(new OnSuccessComposite(os1, os2, os4, os5), ec);
-        future.onFailure(new PrintStacktraceOnFailure(), ec);
+        failOnFailure(future, ec);
     }
 
     private void saveHandle(Future<Iterable<EventMessage>> future, EntityEventMessage msg) {
         ExecutionContext ec = getContext().system().dispatcher();
-        OnSuccess<Iterable<EventMessage>> os1 = saveNodeOnSuccess(ec, msg);
+        OnSuccess<Iterable<EventMessage>> os1 = saveNodeOnSuccess(msg);
         OnSuccess<Iterable<EventMessage>> os2 = handleNodeOnSuccess(msg);
 
         future.onSuccess(new OnSuccessComposite(os1, os2), ec);
+        failOnFailure(future, ec);
+    }
+
+    /**
+     * Reports a failure of the given node future to the master actor, which
+     * fails the process instance. Failures handled by an error boundary
+     * event complete the node future successfully instead.
+     *
+     * @param future the node future
+     * @param ec     the execution context
+     */
+    private void failOnFailure(Future<Iterable<EventMessage>> future, ExecutionContext ec) {
         future.onFailure(new PrintStacktraceOnFailure(), ec);
+        future.onFailure(new TellActorOnFailure(getSelf(), getSender()), ec);
     }
 
 
     /**
-     * Returns a {@link SaveNodeOnSuccess} instance.
+     * Returns a {@link SaveNodeOnSuccess} instance which saves the node on
+     * the persistence dispatcher.
      *
-     * @param ec the execution context
+     * @param entity the entity event message
      * @return OnSuccess
      */
-    private OnSuccess<Iterable<EventMessage>> saveNodeOnSuccess(ExecutionContext ec, EntityEventMessage entity) {
+    private OnSuccess<Iterable<EventMessage>> saveNodeOnSuccess(EntityEventMessage entity) {
+        ExecutionContext ec = getBean(EngineDispatchers.class).persistence();
         return new SaveNodeOnSuccess(getApplicationContext(), ec, getContext(), entity);
     }
 
     /**
-     * Returns a {@link HandleNodeOnSuccess} instance.
+     * Returns a {@link HandleNodeOnSuccess} instance which consults the
+     * compiled definition of the node.
      *
      * @return OnSuccess
      */
     private OnSuccess<Iterable<EventMessage>> handleNodeOnSuccess(EntityEventMessage msg) {
-        return new HandleNodeOnSuccess(getContext(), msg);
+        return new HandleNodeOnSuccess(getContext(), msg, getNodeDef(msg.getEntity()));
     }
 
     private OnSuccess<Iterable<EventMessage>> interruptNodeOnSuccess(EntityEventMessage msg) {
@@ -184,6 +245,23 @@ public class NodeActor extends NodeActorTemplate {
         return new PublishEventMessagesOnSuccess(getApplicationContext(), getSender());
     }
 
+    /**
+     * Records the latency of the given node future per node type, provided
+     * the metrics are enabled.
+     *
+     * @param future the node future
+     * @param prefix the metric name prefix
+     * @param msg    the event message of the node
+     * @param start  the start time in nanoseconds
+     */
+    private void recordLatency(Future<?> future, String prefix, EntityEventMessage msg, long start) {
+        EngineMetrics metrics = getMetrics();
+        if (metrics.isEnabled()) {
+            String type = ClassUtils.getUserClass(msg.getEntity()).getSimpleName();
+            future.onComplete(new RecordLatencyOnComplete<>(metrics.histogram(prefix + type), start), dispatcher());
+        }
+    }
+
     private Future<Iterable<EventMessage>> execute(final EntityEventMessage msg) {
 
             final BpmnNodeEntity entity = (BpmnNodeEntity) msg.getEntity();
@@ -196,10 +274,29 @@ public class NodeActor extends NodeActorTemplate {
 
             // create a proxy if context sensitive bpmn logic is configured
             final BpmnNodeEntity proxy = initializer.beforeExecution(execution, entity);
-            // execute the bpmn entity
-            Future<Iterable<EventMessage>> future1 = proxy.execute(execution, service);
-            Future<Iterable<EventMessage>> future2 = initializer.afterExecution(execution, proxy);
-            return FutureUtil.sequenceResult(getExecutionContextExecutor(), future1, future2);
+
+            // evaluate scripts and business rules on the evaluation dispatcher
+            if (entity instanceof ScriptTask || entity instanceof BusinessRuleTask) {
+                ExecutionContextExecutor ec = getBean(EngineDispatchers.class).evaluation();
+                Callable<Future<Iterable<EventMessage>>> callable = () -> execute(proxy, execution, service, initializer);
+                callable = new EngineSynchronizationManagerCallableDecorator<>(getScopeMap(), callable, getSender());
+
+                return Futures.future(callable, ec).flatMap(new Mapper<Future<Iterable<EventMessage>>, Future<Iterable<EventMessage>>>() {
+                    @Override
+                    public Future<Iterable<EventMessage>> apply(Future<Iterable<EventMessage>> future) {
+                        return future;
+                    }
+                }, ec);
+            }
+            return execute(proxy, execution, service, initializer);
+    }
+
+    private Future<Iterable<EventMessage>> execute(BpmnNodeEntity proxy, Execution execution, ExecutionService service,
+                                                   BpmnEntityInitializerAdapter initializer) {
+        // execute the bpmn entity
+        Future<Iterable<EventMessage>> future1 = proxy.execute(execution, service);
+        Future<Iterable<EventMessage>> future2 = initializer.afterExecution(execution, proxy);
+        return FutureUtil.sequenceResult(getExecutionContextExecutor(), future1, future2);
     }
 
     private Future<Iterable<EventMessage>> finish(final EntityEventMessage msg) {
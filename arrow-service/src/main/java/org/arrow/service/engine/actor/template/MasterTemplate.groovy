@@ -17,21 +17,29 @@
 package org.arrow.service.engine.actor.template
 
 import akka.actor.ActorRef
+import akka.actor.Status
 import akka.dispatch.Futures
+import akka.dispatch.OnSuccess
 import akka.japi.Procedure
+import org.arrow.model.event.endevent.EndEvent
 import org.arrow.runtime.TokenRegistry
 import org.arrow.runtime.api.BpmnNodeEntitySpecification
 import org.arrow.runtime.execution.Execution
+import org.arrow.runtime.execution.ProcessInstance
 import org.arrow.runtime.execution.State
 import org.arrow.runtime.execution.service.ExecutionDataService
+import org.arrow.runtime.execution.service.ExecutionDataService.SynchronisationResult
 import org.arrow.runtime.execution.service.ExecutionService
 import org.arrow.runtime.logger.LoggerFacade
 import org.arrow.runtime.message.*
 import org.arrow.runtime.message.impl.*
 import org.arrow.runtime.message.infrastructure.*
+import org.arrow.runtime.metrics.EngineMetrics
 import org.arrow.service.engine.actor.AbstractActor
 import org.arrow.service.engine.actor.MasterActor
+import org.arrow.service.engine.concurrent.EngineDispatchers
 import org.arrow.service.engine.concurrent.SaveNodeCallable
+import org.arrow.service.engine.concurrent.dispatch.onfailure.PrintStacktraceOnFailure
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.PersistOnSuccess
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.TellActorForEachMessage
 import org.arrow.service.engine.concurrent.dispatch.recover.Recovers
@@ -42,6 +50,8 @@ import scala.concurrent.ExecutionContextExecutor
 import scala.concurrent.Future
 import scala.runtime.BoxedUnit
 
+import java.util.concurrent.Callable
+
 /**
  * Template pattern implementation for {@link org.arrow.service.engine.actor.MasterActor} actor instances.
  *
@@ -61,7 +71,19 @@ public abstract class MasterTemplate extends AbstractActor {
         return Futures.sequence(storedFutures, ec);
     }
 
-    private final TokenRegistry tokenRegistry = new TokenRegistry();
+    private final TokenRegistry tokenRegistry = new TokenRegistry(getMetrics().counter(EngineMetrics.ACTIVE_TOKENS));
+
+    /**
+     * End event received while tokens were still active, delivered again
+     * as soon as the last token is consumed.
+     */
+    private EndEventMessage deferredEnd;
+
+    /**
+     * The event bus, resolved once since the actor may stop while the
+     * application context shuts down.
+     */
+    private final EventMessageEventBus eventBus;
 
     private final static LoggerFacade LOGGER = new LoggerFacade(MasterTemplate.class);
 
@@ -69,6 +91,7 @@ public abstract class MasterTemplate extends AbstractActor {
 
     public MasterTemplate(ApplicationContext context, Map<String, Object> scopeMap) {
         super(context, scopeMap);
+        this.eventBus = getBean(EventMessageEventBus);
     }
 
     private class DefaultProcedure implements Procedure<Object> {
@@ -78,6 +101,7 @@ public abstract class MasterTemplate extends AbstractActor {
             // @formatter:off
             switch (param) {
                 case FutureAdapter:               futureAdapter(param);                   break
+                case Status.Failure:              onReceiveFailure(param);                break
                 case noEventMessage:              unhandled(param);                       break
                 case isSuspended:                 unhandled(param);                       break
                 case PersistEventMessage:         persist(param);                         break
@@ -107,6 +131,15 @@ public abstract class MasterTemplate extends AbstractActor {
         }
     }
 
+    /**
+     * Defers the given end event until the last active token is consumed.
+     *
+     * @param end the end event message
+     */
+    protected final void deferEnd(EndEventMessage end) {
+        deferredEnd = end;
+    }
+
     /**
      * Returns the {@link TokenRegistry} instance.
      *
@@ -159,6 +192,16 @@ public abstract class MasterTemplate extends AbstractActor {
         DEFAULT_BEHAVIOR.apply(message);
     }
 
+    /**
+     * Removes the actor from the event bus so that the subscriptions of
+     * finished process instances do not accumulate.
+     */
+    @Override
+    public void postStop() throws Exception {
+        eventBus?.unsubscribe(self());
+        super.postStop();
+    }
+
     protected void becomeBehavior(Procedure<Object> behavior) {
         getContext().become(composite(DEFAULT_BEHAVIOR, behavior));
     }
@@ -207,6 +250,14 @@ public abstract class MasterTemplate extends AbstractActor {
      */
     protected abstract void onReceiveAbort(AbortEventMessage abort);
 
+    /**
+     * Handles the failure of a node execution which is not handled by an
+     * error boundary event.
+     *
+     * @param failure the failure message
+     */
+    protected abstract void onReceiveFailure(Status.Failure failure);
+
     /**
      * Handles a {@link org.arrow.runtime.message.impl.EndEventMessage} message.
      *
@@ -326,7 +377,7 @@ public abstract class MasterTemplate extends AbstractActor {
      */
     public void callable(Object msg) {
         if (tokenRegistry.hasToken()) {
-            Future<Iterable<EventMessage>> future = Futures.future(msg.getCallable(), context().dispatcher());
+            Future<Iterable<EventMessage>> future = Futures.future(msg.getCallable(), getBean(EngineDispatchers).persistence());
 
             future.onSuccess(new TellActorForEachMessage(self(), self()), context().dispatcher());
             future.recover(Recovers.logAndThrow(), context().dispatcher());
@@ -340,6 +391,13 @@ public abstract class MasterTemplate extends AbstractActor {
                 break;
             case TokenEventMessage.TokenAction.CONSUME:
                 tokenRegistry.consume();
+                // a joining token or the token of the end event itself may be consumed
+                // after the end event, the token of another end event is followed by
+                // the end message of that end event
+                if (deferredEnd != null && !tokenRegistry.hasToken() && !isOtherEndEvent(msg.getExecution())) {
+                    self().tell(deferredEnd, self());
+                    deferredEnd = null;
+                }
                 break;
             case TokenEventMessage.TokenAction.TERMINATE:
                 tokenRegistry.terminate();
@@ -347,27 +405,58 @@ public abstract class MasterTemplate extends AbstractActor {
         }
     }
 
+    private boolean isOtherEndEvent(Execution execution) {
+        if (execution == null || !(execution.getEntity() instanceof EndEvent)) {
+            return false;
+        }
+        return execution.getEntity().getId() != deferredEnd.getEntity().getId();
+    }
+
     public void futureEvent(Object msg) {
         storedFutures.add((Future<Object>) msg.getFuture());
     }
 
-    public void synchronize(Object msg) {
+    /**
+     * Handles a {@link SynchronizeEventMessage} message of a joining gateway.
+     * The joins of a process instance are decided one after another by its
+     * master, the gateway continues once as soon as an execution joined for
+     * each expected flow.
+     *
+     * @param msg the synchronize event message
+     */
+    public void synchronize(SynchronizeEventMessage msg) {
 
         final ActorRef self = context().self();
-        final ExecutionContextExecutor dispatcher = context().dispatcher();
+        final ExecutionContextExecutor dispatcher = getBean(EngineDispatchers).persistence();
         final ExecutionService executionService = getExecutionService();
         final ApplicationContext applicationContext = getApplicationContext();
 
+        final BpmnNodeEntitySpecification entity = msg.getExecution().getEntity();
+        final ProcessInstance pi = msg.getProcessInstance();
+
         ExecutionDataService.SynchronisationResult synchronisationResult = msg.getSynchronisationResult();
 
         if (!synchronisationResult.isSynchronised()) {
+            // concurrent branches evaluate the join before their joining executions
+            // are stored, evaluate again once the stored futures are completed
+            Future<SynchronisationResult> future = Futures.future({
+                executionService.data().depthFirstSynchronization(entity, pi)
+            } as Callable<SynchronisationResult>, dispatcher);
+
+            future.onSuccess(new OnSuccess<SynchronisationResult>() {
+                @Override
+                public void onSuccess(SynchronisationResult result) {
+                    if (result.isSynchronised()) {
+                        self.tell(new SynchronizeEventMessage(msg.getExecution(), result), self);
+                    }
+                }
+            }, dispatcher);
+            future.onFailure(new PrintStacktraceOnFailure(), dispatcher);
             return;
         }
 
-        final BpmnNodeEntitySpecification entity = msg.getExecution().getEntity();
-
-        final String piId = msg.getProcessInstance().getId();
-        final String entityId = msg.getExecution().getEntity().getId();
+        final String piId = pi.getId();
+        final String entityId = entity.getId();
 
         int expected = synchronisationResult.getExpectedFlows();
 
@@ -377,22 +466,18 @@ public abstract class MasterTemplate extends AbstractActor {
         if (executions.size() >= expected) {
             // set the execution state to SUCCESS
             msg.getExecution().setState(State.SUCCESS);
-            SaveNodeCallable callable = new SaveNodeCallable(msg, applicationContext);
-            Future<EntityEventMessage> future = Futures.future(callable, dispatcher);
+            Future<EntityEventMessage> future = SaveNodeCallable.save(msg, applicationContext, dispatcher);
 
             self.tell(new FutureAdapter(future, msg), self);
 
-
-            boolean first = true;
-            for (Execution execution : executions) {
-                if (first) {
-                    first = false;
-                    continue;
-                }
-                self.tell(new TokenEventMessage(execution, TokenEventMessage.TokenAction.CONSUME), self);
+            // each expected flow carried a token into the gateway, the gateway
+            // continues with one of them, executions created by gateway
+            // notifications carry no token
+            for (int i = 1; i < expected; i++) {
+                self.tell(new TokenEventMessage(msg.getExecution(), TokenEventMessage.TokenAction.CONSUME), self);
             }
             executionService.data().execution().synchronizeGatewayExecutions(piId, entityId);
-            EventMessage message = new SynchronizeExecutionEventMessage(entity, msg.getProcessInstance());
+            EventMessage message = new SynchronizeExecutionEventMessage(entity, pi);
             message = new PersistEventMessage(msg.getExecution(), message);
             self.tell(message, self);
         }
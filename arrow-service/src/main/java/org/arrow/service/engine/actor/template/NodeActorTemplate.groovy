@@ -22,6 +22,8 @@ import org.arrow.model.definition.multiple.MultipleEventAware
 import org.arrow.model.event.boundary.BoundaryEvent
 import org.arrow.model.event.boundary.BoundaryEventAware
 import org.arrow.runtime.api.BpmnNodeEntitySpecification
+import org.arrow.runtime.definition.NodeDef
+import org.arrow.runtime.execution.Execution
 import org.arrow.runtime.execution.ProcessInstance
 import org.arrow.runtime.message.*
 import org.arrow.runtime.message.impl.DefaultExecuteEventMessage
@@ -85,10 +87,24 @@ public abstract class NodeActorTemplate extends AbstractActor {
 
         final BpmnNodeEntitySpecification entity = message.getEntity();
         final ProcessInstance pi = message.getProcessInstance();
+
+        // the compiled definition avoids loading the boundary events of nodes without any
+        NodeDef node = getNodeDef(entity);
+        if (node != null && node.getBoundaryEvents().isEmpty()) {
+            return;
+        }
+        fetchEntityIfNecessary(entity);
         if (entity instanceof BoundaryEventAware) {
             BoundaryEventAware aware = (BoundaryEventAware) entity;
+            String attachedId = message.getExecution().getId();
             for (BoundaryEvent boundaryEvent : aware.getBoundaryEvents()) {
-                ExecuteEventMessage msg = new DefaultExecuteEventMessage(boundaryEvent, pi);
+                // the boundary execution id is derived from the attached execution
+                Execution execution = new Execution();
+                execution.setEntity(boundaryEvent);
+                execution.setProcessInstance(pi);
+                execution.setId(Execution.boundaryExecutionId(attachedId, boundaryEvent.getId()));
+
+                ExecuteEventMessage msg = new DefaultExecuteEventMessage(execution);
                 onReceiveExecuteMessage(msg);
             }
         }
@@ -140,7 +156,15 @@ public abstract class NodeActorTemplate extends AbstractActor {
 
     private boolean hasMultipleEventDefinitions(EntityEventMessage message) {
         BpmnNodeEntitySpecification entity = message.getEntity();
-        return entity instanceof MultipleEventAware && ((MultipleEventAware) entity).getEventDefinitions().size() > 1;
+        if (!(entity instanceof MultipleEventAware)) {
+            return false;
+        }
+        NodeDef node = getNodeDef(entity);
+        if (node != null) {
+            return node.getEventDefinitions().size() > 1;
+        }
+        fetchEntityIfNecessary(entity);
+        return ((MultipleEventAware) entity).getEventDefinitions().size() > 1;
     }
 
     private void noEventMessage(Object msg) {
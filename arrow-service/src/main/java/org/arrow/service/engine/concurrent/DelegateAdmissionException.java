@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Signals that a java delegate execution was not admitted because the queue
+ * of the delegate is full.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class DelegateAdmissionException extends RejectedExecutionException {
+
+    private final int running;
+    private final int pending;
+
+    public DelegateAdmissionException(String message, int running, int pending) {
+        super(String.format("%s (running: %s, pending: %s)", message, running, pending));
+        this.running = running;
+        this.pending = pending;
+    }
+
+    /**
+     * Returns the count of running delegate executions at rejection time.
+     *
+     * @return int
+     */
+    public int getRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the count of queued delegate executions at rejection time.
+     *
+     * @return int
+     */
+    public int getPending() {
+        return pending;
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent;
+
+import akka.actor.ActorSystem;
+import akka.dispatch.ExecutionContexts;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import org.arrow.runtime.logger.LoggerFacade;
+import scala.concurrent.ExecutionContextExecutor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the named dispatchers of the engine, so that blocking work does not
+ * starve the processing of the actor mailboxes:
+ * <ul>
+ * <li>{@link #PERSISTENCE} runs the blocking store operations</li>
+ * <li>{@link #EVALUATION} runs script and business rule evaluations</li>
+ * <li>{@link #DELEGATION} runs the java delegates of asynchronous service tasks</li>
+ * <li>{@link #MESSAGING} processes the actor mailboxes</li>
+ * </ul>
+ * Each dispatcher has its own thread pool and task queue. The messaging
+ * dispatcher is an Akka dispatcher configured by {@link #messagingConfig},
+ * the other dispatchers are plain executors. A task submitted to a full
+ * queue is rejected at once.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class EngineDispatchers {
+
+    private static final LoggerFacade LOGGER = new LoggerFacade(EngineDispatchers.class);
+
+    public static final String PERSISTENCE = "persistence";
+    public static final String EVALUATION = "evaluation";
+    public static final String DELEGATION = "delegation";
+    public static final String MESSAGING = "messaging";
+
+    /**
+     * The id of the Akka dispatcher used by the master and node actors.
+     */
+    public static final String MESSAGING_DISPATCHER_ID = "arrow.dispatchers.messaging";
+
+    private final ActorSystem system;
+    private final String messagingRegistryKey;
+
+    private final ThreadPoolExecutor persistenceExecutor;
+    private final ThreadPoolExecutor evaluationExecutor;
+    private final ThreadPoolExecutor delegationExecutor;
+    private final ExecutionContextExecutor persistence;
+    private final ExecutionContextExecutor evaluation;
+    private final ExecutionContextExecutor delegation;
+
+    public EngineDispatchers(ActorSystem system, String messagingRegistryKey,
+                             int persistencePoolSize, int persistenceQueueSize,
+                             int evaluationPoolSize, int evaluationQueueSize,
+                             int delegationPoolSize, int delegationQueueSize) {
+        this.system = system;
+        this.messagingRegistryKey = messagingRegistryKey;
+
+        this.persistenceExecutor = MeteredExecutorServiceConfigurator.newExecutor(persistencePoolSize,
+                persistenceQueueSize, threadFactory("arrow-" + PERSISTENCE));
+        this.evaluationExecutor = MeteredExecutorServiceConfigurator.newExecutor(evaluationPoolSize,
+                evaluationQueueSize, threadFactory("arrow-" + EVALUATION));
+        this.delegationExecutor = MeteredExecutorServiceConfigurator.newExecutor(delegationPoolSize,
+                delegationQueueSize, threadFactory("arrow-" + DELEGATION));
+
+        this.persistence = ExecutionContexts.fromExecutorService(persistenceExecutor);
+        this.evaluation = ExecutionContexts.fromExecutorService(evaluationExecutor);
+        this.delegation = ExecutionContexts.fromExecutorService(delegationExecutor);
+
+        LOGGER.info("persistence dispatcher: %s threads, evaluation dispatcher: %s threads, delegation dispatcher: %s threads",
+                persistencePoolSize, evaluationPoolSize, delegationPoolSize);
+    }
+
+    /**
+     * Returns the Akka configuration of the messaging dispatcher.
+     *
+     * @param registryKey the key the dispatcher executor is registered with
+     * @param poolSize    the count of threads
+     * @param queueSize   the capacity of the task queue, negative for unbounded
+     * @return Config
+     */
+    public static Config messagingConfig(String registryKey, int poolSize, int queueSize) {
+        Map<String, Object> executor = new LinkedHashMap<>();
+        executor.put("pool-size", poolSize);
+        executor.put("queue-size", queueSize);
+        executor.put("registry-key", registryKey);
+
+        Map<String, Object> dispatcher = new LinkedHashMap<>();
+        dispatcher.put("type", "Dispatcher");
+        dispatcher.put("executor", MeteredExecutorServiceConfigurator.class.getName());
+        dispatcher.put("metered-executor", executor);
+
+        return ConfigFactory.parseMap(Collections.singletonMap(MESSAGING_DISPATCHER_ID, dispatcher));
+    }
+
+    /**
+     * Returns a new unique registry key for the messaging dispatcher.
+     *
+     * @return String
+     */
+    public static String newRegistryKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Returns the dispatcher for blocking store operations.
+     *
+     * @return ExecutionContextExecutor
+     */
+    public ExecutionContextExecutor persistence() {
+        return persistence;
+    }
+
+    /**
+     * Returns the dispatcher for script and business rule evaluations.
+     *
+     * @return ExecutionContextExecutor
+     */
+    public ExecutionContextExecutor evaluation() {
+        return evaluation;
+    }
+
+    /**
+     * Returns the dispatcher for the java delegates of asynchronous service
+     * tasks, which may block on slow downstream systems.
+     *
+     * @return ExecutionContextExecutor
+     */
+    public ExecutionContextExecutor delegation() {
+        return delegation;
+    }
+
+    /**
+     * Returns the dispatcher which processes the actor mailboxes.
+     *
+     * @return ExecutionContextExecutor
+     */
+    public ExecutionContextExecutor messaging() {
+        return system.dispatchers().lookup(MESSAGING_DISPATCHER_ID);
+    }
+
+    /**
+     * Returns the count of queued tasks of the dispatcher with the given name.
+     *
+     * @param name the dispatcher name
+     * @return int
+     */
+    public int getQueueDepth(String name) {
+        ThreadPoolExecutor executor = executor(name);
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    /**
+     * Returns the count of busy threads of the dispatcher with the given name.
+     *
+     * @param name the dispatcher name
+     * @return int
+     */
+    public int getActiveCount(String name) {
+        ThreadPoolExecutor executor = executor(name);
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    /**
+     * Returns the queue depths of all dispatchers by their name.
+     *
+     * @return Map
+     */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        depths.put(PERSISTENCE, getQueueDepth(PERSISTENCE));
+        depths.put(EVALUATION, getQueueDepth(EVALUATION));
+        depths.put(DELEGATION, getQueueDepth(DELEGATION));
+        depths.put(MESSAGING, getQueueDepth(MESSAGING));
+        return depths;
+    }
+
+    /**
+     * Shuts the persistence, evaluation and delegation executors down. The messaging
+     * dispatcher is shut down together with the actor system.
+     */
+    public void shutdown() {
+        persistenceExecutor.shutdown();
+        evaluationExecutor.shutdown();
+        delegationExecutor.shutdown();
+        MeteredExecutorServiceConfigurator.unregister(messagingRegistryKey);
+    }
+
+    private ThreadPoolExecutor executor(String name) {
+        switch (name) {
+            case PERSISTENCE: return persistenceExecutor;
+            case EVALUATION:  return evaluationExecutor;
+            case DELEGATION:  return delegationExecutor;
+            case MESSAGING:   return MeteredExecutorServiceConfigurator.lookup(messagingRegistryKey);
+            default: throw new IllegalArgumentException("unknown dispatcher " + name);
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
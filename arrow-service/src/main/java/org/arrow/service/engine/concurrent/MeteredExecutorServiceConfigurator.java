@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent;
+
+import akka.dispatch.DispatcherPrerequisites;
+import akka.dispatch.ExecutorServiceConfigurator;
+import akka.dispatch.ExecutorServiceFactory;
+import com.typesafe.config.Config;
+
+import java.util.concurrent.*;
+
+/**
+ * Akka {@link ExecutorServiceConfigurator} which runs a dispatcher on a fixed
+ * size {@link ThreadPoolExecutor} with an optionally bounded task queue. The
+ * executor is registered under the configured registry key so that the queue
+ * depth of the dispatcher can be observed by {@link EngineDispatchers}.
+ * <p>
+ * If a bounded task queue is full the task is rejected at once. The
+ * submitting thread is usually an actor or dispatcher thread, so it neither
+ * waits for a free slot nor runs the task itself.
+ * <p>
+ * Configuration:
+ * <pre>
+ * executor = "org.arrow.service.engine.concurrent.MeteredExecutorServiceConfigurator"
+ * metered-executor {
+ *   pool-size = 4
+ *   queue-size = -1   # unbounded
+ *   registry-key = "..."
+ * }
+ * </pre>
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class MeteredExecutorServiceConfigurator extends ExecutorServiceConfigurator {
+
+    private static final ConcurrentMap<String, ThreadPoolExecutor> EXECUTORS = new ConcurrentHashMap<>();
+
+    private final int poolSize;
+    private final int queueSize;
+    private final String registryKey;
+
+    public MeteredExecutorServiceConfigurator(Config config, DispatcherPrerequisites prerequisites) {
+        super(config, prerequisites);
+
+        Config executor = config.getConfig("metered-executor");
+        this.poolSize = executor.getInt("pool-size");
+        this.queueSize = executor.getInt("queue-size");
+        this.registryKey = executor.getString("registry-key");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutorServiceFactory createExecutorServiceFactory(String id, ThreadFactory threadFactory) {
+        return () -> {
+            ThreadPoolExecutor executor = newExecutor(poolSize, queueSize, threadFactory);
+            EXECUTORS.put(registryKey, executor);
+            return executor;
+        };
+    }
+
+    /**
+     * Returns the current executor registered under the given key.
+     *
+     * @param registryKey the registry key
+     * @return ThreadPoolExecutor
+     */
+    static ThreadPoolExecutor lookup(String registryKey) {
+        return EXECUTORS.get(registryKey);
+    }
+
+    /**
+     * Removes the executor registered under the given key.
+     *
+     * @param registryKey the registry key
+     */
+    static void unregister(String registryKey) {
+        EXECUTORS.remove(registryKey);
+    }
+
+    /**
+     * Creates a fixed size thread pool executor. If the task queue is full the
+     * task is rejected with a {@link RejectedExecutionException}.
+     *
+     * @param poolSize      the count of threads
+     * @param queueSize     the capacity of the task queue, negative for unbounded
+     * @param threadFactory the thread factory
+     * @return ThreadPoolExecutor
+     */
+    static ThreadPoolExecutor newExecutor(int poolSize, int queueSize, ThreadFactory threadFactory) {
+        BlockingQueue<Runnable> queue = queueSize < 0 ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, queue, threadFactory,
+                new RejectPolicy());
+    }
+
+    /**
+     * Rejects the task of a full task queue without blocking the submitter.
+     * The exception reports the queue depth, so that the caller can fail the
+     * affected process instance.
+     */
+    static class RejectPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("executor is shut down");
+            }
+            throw new RejectedExecutionException("task queue is full, " + executor.getQueue().size()
+                    + " tasks are waiting for " + executor.getPoolSize() + " threads");
+        }
+    }
+
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent;
+
+import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
+import akka.dispatch.OnFailure;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.logger.LoggerFacade;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.impl.StartEventMessage;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for process starts. A process instance is in-flight from
+ * the moment its start is admitted until it completes, fails or is aborted,
+ * at the latest until its master actor stops. Starts
+ * beyond the configured maximum of in-flight instances are handled by the
+ * configured {@link Policy}. Saturation is reported by failing the returned
+ * future with a {@link ProcessAdmissionException}, so that callers can back
+ * off.
+ * <p>
+ * Starts of a known count of process instances, e.g. bulk starts, acquire
+ * one permit per process instance up front. Starts which resolve to an
+ * unknown count of process instances are admitted with the expected count
+ * and adjust their permits once the instances are registered, so the
+ * maximum may be exceeded temporarily by the surplus instances.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class ProcessAdmissionController {
+
+    private static final LoggerFacade LOGGER = new LoggerFacade(ProcessAdmissionController.class);
+
+    /**
+     * The strategy for starts which arrive while the engine is saturated.
+     */
+    public enum Policy {
+        /** fails the start immediately */
+        REJECT,
+        /** queues the start, fails it if the pending queue is full */
+        QUEUE,
+        /** queues the start, fails the oldest pending start if the queue is full */
+        SHED
+    }
+
+    private final int maxInFlight;
+    private final int maxPending;
+    private final Policy policy;
+    private final ExecutionContext executionContext;
+
+    private final Deque<PendingStart> pending = new ArrayDeque<>();
+    private final Set<String> processInstances = ConcurrentHashMap.newKeySet();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+
+    /** guarded by this */
+    private int inFlight;
+
+    /**
+     * @param maxInFlight      the maximum of in-flight process instances, unbounded if not positive
+     * @param maxPending       the maximum of queued process starts
+     * @param policy           the saturation policy
+     * @param executionContext the execution context of the future callbacks
+     */
+    public ProcessAdmissionController(int maxInFlight, int maxPending, Policy policy,
+                                      ExecutionContext executionContext) {
+        this.maxInFlight = maxInFlight;
+        this.maxPending = Math.max(0, maxPending);
+        this.policy = policy;
+        this.executionContext = executionContext;
+    }
+
+    /**
+     * Admits the given process start with a single permit. The start callable
+     * is invoked immediately if a permit is available, later if it is queued
+     * or never if it is rejected or shed. The returned future completes with
+     * the start event messages as soon as the started process instances are
+     * registered, so that the messages can be published safely.
+     *
+     * @param start the callable which starts the process instances
+     * @return Future
+     */
+    public Future<Iterable<EventMessage>> admit(Callable<Future<Iterable<EventMessage>>> start) {
+        return admit(1, start);
+    }
+
+    /**
+     * Admits the given start of the given count of process instances, one
+     * permit is acquired per process instance. The start is admitted as a
+     * whole once all permits are available. The count may not exceed the
+     * maximum of in-flight process instances, see {@link #getMaxInFlight()}.
+     *
+     * @param permits the count of started process instances
+     * @param start   the callable which starts the process instances
+     * @return Future
+     * @see #admit(Callable)
+     */
+    public Future<Iterable<EventMessage>> admit(int permits, Callable<Future<Iterable<EventMessage>>> start) {
+        if (!isBounded()) {
+            return call(permits, start);
+        }
+        if (permits < 1 || permits > maxInFlight) {
+            return Futures.failed(new IllegalArgumentException("cannot admit " + permits
+                    + " process instances with a maximum of " + maxInFlight + " in-flight process instances"));
+        }
+
+        PendingStart dropped = null;
+        Promise<Iterable<EventMessage>> promise;
+
+        synchronized (this) {
+            if (inFlight + permits <= maxInFlight && pending.isEmpty()) {
+                inFlight += permits;
+                promise = null;
+            } else if (policy == Policy.REJECT || (policy == Policy.QUEUE && pending.size() >= maxPending)
+                    || (policy == Policy.SHED && maxPending == 0)) {
+                rejected.incrementAndGet();
+                return Futures.failed(saturated("process start rejected"));
+            } else {
+                if (pending.size() >= maxPending) {
+                    dropped = pending.pollFirst();
+                    shed.incrementAndGet();
+                }
+                promise = Futures.promise();
+                pending.addLast(new PendingStart(permits, start, promise));
+            }
+        }
+
+        if (dropped != null) {
+            dropped.promise.failure(saturated("pending process start shed"));
+        }
+        return promise == null ? run(permits, start) : promise.future();
+    }
+
+    /**
+     * Releases the permit of the given process instance if it was started
+     * through this controller. Called as soon as the process instance
+     * completes, fails or is aborted and once more when its master actor
+     * stops, the permit is released only once.
+     *
+     * @param processInstanceId the process instance id
+     */
+    public void release(String processInstanceId) {
+        if (processInstanceId != null && processInstances.remove(processInstanceId)) {
+            releasePermits(1);
+        }
+    }
+
+    /**
+     * Returns the count of in-flight process instances.
+     *
+     * @return int
+     */
+    public synchronized int getInFlight() {
+        return isBounded() ? inFlight : processInstances.size();
+    }
+
+    /**
+     * Returns the maximum of in-flight process instances, not positive if
+     * the process starts are unbounded.
+     *
+     * @return int
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Returns the count of queued process starts.
+     *
+     * @return int
+     */
+    public synchronized int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * Returns the count of rejected process starts.
+     *
+     * @return long
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the count of shed process starts.
+     *
+     * @return long
+     */
+    public long getShedCount() {
+        return shed.get();
+    }
+
+    private boolean isBounded() {
+        return maxInFlight > 0;
+    }
+
+    private Future<Iterable<EventMessage>> run(final int permits, Callable<Future<Iterable<EventMessage>>> start) {
+        Future<Iterable<EventMessage>> future = call(permits, start);
+        future.onFailure(new OnFailure() {
+            @Override
+            public void onFailure(Throwable failure) {
+                releasePermits(permits);
+            }
+        }, executionContext);
+        return future;
+    }
+
+    private Future<Iterable<EventMessage>> call(final int permits, Callable<Future<Iterable<EventMessage>>> start) {
+        Future<Iterable<EventMessage>> future;
+        try {
+            future = start.call();
+        } catch (Exception ex) {
+            return Futures.failed(ex);
+        }
+        return future.map(new Mapper<Iterable<EventMessage>, Iterable<EventMessage>>() {
+            @Override
+            public Iterable<EventMessage> apply(Iterable<EventMessage> messages) {
+                register(permits, messages);
+                return messages;
+            }
+        }, executionContext);
+    }
+
+    /**
+     * Registers the process instances of the given start event messages as
+     * in-flight and adjusts the permits of the admitted start accordingly.
+     */
+    private void register(int permits, Iterable<EventMessage> messages) {
+        Set<String> ids = new HashSet<>();
+        for (EventMessage message : messages) {
+            ProcessInstance pi = message.getProcessInstance();
+            if (message instanceof StartEventMessage && pi != null && processInstances.add(pi.getId())) {
+                ids.add(pi.getId());
+            }
+        }
+
+        if (!isBounded()) {
+            return;
+        }
+        if (ids.size() < permits) {
+            releasePermits(permits - ids.size());
+        } else if (ids.size() > permits) {
+            synchronized (this) {
+                inFlight += ids.size() - permits;
+            }
+        }
+    }
+
+    private void releasePermits(int permits) {
+        if (!isBounded()) {
+            return;
+        }
+
+        List<PendingStart> admitted = new ArrayList<>();
+        synchronized (this) {
+            inFlight = Math.max(0, inFlight - permits);
+            while (!pending.isEmpty() && inFlight + pending.peekFirst().permits <= maxInFlight) {
+                PendingStart start = pending.pollFirst();
+                inFlight += start.permits;
+                admitted.add(start);
+            }
+        }
+
+        for (PendingStart start : admitted) {
+            start.promise.completeWith(run(start.permits, start.callable));
+        }
+    }
+
+    private ProcessAdmissionException saturated(String message) {
+        ProcessAdmissionException ex;
+        synchronized (this) {
+            ex = new ProcessAdmissionException(message, inFlight, pending.size());
+        }
+        LOGGER.debug(ex.getMessage());
+        return ex;
+    }
+
+    /**
+     * A queued process start.
+     */
+    private static class PendingStart {
+
+        private final int permits;
+        private final Callable<Future<Iterable<EventMessage>>> callable;
+        private final Promise<Iterable<EventMessage>> promise;
+
+        private PendingStart(int permits, Callable<Future<Iterable<EventMessage>>> callable,
+                             Promise<Iterable<EventMessage>> promise) {
+            this.permits = permits;
+            this.callable = callable;
+            this.promise = promise;
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Signals that a process start was not admitted because the engine is
+ * saturated. Callers are expected to back off and retry later.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class ProcessAdmissionException extends RejectedExecutionException {
+
+    private final int inFlight;
+    private final int pending;
+
+    public ProcessAdmissionException(String message, int inFlight, int pending) {
+        super(String.format("%s (in-flight: %s, pending: %s)", message, inFlight, pending));
+        this.inFlight = inFlight;
+        this.pending = pending;
+    }
+
+    /**
+     * Returns the count of in-flight process instances at rejection time.
+     *
+     * @return int
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the count of pending process starts at rejection time.
+     *
+     * @return int
+     */
+    public int getPending() {
+        return pending;
+    }
+
+}
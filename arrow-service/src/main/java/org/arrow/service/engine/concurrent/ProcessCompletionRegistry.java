@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent;
+
+import akka.dispatch.Futures;
+import org.arrow.runtime.execution.ProcessCompletion;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the pending completions of process instances, keyed by the
+ * process instance id. A completion is registered before the start event
+ * of the process instance is published and is completed by the master
+ * actor of the process instance, so that callers await the outcome of a
+ * process instance without blocking a thread.
+ * <p>
+ * Only registered process instances are tracked, the completion of all
+ * other process instances is a no-op.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class ProcessCompletionRegistry {
+
+    private final Map<String, Promise<ProcessCompletion>> completions = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the completion of the given process instance.
+     *
+     * @param processInstanceId the process instance id
+     * @return Future the completion of the process instance
+     */
+    public Future<ProcessCompletion> register(String processInstanceId) {
+        return completions.computeIfAbsent(processInstanceId, id -> Futures.promise()).future();
+    }
+
+    /**
+     * Indicates if the completion of the given process instance is registered.
+     *
+     * @param processInstanceId the process instance id
+     * @return boolean
+     */
+    public boolean isRegistered(String processInstanceId) {
+        return processInstanceId != null && completions.containsKey(processInstanceId);
+    }
+
+    /**
+     * Completes the registered completion of the given process instance with
+     * the given future. The completion is removed from the registry at once,
+     * so that a later {@link #fail(String, Throwable)} does not overtake it.
+     *
+     * @param processInstanceId the process instance id
+     * @param completion        the future of the completion
+     */
+    public void complete(String processInstanceId, Future<ProcessCompletion> completion) {
+        Promise<ProcessCompletion> promise = remove(processInstanceId);
+        if (promise != null) {
+            promise.tryCompleteWith(completion);
+        }
+    }
+
+    /**
+     * Fails the registered completion of the given process instance.
+     *
+     * @param processInstanceId the process instance id
+     * @param failure           the failure
+     */
+    public void fail(String processInstanceId, Throwable failure) {
+        Promise<ProcessCompletion> promise = remove(processInstanceId);
+        if (promise != null) {
+            promise.tryFailure(failure);
+        }
+    }
+
+    /**
+     * Returns the count of registered completions.
+     *
+     * @return int
+     */
+    public int getPending() {
+        return completions.size();
+    }
+
+    private Promise<ProcessCompletion> remove(String processInstanceId) {
+        return processInstanceId == null ? null : completions.remove(processInstanceId);
+    }
+
+}
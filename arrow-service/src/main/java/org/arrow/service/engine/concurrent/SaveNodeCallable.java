@@ -16,14 +16,21 @@
 
 package org.arrow.service.engine.concurrent;
 
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
 import org.spockframework.util.Assert;
 import org.springframework.context.ApplicationContext;
 import org.arrow.data.neo4j.store.impl.ExecutionStoreImpl;
+import org.arrow.data.neo4j.store.impl.WriteBehindExecutionStore;
 import org.arrow.model.BpmnNodeEntity;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.logger.LoggerFacade;
 import org.arrow.runtime.message.EntityEventMessage;
 
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+
 import java.util.concurrent.Callable;
 
 /**
@@ -37,6 +44,12 @@ public class SaveNodeCallable implements Callable<EntityEventMessage> {
 
     private final static LoggerFacade LOGGER = new LoggerFacade(SaveNodeCallable.class);
 
+    /**
+     * Runs the mapping of a stored execution, which must not be rejected by
+     * a full dispatcher, otherwise the returned future would never complete.
+     */
+    private final static ExecutionContext SAME_THREAD = ExecutionContexts.fromExecutor(Runnable::run);
+
     private final EntityEventMessage node;
     private final ExecutionStoreImpl executionStore;
 
@@ -48,6 +61,32 @@ public class SaveNodeCallable implements Callable<EntityEventMessage> {
         this.executionStore = context.getBean(ExecutionStoreImpl.class);
     }
 
+    /**
+     * Returns a future which completes with the given node as soon as its
+     * execution is stored. If the write behind store is enabled the execution
+     * is committed together with other executions, otherwise the execution
+     * is stored by a {@link SaveNodeCallable} on the given execution context.
+     *
+     * @param node    the node to save
+     * @param context the application context
+     * @param ec      the execution context
+     * @return Future
+     */
+    public static Future<EntityEventMessage> save(EntityEventMessage node, ApplicationContext context, ExecutionContext ec) {
+        WriteBehindExecutionStore store = context.getBean(WriteBehindExecutionStore.class);
+        if (!store.isEnabled()) {
+            return Futures.future(new SaveNodeCallable(node, context), ec);
+        }
+
+        LOGGER.debug("save " + node.getExecution().getEntity().getId() + " " + node.getExecution().getState());
+        return store.saveExecution(node.getExecution()).map(new Mapper<Execution, EntityEventMessage>() {
+            @Override
+            public EntityEventMessage apply(Execution execution) {
+                return node;
+            }
+        }, SAME_THREAD);
+    }
+
     /**
      * {@inheritDoc}
      */
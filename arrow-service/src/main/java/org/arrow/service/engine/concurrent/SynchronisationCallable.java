@@ -16,7 +16,10 @@
 
 package org.arrow.service.engine.concurrent;
 
+import org.arrow.model.gateway.impl.InclusiveGateway;
 import org.arrow.runtime.api.BpmnNodeEntitySpecification;
+import org.arrow.runtime.definition.ProcessDef;
+import org.arrow.runtime.definition.ProcessDefRegistry;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.State;
@@ -24,8 +27,7 @@ import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.DefaultExecuteEventMessage;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
@@ -57,9 +59,30 @@ public class SynchronisationCallable implements Callable<Iterable<EventMessage>>
         final ProcessInstance pi = execution.getProcessInstance();
         final String piId = execution.getProcessInstance().getId();
 
+        // processes without inclusive gateways have nothing to notify
+        if (!containsInclusiveGateway()) {
+            return Collections.emptyList();
+        }
+
         Set<? extends BpmnNodeEntitySpecification> gateways;
         gateways = service.data().gateway().findInclusiveGatewayNotInState(piId, State.SUCCESS.name());
 
         return gateways.stream().map(obj -> new DefaultExecuteEventMessage(obj, pi)).collect(Collectors.toList());
     }
+
+    /**
+     * Indicates if the compiled definition of the process the execution
+     * belongs to contains an inclusive gateway. Returns true if the
+     * definition is unknown.
+     *
+     * @return boolean
+     */
+    private boolean containsInclusiveGateway() {
+        BpmnNodeEntitySpecification entity = execution.getEntity();
+        if (entity == null) {
+            return true;
+        }
+        ProcessDef definition = service.getBean(ProcessDefRegistry.class).getProcessDefOfNode(entity.getNodeId());
+        return definition == null || definition.containsNodeOfType(InclusiveGateway.class);
+    }
 }
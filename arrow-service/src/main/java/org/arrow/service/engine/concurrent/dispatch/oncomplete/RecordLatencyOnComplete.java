@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.service.engine.concurrent.dispatch.oncomplete;
+
+import akka.dispatch.OnComplete;
+import org.arrow.runtime.metrics.Histogram;
+
+/**
+ * {@link OnComplete} implementation used to record the latency of a future,
+ * measured from the given start time until the future is completed.
+ *
+ * @since 1.0.0
+ * @author christian.weber
+ */
+public class RecordLatencyOnComplete<T> extends OnComplete<T> {
+
+	private final Histogram histogram;
+	private final long startNanos;
+
+	public RecordLatencyOnComplete(Histogram histogram, long startNanos) {
+		this.histogram = histogram;
+		this.startNanos = startNanos;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onComplete(Throwable failure, T result) throws Throwable {
+		histogram.record(System.nanoTime() - startNanos);
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.arrow.service.engine.concurrent.dispatch.onfailure;
 
 import org.apache.log4j.Logger;
+import org.arrow.service.engine.concurrent.ProcessAdmissionException;
 import org.springframework.util.Assert;
 import org.arrow.runtime.execution.ProcessInstance;
 
@@ -46,6 +47,11 @@ public class PrintStacktraceOnFailure extends OnFailure {
 	 */
 	@Override
 	public void onFailure(Throwable ex) throws Throwable {
+		// rejected process starts are expected under load and reported to the caller
+		if (ex instanceof ProcessAdmissionException) {
+			return;
+		}
+
         Logger.getLogger(getClass()).error(ex);
 		ex.printStackTrace();
 
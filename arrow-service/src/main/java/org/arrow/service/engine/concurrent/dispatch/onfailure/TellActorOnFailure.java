@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent.dispatch.onfailure;
+
+import akka.actor.ActorRef;
+import akka.actor.Status;
+import akka.dispatch.OnFailure;
+
+/**
+ * {@link OnFailure} implementation used to tell the given actor the failure
+ * as a {@link Status.Failure} message, e.g. to report a failed node execution
+ * to the master actor of its process instance.
+ *
+ * @since 1.0.0
+ * @author christian.weber
+ */
+public class TellActorOnFailure extends OnFailure {
+
+    private final ActorRef self;
+    private final ActorRef actorRef;
+
+    public TellActorOnFailure(ActorRef self, ActorRef actorRef) {
+        this.self = self;
+        this.actorRef = actorRef;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onFailure(Throwable failure) {
+        actorRef.tell(new Status.Failure(failure), self);
+    }
+
+}
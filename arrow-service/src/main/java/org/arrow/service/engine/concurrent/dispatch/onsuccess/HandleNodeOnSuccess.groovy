@@ -27,6 +27,7 @@ import org.arrow.model.gateway.impl.ParallelGateway
 import org.arrow.model.transition.Flow
 import org.arrow.model.transition.IncomingFlowAware
 import org.arrow.runtime.api.BpmnNodeEntitySpecification
+import org.arrow.runtime.definition.NodeDef
 import org.arrow.runtime.execution.ExecutionGroup
 import org.arrow.runtime.execution.State
 import org.arrow.runtime.logger.LoggerFacade
@@ -52,9 +53,15 @@ public class HandleNodeOnSuccess extends OnSuccess<Iterable<EventMessage>> {
     private final ActorRef sender
     private final ActorRef self
     private final EntityEventMessage msg
+    private final NodeDef node
 
     public HandleNodeOnSuccess(UntypedActorContext context, EntityEventMessage msg) {
+        this(context, msg, null)
+    }
+
+    public HandleNodeOnSuccess(UntypedActorContext context, EntityEventMessage msg, NodeDef node) {
         this.msg = msg
+        this.node = node
         this.sender = context.sender()
         this.self = context.self()
     }
@@ -63,7 +70,7 @@ public class HandleNodeOnSuccess extends OnSuccess<Iterable<EventMessage>> {
     // ##########
     def isNotFinished = {!msg.execution.isFinished()}
     def isSuspended = {msg.execution.state.compareTo(State.SUSPEND) == 0}
-    def isCompensation = {isCompensationTask(msg.entity)}
+    def isCompensation = {node != null ? node.hasIncomingFlowFrom(CompensateBoundaryEvent) : isCompensationTask(msg.entity)}
     def isEndEvent = {msg.entity instanceof EndEvent}
 
     /**
@@ -25,6 +25,9 @@ import org.springframework.util.StopWatch;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.EventMessageEventBus;
 import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.dispatch.onfailure.TellActorOnFailure;
+
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * {@link OnSuccess} implementation used to publish a {@link EventMessage} instance.
@@ -50,6 +53,9 @@ public class PublishEventMessagesOnSuccess extends OnSuccess<Iterable<EventMessa
 
     /**
      * {@inheritDoc}
+     * An event rejected by a full dispatcher is reported to the sender as a
+     * failure, provided the sender is known, otherwise it would get lost in
+     * the callback and the process instance would never end.
      */
     @Override
     public void onSuccess(Iterable<EventMessage> events) {
@@ -57,24 +63,42 @@ public class PublishEventMessagesOnSuccess extends OnSuccess<Iterable<EventMessa
         Assert.notNull(events);
 
         for (EventMessage event : events) {
+            try {
+                publish(event);
+            } catch (RejectedExecutionException ex) {
+                if (sender == null) {
+                    throw ex;
+                }
+                new TellActorOnFailure(sender, sender).onFailure(ex);
+                return;
+            }
+        }
 
-            Logger.getLogger(getClass()).info("publish event " + event);
+    }
 
-            // create a new master actor ref if the message is of type Start
-            if (event instanceof StartEventMessage) {
+    /**
+     * Publishes the given event message. A start event message is sent to a
+     * new master actor.
+     *
+     * @param event the event message
+     */
+    private void publish(EventMessage event) {
 
-                ActorRef master = context.getBean("master", ActorRef.class);
-                master.tell(event, sender);
+        Logger.getLogger(getClass()).info("publish event " + event);
 
-                // register the actor to the event bus
-                // the process instance id is used as a classifier
-                eventBus.subscribe(master, event.getProcessInstance().getId());
-            } else {
-                eventBus.publish(event);
-            }
+        // create a new master actor ref if the message is of type Start
+        if (event instanceof StartEventMessage) {
 
-        }
+            ActorRef master = context.getBean("master", ActorRef.class);
 
+            // register the actor to the event bus before it starts, so that
+            // no event of the process instance is published in between
+            // the process instance id is used as a classifier
+            eventBus.subscribe(master, event.getProcessInstance().getId());
+            master.tell(event, sender);
+        } else {
+            eventBus.publish(event);
+        }
     }
 
 }
\ No newline at end of file
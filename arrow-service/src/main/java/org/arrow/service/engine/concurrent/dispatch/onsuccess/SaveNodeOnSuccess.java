@@ -18,7 +18,6 @@ package org.arrow.service.engine.concurrent.dispatch.onsuccess;
 
 import akka.actor.ActorRef;
 import akka.actor.UntypedActorContext;
-import akka.dispatch.Futures;
 import akka.dispatch.OnSuccess;
 import org.apache.log4j.Logger;
 import org.springframework.context.ApplicationContext;
@@ -29,10 +28,13 @@ import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.infrastructure.FutureAdapter;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.service.engine.concurrent.SaveNodeCallable;
+import org.arrow.service.engine.concurrent.dispatch.onfailure.TellActorOnFailure;
 import scala.App;
 import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * {@link OnSuccess} implementation used to save a {@link BpmnNodeEntity}
  * instance.
@@ -64,6 +66,9 @@ public class SaveNodeOnSuccess extends OnSuccess<Iterable<EventMessage>> {
 
     /**
      * {@inheritDoc}
+     * A save rejected by a full persistence dispatcher is reported to the
+     * master actor as a failure, otherwise it would get lost in the
+     * callback and the process instance would never end.
      */
     @Override
     public void onSuccess(Iterable<EventMessage> node) throws Throwable {
@@ -72,8 +77,13 @@ public class SaveNodeOnSuccess extends OnSuccess<Iterable<EventMessage>> {
             LOGGER.debug("save node " + entity);
         }
 
-        SaveNodeCallable call = new SaveNodeCallable(entity, applicationContext);
-        Future<EntityEventMessage> future = Futures.future(call, ec);
+        Future<EntityEventMessage> future;
+        try {
+            future = SaveNodeCallable.save(entity, applicationContext, ec);
+        } catch (RejectedExecutionException ex) {
+            new TellActorOnFailure(self, sender).onFailure(ex);
+            return;
+        }
         sender.tell(new FutureAdapter(future, entity), self);
     }
 
@@ -24,15 +24,19 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
 import org.arrow.service.engine.actor.MasterActor;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController;
+import org.arrow.service.engine.concurrent.ProcessCompletionRegistry;
 import org.arrow.service.engine.actor.NodeActor;
 
 import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.actor.Props;
-import akka.actor.UntypedActorContext;
 import akka.japi.Creator;
-import akka.routing.SmallestMailboxPool;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
 
 /**
  * Spring Akka java context configuration.
@@ -43,10 +47,17 @@ import akka.routing.SmallestMailboxPool;
 @Configuration
 public class AkkaConfiguration {
 
+	private static final int CORES = Runtime.getRuntime().availableProcessors();
+
 	@Autowired
 	private ActorSystem system;
 	@Autowired
 	private ApplicationContext context;
+	@Autowired
+	private Environment environment;
+
+	/** the key of the messaging dispatcher executor, unique per configuration */
+	private final String messagingRegistryKey = EngineDispatchers.newRegistryKey();
 
 	/**
 	 * Creates the {@link org.arrow.service.engine.actor.MasterActor} instance.
@@ -56,27 +67,107 @@ public class AkkaConfiguration {
 	@Bean(name="master")
 	@Scope("prototype")
 	public ActorRef master() {
-		Props props = Props.create(new MasterCreator(context));
-		return system.actorOf(props);
+		Props props = Props.create(new MasterCreator(context, nodeActorPool()));
+		return system.actorOf(props.withDispatcher(EngineDispatchers.MESSAGING_DISPATCHER_ID));
 	}
 
 	/**
-	 * Instantiates the {@link ActorSystem} instance.
+	 * Creates the {@link NodeActorPool} instance. By default each master
+	 * actor creates its own pool of 4 node actors. With
+	 * {@code arrow.actor.node-pool.shared} all masters share one pool which
+	 * defaults to one node actor per core. The pool size and the dispatcher
+	 * of the node actors are configured by {@code arrow.actor.node-pool.size}
+	 * and {@code arrow.actor.node-pool.dispatcher}.
+	 *
+	 * @return NodeActorPool
+	 */
+	@Bean
+	public NodeActorPool nodeActorPool() {
+		boolean shared = environment.getProperty("arrow.actor.node-pool.shared", Boolean.class, false);
+		int defaultSize = shared ? Runtime.getRuntime().availableProcessors() : 4;
+		int size = environment.getProperty("arrow.actor.node-pool.size", Integer.class, defaultSize);
+		String dispatcher = environment.getProperty("arrow.actor.node-pool.dispatcher", EngineDispatchers.MESSAGING_DISPATCHER_ID);
+
+		return new NodeActorPool(system, context, shared, size, dispatcher);
+	}
+
+	/**
+	 * Instantiates the {@link ActorSystem} instance. The system contains the
+	 * messaging dispatcher of the master and node actors, its size and queue
+	 * capacity are configured by {@code arrow.dispatcher.messaging.pool-size}
+	 * and {@code arrow.dispatcher.messaging.queue-size}.
 	 * 
+	 * @param environment the environment, injected as parameter since the
+	 *                    configuration itself depends on the actor system
 	 * @return ActorSystem
 	 */
 	@Bean
-	public ActorSystem actorSystem() {
-		return ActorSystem.create("RuntimeService");
+	public ActorSystem actorSystem(Environment environment) {
+		int poolSize = environment.getProperty("arrow.dispatcher.messaging.pool-size", Integer.class, Math.max(4, CORES));
+		int queueSize = environment.getProperty("arrow.dispatcher.messaging.queue-size", Integer.class, -1);
+
+		Config config = EngineDispatchers.messagingConfig(messagingRegistryKey, poolSize, queueSize);
+		return ActorSystem.create("RuntimeService", config.withFallback(ConfigFactory.load()));
+	}
+
+	/**
+	 * Instantiates the {@link EngineDispatchers} instance. The persistence,
+	 * evaluation and delegation dispatchers are configured by
+	 * {@code arrow.dispatcher.<name>.pool-size} and
+	 * {@code arrow.dispatcher.<name>.queue-size}.
+	 *
+	 * @return EngineDispatchers
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public EngineDispatchers engineDispatchers() {
+		return new EngineDispatchers(system, messagingRegistryKey,
+				environment.getProperty("arrow.dispatcher.persistence.pool-size", Integer.class, Math.max(4, 2 * CORES)),
+				environment.getProperty("arrow.dispatcher.persistence.queue-size", Integer.class, 10_000),
+				environment.getProperty("arrow.dispatcher.evaluation.pool-size", Integer.class, CORES),
+				environment.getProperty("arrow.dispatcher.evaluation.queue-size", Integer.class, 10_000),
+				environment.getProperty("arrow.dispatcher.delegation.pool-size", Integer.class, Math.max(32, 8 * CORES)),
+				environment.getProperty("arrow.dispatcher.delegation.queue-size", Integer.class, 10_000));
+	}
+
+	/**
+	 * Instantiates the {@link ProcessAdmissionController} instance. The
+	 * maximum of in-flight process instances, the maximum of pending starts
+	 * and the saturation policy are configured by
+	 * {@code arrow.admission.max-in-flight}, {@code arrow.admission.max-pending}
+	 * and {@code arrow.admission.policy}. Process starts are unbounded by
+	 * default.
+	 *
+	 * @return ProcessAdmissionController
+	 */
+	@Bean
+	public ProcessAdmissionController processAdmissionController() {
+		return new ProcessAdmissionController(
+				environment.getProperty("arrow.admission.max-in-flight", Integer.class, 0),
+				environment.getProperty("arrow.admission.max-pending", Integer.class, 1000),
+				environment.getProperty("arrow.admission.policy", ProcessAdmissionController.Policy.class,
+						ProcessAdmissionController.Policy.REJECT),
+				system.dispatcher());
+	}
+
+	/**
+	 * Instantiates the {@link ProcessCompletionRegistry} instance.
+	 *
+	 * @return ProcessCompletionRegistry
+	 */
+	@Bean
+	public ProcessCompletionRegistry processCompletionRegistry() {
+		return new ProcessCompletionRegistry();
 	}
 
 	@SuppressWarnings("serial")
 	public static class MasterCreator implements Creator<MasterActor> {
 
 		private final ApplicationContext context;
+		private final NodeActorPool nodeActorPool;
 		
-		public MasterCreator(ApplicationContext context) {
+		public MasterCreator(ApplicationContext context, NodeActorPool nodeActorPool) {
 			this.context = context;
+			this.nodeActorPool = nodeActorPool;
 		}
 		
 		@Override
@@ -87,29 +178,14 @@ public class AkkaConfiguration {
 			// create the MASTER actor
 			MasterActor masterActor = new MasterActor(context, scopeMap);
 
-			// create the NODE WORKER actor
-			ActorRef nodeWorker = nodeWorker(masterActor.getContext(), scopeMap);
+			// create or lookup the NODE WORKER actor
+			ActorRef nodeWorker = nodeActorPool.nodeWorker(masterActor.getSelf(), masterActor.getContext(), scopeMap);
 			masterActor.setNodeWorker(nodeWorker);
+			masterActor.setNodeActorPool(nodeActorPool);
 
 			return masterActor;
 		}
 		
-		/**
-		 * Creates the {@link org.arrow.service.engine.actor.NodeActor} instance.
-		 * 
-		 * @param actorContext the actor context instance
-		 * @param scopeMap the scope map
-		 * @return ActorRef
-		 */
-		private ActorRef nodeWorker(final UntypedActorContext actorContext,
-				final Map<String, Object> scopeMap) {
-
-			Props props = Props.create(new NodeWorkerCreator(context, scopeMap));
-			props = props.withRouter(new SmallestMailboxPool(4));
-
-			return actorContext.actorOf(props, "node");
-		}
-		
 	}
 	
 	@SuppressWarnings("serial")
@@ -117,14 +193,25 @@ public class AkkaConfiguration {
 		
 		private final ApplicationContext context;
 		private final Map<String, Object> scopeMap;
+		private final NodeActorPool nodeActorPool;
 		
 		public NodeWorkerCreator(ApplicationContext context, Map<String, Object> scopeMap) {
 			this.context = context;
 			this.scopeMap = scopeMap;
+			this.nodeActorPool = null;
+		}
+
+		public NodeWorkerCreator(ApplicationContext context, NodeActorPool nodeActorPool) {
+			this.context = context;
+			this.scopeMap = null;
+			this.nodeActorPool = nodeActorPool;
 		}
 		
 		@Override
 		public NodeActor create() throws Exception {
+			if (nodeActorPool != null) {
+				return new NodeActor(context, nodeActorPool);
+			}
 			return new NodeActor(context, scopeMap);
 		}
 		
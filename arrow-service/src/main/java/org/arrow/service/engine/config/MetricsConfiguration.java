@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.service.engine.config;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.arrow.runtime.logger.LoggerFacade;
+import org.arrow.runtime.metrics.EngineMetrics;
+import org.arrow.runtime.metrics.EngineMetricsJmxExporter;
+import org.arrow.runtime.metrics.InMemoryEngineMetrics;
+import org.arrow.runtime.metrics.NoOpEngineMetrics;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController;
+
+/**
+ * Engine metrics java context configuration. The metrics are disabled by
+ * default and enabled by {@code arrow.metrics.enabled}, enabled metrics are
+ * exposed via JMX unless {@code arrow.metrics.jmx} is set to false.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Configuration
+public class MetricsConfiguration {
+
+	private static final LoggerFacade LOGGER = new LoggerFacade(MetricsConfiguration.class);
+
+	/**
+	 * Instantiates the {@link EngineMetrics} instance, the no-op metrics
+	 * unless the metrics are enabled.
+	 *
+	 * @param environment the environment
+	 * @return EngineMetrics
+	 */
+	@Bean
+	public EngineMetrics engineMetrics(Environment environment) {
+		if (environment.getProperty("arrow.metrics.enabled", Boolean.class, false)) {
+			return new InMemoryEngineMetrics();
+		}
+		return NoOpEngineMetrics.INSTANCE;
+	}
+
+	/**
+	 * Instantiates the {@link EngineMetricsJmxExporter} instance. Registers
+	 * the dispatcher and admission gauges and the exporter MBean, provided
+	 * the metrics are enabled.
+	 *
+	 * @param metrics     the engine metrics
+	 * @param dispatchers the engine dispatchers
+	 * @param admission   the process admission controller
+	 * @param context     the application context
+	 * @param environment the environment
+	 * @return EngineMetricsJmxExporter
+	 */
+	@Bean(destroyMethod = "unregister")
+	public EngineMetricsJmxExporter engineMetricsJmxExporter(EngineMetrics metrics, EngineDispatchers dispatchers,
+			ProcessAdmissionController admission, ApplicationContext context, Environment environment) {
+
+		EngineMetricsJmxExporter exporter = new EngineMetricsJmxExporter(metrics);
+		if (!metrics.isEnabled()) {
+			return exporter;
+		}
+
+		for (String name : dispatchers.getQueueDepths().keySet()) {
+			metrics.gauge(EngineMetrics.DISPATCHER_QUEUE + name, () -> dispatchers.getQueueDepth(name));
+		}
+		metrics.gauge(EngineMetrics.ADMISSION_IN_FLIGHT, admission::getInFlight);
+
+		if (environment.getProperty("arrow.metrics.jmx", Boolean.class, true)) {
+			try {
+				ObjectName name = new ObjectName("org.arrow:type=EngineMetrics,context=" + ObjectName.quote(context.getId()));
+				exporter.register(ManagementFactory.getPlatformMBeanServer(), name);
+			} catch (Exception ex) {
+				LOGGER.error(ex, "unable to register the engine metrics MBean");
+			}
+		}
+		return exporter;
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.arrow.service.engine.config;
+
+import akka.actor.ActorSystem;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.arrow.runtime.metrics.EngineMetrics;
+import org.arrow.runtime.metrics.Histogram;
+import org.arrow.service.engine.concurrent.dispatch.oncomplete.RecordLatencyOnComplete;
+import org.arrow.service.microservice.EventMessageService;
+import org.arrow.service.microservice.annotation.CompoundService;
+import org.arrow.service.microservice.annotation.EventService;
+import scala.concurrent.Future;
+
+/**
+ * {@link BeanPostProcessor} implementation used to generate proxies of
+ * {@link EventMessageService} instances which record the latency of the
+ * micro service queries. The proxies are only generated if the engine
+ * metrics are enabled, so that disabled metrics cost nothing.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Component
+public class MicroServiceMetricsBeanPostProcessor implements BeanPostProcessor {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+    @Autowired
+    private EngineMetrics metrics;
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName)
+            throws BeansException {
+        return bean;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+
+        if (!metrics.isEnabled() || !(bean instanceof EventMessageService)) {
+            return bean;
+        }
+
+        Class<?> type = ClassUtils.getUserClass(bean);
+        if (AnnotationUtils.findAnnotation(type, EventService.class) == null
+                && AnnotationUtils.findAnnotation(type, CompoundService.class) == null) {
+            return bean;
+        }
+
+        // the micro services are injected by their class as well
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new MicroServiceMetricsMethodInterceptor(
+                metrics.histogram(EngineMetrics.MICROSERVICE + type.getSimpleName())));
+
+        return factory.getProxy();
+    }
+
+    /**
+     * {@link MethodInterceptor} implementation used to record the latency of
+     * the {@link EventMessageService#getEventMessages(Object)} futures.
+     *
+     * @author christian.weber
+     * @since 1.0.0
+     */
+    public class MicroServiceMetricsMethodInterceptor implements MethodInterceptor {
+
+        private final Histogram histogram;
+
+        public MicroServiceMetricsMethodInterceptor(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+
+            if (!"getEventMessages".equals(invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+
+            long start = System.nanoTime();
+            Object result = invocation.proceed();
+
+            if (result instanceof Future) {
+                ActorSystem system = applicationContext.getBean(ActorSystem.class);
+                ((Future<?>) result).onComplete(new RecordLatencyOnComplete<>(histogram, start), system.dispatcher());
+            } else {
+                histogram.record(System.nanoTime() - start);
+            }
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.config;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorRefFactory;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.Terminated;
+import akka.actor.UntypedActor;
+import akka.routing.ConsistentHashingRouter.ConsistentHashMapper;
+import akka.routing.ConsistentHashingPool;
+import akka.routing.SmallestMailboxPool;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.service.engine.config.AkkaConfiguration.NodeWorkerCreator;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides the {@link org.arrow.service.engine.actor.NodeActor} router of a
+ * master actor. By default every master creates its own router pool. In
+ * shared mode all masters use one system wide pool of a fixed size, the
+ * messages are routed by consistent hashing on the process instance id so
+ * that the messages of a process instance are processed in order by the
+ * same node actor.
+ * <p>
+ * As the node actors of the shared pool serve several masters, the process
+ * scope of each master is registered here and resolved by the sender of
+ * the processed message. The registrations are watched, a registration is
+ * removed as soon as its master terminates, even if the master never
+ * unregisters itself.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class NodeActorPool {
+
+    private final ActorSystem system;
+    private final ApplicationContext context;
+    private final boolean shared;
+    private final int size;
+    private final String dispatcher;
+
+    private final ConcurrentMap<ActorRef, Map<String, Object>> scopes = new ConcurrentHashMap<>();
+    private volatile ActorRef sharedRouter;
+    private volatile ActorRef registrationWatcher;
+
+    public NodeActorPool(ActorSystem system, ApplicationContext context, boolean shared, int size, String dispatcher) {
+        this.system = system;
+        this.context = context;
+        this.shared = shared;
+        this.size = size;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Returns the node actor router used by the given master actor.
+     *
+     * @param master       the master actor
+     * @param actorContext the actor context of the master actor
+     * @param scopeMap     the process scope of the master actor
+     * @return ActorRef
+     */
+    public ActorRef nodeWorker(ActorRef master, ActorRefFactory actorContext, Map<String, Object> scopeMap) {
+        if (shared) {
+            ActorRef router = sharedRouter();
+            scopes.put(master, scopeMap);
+            registrationWatcher.tell(master, ActorRef.noSender());
+            return router;
+        }
+
+        Props props = withDispatcher(Props.create(new NodeWorkerCreator(context, scopeMap)));
+        return actorContext.actorOf(props.withRouter(new SmallestMailboxPool(size)), "node");
+    }
+
+    /**
+     * Removes the process scope of the given master actor.
+     *
+     * @param master the master actor
+     */
+    public void unregister(ActorRef master) {
+        scopes.remove(master);
+    }
+
+    /**
+     * Returns the process scope of the given master actor.
+     *
+     * @param master the master actor
+     * @return Map
+     */
+    public Map<String, Object> scopeOf(ActorRef master) {
+        Map<String, Object> scope = master == null ? null : scopes.get(master);
+        return scope == null ? Collections.<String, Object>emptyMap() : scope;
+    }
+
+    /**
+     * Indicates if all masters share one node actor pool.
+     *
+     * @return boolean
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Returns the number of node actors per pool.
+     *
+     * @return int
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of registered master actors.
+     *
+     * @return int
+     */
+    public int getRegisteredMasters() {
+        return scopes.size();
+    }
+
+    private ActorRef sharedRouter() {
+        ActorRef router = sharedRouter;
+        if (router == null) {
+            synchronized (this) {
+                router = sharedRouter;
+                if (router == null) {
+                    Props props = withDispatcher(Props.create(new NodeWorkerCreator(context, this)));
+                    ConsistentHashingPool pool = new ConsistentHashingPool(size).withHashMapper(new ProcessInstanceHashMapper());
+                    registrationWatcher = system.actorOf(Props.create(RegistrationWatcher.class, scopes), "node-registrations");
+                    router = sharedRouter = system.actorOf(props.withRouter(pool), "node");
+                }
+            }
+        }
+        return router;
+    }
+
+    private Props withDispatcher(Props props) {
+        return dispatcher == null ? props : props.withDispatcher(dispatcher);
+    }
+
+    /**
+     * Maps each event message to the id of its process instance. Messages
+     * without a process instance id are all routed to the same node actor,
+     * so that they are processed in order as well.
+     */
+    static class ProcessInstanceHashMapper implements ConsistentHashMapper {
+
+        static final String UNKNOWN_PROCESS_INSTANCE = "";
+
+        @Override
+        public Object hashKey(Object message) {
+            ProcessInstance pi = message instanceof EventMessage ? ((EventMessage) message).getProcessInstance() : null;
+            if (pi != null && pi.getId() != null) {
+                return pi.getId();
+            }
+            return UNKNOWN_PROCESS_INSTANCE;
+        }
+    }
+
+    /**
+     * Watches the registered master actors and removes the process scope of
+     * each terminated master.
+     */
+    static class RegistrationWatcher extends UntypedActor {
+
+        private final Map<ActorRef, Map<String, Object>> scopes;
+
+        public RegistrationWatcher(Map<ActorRef, Map<String, Object>> scopes) {
+            this.scopes = scopes;
+        }
+
+        @Override
+        public void onReceive(Object message) throws Exception {
+            if (message instanceof ActorRef) {
+                getContext().watch((ActorRef) message);
+            } else if (message instanceof Terminated) {
+                scopes.remove(((Terminated) message).getActor());
+            } else {
+                unhandled(message);
+            }
+        }
+    }
+
+}
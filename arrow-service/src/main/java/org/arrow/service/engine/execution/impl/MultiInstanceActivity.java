@@ -0,0 +1,263 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.execution.impl;
+
+import akka.dispatch.Futures;
+import akka.dispatch.OnComplete;
+import org.arrow.model.task.multi.MultiInstanceLoopCharacteristics.Behavior;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.message.EventMessage;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A running multi instance activity. One instance execution is created per
+ * item, holding the item and the loop counters as local variables. At most
+ * {@code parallelism} instances are active at the same time, the next
+ * instance is started by the completion of a previous one, so that neither
+ * a sequential activity nor a large fan-out blocks a thread or creates all
+ * instance executions at once.
+ * <p>
+ * The activity completes as soon as all instances are completed, the first
+ * instance is completed in case of the {@link Behavior#One} behavior or the
+ * completion condition of a completed instance is fulfilled. Instances
+ * still active at this point are not awaited.
+ * <p>
+ * The messages of an instance are forwarded as soon as the instance is
+ * completed, the messages of instances completed after the activity are
+ * dropped. No messages are retained until the activity completes.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class MultiInstanceActivity {
+
+    public static final String LOOP_COUNTER = "loopCounter";
+    public static final String NR_OF_INSTANCES = "nrOfInstances";
+    public static final String NR_OF_ACTIVE_INSTANCES = "nrOfActiveInstances";
+    public static final String NR_OF_COMPLETED_INSTANCES = "nrOfCompletedInstances";
+
+    private final Execution parent;
+    private final Iterator<?> items;
+    private final String itemName;
+    private final int nrOfInstances;
+    private final int parallelism;
+    private final Behavior behavior;
+
+    private final Function<Execution, Future<Iterable<EventMessage>>> body;
+    private final Predicate<Execution> completionCondition;
+    private final Consumer<Iterable<EventMessage>> forward;
+    private final ExecutionContext ec;
+
+    private final Promise<Integer> promise = Futures.promise();
+
+    // guarded by this
+    private int started;
+    private int active;
+    private int completed;
+    private boolean done;
+
+    /**
+     * Creates a multi instance activity.
+     *
+     * @param parent              the execution of the multi instance activity
+     * @param items               the items, one instance is created per item
+     * @param itemName            the local variable name of the item, null if the item is not exposed
+     * @param parallelism         the maximum count of active instances
+     * @param behavior            the multi instance behavior
+     * @param body                executes the activity for an instance execution
+     * @param completionCondition evaluated for each completed instance execution
+     * @param forward             receives the messages of each completed instance
+     * @param ec                  the execution context of the completion callbacks
+     */
+    public MultiInstanceActivity(Execution parent, List<?> items, String itemName, int parallelism, Behavior behavior,
+                                 Function<Execution, Future<Iterable<EventMessage>>> body,
+                                 Predicate<Execution> completionCondition,
+                                 Consumer<Iterable<EventMessage>> forward, ExecutionContext ec) {
+        this.parent = parent;
+        this.items = items.iterator();
+        this.itemName = itemName;
+        this.nrOfInstances = items.size();
+        this.parallelism = Math.max(1, parallelism);
+        this.behavior = behavior;
+        this.body = body;
+        this.completionCondition = completionCondition;
+        this.forward = forward;
+        this.ec = ec;
+    }
+
+    /**
+     * Starts the first instances of the activity.
+     *
+     * @return Future the count of completed instances
+     */
+    public Future<Integer> start() {
+        if (nrOfInstances == 0) {
+            complete();
+        } else {
+            startInstances();
+        }
+        return promise.future();
+    }
+
+    /**
+     * Starts instances until the maximum count of active instances is reached
+     * or no items are left.
+     */
+    private void startInstances() {
+        List<Execution> instances = new ArrayList<>();
+        synchronized (this) {
+            while (!done && active < parallelism && items.hasNext()) {
+                active++;
+                instances.add(newInstance(started++, items.next(), active));
+            }
+        }
+        instances.forEach(this::run);
+    }
+
+    /**
+     * Creates the execution of a single instance.
+     *
+     * @param loopCounter         the index of the instance
+     * @param item                the item of the instance
+     * @param nrOfActiveInstances the count of active instances
+     * @return Execution
+     */
+    private Execution newInstance(int loopCounter, Object item, int nrOfActiveInstances) {
+        Execution instance = new Execution();
+        instance.setEntity(parent.getEntity());
+        instance.setProcessInstance(parent.getProcessInstance());
+
+        if (itemName != null) {
+            instance.addLocalVariable(itemName, item);
+        }
+        instance.addLocalVariable(LOOP_COUNTER, loopCounter);
+        instance.addLocalVariable(NR_OF_INSTANCES, nrOfInstances);
+        instance.addLocalVariable(NR_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
+        instance.addLocalVariable(NR_OF_COMPLETED_INSTANCES, completed);
+        return instance;
+    }
+
+    /**
+     * Runs the given instance and handles its completion.
+     *
+     * @param instance the instance execution
+     */
+    private void run(final Execution instance) {
+        Future<Iterable<EventMessage>> future;
+        try {
+            future = body.apply(instance);
+        } catch (RuntimeException ex) {
+            future = Futures.failed(ex);
+        }
+
+        future.onComplete(new OnComplete<Iterable<EventMessage>>() {
+            @Override
+            public void onComplete(Throwable failure, Iterable<EventMessage> result) {
+                if (failure != null) {
+                    fail(failure);
+                } else {
+                    completeInstance(instance, result);
+                }
+            }
+        }, ec);
+    }
+
+    /**
+     * Handles the completion of the given instance. Forwards the messages of
+     * the instance and either completes the activity or starts the next
+     * instances.
+     *
+     * @param instance the instance execution
+     * @param result   the messages of the instance
+     */
+    private void completeInstance(Execution instance, Iterable<EventMessage> result) {
+        int nrOfActiveInstances;
+        int nrOfCompletedInstances;
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            nrOfActiveInstances = --active;
+            nrOfCompletedInstances = ++completed;
+        }
+
+        try {
+            forward.accept(result);
+        } catch (RuntimeException ex) {
+            fail(ex);
+            return;
+        }
+
+        instance.addLocalVariable(NR_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
+        instance.addLocalVariable(NR_OF_COMPLETED_INSTANCES, nrOfCompletedInstances);
+
+        boolean complete;
+        try {
+            complete = nrOfCompletedInstances == nrOfInstances || behavior == Behavior.One
+                    || completionCondition.test(instance);
+        } catch (RuntimeException ex) {
+            fail(ex);
+            return;
+        }
+
+        if (complete) {
+            complete();
+        } else {
+            startInstances();
+        }
+    }
+
+    /**
+     * Completes the activity with the count of completed instances.
+     */
+    private void complete() {
+        int nrOfCompletedInstances;
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            done = true;
+            nrOfCompletedInstances = completed;
+        }
+        promise.success(nrOfCompletedInstances);
+    }
+
+    /**
+     * Fails the activity, no further instances are started.
+     *
+     * @param failure the failure of an instance
+     */
+    private void fail(Throwable failure) {
+        synchronized (this) {
+            if (done) {
+                return;
+            }
+            done = true;
+        }
+        promise.failure(failure);
+    }
+
+}
@@ -17,6 +17,8 @@
 package org.arrow.service.engine.execution.interceptor;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import akka.dispatch.Futures;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,7 +32,9 @@ import scala.concurrent.Future;
 
 /**
  * Adapter implementation which determines the relevant
- * {@link ExecutionInterceptor} used to initialize BPMN entities.
+ * {@link ExecutionInterceptor} used to initialize BPMN entities. The
+ * interceptor and the decorator of each deployed node are resolved once at
+ * deployment, nodes which are not prepared are resolved per execution.
  * 
  * @author christian.weber
  * @since 1.0.0
@@ -42,6 +46,25 @@ public class BpmnEntityInitializerAdapter {
     @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
 	private List<ExecutionInterceptor> initializers;
 
+	private final Map<Long, PreparedInterceptor> prepared = new ConcurrentHashMap<>();
+
+	/**
+	 * Resolves the interceptor and the decorator of the given deployed
+	 * {@link BpmnEntity} instance. Node ids are reused by the graph database,
+	 * a redeployed node therefore replaces the prepared entry.
+	 *
+	 * @param entity the deployed bpmn node entity instance
+	 */
+	public void prepare(BpmnNodeEntity entity) {
+		if (entity.getNodeId() == null) {
+			return;
+		}
+
+		ExecutionInterceptor initializer = getInitializer(entity);
+		ExecutionDecorator decorator = initializer == null ? ExecutionDecorator.NONE : initializer.prepare(entity);
+		prepared.put(entity.getNodeId(), new PreparedInterceptor(initializer, decorator));
+	}
+
 	/**
 	 * Initializes the given {@link BpmnEntity} instance.
 	 *
@@ -51,12 +74,13 @@ public class BpmnEntityInitializerAdapter {
 	 */
 	public BpmnNodeEntity beforeExecution(Execution execution, BpmnNodeEntity entity) {
 
-		for (ExecutionInterceptor initializer : initializers) {
-			if (initializer.supports(entity)) {
-				return initializer.beforeExecution(execution, entity);
-			}
+		PreparedInterceptor interceptor = getPrepared(entity);
+		if (interceptor != null) {
+			return interceptor.decorator.decorate(execution, entity);
 		}
-		return entity;
+
+		ExecutionInterceptor initializer = getInitializer(entity);
+		return initializer == null ? entity : initializer.beforeExecution(execution, entity);
 	}
 
 	/**
@@ -70,12 +94,49 @@ public class BpmnEntityInitializerAdapter {
 	public Future<Iterable<EventMessage>> afterExecution(Execution execution,
 			BpmnNodeEntity entity) {
 
+		PreparedInterceptor interceptor = getPrepared(entity);
+		ExecutionInterceptor initializer = interceptor != null ? interceptor.initializer : getInitializer(entity);
+
+		if (initializer != null) {
+			return initializer.afterExecution(execution, entity);
+		}
+		return Futures.successful(FutureUtil.iterableOf());
+	}
+
+	/**
+	 * Returns the first {@link ExecutionInterceptor} which supports the given
+	 * entity or null if no interceptor supports it.
+	 *
+	 * @param entity the bpmn node entity instance
+	 * @return ExecutionInterceptor
+	 */
+	private ExecutionInterceptor getInitializer(BpmnNodeEntity entity) {
 		for (ExecutionInterceptor initializer : initializers) {
 			if (initializer.supports(entity)) {
-				return initializer.afterExecution(execution, entity);
+				return initializer;
 			}
 		}
-		return Futures.successful(FutureUtil.iterableOf());
+		return null;
+	}
+
+	private PreparedInterceptor getPrepared(BpmnNodeEntity entity) {
+		Long nodeId = entity.getNodeId();
+		return nodeId == null ? null : prepared.get(nodeId);
+	}
+
+	/**
+	 * The interceptor and the decorator resolved for a deployed node.
+	 */
+	private static class PreparedInterceptor {
+
+		private final ExecutionInterceptor initializer;
+		private final ExecutionDecorator decorator;
+
+		PreparedInterceptor(ExecutionInterceptor initializer, ExecutionDecorator decorator) {
+			this.initializer = initializer;
+			this.decorator = decorator;
+		}
+
 	}
 
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.execution.interceptor;
+
+import org.arrow.model.BpmnNodeEntity;
+import org.arrow.runtime.execution.Execution;
+
+/**
+ * Decorates a BPMN node entity before its execution. Decorators are prepared
+ * once per deployed node by an {@link ExecutionInterceptor} and applied to
+ * each execution of the node.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ExecutionDecorator {
+
+    /** decorator which returns the entity unchanged */
+    ExecutionDecorator NONE = (execution, entity) -> entity;
+
+    /**
+     * Decorates the given entity for the given execution.
+     *
+     * @param execution the execution instance
+     * @param entity    the bpmn node entity instance
+     * @return BpmnNodeEntity
+     */
+    BpmnNodeEntity decorate(Execution execution, BpmnNodeEntity entity);
+
+}
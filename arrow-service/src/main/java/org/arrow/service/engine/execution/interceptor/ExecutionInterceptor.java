@@ -39,6 +39,17 @@ public interface ExecutionInterceptor {
 	 */
 	BpmnNodeEntity beforeExecution(Execution execution, BpmnNodeEntity entity);
 
+	/**
+	 * Prepares the decorator applied to each execution of the given deployed
+	 * entity. The default decorator initializes the entity per execution.
+	 *
+	 * @param entity the deployed bpmn node entity instance
+	 * @return ExecutionDecorator
+	 */
+	default ExecutionDecorator prepare(BpmnNodeEntity entity) {
+		return this::beforeExecution;
+	}
+
 	/**
 	 * Initializes the given entity after the execution of it.
 	 * 
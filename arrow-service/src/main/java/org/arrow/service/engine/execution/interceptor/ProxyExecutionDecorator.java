@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.execution.interceptor;
+
+import org.aopalliance.aop.Advice;
+import org.arrow.model.BpmnNodeEntity;
+import org.arrow.runtime.execution.Execution;
+import org.springframework.aop.framework.AdvisedSupport;
+import org.springframework.aop.framework.AdvisorChainFactory;
+import org.springframework.aop.framework.DefaultAdvisorChainFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.framework.ReflectiveMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ExecutionDecorator} implementation which proxies the entity with a
+ * fixed set of advices. The proxy class, the introduction advisors and the
+ * advice chain of each method are resolved once, so that decorating an
+ * entity only instantiates the prepared proxy class for the entity instance.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+public class ProxyExecutionDecorator implements ExecutionDecorator {
+
+    private final Class<?> targetClass;
+    private final Advice[] advices;
+
+    private final AdvisedSupport config;
+    private final Constructor<?> proxyConstructor;
+    private final AdvisorChainFactory advisorChainFactory = new DefaultAdvisorChainFactory();
+    private final Map<Method, List<Object>> chains = new ConcurrentHashMap<>();
+
+    public ProxyExecutionDecorator(BpmnNodeEntity entity, Advice... advices) {
+        this.targetClass = entity.getClass();
+        this.advices = advices;
+
+        this.config = new AdvisedSupport(ClassUtils.getAllInterfacesForClass(targetClass));
+        this.config.addInterface(BpmnNodeEntity.class);
+        for (Advice advice : advices) {
+            this.config.addAdvice(advice);
+        }
+
+        ClassLoader classLoader = targetClass.getClassLoader();
+        try {
+            Class<?> proxyClass = Proxy.getProxyClass(classLoader, config.getProxiedInterfaces());
+            this.proxyConstructor = proxyClass.getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BpmnNodeEntity decorate(Execution execution, BpmnNodeEntity entity) {
+
+        // the entity type differs from the prepared one
+        if (entity.getClass() != targetClass) {
+            ProxyFactory factory = new ProxyFactory(entity);
+            factory.addInterface(BpmnNodeEntity.class);
+            for (Advice advice : advices) {
+                factory.addAdvice(advice);
+            }
+            return (BpmnNodeEntity) factory.getProxy();
+        }
+
+        try {
+            return (BpmnNodeEntity) proxyConstructor.newInstance(new EntityInvocationHandler(entity));
+        } catch (ReflectiveOperationException e) {
+            ReflectionUtils.handleReflectionException(e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the advice chain of the given method, shared by all proxies of
+     * the decorator.
+     *
+     * @param method the invoked method
+     * @return List
+     */
+    private List<Object> getChain(Method method) {
+        return chains.computeIfAbsent(method, m -> advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(config, m, targetClass));
+    }
+
+    /**
+     * {@link InvocationHandler} implementation which invokes the prepared
+     * advice chain on a single entity instance.
+     */
+    private class EntityInvocationHandler implements InvocationHandler {
+
+        private final BpmnNodeEntity target;
+
+        EntityInvocationHandler(BpmnNodeEntity target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            if (ReflectionUtils.isEqualsMethod(method)) {
+                Object other = args[0];
+                if (other == null || !Proxy.isProxyClass(other.getClass())) {
+                    return false;
+                }
+                InvocationHandler handler = Proxy.getInvocationHandler(other);
+                return handler instanceof EntityInvocationHandler && target.equals(((EntityInvocationHandler) handler).target);
+            }
+            if (ReflectionUtils.isHashCodeMethod(method)) {
+                return target.hashCode();
+            }
+
+            List<Object> chain = getChain(method);
+            Object retVal = chain.isEmpty()
+                    ? AopUtils.invokeJoinpointUsingReflection(target, method, args)
+                    : new EntityMethodInvocation(proxy, target, method, args, targetClass, chain).proceed();
+
+            // the target must not escape a method returning 'this'
+            return retVal == target && method.getReturnType().isInstance(proxy) ? proxy : retVal;
+        }
+
+    }
+
+    /**
+     * {@link ReflectiveMethodInvocation} implementation which exposes the
+     * protected constructor to the {@link EntityInvocationHandler}.
+     */
+    private static class EntityMethodInvocation extends ReflectiveMethodInvocation {
+
+        EntityMethodInvocation(Object proxy, Object target, Method method, Object[] args, Class<?> targetClass, List<Object> chain) {
+            super(proxy, target, method, args, targetClass, chain);
+        }
+
+    }
+
+}
@@ -30,12 +30,15 @@ import org.arrow.model.definition.multiple.MultipleEventAware;
 import org.arrow.model.event.boundary.BoundaryEvent;
 import org.arrow.model.event.boundary.BoundaryEventAware;
 import org.arrow.model.event.boundary.impl.ErrorBoundaryEvent;
+import org.arrow.model.task.Task;
 import org.arrow.util.FutureUtil;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.State;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EventMessage;
+import org.arrow.service.engine.execution.interceptor.ExecutionDecorator;
 import org.arrow.service.engine.execution.interceptor.ExecutionInterceptor;
+import org.arrow.service.engine.execution.interceptor.ProxyExecutionDecorator;
 import org.arrow.service.engine.util.PublishErrorEventMethodInterceptor;
 
 import scala.concurrent.Future;
@@ -69,13 +72,27 @@ public class BoundaryEventAwareInitializer implements ExecutionInterceptor {
         return (BpmnNodeEntity) factory.getProxy();
     }
 
+    /**
+     * {@inheritDoc}
+     * Only entities with an error boundary event are proxied, the error
+     * publishing advice is shared by all executions of the node.
+     */
+    @Override
+    public ExecutionDecorator prepare(BpmnNodeEntity entity) {
+
+        if (hasErrorEventDefinition((BoundaryEventAware) entity)) {
+            return new ProxyExecutionDecorator(entity, new PublishErrorEventMethodInterceptor());
+        }
+        return ExecutionDecorator.NONE;
+    }
+
     /**
      * Indicates if the given {@link BoundaryEventAware} instance has an error event definition.
      *
      * @param bea the boundary event aware instance
      * @return boolean
      */
-    private boolean hasErrorEventDefinition(BoundaryEventAware bea) {
+    boolean hasErrorEventDefinition(BoundaryEventAware bea) {
         Assert.notNull(bea);
         Set<BoundaryEvent> events = bea.getBoundaryEvents();
 
@@ -96,6 +113,22 @@ public class BoundaryEventAwareInitializer implements ExecutionInterceptor {
      */
     @Override
     public boolean supports(Object entity) {
+        // multi instance tasks are intercepted by the
+        // MultiInstanceLoopCharacteristicsExecutionInterceptor, which
+        // applies the boundary event handling as well
+        if (entity instanceof Task && ((Task) entity).getMultiInstanceLoopCharacteristics() != null) {
+            return false;
+        }
+        return hasBoundaryEvents(entity);
+    }
+
+    /**
+     * Indicates if the given entity has attached boundary events.
+     *
+     * @param entity the entity instance
+     * @return boolean
+     */
+    boolean hasBoundaryEvents(Object entity) {
         if (entity instanceof BoundaryEventAware) {
             BoundaryEventAware bea = (BoundaryEventAware) entity;
             return !CollectionUtils.isEmpty(bea.getBoundaryEvents());
@@ -42,6 +42,9 @@ import org.arrow.runtime.message.impl.DefaultFinishEventMessage;
 import org.arrow.runtime.message.infrastructure.PersistEventMessage;
 import org.arrow.service.engine.concurrent.dispatch.onsuccess.SaveNodeOnSuccess;
 import org.arrow.service.engine.execution.interceptor.AbstractExecutionInterceptor;
+import org.arrow.service.engine.execution.interceptor.ExecutionDecorator;
+import org.arrow.service.engine.execution.interceptor.ProxyExecutionDecorator;
+import org.arrow.util.IterableUtils;
 import scala.concurrent.Future;
 
 import java.util.ArrayList;
@@ -80,6 +83,14 @@ public class CompensateTaskInitializer extends AbstractExecutionInterceptor {
         return (BpmnNodeEntity) factory.getProxy();
 	}
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionDecorator prepare(BpmnNodeEntity entity) {
+        return new ProxyExecutionDecorator(entity, new CompensateTaskAdvice());
+    }
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -88,7 +99,7 @@ public class CompensateTaskInitializer extends AbstractExecutionInterceptor {
 
 		if (entity instanceof Task) {
             IncomingFlowAware ifa = (IncomingFlowAware) entity;
-            Iterator<? extends Flow> iterator = ifa.getIncomingFlows().iterator();
+            Iterator<? extends Flow> iterator = IterableUtils.emptyIfNull(ifa.getIncomingFlows()).iterator();
 
             if (!iterator.hasNext()) {
                 return false;
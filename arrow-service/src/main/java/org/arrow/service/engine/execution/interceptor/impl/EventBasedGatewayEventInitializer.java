@@ -38,6 +38,9 @@ import org.arrow.runtime.message.impl.DefaultFinishEventMessage;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.infrastructure.PersistEventMessage;
 import org.arrow.service.engine.execution.interceptor.AbstractExecutionInterceptor;
+import org.arrow.service.engine.execution.interceptor.ExecutionDecorator;
+import org.arrow.service.engine.execution.interceptor.ProxyExecutionDecorator;
+import org.arrow.util.IterableUtils;
 import scala.concurrent.Future;
 
 import java.util.Iterator;
@@ -72,6 +75,14 @@ public class EventBasedGatewayEventInitializer extends AbstractExecutionIntercep
         return (BpmnNodeEntity) factory.getProxy();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionDecorator prepare(BpmnNodeEntity entity) {
+        return new ProxyExecutionDecorator(entity, new NotifyEventBasedGatewayAdvice());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -80,7 +91,7 @@ public class EventBasedGatewayEventInitializer extends AbstractExecutionIntercep
 
         if (entity instanceof IntermediateCatchEvent) {
             IncomingFlowAware ifa = (IncomingFlowAware) entity;
-            Iterator<? extends Flow> iterator = ifa.getIncomingFlows().iterator();
+            Iterator<? extends Flow> iterator = IterableUtils.emptyIfNull(ifa.getIncomingFlows()).iterator();
 
             if (!iterator.hasNext()) {
                 return false;
@@ -16,34 +16,65 @@
 
 package org.arrow.service.engine.execution.interceptor.impl;
 
+import akka.actor.ActorRef;
 import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
 import org.aopalliance.aop.Advice;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
 import org.arrow.model.BpmnNodeEntity;
+import org.arrow.model.task.AbstractTask;
 import org.arrow.model.task.Task;
-import org.arrow.model.task.multi.LoopCardinality;
+import org.arrow.model.task.impl.BusinessRuleTask;
+import org.arrow.model.task.impl.ScriptTask;
 import org.arrow.model.task.multi.MultiInstanceLoopCharacteristics;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.execution.Execution;
-import org.arrow.runtime.mapper.IterableOfIterable2IterableMessageMapper;
+import org.arrow.runtime.execution.listener.ExecutionListener;
+import org.arrow.runtime.execution.service.ExecutionExpressionService;
+import org.arrow.runtime.execution.service.ExecutionService;
+import org.arrow.runtime.support.EngineSynchronizationManager;
+import org.arrow.runtime.support.EngineSynchronizationManagerCallableDecorator;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.service.engine.concurrent.dispatch.onsuccess.PublishEventMessagesOnSuccess;
+import org.arrow.service.engine.execution.impl.MultiInstanceActivity;
 import org.arrow.service.engine.execution.interceptor.AbstractExecutionInterceptor;
+import org.arrow.service.engine.execution.interceptor.ExecutionDecorator;
 import org.arrow.service.engine.execution.interceptor.ExecutionInterceptor;
-import scala.concurrent.Await;
+import org.arrow.service.engine.execution.interceptor.ProxyExecutionDecorator;
+import org.arrow.service.engine.util.PublishErrorEventMethodInterceptor;
+import org.arrow.util.FutureUtil;
+import scala.concurrent.ExecutionContextExecutor;
 import scala.concurrent.Future;
-import scala.concurrent.duration.Duration;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * {@link ExecutionInterceptor} implementation used to support multi instance
- * loop characteristics functionality.
+ * loop characteristics functionality. The instances are either created for
+ * the elements of the collection variable referenced by the loop data input
+ * or for the loop cardinality and are executed by a
+ * {@link MultiInstanceActivity}. Parallel activities are limited to
+ * {@code arrow.multi-instance.parallelism} active instances unless the loop
+ * characteristics configure a parallelism.
+ * <p>
+ * The interceptor handles the boundary events of the task as well, see
+ * {@link BoundaryEventAwareInitializer}.
  *
  * @author christian.weber
  * @since 1.0.0
@@ -51,8 +82,14 @@ import java.util.List;
 @Component
 public class MultiInstanceLoopCharacteristicsExecutionInterceptor extends AbstractExecutionInterceptor {
 
+    private static final String DEFAULT_ITEM_NAME = "item";
+
     @Autowired
     private ApplicationContext context;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private BoundaryEventAwareInitializer boundaryEventInitializer;
 
     /**
      * {@inheritDoc}
@@ -66,16 +103,58 @@ public class MultiInstanceLoopCharacteristicsExecutionInterceptor extends Abstra
         characteristics = task.getMultiInstanceLoopCharacteristics();
 
         ProxyFactory factory = new ProxyFactory(task);
-
-        // Loop Cardinality
-        if (characteristics.getLoopCardinality() != null) {
-            Advice advice = new LoopCardinalityAdvice(characteristics);
+        for (Advice advice : getAdvices(task)) {
             factory.addAdvice(advice);
         }
 
         return (BpmnNodeEntity) factory.getProxy();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ExecutionDecorator prepare(BpmnNodeEntity entity) {
+
+        List<Advice> advices = getAdvices((Task) entity);
+        if (advices.isEmpty()) {
+            return ExecutionDecorator.NONE;
+        }
+        return new ProxyExecutionDecorator(entity, advices.toArray(new Advice[advices.size()]));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<Iterable<EventMessage>> afterExecution(Execution execution, BpmnNodeEntity entity) {
+        if (boundaryEventInitializer.hasBoundaryEvents(entity)) {
+            return boundaryEventInitializer.afterExecution(execution, entity);
+        }
+        return super.afterExecution(execution, entity);
+    }
+
+    /**
+     * Returns the advices of the given task. The error publishing advice of
+     * an attached error boundary event handles the failures of the instances.
+     *
+     * @param task the task
+     * @return List
+     */
+    private List<Advice> getAdvices(Task task) {
+
+        List<Advice> advices = new ArrayList<>();
+        if (boundaryEventInitializer.hasErrorEventDefinition(task)) {
+            advices.add(new PublishErrorEventMethodInterceptor());
+        }
+
+        MultiInstanceLoopCharacteristics characteristics = task.getMultiInstanceLoopCharacteristics();
+        if (isMultiInstance(characteristics)) {
+            advices.add(new MultiInstanceAdvice(characteristics));
+        }
+        return advices;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -89,18 +168,33 @@ public class MultiInstanceLoopCharacteristicsExecutionInterceptor extends Abstra
         return false;
     }
 
+    /**
+     * Indicates if the given loop characteristics define the instances either
+     * by a loop cardinality or by a loop data input.
+     *
+     * @param characteristics the multi instance loop characteristics
+     * @return boolean
+     */
+    private static boolean isMultiInstance(MultiInstanceLoopCharacteristics characteristics) {
+        return characteristics.getLoopCardinality() != null
+                || !StringUtils.isEmpty(characteristics.getLoopDataInputRef());
+    }
+
     /**
      * {@link MethodInterceptor} implementation designed to support multi
-     * instance loop characteristics mechanisms.
+     * instance loop characteristics mechanisms. The body of the task is
+     * executed once per instance execution, the messages of an instance are
+     * published as soon as it is completed. The execution of the task itself
+     * is finished once, as soon as the multi instance activity is completed.
      *
      * @author christian.weber
      * @since 1.0.0
      */
-    public class LoopCardinalityAdvice implements MethodInterceptor {
+    public class MultiInstanceAdvice implements MethodInterceptor {
 
         private final MultiInstanceLoopCharacteristics loopCharacteristics;
 
-        public LoopCardinalityAdvice(
+        public MultiInstanceAdvice(
                 MultiInstanceLoopCharacteristics loopCharacteristics) {
             this.loopCharacteristics = loopCharacteristics;
         }
@@ -109,37 +203,146 @@ public class MultiInstanceLoopCharacteristicsExecutionInterceptor extends Abstra
          * {@inheritDoc}
          */
         @Override
-        @SuppressWarnings("unchecked")
         public Object invoke(MethodInvocation invocation) throws Throwable {
 
             if (!invocation.getMethod().getName().equals("execute")) {
                 return invocation.proceed();
             }
 
-            LoopCardinality lc = loopCharacteristics.getLoopCardinality();
+            final Execution execution = (Execution) invocation.getArguments()[0];
+            final ExecutionService service = (ExecutionService) invocation.getArguments()[1];
+            final AbstractTask task = (AbstractTask) invocation.getThis();
+
+            for (ExecutionListener listener : task.getExecutionListeners()) {
+                listener.onExecute(execution, service);
+            }
+            if (!task.isJoined()) {
+                return FutureUtil.result();
+            }
+
+            final ExecutionContextExecutor ec = context.getBean(ActorSystem.class).dispatcher();
+            final ExecutionContextExecutor instanceEc = getInstanceExecutionContext(task, ec);
 
-            List<Future<Iterable<EventMessage>>> futures = new ArrayList<>();
+            // the instances are executed on threads without engine synchronization values
+            final Map<String, Object> scopeMap = EngineSynchronizationManager.getProcessScope();
+            final ActorRef actorRef = EngineSynchronizationManager.getCurrentActor();
+            final String piId = EngineSynchronizationManager.getProcessInstanceId();
 
-            for (int i = 0; i < lc.getCardinality(); i++) {
+            final PublishEventMessagesOnSuccess publish = new PublishEventMessagesOnSuccess(context, actorRef);
 
-                // handle sequential loop
-                if (loopCharacteristics.isSequential()) {
-                    Future<Iterable<EventMessage>> future = (Future<Iterable<EventMessage>>) invocation.proceed();
-                    Await.result(future, Duration.Inf());
-                    futures.add(future);
-                }
-                // handle parallel loop
-                else {
-                    futures.add((Future<Iterable<EventMessage>>) invocation.proceed());
+            MultiInstanceActivity activity = new MultiInstanceActivity(execution, getItems(execution), getItemName(),
+                    getParallelism(), loopCharacteristics.getBehavior(), instance -> {
+
+                Callable<Future<Iterable<EventMessage>>> callable = () -> task.executeBody(instance, service);
+                callable = new EngineSynchronizationManagerCallableDecorator<>(scopeMap, callable, actorRef, piId);
+
+                return Futures.future(callable, instanceEc).flatMap(new Mapper<Future<Iterable<EventMessage>>, Future<Iterable<EventMessage>>>() {
+                    @Override
+                    public Future<Iterable<EventMessage>> apply(Future<Iterable<EventMessage>> future) {
+                        return future;
+                    }
+                }, instanceEc);
+            }, instance -> isCompletionConditionFulfilled(instance, service), publish::onSuccess, ec);
+
+            // finish the execution of the task after the last instance
+            return activity.start().flatMap(new Mapper<Integer, Future<Iterable<EventMessage>>>() {
+                @Override
+                public Future<Iterable<EventMessage>> apply(Integer nrOfCompletedInstances) {
+                    Future<Iterable<EventMessage>> future = task.finish(execution, service);
+
+                    // an interrupting boundary event may have been triggered in the meantime
+                    if (boundaryEventInitializer.hasBoundaryEvents(task)) {
+                        return FutureUtil.sequenceResult(ec, future, boundaryEventInitializer.afterExecution(execution, task));
+                    }
+                    return future;
                 }
+            }, ec);
+        }
+
+        /**
+         * Returns the items an instance is created for, either the elements of
+         * the loop data input collection or the loop cardinality count.
+         *
+         * @param execution the execution of the task
+         * @return List
+         */
+        private List<?> getItems(Execution execution) {
+
+            String loopDataInputRef = loopCharacteristics.getLoopDataInputRef();
+            if (StringUtils.isEmpty(loopDataInputRef)) {
+                return Collections.nCopies(loopCharacteristics.getLoopCardinality().getCardinality(), null);
             }
 
-            ActorSystem system = context.getBean(ActorSystem.class);
+            Object items = execution.getVariable(loopDataInputRef);
+            Assert.notNull(items, "no loop data input variable " + loopDataInputRef);
 
-            Future<Iterable<Iterable<EventMessage>>> sequence;
-            sequence = Futures.sequence(futures, system.dispatcher());
+            if (ObjectUtils.isArray(items)) {
+                return CollectionUtils.arrayToList(items);
+            }
+            Assert.isInstanceOf(Collection.class, items, "loop data input " + loopDataInputRef);
+            return new ArrayList<>((Collection<?>) items);
+        }
+
+        /**
+         * Returns the local variable name of the instance item, null if the
+         * instances are created for the loop cardinality.
+         *
+         * @return String
+         */
+        private String getItemName() {
+            if (StringUtils.isEmpty(loopCharacteristics.getLoopDataInputRef())) {
+                return null;
+            }
+            String inputDataItem = loopCharacteristics.getInputDataItem();
+            return StringUtils.isEmpty(inputDataItem) ? DEFAULT_ITEM_NAME : inputDataItem;
+        }
+
+        /**
+         * Returns the maximum count of active instances.
+         *
+         * @return int
+         */
+        private int getParallelism() {
+            if (loopCharacteristics.isSequential()) {
+                return 1;
+            }
+            if (loopCharacteristics.getParallelism() > 0) {
+                return loopCharacteristics.getParallelism();
+            }
+            return environment.getProperty("arrow.multi-instance.parallelism", Integer.class, 64);
+        }
+
+        /**
+         * Scripts and business rules of the instances are evaluated on the
+         * evaluation dispatcher, all other tasks on the default dispatcher.
+         *
+         * @param entity the task
+         * @param ec     the default dispatcher
+         * @return ExecutionContextExecutor
+         */
+        private ExecutionContextExecutor getInstanceExecutionContext(BpmnNodeEntity entity, ExecutionContextExecutor ec) {
+            if (entity instanceof ScriptTask || entity instanceof BusinessRuleTask) {
+                return context.getBean(EngineDispatchers.class).evaluation();
+            }
+            return ec;
+        }
+
+        /**
+         * Evaluates the completion condition for the given completed instance.
+         *
+         * @param instance the instance execution
+         * @param service  the execution service
+         * @return boolean
+         */
+        private boolean isCompletionConditionFulfilled(Execution instance, ExecutionService service) {
+
+            String condition = loopCharacteristics.getCompletionCondition();
+            if (StringUtils.isEmpty(condition)) {
+                return false;
+            }
 
-            return sequence.map(IterableOfIterable2IterableMessageMapper.INSTANCE, system.dispatcher());
+            ExecutionExpressionService expressions = service.expression();
+            return Boolean.TRUE.equals(expressions.evaluate(condition, condition, expressions.createContext(instance), Boolean.class));
         }
 
     }
@@ -16,6 +16,8 @@
 
 package org.arrow.service.engine.execution.interceptor.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import akka.dispatch.Futures;
@@ -47,7 +49,9 @@ import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.DefaultContinueEventMessage;
+import org.arrow.service.engine.execution.interceptor.ExecutionDecorator;
 import org.arrow.service.engine.execution.interceptor.ExecutionInterceptor;
+import org.arrow.service.engine.execution.interceptor.ProxyExecutionDecorator;
 import scala.concurrent.Future;
 
 /**
@@ -76,20 +80,50 @@ public class MultipleEventAwareInitializer implements ExecutionInterceptor {
 
 		Assert.notNull(definitions);
 
-		if (mea.isThrowing()) {
-			return initializeThrowingEvent(entity, definitions);
+		ProxyFactory factory = new ProxyFactory(entity);
+		for (Advice advice : getAdvices(mea, definitions)) {
+			factory.addAdvice(advice);
+		}
+		factory.addInterface(BpmnNodeEntity.class);
+		return (BpmnNodeEntity) factory.getProxy();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * The event handler and publisher introductions only depend on the event
+	 * definitions of the node, they are shared by all executions of it.
+	 */
+	@Override
+	public ExecutionDecorator prepare(BpmnNodeEntity entity) {
+
+		MultipleEventAware mea = (MultipleEventAware) entity;
+		Set<EventDefinition> definitions = mea.getEventDefinitions();
+
+		if (definitions == null) {
+			return this::beforeExecution;
 		}
-		return initializeCatchingEvent(entity, definitions);
+		return new ProxyExecutionDecorator(entity, getAdvices(mea, definitions));
 	}
 
 	/**
-	 * Initializes a throwing multiple event.
+	 * Returns the introductions of the given multiple event.
 	 *
-	 * @return BpmnNodeEntity
+	 * @return Advice[]
 	 */
-	private BpmnNodeEntity initializeThrowingEvent(BpmnNodeEntity entity, Set<EventDefinition> definitions) {
+	private Advice[] getAdvices(MultipleEventAware mea, Set<EventDefinition> definitions) {
 
-		ProxyFactory factory = new ProxyFactory(entity);
+		List<Advice> advices = mea.isThrowing() ? getThrowingEventAdvices(definitions) : getCatchingEventAdvices(definitions);
+		return advices.toArray(new Advice[advices.size()]);
+	}
+
+	/**
+	 * Returns the introductions of a throwing multiple event.
+	 *
+	 * @return List
+	 */
+	private List<Advice> getThrowingEventAdvices(Set<EventDefinition> definitions) {
+
+		List<Advice> advices = new ArrayList<>();
 
 		for (EventDefinition definition : definitions) {
 
@@ -97,43 +131,42 @@ public class MultipleEventAwareInitializer implements ExecutionInterceptor {
 			if (definition instanceof SignalEventDefinition) {
 				SignalEventDefinition def = (SignalEventDefinition) definition;
 				Advice advice = new SignalEventPublisherIntroduction(def);
-				factory.addAdvice(advice);
+				advices.add(advice);
 			}
 
 			// Message event definition
 			else if (definition instanceof MessageEventDefinition) {
 				MessageEventDefinition def = (MessageEventDefinition) definition;
 				Advice advice = new MessageEventPublisherIntroduction(def);
-				factory.addAdvice(advice);
+				advices.add(advice);
 			}
 
 			// Timer event definition
 			else if (definition instanceof TimerEventDefinition) {
 				TimerEventDefinition def = (TimerEventDefinition) definition;
 				Advice advice = new TimerEventPublisherIntroduction(def);
-				factory.addAdvice(advice);
+				advices.add(advice);
 			}
 
 			// Conditional event definition
 			else if (definition instanceof ConditionalEventDefinition) {
 				ConditionalEventDefinition def = (ConditionalEventDefinition) definition;
 				Advice advice = new ConditionalEventPublisherIntroduction(def);
-				factory.addAdvice(advice);
+				advices.add(advice);
 			}
 
 		}
-		factory.addInterface(BpmnNodeEntity.class);
-		return (BpmnNodeEntity) factory.getProxy();
+		return advices;
 	}
 
 	/**
-	 * Initializes a catching multiple event.
+	 * Returns the introductions of a catching multiple event.
 	 *
-	 * @return BpmnNodeEntity
+	 * @return List
 	 */
-	private BpmnNodeEntity initializeCatchingEvent(BpmnNodeEntity entity, Set<EventDefinition> definitions) {
+	private List<Advice> getCatchingEventAdvices(Set<EventDefinition> definitions) {
 
-		ProxyFactory factory = new ProxyFactory(entity);
+		List<Advice> advices = new ArrayList<>();
 
 		for (EventDefinition definition : definitions) {
 
@@ -141,34 +174,32 @@ public class MultipleEventAwareInitializer implements ExecutionInterceptor {
 			if (definition instanceof SignalEventDefinition) {
 				SignalEventDefinition def = (SignalEventDefinition) definition;
 				Advice advice = new SignalEventHandlerIntroduction(def);
-				factory.addAdvice(advice);
+				advices.add(advice);
 			}
 
 			// Message event definition
 			else if (definition instanceof MessageEventDefinition) {
 				MessageEventDefinition def = (MessageEventDefinition) definition;
 				Advice advice = new MessageEventHandlerIntroduction(def);
-				factory.addAdvice(advice);
+				advices.add(advice);
 			}
 
 			// Timer event definition
 			else if (definition instanceof TimerEventDefinition) {
 				TimerEventDefinition def = (TimerEventDefinition) definition;
 				Advice advice = new TimerEventHandlerIntroduction(def);
-				factory.addAdvice(advice);
+				advices.add(advice);
 			}
 
 			// Conditional event definition
 			else if (definition instanceof ConditionalEventDefinition) {
 				ConditionalEventDefinition def = (ConditionalEventDefinition) definition;
 				Advice advice = new ConditionalEventHandlerIntroduction(def);
-				factory.addAdvice(advice);
+				advices.add(advice);
 			}
 
 		}
-		factory.addInterface(BpmnNodeEntity.class);
-		return (BpmnNodeEntity) factory.getProxy();
-
+		return advices;
 	}
 
 	/**
@@ -16,6 +16,7 @@
 
 package org.arrow.service.engine.util;
 
+import akka.dispatch.Recover;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.arrow.runtime.execution.Execution;
@@ -24,12 +25,15 @@ import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.logger.LoggerFacade;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.ErrorEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.util.FutureUtil;
+import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
 
 /**
  * AOP advice implementation used to publish error events in case of 'task'
- * errors.
+ * errors, either thrown by the task or failing its future result, e.g. the
+ * timeout of an asynchronous service task.
  * 
  * @author christian.weber
  * @since 1.0.0
@@ -44,19 +48,43 @@ public class PublishErrorEventMethodInterceptor implements MethodInterceptor {
 	@Override
 	public Object invoke(MethodInvocation mi) throws Throwable {
 		try {
-			return mi.proceed();
+			Object result = mi.proceed();
+			if (result instanceof Future && isTaskMethod(mi)) {
+				return recover(mi, (Future<?>) result);
+			}
+			return result;
 		} catch (Throwable ex) {
 			LOGGER.error(ex);
 			return handleException(mi, ex);
 		}
 	}
 	
+	private boolean isTaskMethod(MethodInvocation mi) {
+		Object[] args = mi.getArguments();
+		return args.length == 2 && args[0] instanceof Execution && args[1] instanceof ExecutionService;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Future<Iterable<EventMessage>> recover(final MethodInvocation mi, Future<?> future) {
+		final ExecutionService service = (ExecutionService) mi.getArguments()[1];
+		ExecutionContext ec = service.getBean(EngineDispatchers.class).persistence();
+
+		return ((Future<Iterable<EventMessage>>) future).recoverWith(new Recover<Future<Iterable<EventMessage>>>() {
+			@Override
+			public Future<Iterable<EventMessage>> recover(Throwable ex) {
+				LOGGER.error(ex);
+				return handleException(mi, ex);
+			}
+		}, ec);
+	}
+
 	private Future<Iterable<EventMessage>> handleException(MethodInvocation mi, Throwable ex) {
 		final Execution taskExecution = (Execution) mi.getArguments()[0];
 		final ExecutionService service = (ExecutionService) mi.getArguments()[1];
 
-		// update the task execution
+		// update the task execution, the outgoing flows are not taken
 		taskExecution.setState(State.FAILURE);
+		taskExecution.getEnabledFlowIdsContainer().clear();
 		service.saveEntity(taskExecution);
 
 		// publish the error event
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.microservice.impl.bulk;
+
+import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
+import org.arrow.data.neo4j.store.ProcessInstanceStore;
+import org.arrow.runtime.api.StartEventSpecification;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController;
+import org.arrow.service.engine.concurrent.dispatch.onfailure.PrintStacktraceOnFailure;
+import org.arrow.service.engine.concurrent.dispatch.onsuccess.PublishEventMessagesOnSuccess;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Starts many process instances of the same start events at once. The start
+ * events are resolved once, the process instances are stored in chunks of
+ * {@code arrow.bulk.chunk-size} instances per transaction and each chunk is
+ * admitted and handed to the engine as a whole. A chunk acquires one
+ * admission permit per process instance, so the chunks are never larger
+ * than the maximum of in-flight process instances.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Service
+public class BulkProcessStartingService {
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private ProcessInstanceStore piStore;
+    @Autowired
+    private EngineDispatchers dispatchers;
+    @Autowired
+    private ProcessAdmissionController admissionController;
+
+    /**
+     * Starts a process instance for each of the given variables maps. The
+     * returned list contains one future per variables map, completing with
+     * the start event messages of its process instances.
+     *
+     * @param startEvents the callable which resolves the start events
+     * @param variables   the variables maps
+     * @return List
+     */
+    public List<Future<Iterable<EventMessage>>> start(Callable<List<StartEventSpecification>> startEvents,
+                                                      Iterable<Map<String, Object>> variables) {
+
+        final ExecutionContext ec = dispatchers.persistence();
+        final int chunkSize = chunkSize();
+
+        // resolve the start events once for all chunks
+        final Future<List<StartEventSpecification>> events = Futures.future(startEvents, ec);
+
+        List<Future<Iterable<EventMessage>>> futures = new ArrayList<>();
+        List<Map<String, Object>> chunk = new ArrayList<>(chunkSize);
+
+        for (Map<String, Object> map : variables) {
+            chunk.add(map);
+            if (chunk.size() == chunkSize) {
+                futures.addAll(start(events, chunk));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            futures.addAll(start(events, chunk));
+        }
+        return futures;
+    }
+
+    /**
+     * Stores and publishes the given chunk and splits the result into one
+     * future per variables map.
+     */
+    private List<Future<Iterable<EventMessage>>> start(final Future<List<StartEventSpecification>> events,
+                                                       final List<Map<String, Object>> chunk) {
+
+        final ExecutionContext ec = dispatchers.persistence();
+
+        Future<Iterable<EventMessage>> messages = admissionController.admit(chunk.size(), () -> events.flatMap(
+                new Mapper<List<StartEventSpecification>, Future<Iterable<EventMessage>>>() {
+                    @Override
+                    public Future<Iterable<EventMessage>> apply(List<StartEventSpecification> startEvents) {
+                        return Futures.future(() -> store(startEvents, chunk), ec);
+                    }
+                }, ec));
+
+        // register success/failure hooks
+        messages.onSuccess(new PublishEventMessagesOnSuccess(context), ec);
+        messages.onFailure(new PrintStacktraceOnFailure(), ec);
+
+        List<Future<Iterable<EventMessage>>> futures = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            futures.add(messages.map(new ChunkMapper(i, chunk.size()), ec));
+        }
+        return futures;
+    }
+
+    /**
+     * Returns the configured chunk size, limited by the maximum of in-flight
+     * process instances.
+     */
+    private int chunkSize() {
+        int chunkSize = Math.max(1, environment.getProperty("arrow.bulk.chunk-size", Integer.class, 100));
+        int maxInFlight = admissionController.getMaxInFlight();
+        return maxInFlight > 0 ? Math.min(chunkSize, maxInFlight) : chunkSize;
+    }
+
+    /**
+     * Stores the process instances of the chunk, one transaction per start
+     * event. The messages are ordered by start event and variables map.
+     */
+    private Iterable<EventMessage> store(List<StartEventSpecification> startEvents, List<Map<String, Object>> chunk) {
+        List<EventMessage> messages = new ArrayList<>(startEvents.size() * chunk.size());
+        for (StartEventSpecification startEvent : startEvents) {
+            for (ProcessInstance pi : piStore.store(startEvent, chunk)) {
+                messages.add(new StartEventMessage(startEvent, pi));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Maps the messages of a chunk to the messages of a single variables map.
+     */
+    private static class ChunkMapper extends Mapper<Iterable<EventMessage>, Iterable<EventMessage>> {
+
+        private final int index;
+        private final int size;
+
+        private ChunkMapper(int index, int size) {
+            this.index = index;
+            this.size = size;
+        }
+
+        @Override
+        public Iterable<EventMessage> apply(Iterable<EventMessage> messages) {
+            List<EventMessage> list = (List<EventMessage>) messages;
+            if (list.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            List<EventMessage> result = new ArrayList<>();
+            for (int i = index; i < list.size(); i += size) {
+                result.add(list.get(i));
+            }
+            return result;
+        }
+    }
+
+}
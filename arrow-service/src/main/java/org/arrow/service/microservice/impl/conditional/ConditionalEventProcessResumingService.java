@@ -16,13 +16,13 @@
 
 package org.arrow.service.microservice.impl.conditional;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.apache.log4j.Logger;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.service.data.ExecutionRepository;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.ConditionEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,12 +52,12 @@ public class ConditionalEventProcessResumingService implements EventMessageServi
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(ConditionalEventRequest request) {
 
-        // get the actor system from the IoC container
-        ActorSystem system = context.getBean(ActorSystem.class);
+        // get the engine dispatchers from the IoC container
+        EngineDispatchers dispatchers = context.getBean(EngineDispatchers.class);
 
         // execute the callable instance
         ConditionalEventResumingCallable call = new ConditionalEventResumingCallable(request);
-        return Futures.future(call, system.dispatcher());
+        return Futures.future(call, dispatchers.persistence());
     }
 
     private class ConditionalEventResumingCallable implements Callable<Iterable<EventMessage>> {
@@ -16,7 +16,6 @@
 
 package org.arrow.service.microservice.impl.conditional;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.arrow.data.neo4j.store.ProcessInstanceStore;
 import org.arrow.runtime.api.StartEventSpecification;
@@ -24,6 +23,7 @@ import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.service.data.StartEventRepository;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,12 +55,12 @@ public class ConditionalEventProcessStartingService implements EventMessageServi
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(ConditionalEventRequest request) {
 
-        // get the actor system from the IoC container
-        ActorSystem system = context.getBean(ActorSystem.class);
+        // get the engine dispatchers from the IoC container
+        EngineDispatchers dispatchers = context.getBean(EngineDispatchers.class);
 
         // execute the callable instance
         EventMessageCallable call = new EventMessageCallable(request);
-        return Futures.future(call, system.dispatcher());
+        return Futures.future(call, dispatchers.persistence());
     }
 
     /**
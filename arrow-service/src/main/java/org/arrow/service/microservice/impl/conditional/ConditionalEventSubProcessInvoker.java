@@ -16,7 +16,6 @@
 
 package org.arrow.service.microservice.impl.conditional;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.arrow.runtime.api.process.ProcessSpecification;
 import org.arrow.runtime.execution.service.data.SubProcessRepository;
@@ -32,6 +31,7 @@ import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.StartSubProcessEventMessage;
 import org.arrow.runtime.support.EngineSynchronizationManager;
 import org.arrow.runtime.support.EngineSynchronizationManagerCallableDecorator;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import scala.concurrent.Future;
@@ -73,12 +73,12 @@ public class ConditionalEventSubProcessInvoker implements EventMessageService<Co
     }
 
     /**
-     * Returns the actor system instance.
+     * Returns the engine dispatchers instance.
      *
-     * @return ActorSystem
+     * @return EngineDispatchers
      */
-    private ActorSystem getActorSystem() {
-        return context.getBean(ActorSystem.class);
+    private EngineDispatchers getEngineDispatchers() {
+        return context.getBean(EngineDispatchers.class);
     }
 
     /**
@@ -86,7 +86,7 @@ public class ConditionalEventSubProcessInvoker implements EventMessageService<Co
      */
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(ConditionalEventRequest request) {
-        return Futures.future(getCallable(request), getActorSystem().dispatcher());
+        return Futures.future(getCallable(request), getEngineDispatchers().persistence());
     }
 
     /**
@@ -68,6 +68,11 @@ public class MessageEventCompoundService implements EventMessageService<MessageE
             return result.map(getMapper(), system.dispatcher());
         }
 
+        if (request.isCorrelated()) {
+            // correlated messages only resume the waiting execution
+            return fallback(service2.getEventMessages(request));
+        }
+
         // composing the service results
         Future<Iterable<EventMessage>> msg1 = fallback(service1.getEventMessages(request));
         Future<Iterable<EventMessage>> msg2 = fallback(service2.getEventMessages(request));
@@ -16,7 +16,6 @@
 
 package org.arrow.service.microservice.impl.message;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.arrow.data.neo4j.store.ProcessInstanceStore;
 import org.arrow.runtime.api.StartEventSpecification;
@@ -24,6 +23,7 @@ import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.service.data.StartEventRepository;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,7 +45,7 @@ import java.util.concurrent.Callable;
 public class MessageEventProcessInvoker implements EventMessageService<MessageEventRequest> {
 
     @Autowired
-    private ActorSystem actorSystem;
+    private EngineDispatchers dispatchers;
     @Autowired
     private StartEventRepository startEventRepository;
     @Autowired
@@ -57,7 +57,7 @@ public class MessageEventProcessInvoker implements EventMessageService<MessageEv
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(MessageEventRequest request) {
         EventMessageCallable call = new EventMessageCallable(request);
-        return Futures.future(call, actorSystem.dispatcher());
+        return Futures.future(call, dispatchers.persistence());
     }
 
     /**
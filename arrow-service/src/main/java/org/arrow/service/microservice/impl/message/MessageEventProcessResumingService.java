@@ -16,15 +16,16 @@
 
 package org.arrow.service.microservice.impl.message;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.MessageCorrelation;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.State;
 import org.arrow.runtime.message.impl.MessageEventMessage;
 import org.arrow.runtime.execution.service.ExecutionService;
 import org.arrow.runtime.support.EngineSynchronizationManagerCallableDecorator;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import scala.concurrent.Future;
@@ -45,7 +46,7 @@ import static org.springframework.util.StringUtils.isEmpty;
 public class MessageEventProcessResumingService implements EventMessageService<MessageEventRequest> {
 
     @Autowired
-    private ActorSystem system;
+    private EngineDispatchers dispatchers;
     @Autowired
     private ExecutionService executionService;
 
@@ -54,7 +55,7 @@ public class MessageEventProcessResumingService implements EventMessageService<M
      */
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(MessageEventRequest request) {
-        return Futures.future(getCallable(request), system.dispatcher());
+        return Futures.future(getCallable(request), dispatchers.persistence());
     }
 
     /**
@@ -94,6 +95,10 @@ public class MessageEventProcessResumingService implements EventMessageService<M
                 return Arrays.asList();
             }
 
+            if (request.isCorrelated()) {
+                return correlate(request);
+            }
+
             final String msgRef = request.getMessageRef();
             final State state = State.WAITING;
 
@@ -112,6 +117,24 @@ public class MessageEventProcessResumingService implements EventMessageService<M
             EventMessage result = new MessageEventMessage(request.getMessageRef(), execution, request.getVariables());
             return Arrays.asList(result);
         }
+
+        /**
+         * Resolves the waiting execution by the correlation key of the
+         * request with a single index lookup.
+         *
+         * @param request the correlated message event request
+         * @return Iterable
+         */
+        private Iterable<EventMessage> correlate(MessageEventRequest request) {
+            String key = MessageCorrelation.key(request.getMessageRef(), request.getCorrelationKeys());
+
+            Execution execution = executionService.data().execution().findByCorrelationKey(key);
+            if (execution == null) {
+                return Arrays.asList();
+            }
+            EventMessage result = new MessageEventMessage(request.getMessageRef(), execution, request.getVariables());
+            return Arrays.asList(result);
+        }
     }
 
 }
@@ -16,7 +16,6 @@
 
 package org.arrow.service.microservice.impl.message;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.StringUtils;
@@ -26,6 +25,7 @@ import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.service.data.TaskRepository;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.arrow.util.FutureUtil;
@@ -46,7 +46,7 @@ import java.util.concurrent.Callable;
 public class MessageEventReceiveTaskService implements EventMessageService<MessageEventRequest> {
 
     @Autowired
-    private ActorSystem actorSystem;
+    private EngineDispatchers dispatchers;
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
@@ -58,7 +58,7 @@ public class MessageEventReceiveTaskService implements EventMessageService<Messa
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(MessageEventRequest request) {
         EventMessageCallable call = new EventMessageCallable(request);
-        return Futures.future(call, actorSystem.dispatcher());
+        return Futures.future(call, dispatchers.persistence());
     }
 
     /**
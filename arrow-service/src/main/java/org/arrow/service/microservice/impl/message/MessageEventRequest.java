@@ -16,6 +16,7 @@
 
 package org.arrow.service.microservice.impl.message;
 
+import java.util.Collections;
 import java.util.Map;
 
 /**
@@ -29,17 +30,24 @@ public class MessageEventRequest {
     private final String messageRef;
     private final Map<String, Object> variables;
     private final boolean startProcess;
+    private final Map<String, Object> correlationKeys;
 
     public MessageEventRequest(String messageRef, Map<String, Object> variables) {
-        this.messageRef = messageRef;
-        this.variables = variables;
-        this.startProcess = false;
+        this(messageRef, variables, false);
     }
 
     public MessageEventRequest(String messageRef, Map<String, Object> variables, boolean startProcess) {
         this.messageRef = messageRef;
         this.variables = variables;
         this.startProcess = startProcess;
+        this.correlationKeys = Collections.emptyMap();
+    }
+
+    public MessageEventRequest(String messageRef, Map<String, Object> correlationKeys, Map<String, Object> variables) {
+        this.messageRef = messageRef;
+        this.variables = variables;
+        this.startProcess = false;
+        this.correlationKeys = correlationKeys == null ? Collections.<String, Object>emptyMap() : correlationKeys;
     }
 
     /**
@@ -68,4 +76,23 @@ public class MessageEventRequest {
     public boolean isStartProcess() {
         return startProcess;
     }
+
+    /**
+     * Returns the correlation values by name.
+     *
+     * @return Map
+     */
+    public Map<String, Object> getCorrelationKeys() {
+        return correlationKeys;
+    }
+
+    /**
+     * Indicates if the message is correlated to a waiting execution by its
+     * correlation keys.
+     *
+     * @return boolean
+     */
+    public boolean isCorrelated() {
+        return !correlationKeys.isEmpty();
+    }
 }
@@ -16,7 +16,6 @@
 
 package org.arrow.service.microservice.impl.message;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.arrow.data.neo4j.store.ProcessInstanceStore;
 import org.arrow.model.event.startevent.StartEvent;
@@ -32,6 +31,7 @@ import org.arrow.runtime.message.impl.EventSubProcessEventMessage;
 import org.arrow.runtime.message.impl.StartSubProcessEventMessage;
 import org.arrow.runtime.support.EngineSynchronizationManager;
 import org.arrow.runtime.support.EngineSynchronizationManagerCallableDecorator;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -54,7 +54,7 @@ import java.util.concurrent.Callable;
 public class MessageEventSubProcessInvoker implements EventMessageService<MessageEventRequest> {
 
     @Autowired
-    private ActorSystem actorSystem;
+    private EngineDispatchers dispatchers;
     @Autowired
     private StartEventRepository startEventRepository;
     @Autowired
@@ -69,7 +69,7 @@ public class MessageEventSubProcessInvoker implements EventMessageService<Messag
      */
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(MessageEventRequest request) {
-        return Futures.future(getCallable(request), actorSystem.dispatcher());
+        return Futures.future(getCallable(request), dispatchers.persistence());
     }
 
     /**
@@ -16,7 +16,6 @@
 
 package org.arrow.service.microservice.impl.none;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.arrow.data.neo4j.store.ProcessInstanceStore;
 import org.arrow.runtime.api.StartEventSpecification;
@@ -24,6 +23,7 @@ import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.service.data.StartEventRepository;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,7 +50,7 @@ public class NoneEventProcessStartingService implements EventMessageService<None
     @Autowired
     private ProcessInstanceStore piStore;
     @Autowired
-    private ActorSystem actorSystem;
+    private EngineDispatchers dispatchers;
 
     /**
      * {@inheritDoc}
@@ -58,7 +58,7 @@ public class NoneEventProcessStartingService implements EventMessageService<None
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(NoneEventRequest request) {
         EventMessageCallable call = new EventMessageCallable(request);
-        return Futures.future(call, actorSystem.dispatcher());
+        return Futures.future(call, dispatchers.persistence());
     }
 
     /**
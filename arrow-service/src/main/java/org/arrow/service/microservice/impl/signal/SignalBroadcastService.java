@@ -0,0 +1,326 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.microservice.impl.signal;
+
+import akka.actor.ActorSystem;
+import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
+import akka.dispatch.OnComplete;
+import akka.dispatch.OnSuccess;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.service.data.ExecutionRepository;
+import org.arrow.runtime.logger.LoggerFacade;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.SignalBroadcast;
+import org.arrow.runtime.message.impl.SignalEventMessage;
+import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController;
+import org.arrow.service.engine.concurrent.dispatch.recover.Recovers;
+import org.arrow.service.engine.concurrent.dispatch.onsuccess.PublishEventMessagesOnSuccess;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+import scala.concurrent.duration.Duration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Broadcasts signals by reference. The waiting executions of the signal are
+ * streamed page by page, each page of {@code arrow.signal.batch-size}
+ * executions is published as one batch. A broadcast pauses while more than
+ * {@code arrow.signal.max-in-flight} of its signal events are not handled
+ * yet and continues as soon as the node actors acknowledge them, so that a
+ * signal to many executions neither loads all of them at once nor floods
+ * the actor mailboxes. An acknowledgement missing for
+ * {@code arrow.signal.ack-timeout} milliseconds continues the broadcast
+ * anyway. Signal start events start their process instances in chunked
+ * transactions through the {@link ProcessAdmissionController}.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+@Service
+public class SignalBroadcastService {
+
+    private static final LoggerFacade LOGGER = new LoggerFacade(SignalBroadcastService.class);
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private ActorSystem actorSystem;
+    @Autowired
+    private EngineDispatchers dispatchers;
+    @Autowired
+    private ExecutionRepository executionRepository;
+    @Autowired
+    private SignalEventProcessStartingService startingService;
+    @Autowired
+    private SignalEventSubProcessInvoker subProcessInvoker;
+
+    /**
+     * Broadcasts the signal with the given variables and returns the
+     * progress of the broadcast.
+     *
+     * @param signalRef the signal reference
+     * @param variables the variables map
+     * @return SignalBroadcast
+     */
+    public SignalBroadcast broadcast(String signalRef, Map<String, Object> variables) {
+
+        final ExecutionContext ec = dispatchers.persistence();
+        final Broadcast broadcast = new Broadcast(signalRef, variables);
+
+        if (StringUtils.isEmpty(signalRef)) {
+            broadcast.promise.success(broadcast);
+            return broadcast;
+        }
+
+        SignalEventRequest request = new SignalEventRequest(signalRef, null, variables);
+
+        // the event sub process invoker resolves the process instance of the calling thread
+        Future<Iterable<EventMessage>> subProcesses = subProcessInvoker.getEventMessages(request);
+        subProcesses = subProcesses.recover(Recovers.logAndReturnEmptyIterable(), ec);
+        subProcesses.onSuccess(new PublishEventMessagesOnSuccess(context), ec);
+
+        Future<Iterable<EventMessage>> starts = startingService.admit(request);
+        starts = starts.recover(Recovers.logAndReturnEmptyIterable(), ec);
+        starts.onSuccess(new PublishEventMessagesOnSuccess(context), ec);
+        starts.onSuccess(new OnSuccess<Iterable<EventMessage>>() {
+            @Override
+            public void onSuccess(Iterable<EventMessage> messages) {
+                for (EventMessage message : messages) {
+                    if (message instanceof StartEventMessage) {
+                        broadcast.started.incrementAndGet();
+                    }
+                }
+            }
+        }, ec);
+
+        ec.execute(broadcast::nextPage);
+
+        Future<Iterable<Iterable<EventMessage>>> all = Futures.sequence(Arrays.asList(
+                subProcesses, starts, broadcast.resumes.future()), ec);
+        all.onComplete(new OnComplete<Iterable<Iterable<EventMessage>>>() {
+            @Override
+            public void onComplete(Throwable failure, Iterable<Iterable<EventMessage>> result) {
+                if (failure != null) {
+                    broadcast.promise.failure(failure);
+                } else {
+                    broadcast.promise.success(broadcast);
+                }
+            }
+        }, ec);
+
+        return broadcast;
+    }
+
+    /**
+     * Broadcasts the signal with the given variables. The returned future
+     * completes with an empty iterable as soon as all signal event messages
+     * are published, a failed broadcast is logged.
+     *
+     * @param signalRef the signal reference
+     * @param variables the variables map
+     * @return Future
+     */
+    public Future<Iterable<EventMessage>> signal(String signalRef, Map<String, Object> variables) {
+        ExecutionContext ec = dispatchers.persistence();
+
+        Future<Iterable<EventMessage>> future = broadcast(signalRef, variables).getFuture().map(
+                new Mapper<SignalBroadcast, Iterable<EventMessage>>() {
+                    @Override
+                    public Iterable<EventMessage> apply(SignalBroadcast broadcast) {
+                        return Collections.emptyList();
+                    }
+                }, ec);
+        return future.recover(Recovers.logAndReturnEmptyIterable(), ec);
+    }
+
+    /**
+     * A running signal broadcast. The next page is loaded on the persistence
+     * dispatcher, either directly after the previous page or, if the
+     * broadcast is paused, by the acknowledgement which brings the signal
+     * events in flight below the maximum.
+     */
+    private class Broadcast implements SignalBroadcast {
+
+        private final String signalRef;
+        private final Map<String, Object> variables;
+        private final int batchSize;
+        private final int maxInFlight;
+        private final long ackTimeout;
+
+        private final AtomicLong resumed = new AtomicLong();
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicInteger batches = new AtomicInteger();
+
+        private final Promise<Iterable<EventMessage>> resumes = Futures.promise();
+        private final Promise<SignalBroadcast> promise = Futures.promise();
+
+        // guarded by this
+        private String afterId = "";
+        private int inFlight;
+        private boolean paused;
+        private int pauses;
+
+        private Broadcast(String signalRef, Map<String, Object> variables) {
+            this.signalRef = signalRef;
+            this.variables = variables;
+            this.batchSize = Math.max(1, environment.getProperty("arrow.signal.batch-size", Integer.class, 500));
+            this.maxInFlight = Math.max(1, environment.getProperty("arrow.signal.max-in-flight", Integer.class, 5000));
+            this.ackTimeout = environment.getProperty("arrow.signal.ack-timeout", Long.class, 30000L);
+        }
+
+        /**
+         * Publishes the next page of waiting executions as one batch.
+         */
+        private void nextPage() {
+            try {
+                String after;
+                synchronized (this) {
+                    after = afterId;
+                }
+
+                List<Execution> page = executionRepository.findBySignalRef(signalRef, after, batchSize);
+                if (!page.isEmpty()) {
+                    List<EventMessage> batch = new ArrayList<>(page.size());
+                    for (Execution execution : page) {
+                        SignalEventMessage message = new SignalEventMessage(signalRef, execution, variables);
+                        message.setAcknowledgement(this::acknowledge);
+                        batch.add(message);
+                    }
+
+                    synchronized (this) {
+                        afterId = page.get(page.size() - 1).getId();
+                        inFlight += batch.size();
+                    }
+                    new PublishEventMessagesOnSuccess(context).onSuccess(batch);
+
+                    resumed.addAndGet(batch.size());
+                    batches.incrementAndGet();
+                }
+
+                if (page.size() < batchSize) {
+                    resumes.success(Collections.<EventMessage>emptyList());
+                    return;
+                }
+
+                int pause;
+                synchronized (this) {
+                    if (inFlight < maxInFlight) {
+                        pause = 0;
+                    } else {
+                        paused = true;
+                        pause = ++pauses;
+                    }
+                }
+
+                if (pause == 0) {
+                    dispatchers.persistence().execute(this::nextPage);
+                } else {
+                    actorSystem.scheduler().scheduleOnce(Duration.create(ackTimeout, TimeUnit.MILLISECONDS),
+                            () -> timeout(pause), dispatchers.persistence());
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.error(ex, "signal broadcast %s failed", signalRef);
+                resumes.failure(ex);
+            }
+        }
+
+        /**
+         * Acknowledges a handled signal event, continues a paused broadcast
+         * as soon as the signal events in flight fall below the maximum.
+         */
+        private void acknowledge() {
+            synchronized (this) {
+                inFlight--;
+                if (!paused || inFlight >= maxInFlight) {
+                    return;
+                }
+                paused = false;
+            }
+            dispatchers.persistence().execute(this::nextPage);
+        }
+
+        /**
+         * Continues the broadcast if it is still paused by the given pause.
+         */
+        private void timeout(int pause) {
+            int unacknowledged;
+            synchronized (this) {
+                if (!paused || pauses != pause) {
+                    return;
+                }
+                paused = false;
+                unacknowledged = inFlight;
+            }
+            LOGGER.warn("signal broadcast %s continues without acknowledgement of %s signal events", signalRef, unacknowledged);
+            nextPage();
+        }
+
+        @Override
+        public String getSignalRef() {
+            return signalRef;
+        }
+
+        @Override
+        public long getResumedCount() {
+            return resumed.get();
+        }
+
+        @Override
+        public long getStartedCount() {
+            return started.get();
+        }
+
+        @Override
+        public int getBatchCount() {
+            return batches.get();
+        }
+
+        @Override
+        public boolean isDone() {
+            return promise.isCompleted();
+        }
+
+        @Override
+        public Future<SignalBroadcast> getFuture() {
+            return promise.future();
+        }
+
+        @Override
+        public String toString() {
+            return "SignalBroadcast[" + signalRef + ", resumed=" + resumed + ", started=" + started + "]";
+        }
+    }
+
+}
@@ -16,13 +16,13 @@
 
 package org.arrow.service.microservice.impl.signal;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.apache.log4j.Logger;
 import org.arrow.runtime.execution.Execution;
 import org.arrow.runtime.execution.service.data.ExecutionRepository;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.SignalEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,7 +43,7 @@ import java.util.concurrent.Callable;
 public class SignalEventProcessResumingService implements EventMessageService<SignalEventRequest> {
 
     @Autowired
-    private ActorSystem actorSystem;
+    private EngineDispatchers dispatchers;
     @Autowired
     private ExecutionRepository executionRepository;
 
@@ -53,7 +53,7 @@ public class SignalEventProcessResumingService implements EventMessageService<Si
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(SignalEventRequest request) {
         SignalEventResumingCallable call = new SignalEventResumingCallable(request);
-        return Futures.future(call, actorSystem.dispatcher());
+        return Futures.future(call, dispatchers.persistence());
     }
 
     /**
@@ -16,30 +16,38 @@
 
 package org.arrow.service.microservice.impl.signal;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
+import akka.dispatch.Mapper;
 import org.arrow.data.neo4j.store.ProcessInstanceStore;
 import org.arrow.model.event.startevent.StartEvent;
 import org.arrow.runtime.api.StartEventSpecification;
 import org.arrow.runtime.execution.ProcessInstance;
 import org.arrow.runtime.execution.service.data.StartEventRepository;
+import org.arrow.runtime.mapper.IterableOfIterable2IterableMessageMapper;
 import org.arrow.runtime.message.EventMessage;
 import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.util.StringUtils;
+import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
  * {@link org.arrow.service.microservice.EventMessageService} implementation class which is designed to
- * start all signal start events by a signal reference.
+ * start all signal start events by a signal reference. The process instances
+ * are stored in chunks of {@code arrow.signal.chunk-size} instances per
+ * transaction. Admitted starts acquire one admission permit per process
+ * instance of a chunk, see {@link #admit(SignalEventRequest)}.
  *
  * @since 1.0.0
  * @author christian.weber
@@ -53,6 +61,10 @@ public class SignalEventProcessStartingService implements EventMessageService<Si
     private StartEventRepository startEventRepository;
     @Autowired
     private ProcessInstanceStore piStore;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private ProcessAdmissionController admissionController;
 
     /**
      * {@inheritDoc}
@@ -60,12 +72,71 @@ public class SignalEventProcessStartingService implements EventMessageService<Si
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(SignalEventRequest request) {
 
-        // get the actor system from the IoC container
-        ActorSystem system = context.getBean(ActorSystem.class);
+        // get the engine dispatchers from the IoC container
+        EngineDispatchers dispatchers = context.getBean(EngineDispatchers.class);
 
         // execute the callable instance
         EventMessageCallable call = new EventMessageCallable(request);
-        return Futures.future(call, system.dispatcher());
+        return Futures.future(call, dispatchers.persistence());
+    }
+
+    /**
+     * Starts the signal start events of the given request through the
+     * {@link ProcessAdmissionController}. Each chunk is admitted as a whole
+     * with one permit per process instance, so the chunks are never larger
+     * than the maximum of in-flight process instances.
+     *
+     * @param request the signal event request
+     * @return Future
+     */
+    public Future<Iterable<EventMessage>> admit(final SignalEventRequest request) {
+
+        final ExecutionContext ec = context.getBean(EngineDispatchers.class).persistence();
+        final int chunkSize = chunkSize(admissionController.getMaxInFlight());
+
+        Future<List<StartEventSpecification>> startEvents = Futures.future(() -> {
+            List<StartEventSpecification> events = new ArrayList<>();
+            if (!StringUtils.isEmpty(request.getSignalRef())) {
+                startEventRepository.findSignalStartEventsByReference(request.getSignalRef()).forEach(events::add);
+            }
+            return events;
+        }, ec);
+
+        return startEvents.flatMap(new Mapper<List<StartEventSpecification>, Future<Iterable<EventMessage>>>() {
+            @Override
+            public Future<Iterable<EventMessage>> apply(List<StartEventSpecification> events) {
+                List<Future<Iterable<EventMessage>>> chunks = new ArrayList<>();
+                for (int i = 0; i < events.size(); i += chunkSize) {
+                    List<StartEventSpecification> chunk = events.subList(i, Math.min(i + chunkSize, events.size()));
+                    chunks.add(admissionController.admit(chunk.size(),
+                            () -> Futures.future(() -> store(chunk, request), ec)));
+                }
+                return Futures.sequence(chunks, ec).map(IterableOfIterable2IterableMessageMapper.INSTANCE, ec);
+            }
+        }, ec);
+    }
+
+    /**
+     * Returns the configured chunk size, limited by the given maximum of
+     * in-flight process instances.
+     */
+    private int chunkSize(int maxInFlight) {
+        int chunkSize = Math.max(1, environment.getProperty("arrow.signal.chunk-size", Integer.class, 100));
+        return maxInFlight > 0 ? Math.min(chunkSize, maxInFlight) : chunkSize;
+    }
+
+    /**
+     * Stores the process instances of the given chunk in a single
+     * transaction and returns their start event messages.
+     */
+    private Iterable<EventMessage> store(List<StartEventSpecification> chunk, SignalEventRequest request) {
+        List<ProcessInstance> processInstances = piStore.store(chunk, request.getVariables());
+
+        List<EventMessage> messages = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            messages.add(new StartEventMessage(chunk.get(i), processInstances.get(i)));
+        }
+        return messages;
     }
 
     /**
@@ -95,16 +166,23 @@ public class SignalEventProcessStartingService implements EventMessageService<Si
                 return Collections.emptyList();
             }
 
-            Set<EventMessage> messages = new HashSet<>();
-
+            int chunkSize = chunkSize(0);
+            List<EventMessage> messages = new ArrayList<>();
 
             // find all signal start events with the given signal reference
             Iterable<? extends StartEventSpecification> startEvents;
             startEvents = startEventRepository.findSignalStartEventsByReference(signalRef);
 
+            List<StartEventSpecification> chunk = new ArrayList<>(chunkSize);
             for (StartEventSpecification startEvent : startEvents) {
-                ProcessInstance pi = piStore.store(startEvent, request.getVariables());
-                messages.add(new StartEventMessage(startEvent, pi));
+                chunk.add(startEvent);
+                if (chunk.size() == chunkSize) {
+                    store(chunk, request).forEach(messages::add);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                store(chunk, request).forEach(messages::add);
             }
 
             return messages;
@@ -16,7 +16,6 @@
 
 package org.arrow.service.microservice.impl.signal;
 
-import akka.actor.ActorSystem;
 import akka.dispatch.Futures;
 import org.arrow.data.neo4j.store.ProcessInstanceStore;
 import org.arrow.model.event.startevent.StartEvent;
@@ -32,6 +31,7 @@ import org.arrow.runtime.message.impl.EventSubProcessEventMessage;
 import org.arrow.runtime.message.impl.StartSubProcessEventMessage;
 import org.arrow.runtime.support.EngineSynchronizationManager;
 import org.arrow.runtime.support.EngineSynchronizationManagerCallableDecorator;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
 import org.arrow.service.microservice.EventMessageService;
 import org.arrow.service.microservice.annotation.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -70,10 +70,10 @@ public class SignalEventSubProcessInvoker implements EventMessageService<SignalE
      */
     @Override
     public Future<Iterable<EventMessage>> getEventMessages(SignalEventRequest request) {
-        // get the actor system from the IoC container
-        ActorSystem system = context.getBean(ActorSystem.class);
+        // get the engine dispatchers from the IoC container
+        EngineDispatchers dispatchers = context.getBean(EngineDispatchers.class);
         // execute the callable instance
-        return Futures.future(getCallable(request), system.dispatcher());
+        return Futures.future(getCallable(request), dispatchers.persistence());
     }
 
     /**
@@ -16,22 +16,34 @@
 
 package org.arrow.service.rule;
 
-import com.thoughtworks.xstream.XStream;
-import org.drools.core.event.DebugAgendaEventListener;
-import org.drools.core.event.DebugRuleRuntimeEventListener;
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
 import org.kie.api.KieServices;
+import org.kie.api.builder.model.KieSessionModel;
+import org.kie.api.command.Command;
+import org.kie.api.command.KieCommands;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.StatelessKieSession;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.convert.ConversionService;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.arrow.runtime.logger.LoggerFacade;
 import org.arrow.runtime.rule.*;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Drools {@link }RuleEvaluator} implementation.
+ * Drools {@link RuleEvaluator} implementation. The classpath container is
+ * resolved once, sessions declared as stateless in the kmodule are shared
+ * and stateful sessions are taken from a {@link KieSessionPool} per session
+ * name, sized by {@code arrow.rule.session-pool.size}.
  *
  * @since 1.0.0
  * @author christian.weber
@@ -42,66 +54,130 @@ public class DroolsRuleEvaluator implements RuleEvaluator {
     private final transient static LoggerFacade LOGGER = new LoggerFacade(DroolsRuleEvaluator.class);
 
     @Autowired
-    private ConversionService conversionService;
+    private Environment environment;
+
+    private final Map<String, KieSessionPool> pools = new ConcurrentHashMap<>();
+    private final Map<String, Optional<StatelessKieSession>> statelessSessions = new ConcurrentHashMap<>();
+
+    private KieContainer container;
+    private int poolSize;
+
+    /**
+     * Resolves the classpath container and reads the pool configuration.
+     */
+    @PostConstruct
+    public void init() {
+        container = KieServices.Factory.get().getKieClasspathContainer();
+        poolSize = environment.getProperty("arrow.rule.session-pool.size", Integer.class,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Disposes the pooled sessions.
+     */
+    @PreDestroy
+    public void destroy() {
+        pools.values().forEach(KieSessionPool::dispose);
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public Object evaluate(RuleSource ruleSource, RuleEvaluationContext context) throws RuleCompilationException {
+        return evaluateAll(ruleSource, Collections.singletonList(context)).get(0);
+    }
 
-
-        // KieServices is the factory for all KIE services
-        KieServices ks = KieServices.Factory.get();
-        // From the kie services, a container is created from the classpath
-        KieContainer kc = ks.getKieClasspathContainer();
-        // From the container, a session is created based on
-        // its definition and configuration in the META-INF/kmodule.xml file
-        KieSession ksession = kc.newKieSession(ruleSource.getSourceAsString());
-
-        // setup global arguments
-        for (RuleData data : context.getDataList()) {
-            switch (data.getType()) {
-                case GLOBAL: ksession.setGlobal(data.getName(), getVariable(context, data.getName()));
-                case LOCAL: ksession.insert(getVariable(context, data.getName()));
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Object> evaluateAll(RuleSource ruleSource, List<RuleEvaluationContext> contexts) throws RuleCompilationException {
+        final String sessionName = ruleSource.getSourceAsString();
+        List<Object> results = new ArrayList<>(contexts.size());
+
+        // sessions declared as stateless in the kmodule are shared
+        StatelessKieSession statelessSession = getStatelessSession(sessionName);
+        if (statelessSession != null) {
+            for (RuleEvaluationContext context : contexts) {
+                statelessSession.execute(KieServices.Factory.get().getCommands().newBatchExecution(commandsOf(context)));
+                results.add(context.getVariables());
             }
+            return results;
         }
 
-        // register listeners
-        if (LOGGER.isDebugEnabled()) {
-            ksession.addEventListener(new DebugAgendaEventListener());
-            ksession.addEventListener(new DebugRuleRuntimeEventListener());
-        }
+        KieSessionPool pool = getPool(sessionName);
+        KieSession ksession = pool.acquire();
+        try {
+            for (RuleEvaluationContext context : contexts) {
+                // setup global arguments
+                for (RuleData data : context.getDataList()) {
+                    switch (data.getType()) {
+                        case GLOBAL: ksession.setGlobal(data.getName(), getVariable(context, data.getName()));
+                        case LOCAL: ksession.insert(getVariable(context, data.getName()));
+                    }
+                }
+
+                ksession.fireAllRules();
+                results.add(context.getVariables());
 
-        ksession.fireAllRules();
-        ksession.dispose();
+                // the next instance must not see the facts of this one
+                if (results.size() < contexts.size() && !pool.reset(ksession)) {
+                    pool.discard(ksession);
+                    ksession = pool.acquire();
+                }
+            }
+        } catch (RuntimeException ex) {
+            pool.discard(ksession);
+            throw ex;
+        }
 
-        return context.getVariables();
+        pool.release(ksession);
+        return results;
     }
 
-    private Object getVariable(RuleEvaluationContext context, String key) {
-        try {
-            Map<String, Object> map = context.getVariables();
+    private List<Command<?>> commandsOf(RuleEvaluationContext context) {
+        KieCommands commands = KieServices.Factory.get().getCommands();
 
-            Object value = map.get(key);
-            if (map.containsKey(key + "-type")) {
-                String type = (String) map.get(key + "-type");
-                Class<?> cls = Class.forName(type);
+        List<Command<?>> list = new ArrayList<>();
+        for (RuleData data : context.getDataList()) {
+            switch (data.getType()) {
+                case GLOBAL: list.add(commands.newSetGlobal(data.getName(), getVariable(context, data.getName())));
+                case LOCAL: list.add(commands.newInsert(getVariable(context, data.getName())));
+            }
+        }
+        list.add(commands.newFireAllRules());
+        return list;
+    }
 
-                if (conversionService.canConvert(String.class, cls)) {
-                    return conversionService.convert(value, cls);
-                } else {
-                    XStream xstream = new XStream();
-                    xstream.processAnnotations(cls);
+    private KieSessionPool getPool(String sessionName) {
+        return pools.computeIfAbsent(sessionName, name -> new KieSessionPool(container, name, poolSize));
+    }
 
-                    return xstream.fromXML(value.toString());
-                }
+    private StatelessKieSession getStatelessSession(String sessionName) {
+        return statelessSessions.computeIfAbsent(sessionName, name -> {
+            if (!isStateless(name)) {
+                return Optional.empty();
             }
+            LOGGER.debug("using shared stateless rule session %s", name);
+            return Optional.of(container.newStatelessKieSession(name));
+        }).orElse(null);
+    }
 
-            return value;
-        } catch (Exception ex) {
-            throw new RuntimeException(ex);
+    private boolean isStateless(String sessionName) {
+        if (!(container instanceof KieContainerImpl)) {
+            return false;
         }
+        KieSessionModel model = ((KieContainerImpl) container).getKieSessionModel(sessionName);
+        return model != null && model.getType() == KieSessionModel.KieSessionType.STATELESS;
+    }
+
+    /**
+     * Returns the given variable, complex variables are decoded by the
+     * variable scope of the execution.
+     */
+    private Object getVariable(RuleEvaluationContext context, String key) {
+        return context.getVariables().get(key);
     }
 
 }
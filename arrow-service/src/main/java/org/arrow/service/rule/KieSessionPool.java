@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.rule;
+
+import org.arrow.runtime.logger.LoggerFacade;
+import org.drools.core.event.DebugAgendaEventListener;
+import org.drools.core.event.DebugRuleRuntimeEventListener;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl;
+import org.kie.api.runtime.KieContainer;
+import org.kie.api.runtime.KieSession;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Pool of reusable stateful {@link KieSession} instances of one session
+ * definition. Released sessions are reset and kept for the next evaluation
+ * up to the configured count of idle sessions, further sessions are
+ * disposed.
+ *
+ * @author christian.weber
+ * @since 1.0.0
+ */
+class KieSessionPool {
+
+    private static final LoggerFacade LOGGER = new LoggerFacade(KieSessionPool.class);
+
+    private final KieContainer container;
+    private final String sessionName;
+    private final BlockingQueue<KieSession> idle;
+
+    KieSessionPool(KieContainer container, String sessionName, int maxIdle) {
+        this.container = container;
+        this.sessionName = sessionName;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, maxIdle));
+    }
+
+    /**
+     * Returns an idle session or creates a new one.
+     *
+     * @return KieSession
+     */
+    KieSession acquire() {
+        KieSession session = idle.poll();
+        return session != null ? session : create();
+    }
+
+    /**
+     * Returns the given session to the pool. Sessions which cannot be reset
+     * or which exceed the idle capacity are disposed.
+     *
+     * @param session the session to release
+     */
+    void release(KieSession session) {
+        if (!reset(session) || !idle.offer(session)) {
+            session.dispose();
+        }
+    }
+
+    /**
+     * Removes all facts and activations of the given session.
+     *
+     * @param session the session to reset
+     * @return false if the session cannot be reset
+     */
+    boolean reset(KieSession session) {
+        if (!(session instanceof StatefulKnowledgeSessionImpl)) {
+            return false;
+        }
+        ((StatefulKnowledgeSessionImpl) session).reset();
+        return true;
+    }
+
+    /**
+     * Disposes the given session instead of returning it to the pool, e.g.
+     * after a failed evaluation.
+     *
+     * @param session the session to discard
+     */
+    void discard(KieSession session) {
+        session.dispose();
+    }
+
+    /**
+     * Disposes all idle sessions.
+     */
+    void dispose() {
+        KieSession session;
+        while ((session = idle.poll()) != null) {
+            session.dispose();
+        }
+    }
+
+    private KieSession create() {
+        KieSession session = container.newKieSession(sessionName);
+        LOGGER.debug("created rule session %s", sessionName);
+
+        // register listeners
+        if (LOGGER.isDebugEnabled()) {
+            session.addEventListener(new DebugAgendaEventListener());
+            session.addEventListener(new DebugRuleRuntimeEventListener());
+        }
+        return session;
+    }
+
+}
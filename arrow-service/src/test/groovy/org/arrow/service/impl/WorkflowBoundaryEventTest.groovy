@@ -18,9 +18,12 @@ package org.arrow.service.impl
 
 import org.arrow.runtime.api.event.BusinessCondition
 import org.arrow.runtime.api.event.BusinessCondition.BusinessConditionContext
+import org.arrow.runtime.definition.ProcessDefRegistry
+import org.arrow.runtime.service.RepositoryService
 import org.arrow.test.Given
 import org.arrow.test.WorkflowTest
 import org.arrow.test.spock.spring.WorkflowDslTrait
+import org.springframework.context.event.ContextRefreshedEvent
 import spock.lang.Specification
 import spock.lang.Timeout
 
@@ -64,6 +67,56 @@ public class WorkflowBoundaryEventTest extends Specification implements Workflow
             assertSuccess(pi, "endevent4")
     }
 
+    @Given("boundaryevent/timerBoundaryEvent.bpmn20.xml")
+    def "test boundary event (timer, multi instance task)"() {
+        when:
+            def pi = startById "timerBoundaryEventTest"
+        then:
+            await(pi)
+            assertSuccess(pi, "scriptTask1", "endevent1")
+            executions(pi, "scriptTask1").size() == 1
+        when: "the timer would be due"
+            await 1500
+        then: "the timer is cancelled once all instances are finished"
+            assertSkipped(pi, "boundarytimer1", "endevent2")
+    }
+
+    @Given("boundaryevent/timerBoundaryEvent.bpmn20.xml")
+    def "test boundary event (timer, interrupted multi instance task)"() {
+        when:
+            def pi = startById "timerBoundaryEventTest2"
+        then:
+            await(pi)
+            assertSuccess(pi, "boundarytimer2", "endevent4")
+        when: "the remaining instances are finished"
+            await 1500
+        then:
+            assertSkipped(pi, "endevent3")
+    }
+
+    @Given("boundaryevent/signalBoundaryEvent.bpmn20.xml")
+    def "test boundary event (signal, rebuilt process definition)"() {
+        setup:
+            def registry = applicationContext.getBean(ProcessDefRegistry)
+            def deployed = registry.unregister("signalBoundaryEventTest")
+        when: "the engine restarts with the deployed process"
+            applicationContext.getBean(RepositoryService).onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+            def task = registry.getProcessDef("signalBoundaryEventTest").getNode("serviceTask1")
+        then:
+            task.nodeId == deployed.getNode("serviceTask1").nodeId
+            task.boundaryEvents == ["boundarysignal1"]
+            registry.getNode(task.nodeId).is(task)
+        when:
+            def pi = startById "signalBoundaryEventTest"
+        and:
+            await 250
+            signal "signalBoundaryEventTest"
+        then:
+            await(pi)
+            assertSuccess(pi, "endevent2")
+            assertSkipped(pi, "endevent1")
+    }
+
     @Given("boundaryevent/messageBoundaryEvent.bpmn20.xml")
     def "test boundary event (message, interrupting)"() {
         when:
@@ -16,7 +16,10 @@
 
 package org.arrow.service.impl
 
+import org.arrow.runtime.execution.State
+import org.arrow.service.engine.concurrent.ProcessCompletionRegistry
 import org.arrow.test.Given
+import org.arrow.test.SpringWorkflowTestExecutionListener
 import org.arrow.test.WorkflowTest
 import org.arrow.test.spock.spring.WorkflowDslTrait
 import spock.lang.Specification
@@ -35,6 +38,36 @@ public class WorkflowEndEventTest extends Specification implements WorkflowDslTr
             assertSuccess pi
     }
 
+    @Given("endevent/noneEndEvent.bpmn20.xml")
+    def "test end event (none, completion)"() {
+        when:
+            def completion = executeById "noneEndEventTest", [input: 21]
+        then:
+            completion.state == State.SUCCESS
+            completion.variables.input == 21
+            SpringWorkflowTestExecutionListener.CONTEXT_HOLDER.get().getBean(ProcessCompletionRegistry).pending == 0
+    }
+
+    @Given("endevent/failingEndEvent.bpmn20.xml")
+    def "test end event (failure)"() {
+        when:
+            def pi = startById "failingEndEventTest"
+        then:
+            await(pi)
+            pi.state == State.FAILURE
+            assertSkipped pi, "endevent1"
+    }
+
+    @Given("endevent/failingEndEvent.bpmn20.xml")
+    def "test end event (failure, completion)"() {
+        when:
+            executeById "failingEndEventTest", [:]
+        then:
+            def ex = thrown(Exception)
+            ex.message.contains("script task failed")
+            SpringWorkflowTestExecutionListener.CONTEXT_HOLDER.get().getBean(ProcessCompletionRegistry).pending == 0
+    }
+
     @Given("endevent/messageEndEvent.bpmn20.xml")
     def "test end event (message)"() {
         when:
@@ -42,6 +42,31 @@ public class WorkflowGatewayTest extends Specification implements WorkflowDslTra
             assertSuccess(pi, "servicetask2")
     }
 
+    @Given("gateway/parallelGateway.bpmn20.xml")
+    def "test gateway (parallel, join)"() {
+        when:
+            def pis = startAllById "parallelGatewayTest2", (1..20).collect { [:] }
+        then:
+            pis.each {
+                await(it)
+                assertSuccess(it)
+                // the join continues once although both flows arrive at the same time
+                assert executions(it, "B_endevent1").size() == 1
+            }
+    }
+
+    @Given("gateway/parallelGateway.bpmn20.xml")
+    def "test gateway (parallel, nested join)"() {
+        when:
+            def pis = startAllById "parallelGatewayTest3", (1..20).collect { [:] }
+        then:
+            pis.each {
+                await(it)
+                assertSuccess(it)
+                assert executions(it, "C_endevent1").size() == 1
+            }
+    }
+
     @Given("gateway/exclusiveGateway.bpmn20.xml")
     def "test gateway (exclusive)"() {
         when:
@@ -64,6 +89,21 @@ public class WorkflowGatewayTest extends Specification implements WorkflowDslTra
             assertSkipped(pi, "servicetask4")
     }
 
+    @Given("gateway/inclusiveGateway.bpmn20.xml")
+    def "test gateway (inclusive, concurrent)"() {
+        when:
+            def pis = startAllById "C_inclusiveGatewayTest", (1..20).collect { [var1: 1, var2: 2, var3: 3] }
+        then:
+            pis.each {
+                await(it)
+                assertSuccess(it, "C_servicetask1")
+                assertSuccess(it, "C_servicetask2")
+                assertSuccess(it, "C_servicetask3")
+                // the end event behind the join completes the instance
+                assertSuccess(it, "C_endevent1")
+            }
+    }
+
     @Given("gateway/inclusiveGateway.bpmn20.xml")
     def "test gateway (inclusive)2"() {
         when:
@@ -17,6 +17,7 @@
 package org.arrow.service.impl
 
 import org.arrow.runtime.api.event.BusinessCondition
+import org.arrow.runtime.execution.State
 import org.arrow.test.Given
 import org.arrow.test.WorkflowTest
 import org.arrow.test.spock.spring.WorkflowDslTrait
@@ -39,6 +40,25 @@ public class WorkflowIntermediateCatchEventTest extends Specification implements
             assertSuccess pi
     }
 
+    @Given("intermediate/catch/messageCorrelationIntermediateCatchEvent.bpmn20.xml")
+    def "test intermediate catch event (message, correlation)"() throws Exception {
+        when:
+            def pi1 = startById "messageCorrelationIntermediateCatchEventTest", [orderId: "A"]
+            def pi2 = startById "messageCorrelationIntermediateCatchEventTest", [orderId: "B"]
+        and:
+            sleep 250
+            message "messageCorrelationIntermediateCatchEventTest", [orderId: "B"]
+        then:
+            await(pi2)
+            assertSuccess pi2
+            assertSkipped pi1, "catch1"
+        when:
+            message "messageCorrelationIntermediateCatchEventTest", [orderId: "A"]
+        then:
+            await(pi1)
+            assertSuccess pi1
+    }
+
     @Given("intermediate/catch/signalIntermediateCatchEvent.bpmn20.xml")
     def "test intermediate catch event (signal)"() throws Exception {
         when:
@@ -51,6 +71,24 @@ public class WorkflowIntermediateCatchEventTest extends Specification implements
             assertSuccess pi
     }
 
+    @Given("intermediate/catch/signalIntermediateCatchEvent.bpmn20.xml")
+    def "test intermediate catch event (signal, broadcast)"() throws Exception {
+        setup:
+            System.setProperty("arrow.signal.batch-size", "2")
+        when:
+            def pis = (1..5).collect { startById "signalIntermediateCatchEventTest" }
+        and:
+            pis.each { awaitState(it, State.WAITING, "throw1") }
+            def broadcast = broadcast "signalIntermediateCatchEventTest"
+        then:
+            broadcast.done
+            broadcast.resumedCount == 5
+            broadcast.batchCount == 3
+            pis.each { await(it); assertSuccess it }
+        cleanup:
+            System.clearProperty("arrow.signal.batch-size")
+    }
+
     @Given("intermediate/catch/timerIntermediateCatchEvent.bpmn20.xml")
     def "test intermediate catch event (timer)"() throws Exception {
         when:
@@ -54,6 +54,17 @@ public class WorkflowStartEventTest extends Specification implements WorkflowDsl
             assertSuccess pi, "endevent1"
     }
 
+    @Given("startevent/noneStartEvent.bpmn20.xml")
+    def "test start event (none, bulk)"() throws Exception {
+        when:
+            def pis = startAllById "noneStartEventTest", (1..3).collect { [index: it] }
+        then:
+            pis.size() == 3
+            pis.collect { it.id }.unique().size() == 3
+            await(pis)
+            assertSuccess pis
+    }
+
     @Given("startevent/messageStartEvent.bpmn20.xml")
     def "test start event (message)"() {
         when:
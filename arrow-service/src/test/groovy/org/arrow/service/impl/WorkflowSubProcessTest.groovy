@@ -103,6 +103,18 @@ public class WorkflowSubProcessTest extends Specification implements WorkflowDsl
             assertSuccess(pi, "subprocess")
     }
 
+    @Given("subprocess/subProcess.bpmn20.xml")
+    def "test sub process (concurrent)"() {
+        when:
+            def pis = startAllById "subProcessTest", (1..20).collect { [:] }
+        then:
+            pis.each {
+                await(it)
+                assertSuccess(it, "endevent1")
+                assertSuccess(it, "subprocess")
+            }
+    }
+
     @Given("subprocess/callActivity.bpmn20.xml")
     def "test call activity"() {
         when:
@@ -113,6 +125,18 @@ public class WorkflowSubProcessTest extends Specification implements WorkflowDsl
             assertSuccess(pi, "callactivity")
     }
 
+    @Given("subprocess/callActivity.bpmn20.xml")
+    def "test call activity (concurrent)"() {
+        when:
+            def pis = startAllById "callActivityTest", (1..20).collect { [:] }
+        then:
+            pis.each {
+                await(it)
+                assertSuccess(it, "endevent1")
+                assertSuccess(it, "callactivity")
+            }
+    }
+
     @Given("subprocess/transaction.bpmn20.xml")
     def "test sub process (transaction)"() {
         when:
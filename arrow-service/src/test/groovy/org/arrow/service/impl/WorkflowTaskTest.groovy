@@ -17,12 +17,23 @@
 package org.arrow.service.impl
 
 import com.thoughtworks.xstream.annotations.XStreamAlias
+import org.arrow.runtime.execution.service.ExecutionService
+import org.arrow.runtime.rule.RuleData
+import org.arrow.runtime.rule.RuleEvaluationContext
+import org.arrow.runtime.rule.StaticRuleSource
 import org.arrow.test.Given
+import org.arrow.test.SpringWorkflowTestExecutionListener
 import org.arrow.test.WorkflowTest
 import org.arrow.test.spock.spring.WorkflowDslTrait
+import org.springframework.core.env.MapPropertySource
 import spock.lang.Specification
 import spock.lang.Timeout
 
+import java.util.concurrent.TimeoutException
+
+import static org.arrow.runtime.rule.RuleData.RuleDataType.GLOBAL
+import static org.arrow.runtime.rule.RuleData.RuleDataType.LOCAL
+
 @WorkflowTest
 //@Timeout(10)
 public class WorkflowTaskTest extends Specification implements WorkflowDslTrait {
@@ -60,6 +71,99 @@ public class WorkflowTaskTest extends Specification implements WorkflowDslTrait
             assertSuccess pi, "C_endevent1"
     }
 
+    @Given("task/serviceTask.bpmn20.xml")
+    def "test task (service, async)"() {
+        when:
+            def pi = startById "D_SERVICE_TASK_WORKFLOW_TEST"
+        then:
+            await(pi)
+            assertSuccess pi, "D_servicetask1"
+            assertSuccess pi, "D_endevent1"
+
+            getBean(AsyncDelegateBean).getThreadName(pi.id).startsWith("arrow-delegation")
+    }
+
+    @Given("task/serviceTask.bpmn20.xml")
+    def "test task (service, async, timeout)"() {
+        given:
+            def propertySources = applicationContext.environment.propertySources
+            propertySources.addFirst(new MapPropertySource("delegateTimeout",
+                    ["arrow.delegate.org.arrow.test.javadelegate.BlockingJavaDelegate.timeout": "200"]))
+        when:
+            def pi = startById "E_SERVICE_TASK_WORKFLOW_TEST"
+        then:
+            await(pi)
+            assertSuccess pi, "E_endevent2"
+            assertSkipped pi, "E_endevent1"
+        cleanup:
+            propertySources.remove("delegateTimeout")
+    }
+
+    @Given("task/serviceTask.bpmn20.xml")
+    def "test task (service, async, timeout, no error boundary)"() {
+        given:
+            def propertySources = applicationContext.environment.propertySources
+            propertySources.addFirst(new MapPropertySource("delegateTimeout",
+                    ["arrow.delegate.org.arrow.test.javadelegate.BlockingJavaDelegate.timeout": "200"]))
+        when:
+            executeById "F_SERVICE_TASK_WORKFLOW_TEST", [:]
+        then:
+            thrown(TimeoutException)
+        cleanup:
+            propertySources.remove("delegateTimeout")
+    }
+
+    @Given("task/multiInstanceTask.bpmn20.xml")
+    def "test task (multi instance, parallel)"() {
+        when:
+            def pi = startById "MULTI_INSTANCE_TASK_WORKFLOW_TEST", [items: ["a", "b", "c", "d", "e"], delay: 50]
+        then:
+            await(pi)
+            assertSuccess pi, "startevent1"
+            assertSuccess pi, "servicetask1"
+            assertSuccess pi, "endevent1"
+
+            getBean(MultiInstanceDelegateBean).getItems(pi.id).sort() == ["a", "b", "c", "d", "e"]
+            getBean(MultiInstanceDelegateBean).getMaxActive(pi.id) <= 2
+    }
+
+    @Given("task/multiInstanceTask.bpmn20.xml")
+    def "test task (multi instance, sequential)"() {
+        when:
+            def pi = startById "B_MULTI_INSTANCE_TASK_WORKFLOW_TEST", [items: ["a", "b", "c"], delay: 10]
+        then:
+            await(pi)
+            assertSuccess pi, "B_servicetask1"
+            assertSuccess pi, "B_endevent1"
+
+            getBean(MultiInstanceDelegateBean).getItems(pi.id) == ["a", "b", "c"]
+            getBean(MultiInstanceDelegateBean).getMaxActive(pi.id) == 1
+    }
+
+    @Given("task/multiInstanceTask.bpmn20.xml")
+    def "test task (multi instance, completion condition)"() {
+        when:
+            def pi = startById "C_MULTI_INSTANCE_TASK_WORKFLOW_TEST", [items: ["a", "b", "c", "d"]]
+        then:
+            await(pi)
+            assertSuccess pi, "C_servicetask1"
+            assertSuccess pi, "C_endevent1"
+
+            getBean(MultiInstanceDelegateBean).getItems(pi.id) == ["a", "b"]
+    }
+
+    @Given("task/multiInstanceTask.bpmn20.xml")
+    def "test task (multi instance, large fan-out)"() {
+        when:
+            def pi = startById "D_MULTI_INSTANCE_TASK_WORKFLOW_TEST", [items: (1..10000) as int[]]
+        then:
+            await(pi)
+            assertSuccess pi, "D_servicetask1"
+            assertSuccess pi, "D_endevent1"
+
+            getBean(MultiInstanceDelegateBean).getItems(pi.id).size() == 10000
+    }
+
     @Given("task/manualTask.bpmn20.xml")
     def "test task (manual)"() {
         when:
@@ -147,6 +251,27 @@ public class WorkflowTaskTest extends Specification implements WorkflowDslTrait
             assertSuccess pi, "endevent1"
     }
 
+    def "test task (businessRule, batch)"() {
+        given:
+            def ruleService = SpringWorkflowTestExecutionListener.CONTEXT_HOLDER.get().getBean(ExecutionService).rule()
+            def data = [new RuleData(GLOBAL, "list"), new RuleData(LOCAL, "message")]
+            def contexts = (1..4).collect {
+                new RuleEvaluationContext("drools", data, [message: new RuleObject(), list: new ArrayList<>()])
+            }
+        when:
+            ruleService.evaluateAll(new StaticRuleSource(session), contexts.take(3))
+            ruleService.evaluate(new StaticRuleSource(session), contexts.last())
+        then:
+            contexts*.variables*.message*.status == [RuleObject.STATUS_2] * 4
+            contexts*.variables*.list == [["TEST"]] * 4
+        where:
+            session << ["HelloWorldKS", "HelloWorldStatelessKS"]
+    }
+
+    private static <T> T getBean(Class<T> type) {
+        SpringWorkflowTestExecutionListener.CONTEXT_HOLDER.get().getBean(type)
+    }
+
     @XStreamAlias("RuleObject")
     public static class RuleObject implements Serializable {
 
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import akka.actor.ActorSystem;
+import akka.dispatch.ExecutionContexts;
+import org.arrow.runtime.api.task.JavaDelegate;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.service.engine.concurrent.DelegateAdmissionException;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.test.runtime.UnitTest;
+import org.arrow.util.FutureUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import scala.concurrent.Await;
+import scala.concurrent.Future;
+import scala.concurrent.duration.Duration;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the concurrency limit, the queue and the timeout of the
+ * {@link DefaultExecutionDelegateService}. The delegates block until they
+ * are released by the test.
+ */
+@Category(UnitTest.class)
+public class DefaultExecutionDelegateServiceTest {
+
+	private static final String DELEGATE = "delegate";
+
+	private final MockEnvironment environment = new MockEnvironment();
+	private final AtomicInteger started = new AtomicInteger();
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private ActorSystem actorSystem;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() {
+		actorSystem = ActorSystem.create("execution-delegate-test");
+	}
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		executor.shutdownNow();
+		actorSystem.shutdown();
+	}
+
+	@Test
+	public void runningExecutionsShouldNotExceedTheMaxConcurrency() throws Exception {
+		environment.setProperty("arrow.delegate." + DELEGATE + ".max-concurrency", "2");
+		DefaultExecutionDelegateService service = service(Executors.newCachedThreadPool());
+
+		Future<Iterable<EventMessage>> future1 = service.executeAsync(DELEGATE, this::block, new Execution());
+		Future<Iterable<EventMessage>> future2 = service.executeAsync(DELEGATE, this::block, new Execution());
+		Future<Iterable<EventMessage>> future3 = service.executeAsync(DELEGATE, this::block, new Execution());
+
+		awaitStarted(2);
+		Thread.sleep(200);
+		Assert.assertThat(started.get(), equalTo(2));
+
+		// the queued execution starts as soon as a running execution returns
+		release.countDown();
+		await(future1);
+		await(future2);
+		await(future3);
+		Assert.assertThat(started.get(), equalTo(3));
+	}
+
+	@Test
+	public void executionsShouldBeRejectedWhenTheQueueIsFull() throws Exception {
+		environment.setProperty("arrow.delegate.max-concurrency", "1");
+		environment.setProperty("arrow.delegate." + DELEGATE + ".queue-size", "1");
+		DefaultExecutionDelegateService service = service(Executors.newCachedThreadPool());
+
+		Future<Iterable<EventMessage>> future1 = service.executeAsync(DELEGATE, this::block, new Execution());
+		Future<Iterable<EventMessage>> future2 = service.executeAsync(DELEGATE, this::block, new Execution());
+		Future<Iterable<EventMessage>> future3 = service.executeAsync(DELEGATE, this::block, new Execution());
+
+		Assert.assertThat(future3.isCompleted(), equalTo(true));
+		Assert.assertThat(future3.value().get().failed().get(), instanceOf(DelegateAdmissionException.class));
+
+		// other delegates are limited on their own
+		await(service.executeAsync("other", execution -> FutureUtil.result(), new Execution()));
+
+		release.countDown();
+		await(future1);
+		await(future2);
+	}
+
+	@Test
+	public void expiredExecutionShouldKeepItsSlotUntilTheDelegateReturns() throws Exception {
+		environment.setProperty("arrow.delegate." + DELEGATE + ".max-concurrency", "1");
+		environment.setProperty("arrow.delegate." + DELEGATE + ".timeout", "100");
+		DefaultExecutionDelegateService service = service(Executors.newCachedThreadPool());
+
+		AtomicBoolean interrupted = new AtomicBoolean();
+		JavaDelegate ignoringInterrupts = execution -> {
+			started.incrementAndGet();
+			while (release.getCount() > 0) {
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					interrupted.set(true);
+				}
+			}
+			return FutureUtil.result();
+		};
+
+		Future<Iterable<EventMessage>> future1 = service.executeAsync(DELEGATE, ignoringInterrupts, new Execution());
+		Future<Iterable<EventMessage>> future2 = service.executeAsync(DELEGATE, this::block, new Execution());
+
+		try {
+			await(future1);
+			Assert.fail("timeout expected");
+		} catch (TimeoutException ex) {
+			// expected
+		}
+
+		// the queued execution waits for the thread of the expired execution
+		Thread.sleep(200);
+		Assert.assertThat(interrupted.get(), equalTo(true));
+		Assert.assertThat(started.get(), equalTo(1));
+
+		release.countDown();
+		await(future2);
+		Assert.assertThat(started.get(), equalTo(2));
+	}
+
+	@Test
+	public void timeoutShouldNotInterruptTheNextExecutionOfTheThread() throws Exception {
+		environment.setProperty("arrow.delegate." + DELEGATE + ".timeout", "100");
+		DefaultExecutionDelegateService service = service(Executors.newSingleThreadExecutor());
+
+		Future<Iterable<EventMessage>> future1 = service.executeAsync(DELEGATE, this::block, new Execution());
+		try {
+			await(future1);
+			Assert.fail("timeout expected");
+		} catch (TimeoutException ex) {
+			// expected
+		}
+
+		AtomicBoolean interrupted = new AtomicBoolean(true);
+		await(service.executeAsync("other", execution -> {
+			interrupted.set(Thread.currentThread().isInterrupted());
+			return FutureUtil.result();
+		}, new Execution()));
+		Assert.assertThat(interrupted.get(), equalTo(false));
+	}
+
+	private DefaultExecutionDelegateService service(ExecutorService executor) {
+		this.executor = executor;
+
+		EngineDispatchers dispatchers = mock(EngineDispatchers.class);
+		when(dispatchers.delegation()).thenReturn(ExecutionContexts.fromExecutorService(executor));
+
+		DefaultExecutionDelegateService service = new DefaultExecutionDelegateService();
+		ReflectionTestUtils.setField(service, "environment", environment);
+		ReflectionTestUtils.setField(service, "actorSystem", actorSystem);
+		ReflectionTestUtils.setField(service, "dispatchers", dispatchers);
+		return service;
+	}
+
+	private Future<Iterable<EventMessage>> block(Execution execution) {
+		started.incrementAndGet();
+		try {
+			release.await();
+			return FutureUtil.result();
+		} catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private void awaitStarted(int count) throws InterruptedException {
+		while (started.get() < count) {
+			Thread.sleep(10);
+		}
+	}
+
+	private static void await(Future<Iterable<EventMessage>> future) throws Exception {
+		Await.result(future, Duration.create(10, TimeUnit.SECONDS));
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@Category(UnitTest.class)
+public class DefaultExecutionExpressionServiceTest {
+
+	private final DefaultExecutionExpressionService service = new DefaultExecutionExpressionService();
+
+	private Execution execution;
+
+	@Before
+	public void setUp() {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("arrow.expression.cache-size", "2");
+		ReflectionTestUtils.setField(service, "environment", environment);
+		service.init();
+
+		ProcessInstance pi = new ProcessInstance();
+		pi.addVariable("amount", 1500);
+		pi.addVariable("region", "EU");
+
+		execution = new Execution();
+		execution.setProcessInstance(pi);
+		execution.addLocalVariable("region", "US");
+	}
+
+	@Test
+	public void conditionShouldBeEvaluatedAgainstTheExecutionVariables() {
+		EvaluationContext context = service.createContext(execution);
+
+		Assert.assertThat(service.evaluate("flow1", "#amount > 1000", context, Boolean.class), equalTo(true));
+		Assert.assertThat(service.evaluate("flow2", "#amount > 2000", context, Boolean.class), equalTo(false));
+		// the local variables shadow the process instance variables
+		Assert.assertThat(service.evaluate("flow3", "#region == 'US'", context, Boolean.class), equalTo(true));
+	}
+
+	@Test
+	public void contextShouldSeeVariablesAddedAfterItsCreation() {
+		EvaluationContext context = service.createContext(execution);
+		execution.addLocalVariable("approved", true);
+
+		Assert.assertThat(service.evaluate("flow1", "#approved", context, Boolean.class), equalTo(true));
+	}
+
+	@Test
+	public void preparedConditionShouldBeReused() {
+		service.prepare("flow1", "#amount > 1000");
+		service.prepare("flow1", "#amount > 1000");
+
+		Assert.assertThat(service.getCachedExpressions(), equalTo(1));
+		Assert.assertThat(service.evaluate("flow1", "#amount > 1000", service.createContext(execution), Boolean.class),
+				equalTo(true));
+		Assert.assertThat(service.getCachedExpressions(), equalTo(1));
+	}
+
+	@Test
+	public void redeployedConditionShouldNotSeeTheFormerExpression() {
+		EvaluationContext context = service.createContext(execution);
+		service.prepare("flow1", "#amount > 1000");
+
+		Assert.assertThat(service.evaluate("flow1", "#amount > 2000", context, Boolean.class), equalTo(false));
+		Assert.assertThat(service.evaluate("flow1", "#amount > 1000", context, Boolean.class), equalTo(true));
+	}
+
+	@Test
+	public void cacheShouldBeBounded() {
+		service.prepare("flow1", "#amount > 1");
+		service.prepare("flow2", "#amount > 2");
+		service.prepare("flow3", "#amount > 3");
+		service.prepare("flow4", "#amount > 4");
+
+		Assert.assertThat(service.getCachedExpressions(), equalTo(2));
+		// evicted expressions are parsed again
+		Assert.assertThat(service.evaluate("flow1", "#amount > 1", service.createContext(execution), Boolean.class),
+				equalTo(true));
+	}
+
+}
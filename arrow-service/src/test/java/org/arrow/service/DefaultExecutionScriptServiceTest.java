@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+
+import org.arrow.runtime.execution.service.ExecutionScriptService.ScriptEvaluationContext;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scripting.ScriptSource;
+import org.springframework.scripting.support.StaticScriptSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests that concurrent evaluations of the same script on the shared script
+ * engine do not see each other's variables.
+ */
+@Category(UnitTest.class)
+public class DefaultExecutionScriptServiceTest {
+
+	private static final int THREADS = 8;
+	private static final int EVALUATIONS = 200;
+
+	private final DefaultExecutionScriptService service = new DefaultExecutionScriptService();
+	private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(service, "environment", new MockEnvironment());
+		service.init();
+	}
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void scriptGlobalsShouldNotLeakIntoOtherEvaluations() {
+		service.evaluate(script("leaked = value"), context("javascript", 1));
+
+		Object result = service.evaluate(script("typeof leaked"), context("javascript", 2));
+
+		Assert.assertThat(result, equalTo((Object) "undefined"));
+	}
+
+	@Test
+	public void concurrentScriptEvaluationsShouldBeIsolated() throws Exception {
+		// the global is written first and read after the loop, so that the
+		// evaluations interleave between the write and the read
+		ScriptSource source = script("current = value; for (var i = 0; i < 500; i++) { } current");
+
+		assertIsolated(value -> service.evaluate(source, context("javascript", value)));
+	}
+
+	@Test
+	public void concurrentGroovyEvaluationsShouldBeIsolated() throws Exception {
+		ScriptSource source = script("current = value; 500.times { }; current");
+
+		assertIsolated(value -> service.evaluateCompiledGroovy(source, context("groovy", value)));
+	}
+
+	/**
+	 * Evaluates the script on all threads at once, each evaluation with its
+	 * own value, and checks that each evaluation returns its own value.
+	 */
+	private void assertIsolated(Evaluation evaluation) throws Exception {
+		CyclicBarrier barrier = new CyclicBarrier(THREADS);
+		List<Future<List<String>>> futures = new ArrayList<>();
+
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			futures.add(executor.submit((Callable<List<String>>) () -> {
+				barrier.await(10, TimeUnit.SECONDS);
+
+				List<String> mismatches = new ArrayList<>();
+				for (int i = 0; i < EVALUATIONS; i++) {
+					int value = thread * EVALUATIONS + i;
+					Object result = evaluation.evaluate(value);
+					if (((Number) result).intValue() != value) {
+						mismatches.add(value + " != " + result);
+					}
+				}
+				return mismatches;
+			}));
+		}
+
+		for (Future<List<String>> future : futures) {
+			Assert.assertThat(future.get(60, TimeUnit.SECONDS), equalTo(Collections.<String>emptyList()));
+		}
+	}
+
+	private static ScriptSource script(String script) {
+		return new StaticScriptSource(script);
+	}
+
+	private static ScriptEvaluationContext context(String language, int value) {
+		Map<String, Object> arguments = new HashMap<>();
+		arguments.put("value", value);
+		return new ScriptEvaluationContext(language, arguments);
+	}
+
+	private interface Evaluation {
+		Object evaluate(int value);
+	}
+
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.arrow.data.neo4j.store.impl.TimerStoreImpl;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.timer.TimerJob;
+import org.arrow.runtime.timer.TimerStore;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.test.TestGraphDatabaseFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the {@link DefaultTimerService} on a {@link TimerStoreImpl} stored
+ * on disk, so that the recovery of the timers after a restart can be
+ * verified.
+ */
+@Category(UnitTest.class)
+public class DefaultTimerServiceTest {
+
+	private static final String TYPE = "test";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final BlockingQueue<TimerJob> fired = new LinkedBlockingQueue<>();
+
+	private CountDownLatch queried = new CountDownLatch(1);
+	private CountDownLatch release = new CountDownLatch(0);
+
+	private GraphDatabaseService gds;
+	private BlockingTimerStore store;
+	private DefaultTimerService service;
+
+	@Before
+	public void setUp() {
+		start();
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		stop();
+	}
+
+	@Test
+	public void overdueTimersShouldFireAfterARestart() throws Exception {
+		TimerJob job = job("a", System.currentTimeMillis() + 500);
+		service.schedule(job);
+
+		// the engine is down while the timer falls due
+		stop();
+		Thread.sleep(600);
+		start();
+
+		Assert.assertThat(fired.poll(10, TimeUnit.SECONDS), equalTo(job));
+		awaitStored(0);
+	}
+
+	@Test
+	public void rescheduledTimerShouldBeKeptInTheStore() throws Exception {
+		TimerJob job = job("a", System.currentTimeMillis());
+		AtomicBoolean retried = new AtomicBoolean();
+		service.register(TYPE, jobs -> {
+			// e.g. a timer start event which is not deployed yet
+			if (!retried.getAndSet(true)) {
+				service.schedule(jobs.get(0).withDueDate(System.currentTimeMillis() + 50));
+			}
+			fired.addAll(jobs);
+		});
+		service.schedule(job);
+
+		Assert.assertThat(fired.poll(10, TimeUnit.SECONDS), equalTo(job));
+		Assert.assertThat(fired.poll(10, TimeUnit.SECONDS).getId(), equalTo("a"));
+		awaitStored(0);
+	}
+
+	@Test
+	public void timerShouldBeRetriedIfItsHandlerFails() throws Exception {
+		TimerJob job = job("a", System.currentTimeMillis());
+		AtomicInteger attempts = new AtomicInteger();
+		service.register(TYPE, jobs -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new IllegalStateException("handler failed");
+			}
+			fired.addAll(jobs);
+		});
+		service.schedule(job);
+
+		Assert.assertThat(fired.poll(10, TimeUnit.SECONDS), equalTo(job));
+		Assert.assertThat(attempts.get(), equalTo(2));
+		awaitStored(0);
+	}
+
+	@Test
+	public void timerShouldBeRetriedUntilItsHandlerIsRegistered() throws Exception {
+		TimerJob job = new TimerJob("a", "late", "a", System.currentTimeMillis());
+		service.schedule(job);
+
+		Thread.sleep(100);
+		service.register("late", fired::addAll);
+
+		Assert.assertThat(fired.poll(10, TimeUnit.SECONDS), equalTo(job));
+		awaitStored(0);
+	}
+
+	@Test
+	public void timersOfTheExecutionsOfANodeShouldBeIndependent() throws Exception {
+		// e.g. two executions of a node on parallel paths
+		Execution first = execution("pi:1");
+		Execution second = execution("pi:2");
+		Date dueDate = new Date(System.currentTimeMillis() + 200);
+
+		service.schedule(TimerJob.forExecution(first, dueDate));
+		service.schedule(TimerJob.forExecution(second, dueDate));
+		service.cancel(TimerJob.executionTimerId(first.getId()));
+
+		TimerJob job = fired.poll(10, TimeUnit.SECONDS);
+		Assert.assertThat(job.getTargetId(), equalTo("pi:2"));
+		Assert.assertThat(fired.poll(300, TimeUnit.MILLISECONDS), equalTo(null));
+	}
+
+	@Test
+	public void scheduleShouldNotWaitForTheStoreQuery() throws Exception {
+		stop();
+		queried = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+		start();
+
+		// the timer thread has queried the store and is blocked
+		Assert.assertThat(queried.await(10, TimeUnit.SECONDS), equalTo(true));
+
+		TimerJob job = job("a", System.currentTimeMillis());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> scheduled = executor.submit(() -> service.schedule(job));
+			scheduled.get(5, TimeUnit.SECONDS);
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+
+		// the timer is not part of the blocked query result but must fire
+		Assert.assertThat(fired.poll(10, TimeUnit.SECONDS), equalTo(job));
+	}
+
+	private void start() {
+		gds = new TestGraphDatabaseFactory().newEmbeddedDatabase(folder.getRoot().getAbsolutePath());
+
+		Neo4jTemplate template = mock(Neo4jTemplate.class);
+		when(template.getGraphDatabaseService()).thenReturn(gds);
+		TimerStoreImpl delegate = new TimerStoreImpl();
+		ReflectionTestUtils.setField(delegate, "template", template);
+		store = new BlockingTimerStore(delegate);
+
+		MockEnvironment environment = new MockEnvironment();
+		environment.setProperty("arrow.timer.tick", "10");
+		environment.setProperty("arrow.timer.retry-delay", "50");
+
+		service = new DefaultTimerService();
+		ReflectionTestUtils.setField(service, "store", store);
+		ReflectionTestUtils.setField(service, "environment", environment);
+		service.register(TYPE, fired::addAll);
+		service.register(TimerJob.EXECUTION, fired::addAll);
+		service.onApplicationEvent(new ContextRefreshedEvent(mock(ApplicationContext.class)));
+	}
+
+	private void stop() throws InterruptedException {
+		if (service == null) {
+			return;
+		}
+		service.stop();
+		gds.shutdown();
+		service = null;
+	}
+
+	private void awaitStored(int count) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (store.findDue(Long.MIN_VALUE, Long.MAX_VALUE, 10).size() != count) {
+			Assert.assertThat(System.nanoTime() < deadline, equalTo(true));
+			Thread.sleep(10);
+		}
+	}
+
+	private static TimerJob job(String id, long dueDate) {
+		return new TimerJob(id, TYPE, id, dueDate);
+	}
+
+	private static Execution execution(String id) {
+		Execution execution = new Execution();
+		execution.setId(id);
+		return execution;
+	}
+
+	/**
+	 * {@link TimerStore} which blocks the timer thread after each query until
+	 * the release latch is opened.
+	 */
+	private class BlockingTimerStore implements TimerStore {
+
+		private final TimerStore delegate;
+
+		BlockingTimerStore(TimerStore delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void save(Collection<TimerJob> jobs) {
+			delegate.save(jobs);
+		}
+
+		@Override
+		public void delete(Collection<String> ids) {
+			delegate.delete(ids);
+		}
+
+		@Override
+		public void deleteFired(Collection<TimerJob> jobs) {
+			delegate.deleteFired(jobs);
+		}
+
+		@Override
+		public List<TimerJob> findDue(long from, long to, int limit) {
+			List<TimerJob> jobs = delegate.findDue(from, to, limit);
+			if (Thread.currentThread().getName().equals("arrow-timer")) {
+				queried.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return jobs;
+		}
+	}
+
+}
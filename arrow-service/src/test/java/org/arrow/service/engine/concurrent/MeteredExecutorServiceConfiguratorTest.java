@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Category(UnitTest.class)
+public class MeteredExecutorServiceConfiguratorTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private ThreadPoolExecutor executor;
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void fullQueueShouldRejectTasksWithoutBlocking() throws Exception {
+		executor = MeteredExecutorServiceConfigurator.newExecutor(1, 1, Executors.defaultThreadFactory());
+		occupy();
+
+		AtomicReference<Thread> runner = new AtomicReference<>();
+		long start = System.nanoTime();
+		try {
+			executor.execute(() -> runner.set(Thread.currentThread()));
+			Assert.fail("the task should be rejected");
+		} catch (RejectedExecutionException e) {
+			// expected
+		}
+		// the submitter does not wait for a free slot and does not run the task
+		Assert.assertThat(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500), equalTo(true));
+		Assert.assertThat(runner.get(), equalTo(null));
+	}
+
+	@Test
+	public void fullQueueShouldAcceptTasksOnceASlotIsFree() throws Exception {
+		executor = MeteredExecutorServiceConfigurator.newExecutor(1, 1, Executors.defaultThreadFactory());
+		occupy();
+		release.countDown();
+		awaitEmptyQueue();
+
+		CountDownLatch done = new CountDownLatch(1);
+		AtomicReference<Thread> runner = new AtomicReference<>();
+		executor.execute(() -> {
+			runner.set(Thread.currentThread());
+			done.countDown();
+		});
+
+		Assert.assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+		Assert.assertThat(runner.get(), not(equalTo(Thread.currentThread())));
+	}
+
+	@Test
+	public void shutDownExecutorShouldRejectTasks() {
+		executor = MeteredExecutorServiceConfigurator.newExecutor(1, 1, Executors.defaultThreadFactory());
+		executor.shutdown();
+
+		try {
+			executor.execute(() -> { });
+			Assert.fail("the task should be rejected");
+		} catch (RejectedExecutionException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Blocks the single thread of the executor and fills its queue.
+	 */
+	private void occupy() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			awaitRelease();
+		});
+		Assert.assertThat(started.await(10, TimeUnit.SECONDS), equalTo(true));
+		executor.execute(this::awaitRelease);
+		Assert.assertThat(executor.getQueue().size(), equalTo(1));
+	}
+
+	private void awaitRelease() {
+		try {
+			release.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void awaitEmptyQueue() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!executor.getQueue().isEmpty()) {
+			Assert.assertThat(System.nanoTime() < deadline, equalTo(true));
+			Thread.sleep(1);
+		}
+	}
+
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Futures;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController.Policy;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Tests the permits of the {@link ProcessAdmissionController}. The future
+ * callbacks run on the calling thread, so every admission completes
+ * synchronously.
+ */
+@Category(UnitTest.class)
+public class ProcessAdmissionControllerTest {
+
+	private static final ExecutionContext SAME_THREAD = ExecutionContexts.fromExecutor(Runnable::run);
+
+	@Test
+	public void unboundedControllerShouldAdmitEveryStart() {
+		ProcessAdmissionController controller = controller(0, 0, Policy.REJECT);
+
+		for (int i = 0; i < 100; i++) {
+			Assert.assertThat(succeeded(controller.admit(start("pi-" + i))), equalTo(true));
+		}
+		Assert.assertThat(controller.getInFlight(), equalTo(100));
+
+		controller.release("pi-0");
+		Assert.assertThat(controller.getInFlight(), equalTo(99));
+	}
+
+	@Test
+	public void rejectPolicyShouldFailStartsBeyondTheMaximum() {
+		ProcessAdmissionController controller = controller(2, 10, Policy.REJECT);
+
+		Assert.assertThat(succeeded(controller.admit(start("pi-1"))), equalTo(true));
+		Assert.assertThat(succeeded(controller.admit(start("pi-2"))), equalTo(true));
+		Future<Iterable<EventMessage>> rejected = controller.admit(start("pi-3"));
+
+		Assert.assertThat(failure(rejected), instanceOf(ProcessAdmissionException.class));
+		Assert.assertThat(controller.getInFlight(), equalTo(2));
+		Assert.assertThat(controller.getRejectedCount(), equalTo(1L));
+	}
+
+	@Test
+	public void releasedPermitShouldAdmitTheNextQueuedStart() {
+		ProcessAdmissionController controller = controller(1, 10, Policy.QUEUE);
+
+		controller.admit(start("pi-1"));
+		Future<Iterable<EventMessage>> queued = controller.admit(start("pi-2"));
+
+		Assert.assertThat(queued.isCompleted(), equalTo(false));
+		Assert.assertThat(controller.getPending(), equalTo(1));
+
+		controller.release("pi-1");
+
+		Assert.assertThat(succeeded(queued), equalTo(true));
+		Assert.assertThat(controller.getPending(), equalTo(0));
+		Assert.assertThat(controller.getInFlight(), equalTo(1));
+	}
+
+	@Test
+	public void queuePolicyShouldFailStartsBeyondThePendingMaximum() {
+		ProcessAdmissionController controller = controller(1, 1, Policy.QUEUE);
+
+		controller.admit(start("pi-1"));
+		Future<Iterable<EventMessage>> queued = controller.admit(start("pi-2"));
+		Future<Iterable<EventMessage>> rejected = controller.admit(start("pi-3"));
+
+		Assert.assertThat(queued.isCompleted(), equalTo(false));
+		Assert.assertThat(failure(rejected), instanceOf(ProcessAdmissionException.class));
+	}
+
+	@Test
+	public void shedPolicyShouldFailTheOldestPendingStart() {
+		ProcessAdmissionController controller = controller(1, 1, Policy.SHED);
+
+		controller.admit(start("pi-1"));
+		Future<Iterable<EventMessage>> oldest = controller.admit(start("pi-2"));
+		Future<Iterable<EventMessage>> newest = controller.admit(start("pi-3"));
+
+		Assert.assertThat(failure(oldest), instanceOf(ProcessAdmissionException.class));
+		Assert.assertThat(newest.isCompleted(), equalTo(false));
+		Assert.assertThat(controller.getShedCount(), equalTo(1L));
+
+		controller.release("pi-1");
+		Assert.assertThat(succeeded(newest), equalTo(true));
+	}
+
+	@Test
+	public void failedStartShouldReleaseItsPermit() {
+		ProcessAdmissionController controller = controller(1, 10, Policy.REJECT);
+
+		Future<Iterable<EventMessage>> failed = controller.admit(
+				() -> Futures.<Iterable<EventMessage>>failed(new IllegalStateException("store failed")));
+
+		Assert.assertThat(failure(failed), instanceOf(IllegalStateException.class));
+		Assert.assertThat(controller.getInFlight(), equalTo(0));
+		Assert.assertThat(succeeded(controller.admit(start("pi-1"))), equalTo(true));
+	}
+
+	@Test
+	public void permitShouldBeReleasedOnlyOnce() {
+		ProcessAdmissionController controller = controller(2, 10, Policy.REJECT);
+
+		controller.admit(start("pi-1"));
+		controller.admit(start("pi-2"));
+
+		// the failed process instance and its stopping master both release
+		controller.release("pi-1");
+		controller.release("pi-1");
+
+		Assert.assertThat(controller.getInFlight(), equalTo(1));
+	}
+
+	@Test
+	public void unknownProcessInstanceShouldNotReleaseAPermit() {
+		ProcessAdmissionController controller = controller(1, 10, Policy.REJECT);
+
+		controller.admit(start("pi-1"));
+		controller.release("pi-2");
+		controller.release(null);
+
+		Assert.assertThat(controller.getInFlight(), equalTo(1));
+	}
+
+	@Test
+	public void startOfSeveralProcessInstancesShouldHoldAPermitPerInstance() {
+		ProcessAdmissionController controller = controller(2, 10, Policy.REJECT);
+
+		controller.admit(start("pi-1", "pi-2", "pi-3"));
+
+		Assert.assertThat(controller.getInFlight(), equalTo(3));
+		Assert.assertThat(failure(controller.admit(start("pi-4"))), instanceOf(ProcessAdmissionException.class));
+
+		controller.release("pi-1");
+		controller.release("pi-2");
+		Assert.assertThat(controller.getInFlight(), equalTo(1));
+		Assert.assertThat(succeeded(controller.admit(start("pi-4"))), equalTo(true));
+	}
+
+	@Test
+	public void startOfSeveralPermitsShouldAcquireOnePermitPerInstance() {
+		ProcessAdmissionController controller = controller(4, 10, Policy.REJECT);
+
+		Assert.assertThat(succeeded(controller.admit(3, start("pi-1", "pi-2", "pi-3"))), equalTo(true));
+		Assert.assertThat(controller.getInFlight(), equalTo(3));
+
+		// a single permit is left
+		Assert.assertThat(failure(controller.admit(2, start("pi-4", "pi-5"))), instanceOf(ProcessAdmissionException.class));
+		Assert.assertThat(succeeded(controller.admit(1, start("pi-4"))), equalTo(true));
+		Assert.assertThat(controller.getInFlight(), equalTo(4));
+	}
+
+	@Test
+	public void queuedStartOfSeveralPermitsShouldWaitForAllPermits() {
+		ProcessAdmissionController controller = controller(3, 10, Policy.QUEUE);
+
+		controller.admit(3, start("pi-1", "pi-2", "pi-3"));
+		Future<Iterable<EventMessage>> queued = controller.admit(2, start("pi-4", "pi-5"));
+
+		controller.release("pi-1");
+		Assert.assertThat(queued.isCompleted(), equalTo(false));
+
+		controller.release("pi-2");
+		Assert.assertThat(succeeded(queued), equalTo(true));
+		Assert.assertThat(controller.getInFlight(), equalTo(3));
+	}
+
+	@Test
+	public void unusedPermitsShouldBeReleased() {
+		ProcessAdmissionController controller = controller(3, 10, Policy.REJECT);
+
+		controller.admit(3, start("pi-1"));
+
+		Assert.assertThat(controller.getInFlight(), equalTo(1));
+	}
+
+	@Test
+	public void startOfMorePermitsThanTheMaximumShouldFail() {
+		ProcessAdmissionController controller = controller(2, 10, Policy.QUEUE);
+
+		Future<Iterable<EventMessage>> failed = controller.admit(3, start("pi-1", "pi-2", "pi-3"));
+
+		Assert.assertThat(failure(failed), instanceOf(IllegalArgumentException.class));
+		Assert.assertThat(controller.getInFlight(), equalTo(0));
+		Assert.assertThat(controller.getPending(), equalTo(0));
+	}
+
+	private static ProcessAdmissionController controller(int maxInFlight, int maxPending, Policy policy) {
+		return new ProcessAdmissionController(maxInFlight, maxPending, policy, SAME_THREAD);
+	}
+
+	private static Callable<Future<Iterable<EventMessage>>> start(String... processInstanceIds) {
+		List<EventMessage> messages = new ArrayList<>();
+		for (String id : processInstanceIds) {
+			ProcessInstance pi = new ProcessInstance();
+			pi.setId(id);
+			messages.add(new StartEventMessage(pi));
+		}
+		return () -> Futures.<Iterable<EventMessage>>successful(messages);
+	}
+
+	private static boolean succeeded(Future<Iterable<EventMessage>> future) {
+		return future.isCompleted() && future.value().get().isSuccess();
+	}
+
+	private static Throwable failure(Future<Iterable<EventMessage>> future) {
+		Assert.assertThat(future.isCompleted(), equalTo(true));
+		return future.value().get().failed().get();
+	}
+
+}
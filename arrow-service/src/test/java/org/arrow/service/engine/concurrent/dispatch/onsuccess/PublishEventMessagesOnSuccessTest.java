@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent.dispatch.onsuccess;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.UntypedActor;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.EventMessageEventBus;
+import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests that a new master actor is subscribed to the event bus before it
+ * receives the start message of its process instance.
+ */
+@Category(UnitTest.class)
+public class PublishEventMessagesOnSuccessTest {
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	private ActorSystem actorSystem;
+
+	@Before
+	public void setUp() {
+		actorSystem = ActorSystem.create("publish-event-messages-test");
+	}
+
+	@After
+	public void tearDown() {
+		actorSystem.shutdown();
+	}
+
+	@Test
+	public void masterShouldBeSubscribedBeforeItStarts() throws Exception {
+		ActorRef master = actorSystem.actorOf(Props.create(MasterStub.class, started));
+		RecordingEventBus eventBus = new RecordingEventBus();
+
+		ApplicationContext context = mock(ApplicationContext.class);
+		when(context.getBean(EventMessageEventBus.class)).thenReturn(eventBus);
+		when(context.getBean("master", ActorRef.class)).thenReturn(master);
+
+		ProcessInstance pi = new ProcessInstance();
+		pi.setId("pi");
+		EventMessage start = new StartEventMessage(pi);
+
+		new PublishEventMessagesOnSuccess(context).onSuccess(Collections.singletonList(start));
+
+		Assert.assertThat(started.await(10, TimeUnit.SECONDS), equalTo(true));
+		Assert.assertThat(eventBus.startedBeforeSubscription, equalTo(false));
+	}
+
+	/**
+	 * Event bus which records if the master already handled its start
+	 * message when it was subscribed. The subscription waits a moment for
+	 * a start message which was sent before.
+	 */
+	private class RecordingEventBus extends EventMessageEventBus {
+
+		private volatile boolean startedBeforeSubscription;
+
+		@Override
+		public boolean subscribe(ActorRef subscriber, String classifier) {
+			try {
+				startedBeforeSubscription = started.await(200, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return super.subscribe(subscriber, classifier);
+		}
+	}
+
+	public static class MasterStub extends UntypedActor {
+
+		private final CountDownLatch started;
+
+		public MasterStub(CountDownLatch started) {
+			this.started = started;
+		}
+
+		@Override
+		public void onReceive(Object message) {
+			started.countDown();
+		}
+	}
+
+}
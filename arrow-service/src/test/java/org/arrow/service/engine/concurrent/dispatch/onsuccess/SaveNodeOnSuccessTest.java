@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.concurrent.dispatch.onsuccess;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.actor.Status;
+import akka.actor.UntypedActor;
+import akka.actor.UntypedActorContext;
+import org.arrow.data.neo4j.store.impl.WriteBehindExecutionStore;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.service.ExecutionService;
+import org.arrow.runtime.message.impl.DefaultExecuteEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.neo4j.support.Neo4jTemplate;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests that a node save rejected by a full persistence dispatcher is
+ * reported to the master actor as a failure.
+ */
+@Category(UnitTest.class)
+public class SaveNodeOnSuccessTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private final BlockingQueue<Object> received = new ArrayBlockingQueue<>(10);
+
+	private ActorSystem actorSystem;
+	private EngineDispatchers dispatchers;
+
+	@Before
+	public void setUp() {
+		actorSystem = ActorSystem.create("save-node-test");
+		dispatchers = new EngineDispatchers(actorSystem, EngineDispatchers.newRegistryKey(), 1, 1, 1, 1, 1, 1);
+	}
+
+	@After
+	public void tearDown() {
+		release.countDown();
+		dispatchers.shutdown();
+		actorSystem.shutdown();
+	}
+
+	@Test
+	public void rejectedSaveShouldFailTheMaster() throws Throwable {
+		ActorRef master = actorSystem.actorOf(Props.create(MasterStub.class, received));
+
+		ApplicationContext context = mock(ApplicationContext.class);
+		when(context.getBean(Neo4jTemplate.class)).thenReturn(mock(Neo4jTemplate.class));
+		when(context.getBean(ExecutionService.class)).thenReturn(mock(ExecutionService.class));
+		when(context.getBean(WriteBehindExecutionStore.class)).thenReturn(mock(WriteBehindExecutionStore.class));
+
+		UntypedActorContext actorContext = mock(UntypedActorContext.class);
+		when(actorContext.sender()).thenReturn(master);
+		when(actorContext.self()).thenReturn(ActorRef.noSender());
+
+		// occupy the single persistence thread and fill the queue
+		dispatchers.persistence().execute(this::awaitRelease);
+		dispatchers.persistence().execute(this::awaitRelease);
+
+		DefaultExecuteEventMessage entity = new DefaultExecuteEventMessage(new Execution());
+		new SaveNodeOnSuccess(context, dispatchers.persistence(), actorContext, entity)
+				.onSuccess(Collections.emptyList());
+
+		Object message = received.poll(10, TimeUnit.SECONDS);
+		Assert.assertThat(message, instanceOf(Status.Failure.class));
+		Assert.assertThat(((Status.Failure) message).cause(), instanceOf(RejectedExecutionException.class));
+		Assert.assertThat(received.isEmpty(), equalTo(true));
+	}
+
+	private void awaitRelease() {
+		try {
+			release.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public static class MasterStub extends UntypedActor {
+
+		private final BlockingQueue<Object> received;
+
+		public MasterStub(BlockingQueue<Object> received) {
+			this.received = received;
+		}
+
+		@Override
+		public void onReceive(Object message) {
+			received.add(message);
+		}
+	}
+
+}
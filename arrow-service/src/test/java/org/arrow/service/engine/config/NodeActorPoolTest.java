@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.config;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.PoisonPill;
+import akka.actor.Props;
+import akka.actor.UntypedActor;
+import akka.routing.ConsistentHashingPool;
+import akka.testkit.JavaTestKit;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.service.engine.config.NodeActorPool.ProcessInstanceHashMapper;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+@Category(UnitTest.class)
+public class NodeActorPoolTest {
+
+	private ActorSystem system;
+
+	@Before
+	public void setUp() {
+		system = ActorSystem.create("NodeActorPoolTest");
+	}
+
+	@After
+	public void tearDown() {
+		JavaTestKit.shutdownActorSystem(system);
+	}
+
+	@Test
+	public void messagesShouldBeHashedByTheirProcessInstanceId() {
+		ProcessInstanceHashMapper mapper = new ProcessInstanceHashMapper();
+
+		Assert.assertThat(mapper.hashKey(message("pi-1")), equalTo((Object) "pi-1"));
+		Assert.assertThat(mapper.hashKey(message("pi-1")), equalTo(mapper.hashKey(message("pi-1"))));
+		Assert.assertThat(mapper.hashKey(message("pi-1")), not(equalTo(mapper.hashKey(message("pi-2")))));
+	}
+
+	@Test
+	public void messagesWithoutProcessInstanceShouldShareOneHashKey() {
+		ProcessInstanceHashMapper mapper = new ProcessInstanceHashMapper();
+
+		Assert.assertThat(mapper.hashKey(message(null)), equalTo(mapper.hashKey(message(null))));
+		Assert.assertThat(mapper.hashKey(new Object()), equalTo(mapper.hashKey(new Object())));
+		Assert.assertThat(mapper.hashKey(new Object()), equalTo(mapper.hashKey(message(null))));
+	}
+
+	@Test
+	public void messagesOfAProcessInstanceShouldBeRoutedToTheSameNodeActor() {
+		ConsistentHashingPool pool = new ConsistentHashingPool(4).withHashMapper(new ProcessInstanceHashMapper());
+		ActorRef router = system.actorOf(Props.create(Echo.class).withRouter(pool));
+
+		new JavaTestKit(system) {{
+			Map<String, Set<ActorRef>> routees = new HashMap<>();
+			for (int i = 0; i < 10; i++) {
+				for (int pi = 0; pi < 16; pi++) {
+					String id = pi < 15 ? "pi-" + pi : null;
+					router.tell(message(id), getRef());
+					ActorRef routee = expectMsgClass(ActorRef.class);
+					routees.computeIfAbsent(String.valueOf(id), key -> new HashSet<>()).add(routee);
+				}
+			}
+
+			Set<ActorRef> used = new HashSet<>();
+			for (Set<ActorRef> refs : routees.values()) {
+				Assert.assertThat(refs.size(), equalTo(1));
+				used.addAll(refs);
+			}
+			// the process instances are spread over the node actors
+			Assert.assertThat(used.size() > 1, equalTo(true));
+		}};
+	}
+
+	@Test
+	public void sharedPoolShouldRegisterTheScopeOfEachMaster() {
+		NodeActorPool pool = new NodeActorPool(system, mock(ApplicationContext.class), true, 2, null);
+		ActorRef master1 = system.actorOf(Props.create(Echo.class));
+		ActorRef master2 = system.actorOf(Props.create(Echo.class));
+		Map<String, Object> scope1 = Collections.<String, Object>singletonMap("key", "master1");
+		Map<String, Object> scope2 = Collections.<String, Object>singletonMap("key", "master2");
+
+		ActorRef router1 = pool.nodeWorker(master1, system, scope1);
+		ActorRef router2 = pool.nodeWorker(master2, system, scope2);
+
+		Assert.assertThat(router1, sameInstance(router2));
+		Assert.assertThat(pool.scopeOf(master1), equalTo(scope1));
+		Assert.assertThat(pool.scopeOf(master2), equalTo(scope2));
+		Assert.assertThat(pool.getRegisteredMasters(), equalTo(2));
+
+		pool.unregister(master1);
+
+		Assert.assertThat(pool.scopeOf(master1).isEmpty(), equalTo(true));
+		Assert.assertThat(pool.getRegisteredMasters(), equalTo(1));
+	}
+
+	@Test
+	public void registrationShouldBeRemovedWhenTheMasterTerminates() {
+		NodeActorPool pool = new NodeActorPool(system, mock(ApplicationContext.class), true, 2, null);
+		ActorRef master = system.actorOf(Props.create(Echo.class));
+		pool.nodeWorker(master, system, new HashMap<>());
+		Assert.assertThat(pool.getRegisteredMasters(), equalTo(1));
+
+		// the master stops without unregistering itself
+		master.tell(PoisonPill.getInstance(), ActorRef.noSender());
+
+		new JavaTestKit(system) {{
+			new AwaitCond(duration("10 seconds")) {
+				@Override
+				protected boolean cond() {
+					return pool.getRegisteredMasters() == 0;
+				}
+			};
+		}};
+	}
+
+	@Test
+	public void perMasterPoolShouldNotRegisterTheMaster() {
+		NodeActorPool pool = new NodeActorPool(system, mock(ApplicationContext.class), false, 2, null);
+		ActorRef master = system.actorOf(Props.create(Echo.class));
+
+		pool.nodeWorker(master, system, new HashMap<>());
+
+		Assert.assertThat(pool.getRegisteredMasters(), equalTo(0));
+	}
+
+	private static EventMessage message(String processInstanceId) {
+		ProcessInstance pi = new ProcessInstance();
+		pi.setId(processInstanceId);
+
+		EventMessage message = mock(EventMessage.class);
+		when(message.getProcessInstance()).thenReturn(pi);
+		return message;
+	}
+
+	/**
+	 * Replies with its own reference.
+	 */
+	public static class Echo extends UntypedActor {
+
+		@Override
+		public void onReceive(Object message) throws Exception {
+			getSender().tell(getSelf(), getSelf());
+		}
+	}
+
+}
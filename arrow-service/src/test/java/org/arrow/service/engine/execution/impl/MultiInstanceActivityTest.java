@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.execution.impl;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Mockito.mock;
+
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Futures;
+import org.arrow.model.task.multi.MultiInstanceLoopCharacteristics.Behavior;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import scala.concurrent.ExecutionContextExecutor;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests that a {@link MultiInstanceActivity} limits its active instances and
+ * forwards the messages of each instance as soon as it is completed. The
+ * completion callbacks run on the calling thread, the instances are
+ * completed by the test.
+ */
+@Category(UnitTest.class)
+public class MultiInstanceActivityTest {
+
+	private static final ExecutionContextExecutor SAME_THREAD = ExecutionContexts.fromExecutor(Runnable::run);
+
+	private final List<Execution> instances = new ArrayList<>();
+	private final List<Promise<Iterable<EventMessage>>> results = new ArrayList<>();
+	private final List<EventMessage> forwarded = new ArrayList<>();
+
+	@Test
+	public void messagesShouldBeForwardedPerInstance() throws Exception {
+		Future<Integer> future = start(Arrays.asList("a", "b", "c"), 1, Behavior.All);
+
+		EventMessage message1 = complete(0);
+		Assert.assertThat(forwarded, equalTo(Collections.singletonList(message1)));
+		Assert.assertThat(future.isCompleted(), equalTo(false));
+
+		EventMessage message2 = complete(1);
+		EventMessage message3 = complete(2);
+		Assert.assertThat(forwarded, equalTo(Arrays.asList(message1, message2, message3)));
+
+		Assert.assertThat(future.isCompleted(), equalTo(true));
+		Assert.assertThat(future.value().get().get(), equalTo(3));
+	}
+
+	@Test
+	public void activeInstancesShouldNotExceedTheParallelism() {
+		start(Arrays.asList("a", "b", "c", "d", "e"), 2, Behavior.All);
+		Assert.assertThat(instances.size(), equalTo(2));
+
+		// the completion of an instance starts the next one
+		complete(1);
+		Assert.assertThat(instances.size(), equalTo(3));
+		Assert.assertThat(instances.get(2).getLocalVariables().get("item"), equalTo((Object) "c"));
+		Assert.assertThat(instances.get(2).getLocalVariables().get(MultiInstanceActivity.LOOP_COUNTER), equalTo((Object) 2));
+	}
+
+	@Test
+	public void messagesOfInstancesCompletedAfterTheActivityShouldBeDropped() throws Exception {
+		Future<Integer> future = start(Arrays.asList("a", "b"), 2, Behavior.One);
+
+		EventMessage message1 = complete(0);
+		Assert.assertThat(future.value().get().get(), equalTo(1));
+
+		complete(1);
+		Assert.assertThat(forwarded, equalTo(Collections.singletonList(message1)));
+	}
+
+	@Test
+	public void failedInstanceShouldFailTheActivity() {
+		Future<Integer> future = start(Arrays.asList("a", "b", "c"), 1, Behavior.All);
+
+		results.get(0).failure(new IllegalStateException("instance failed"));
+
+		Assert.assertThat(future.value().get().isFailure(), equalTo(true));
+		Assert.assertThat(instances.size(), equalTo(1));
+		Assert.assertThat(forwarded.isEmpty(), equalTo(true));
+	}
+
+	private Future<Integer> start(List<?> items, int parallelism, Behavior behavior) {
+		Execution parent = new Execution();
+		return new MultiInstanceActivity(parent, items, "item", parallelism, behavior, instance -> {
+			Promise<Iterable<EventMessage>> promise = Futures.promise();
+			instances.add(instance);
+			results.add(promise);
+			return promise.future();
+		}, instance -> false, messages -> messages.forEach(forwarded::add), SAME_THREAD).start();
+	}
+
+	private EventMessage complete(int index) {
+		EventMessage message = mock(EventMessage.class);
+		results.get(index).success(Collections.singletonList(message));
+		return message;
+	}
+
+}
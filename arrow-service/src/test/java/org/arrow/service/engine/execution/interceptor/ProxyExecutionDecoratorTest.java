@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.engine.execution.interceptor;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.arrow.model.BpmnNodeEntity;
+import org.arrow.model.task.impl.ServiceTask;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.aop.support.AopUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the identity semantics and the advice chain of the proxies created
+ * by the {@link ProxyExecutionDecorator}.
+ */
+@Category(UnitTest.class)
+public class ProxyExecutionDecoratorTest {
+
+	private final AtomicInteger invocations = new AtomicInteger();
+
+	private final MethodInterceptor counter = invocation -> {
+		invocations.incrementAndGet();
+		return invocation.proceed();
+	};
+
+	@Test
+	public void proxiesOfTheSameEntityShouldBeEqual() {
+		FluentTask task = new FluentTask();
+		ProxyExecutionDecorator decorator = new ProxyExecutionDecorator(task, counter);
+
+		BpmnNodeEntity proxy1 = decorator.decorate(null, task);
+		BpmnNodeEntity proxy2 = decorator.decorate(null, task);
+
+		Assert.assertThat(proxy1, not(sameInstance(proxy2)));
+		Assert.assertThat(proxy1, equalTo(proxy2));
+		Assert.assertThat(proxy1.hashCode(), equalTo(proxy2.hashCode()));
+		Assert.assertThat(proxy1.hashCode(), equalTo(task.hashCode()));
+
+		// equals and hashCode are not advised
+		Assert.assertThat(invocations.get(), equalTo(0));
+	}
+
+	@Test
+	public void proxiesOfDifferentEntitiesShouldNotBeEqual() {
+		FluentTask task = new FluentTask();
+		ProxyExecutionDecorator decorator = new ProxyExecutionDecorator(task, counter);
+
+		BpmnNodeEntity proxy = decorator.decorate(null, task);
+
+		Assert.assertThat(proxy, not(equalTo(decorator.decorate(null, new FluentTask()))));
+		Assert.assertThat(proxy.equals(task), equalTo(false));
+		Assert.assertThat(proxy.equals(null), equalTo(false));
+	}
+
+	@Test
+	public void methodReturningThisShouldReturnTheProxy() {
+		FluentTask task = new FluentTask();
+		BpmnNodeEntity proxy = new ProxyExecutionDecorator(task, counter).decorate(null, task);
+
+		Assert.assertThat(((Fluent) proxy).self(), sameInstance((Object) proxy));
+		Assert.assertThat(invocations.get(), equalTo(1));
+	}
+
+	@Test
+	public void methodReturningThisShouldReturnTheProxyWithoutAdvices() {
+		FluentTask task = new FluentTask();
+		BpmnNodeEntity proxy = new ProxyExecutionDecorator(task).decorate(null, task);
+
+		Assert.assertThat(((Fluent) proxy).self(), sameInstance((Object) proxy));
+	}
+
+	@Test
+	public void entityOfAnotherTypeShouldBeProxiedWithTheSameAdvices() {
+		ProxyExecutionDecorator decorator = new ProxyExecutionDecorator(new ServiceTask(), counter);
+
+		FluentTask task = new FluentTask();
+		BpmnNodeEntity proxy = decorator.decorate(null, task);
+
+		Assert.assertThat(AopUtils.isAopProxy(proxy), equalTo(true));
+		Assert.assertThat(((Fluent) proxy).self(), sameInstance((Object) proxy));
+		Assert.assertThat(invocations.get(), equalTo(1));
+	}
+
+	public interface Fluent {
+
+		Fluent self();
+
+	}
+
+	public static class FluentTask extends ServiceTask implements Fluent {
+
+		@Override
+		public Fluent self() {
+			return this;
+		}
+
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.impl;
+
+import org.arrow.runtime.api.task.JavaDelegate;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.util.FutureUtil;
+import scala.concurrent.Future;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Java delegate which records the thread it is executed on per process
+ * instance.
+ */
+public class AsyncDelegateBean implements JavaDelegate {
+
+    private final Map<String, String> threadNames = new ConcurrentHashMap<>();
+
+    @Override
+    public Future<Iterable<EventMessage>> execute(Execution execution) {
+        threadNames.put(execution.getProcessInstance().getId(), Thread.currentThread().getName());
+        return FutureUtil.result();
+    }
+
+    public String getThreadName(String piId) {
+        return threadNames.get(piId);
+    }
+
+}
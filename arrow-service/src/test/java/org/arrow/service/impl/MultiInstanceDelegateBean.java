@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.impl;
+
+import org.arrow.runtime.api.task.JavaDelegate;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.util.FutureUtil;
+import scala.concurrent.Future;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Java delegate which records the items and the maximum count of concurrent
+ * executions of multi instance tasks per process instance.
+ */
+public class MultiInstanceDelegateBean implements JavaDelegate {
+
+    private final Map<String, List<Object>> items = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> maxActive = new ConcurrentHashMap<>();
+
+    @Override
+    public Future<Iterable<EventMessage>> execute(Execution execution) {
+        String piId = execution.getProcessInstance().getId();
+
+        int current = active.computeIfAbsent(piId, key -> new AtomicInteger()).incrementAndGet();
+        maxActive.computeIfAbsent(piId, key -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+        Number delay = (Number) execution.getVariable("delay");
+        try {
+            Thread.sleep(delay == null ? 0 : delay.longValue());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        items.computeIfAbsent(piId, key -> new CopyOnWriteArrayList<>()).add(execution.getVariable("item"));
+        active.get(piId).decrementAndGet();
+
+        return FutureUtil.result();
+    }
+
+    public List<Object> getItems(String piId) {
+        return items.get(piId);
+    }
+
+    public int getMaxActive(String piId) {
+        return maxActive.get(piId).get();
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.microservice.impl.signal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import akka.actor.ActorSystem;
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Futures;
+import org.arrow.runtime.execution.Execution;
+import org.arrow.runtime.execution.service.data.ExecutionRepository;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.EventMessageEventBus;
+import org.arrow.runtime.message.SignalBroadcast;
+import org.arrow.runtime.message.impl.SignalEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import scala.concurrent.Await;
+import scala.concurrent.ExecutionContextExecutor;
+import scala.concurrent.duration.Duration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the batches, the backpressure and the acknowledgement timeout of the
+ * {@link SignalBroadcastService}. The persistence dispatcher runs on the
+ * calling thread, so a broadcast proceeds synchronously until it pauses.
+ */
+@Category(UnitTest.class)
+public class SignalBroadcastServiceTest {
+
+	private static final String SIGNAL = "signal";
+
+	private static final ExecutionContextExecutor SAME_THREAD = ExecutionContexts.fromExecutor(Runnable::run);
+
+	private final List<SignalEventMessage> published = new CopyOnWriteArrayList<>();
+	private final List<Execution> waiting = new ArrayList<>();
+	private final MockEnvironment environment = new MockEnvironment();
+
+	private ActorSystem actorSystem;
+	private SignalBroadcastService service;
+
+	@Before
+	public void setUp() {
+		for (int i = 1; i <= 5; i++) {
+			Execution execution = new Execution();
+			execution.setId("execution-" + i);
+			waiting.add(execution);
+		}
+
+		environment.setProperty("arrow.signal.batch-size", "2");
+
+		EventMessageEventBus eventBus = mock(EventMessageEventBus.class);
+		doAnswer(invocation -> published.add((SignalEventMessage) invocation.getArguments()[0]))
+				.when(eventBus).publish(any(EventMessage.class));
+		ApplicationContext context = mock(ApplicationContext.class);
+		when(context.getBean(EventMessageEventBus.class)).thenReturn(eventBus);
+
+		EngineDispatchers dispatchers = mock(EngineDispatchers.class);
+		when(dispatchers.persistence()).thenReturn(SAME_THREAD);
+
+		ExecutionRepository executionRepository = mock(ExecutionRepository.class);
+		when(executionRepository.findBySignalRef(eq(SIGNAL), anyString(), anyInt())).thenAnswer(
+				invocation -> page((String) invocation.getArguments()[1], (Integer) invocation.getArguments()[2]));
+
+		SignalEventProcessStartingService startingService = mock(SignalEventProcessStartingService.class);
+		when(startingService.admit(any(SignalEventRequest.class))).thenReturn(
+				Futures.<Iterable<EventMessage>>successful(Collections.<EventMessage>emptyList()));
+		SignalEventSubProcessInvoker subProcessInvoker = mock(SignalEventSubProcessInvoker.class);
+		when(subProcessInvoker.getEventMessages(any(SignalEventRequest.class))).thenReturn(
+				Futures.<Iterable<EventMessage>>successful(Collections.<EventMessage>emptyList()));
+
+		actorSystem = ActorSystem.create("signal-broadcast-test");
+
+		service = new SignalBroadcastService();
+		ReflectionTestUtils.setField(service, "context", context);
+		ReflectionTestUtils.setField(service, "environment", environment);
+		ReflectionTestUtils.setField(service, "actorSystem", actorSystem);
+		ReflectionTestUtils.setField(service, "dispatchers", dispatchers);
+		ReflectionTestUtils.setField(service, "executionRepository", executionRepository);
+		ReflectionTestUtils.setField(service, "startingService", startingService);
+		ReflectionTestUtils.setField(service, "subProcessInvoker", subProcessInvoker);
+	}
+
+	@After
+	public void tearDown() {
+		actorSystem.shutdown();
+	}
+
+	@Test
+	public void waitingExecutionsShouldBePublishedInBatches() throws Exception {
+		SignalBroadcast broadcast = service.broadcast(SIGNAL, Collections.<String, Object>emptyMap());
+
+		Await.result(broadcast.getFuture(), Duration.create(10, TimeUnit.SECONDS));
+
+		Assert.assertThat(broadcast.getBatchCount(), equalTo(3));
+		Assert.assertThat(broadcast.getResumedCount(), equalTo(5L));
+		Assert.assertThat(publishedIds(), equalTo(ids(waiting)));
+	}
+
+	@Test
+	public void broadcastShouldPauseUntilTheSignalEventsAreAcknowledged() throws Exception {
+		environment.setProperty("arrow.signal.max-in-flight", "2");
+		environment.setProperty("arrow.signal.ack-timeout", "60000");
+
+		SignalBroadcast broadcast = service.broadcast(SIGNAL, Collections.<String, Object>emptyMap());
+
+		// the first batch reaches the maximum of signal events in flight
+		Assert.assertThat(published.size(), equalTo(2));
+		Assert.assertThat(broadcast.isDone(), equalTo(false));
+
+		published.get(0).acknowledge();
+		Assert.assertThat(published.size(), equalTo(4));
+
+		// three signal events are in flight, a single acknowledgement is not enough
+		published.get(1).acknowledge();
+		Assert.assertThat(published.size(), equalTo(4));
+		Assert.assertThat(broadcast.isDone(), equalTo(false));
+
+		published.get(2).acknowledge();
+		Await.result(broadcast.getFuture(), Duration.create(10, TimeUnit.SECONDS));
+
+		Assert.assertThat(broadcast.getBatchCount(), equalTo(3));
+		Assert.assertThat(publishedIds(), equalTo(ids(waiting)));
+	}
+
+	@Test
+	public void missingAcknowledgementsShouldNotStopTheBroadcast() throws Exception {
+		environment.setProperty("arrow.signal.max-in-flight", "2");
+		environment.setProperty("arrow.signal.ack-timeout", "50");
+
+		SignalBroadcast broadcast = service.broadcast(SIGNAL, Collections.<String, Object>emptyMap());
+
+		// no signal event is ever acknowledged
+		Await.result(broadcast.getFuture(), Duration.create(10, TimeUnit.SECONDS));
+
+		Assert.assertThat(broadcast.getBatchCount(), equalTo(3));
+		Assert.assertThat(broadcast.getResumedCount(), equalTo(5L));
+	}
+
+	@Test
+	public void acknowledgementShouldBeCountedOnce() throws Exception {
+		environment.setProperty("arrow.signal.max-in-flight", "2");
+		environment.setProperty("arrow.signal.ack-timeout", "60000");
+
+		SignalBroadcast broadcast = service.broadcast(SIGNAL, Collections.<String, Object>emptyMap());
+
+		// a redelivered signal event must not release a second slot
+		published.get(0).acknowledge();
+		published.get(0).acknowledge();
+		published.get(0).acknowledge();
+
+		Assert.assertThat(published.size(), equalTo(4));
+		Assert.assertThat(broadcast.isDone(), equalTo(false));
+	}
+
+	/**
+	 * Returns the waiting executions after the given id, ordered by id.
+	 */
+	private List<Execution> page(String afterId, int limit) {
+		return waiting.stream().filter(execution -> execution.getId().compareTo(afterId) > 0)
+				.limit(limit).collect(Collectors.toList());
+	}
+
+	private List<String> publishedIds() {
+		return ids(published.stream().map(SignalEventMessage::getExecution).collect(Collectors.toList()));
+	}
+
+	private static List<String> ids(List<Execution> executions) {
+		return executions.stream().map(Execution::getId).collect(Collectors.toList());
+	}
+
+}
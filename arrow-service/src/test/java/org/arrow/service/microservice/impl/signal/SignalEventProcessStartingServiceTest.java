@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 Christian Weber
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.arrow.service.microservice.impl.signal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import akka.dispatch.ExecutionContexts;
+import org.arrow.data.neo4j.store.ProcessInstanceStore;
+import org.arrow.runtime.api.StartEventSpecification;
+import org.arrow.runtime.execution.ProcessInstance;
+import org.arrow.runtime.execution.service.data.StartEventRepository;
+import org.arrow.runtime.message.EventMessage;
+import org.arrow.runtime.message.impl.StartEventMessage;
+import org.arrow.service.engine.concurrent.EngineDispatchers;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController;
+import org.arrow.service.engine.concurrent.ProcessAdmissionController.Policy;
+import org.arrow.test.runtime.UnitTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import scala.concurrent.ExecutionContextExecutor;
+import scala.concurrent.Future;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests that the signal start events are admitted with one permit per
+ * started process instance. The dispatchers run on the calling thread, so
+ * every admitted chunk is stored synchronously.
+ */
+@Category(UnitTest.class)
+public class SignalEventProcessStartingServiceTest {
+
+	private static final ExecutionContextExecutor SAME_THREAD = ExecutionContexts.fromExecutor(Runnable::run);
+
+	private final ProcessAdmissionController admissionController =
+			new ProcessAdmissionController(2, 10, Policy.QUEUE, SAME_THREAD);
+
+	private final List<ProcessInstance> stored = new ArrayList<>();
+
+	private SignalEventProcessStartingService service;
+
+	@Before
+	public void setUp() {
+		Set<StartEventSpecification> startEvents = new LinkedHashSet<>();
+		for (int i = 0; i < 5; i++) {
+			startEvents.add(mock(StartEventSpecification.class));
+		}
+		StartEventRepository startEventRepository = mock(StartEventRepository.class);
+		doReturn(startEvents).when(startEventRepository).findSignalStartEventsByReference("signal");
+
+		ProcessInstanceStore piStore = mock(ProcessInstanceStore.class);
+		when(piStore.store(anyListOf(StartEventSpecification.class), anyMapOf(String.class, Object.class)))
+				.thenAnswer(invocation -> store((List<?>) invocation.getArguments()[0]));
+
+		EngineDispatchers dispatchers = mock(EngineDispatchers.class);
+		when(dispatchers.persistence()).thenReturn(SAME_THREAD);
+		ApplicationContext context = mock(ApplicationContext.class);
+		when(context.getBean(EngineDispatchers.class)).thenReturn(dispatchers);
+
+		service = new SignalEventProcessStartingService();
+		ReflectionTestUtils.setField(service, "context", context);
+		ReflectionTestUtils.setField(service, "environment", new MockEnvironment());
+		ReflectionTestUtils.setField(service, "startEventRepository", startEventRepository);
+		ReflectionTestUtils.setField(service, "piStore", piStore);
+		ReflectionTestUtils.setField(service, "admissionController", admissionController);
+	}
+
+	@Test
+	public void signalStartsShouldNotExceedTheMaximumInFlight() {
+		Future<Iterable<EventMessage>> future = service.admit(new SignalEventRequest("signal", null, null));
+
+		// the first chunk holds all permits, the other chunks are queued
+		Assert.assertThat(stored.size(), equalTo(2));
+		Assert.assertThat(admissionController.getInFlight(), equalTo(2));
+		Assert.assertThat(admissionController.getPending(), equalTo(2));
+
+		release(0, 1);
+		Assert.assertThat(stored.size(), equalTo(4));
+		Assert.assertThat(admissionController.getInFlight(), equalTo(2));
+
+		release(2, 3);
+		Assert.assertThat(stored.size(), equalTo(5));
+		Assert.assertThat(admissionController.getInFlight(), equalTo(1));
+
+		Assert.assertThat(future.isCompleted(), equalTo(true));
+		int started = 0;
+		for (EventMessage message : future.value().get().get()) {
+			Assert.assertThat(message instanceof StartEventMessage, equalTo(true));
+			started++;
+		}
+		Assert.assertThat(started, equalTo(5));
+	}
+
+	private List<ProcessInstance> store(List<?> chunk) {
+		List<ProcessInstance> processInstances = new ArrayList<>();
+		for (int i = 0; i < chunk.size(); i++) {
+			ProcessInstance pi = new ProcessInstance();
+			pi.setId("pi-" + stored.size());
+			stored.add(pi);
+			processInstances.add(pi);
+		}
+		return processInstances;
+	}
+
+	private void release(int... indexes) {
+		for (int index : indexes) {
+			admissionController.release(stored.get(index).getId());
+		}
+	}
+
+}
@@ -27,10 +27,12 @@ import org.arrow.runtime.RuntimeService
 import org.arrow.runtime.api.event.BusinessCondition
 import org.arrow.runtime.api.event.BusinessCondition.BusinessConditionContext
 import org.arrow.runtime.execution.Execution
+import org.arrow.runtime.execution.ProcessCompletion
 import org.arrow.runtime.execution.ProcessInstance
 import org.arrow.runtime.execution.State
 import org.arrow.runtime.execution.service.ExecutionService
 import org.arrow.runtime.message.EventMessage
+import org.arrow.runtime.message.SignalBroadcast
 import org.arrow.runtime.message.impl.DefaultFinishEventMessage
 import org.arrow.test.SpringWorkflowTestExecutionListener
 import scala.concurrent.Await
@@ -72,6 +74,30 @@ public trait WorkflowDslTrait {
         return Await.result(future, Duration.Inf());
     }
 
+    /**
+     * Executes a process instance by the given id and awaits its completion.
+     *
+     * @param id the process id
+     * @param vars the process variables
+     * @return ProcessCompletion
+     */
+    public static ProcessCompletion executeById(String id, Map<String, Object> vars) {
+        def future = runtimeService().executeProcessById(id, vars);
+        return Await.result(future, Duration.Inf());
+    }
+
+    /**
+     * Starts a process instance by the given id for each of the given variables maps.
+     *
+     * @param id the process id
+     * @param vars the process variables maps
+     * @return List
+     */
+    public static List<ProcessInstance> startAllById(String id, List<Map<String, Object>> vars) {
+        def futures = runtimeService().startProcessesById(id, vars);
+        return futures.collect { Await.result(it, Duration.Inf()) }
+    }
+
     /**
      * Starts a process instance by the given signal reference.
      *
@@ -131,6 +157,17 @@ public trait WorkflowDslTrait {
         Await.result(future, Duration.Inf());
     }
 
+    /**
+     * Broadcasts a signal event with the given signal reference and waits
+     * until all batches of the broadcast are published.
+     * @param signal the signal reference
+     * @return SignalBroadcast
+     */
+    public static SignalBroadcast broadcast(String signal) {
+        def broadcast = runtimeService().broadcast(signal, [:])
+        Await.result(broadcast.future, Duration.Inf())
+    }
+
     /**
      * Publishes a message event with the given message reference.
      * @param message the message reference
@@ -140,6 +177,16 @@ public trait WorkflowDslTrait {
         Await.result(future, Duration.Inf());
     }
 
+    /**
+     * Publishes a message event correlated by the given correlation values.
+     * @param message the message reference
+     * @param correlationKeys the correlation values by name
+     */
+    public static void message(String message, Map<String, Object> correlationKeys) {
+        def future = runtimeService().message(message, correlationKeys, new HashMap<String, Object>())
+        Await.result(future, Duration.Inf());
+    }
+
     /**
      * Publishes a condition event with the given business condition instance.
      * @param condition the business condition instance
@@ -197,6 +244,21 @@ public trait WorkflowDslTrait {
         return Await.result(pis, Duration.Inf())
     }
 
+    /**
+     * Blocks the current thread until the executions with the given entity ids
+     * of the given process instance are in the given state.
+     * @param pi the process instance
+     * @param state the expected state
+     * @param ids the entity ids
+     */
+    public static void awaitState(ProcessInstance pi, State state, String... ids) {
+        def deadline = System.currentTimeMillis() + 10000
+        while (!executionRepository().findByProcessInstance(pi).any { ids.contains(it?.entity?.id) && it.state == state }) {
+            assert System.currentTimeMillis() < deadline, "$pi did not reach $state at $ids"
+            sleep 10
+        }
+    }
+
     static class AwaitProcessInstanceFuture extends OnSuccess<Iterable<ProcessInstance>> {
         @Override
         void onSuccess(Iterable<ProcessInstance> processInstances) throws Throwable {
@@ -271,6 +333,18 @@ public trait WorkflowDslTrait {
         assertStateNot(State.SUSPEND, executions, ids);
     }
 
+    /**
+     * Returns the executions of the given process instance with the given entity id.
+     *
+     * @param pi
+     * @param entityId
+     * @return Set
+     */
+    public static Set<Execution> executions(ProcessInstance pi, String entityId) {
+        def executions = executionRepository().findByProcessInstance(pi);
+        return executions.findAll { it?.entity?.id == entityId }
+    }
+
     public static void executionGroups(ProcessInstance pi, Closure closure) {
         def executionGroups = executionGroupRepository().findByProcessInstance(pi)
         closure(executionGroups)
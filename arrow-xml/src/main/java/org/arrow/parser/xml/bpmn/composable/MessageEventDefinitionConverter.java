@@ -17,6 +17,7 @@
 package org.arrow.parser.xml.bpmn.composable;
 
 import org.arrow.model.definition.message.MessageEventDefinition;
+import org.arrow.parser.xml.bpmn.util.ConverterUtils;
 
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 
@@ -38,6 +39,7 @@ public class MessageEventDefinitionConverter implements
 		MessageEventDefinition definition = new MessageEventDefinition();
 		definition.setId(reader.getAttribute("id"));
 		definition.setMessageRef(reader.getAttribute("messageRef"));
+		definition.setCorrelationKeys(ConverterUtils.toStringArray(reader.getAttribute("correlationKeys")));
 
 		if (definition.getId() == null) {
 			definition.setId("messageevent_" + definition.hashCode());
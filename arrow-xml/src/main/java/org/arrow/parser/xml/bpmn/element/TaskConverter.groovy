@@ -27,6 +27,7 @@ import org.arrow.model.task.Task
 import org.arrow.model.task.impl.*
 import org.arrow.model.task.multi.LoopCardinality
 import org.arrow.model.task.multi.MultiInstanceLoopCharacteristics
+import org.arrow.model.task.multi.MultiInstanceLoopCharacteristics.Behavior
 import org.arrow.parser.xml.bpmn.util.ConverterUtils
 import org.arrow.runtime.rule.RuleData
 
@@ -117,27 +118,49 @@ public class TaskConverter implements Converter {
     }
 
     /**
-     * Parses a multi instance loop characteristics instance.
+     * Parses a multi instance loop characteristics instance. The instances
+     * are either created for the elements of the collection variable
+     * referenced by loopDataInputRef or for a fixed loop cardinality.
      *
      * @param reader
-     * @return AbstractTask
+     * @return MultiInstanceLoopCharacteristics
      */
     private static MultiInstanceLoopCharacteristics parseLoop(HierarchicalStreamReader reader) {
-        def characteristics = new MultiInstanceLoopCharacteristics(sequential: true)
+        def characteristics = new MultiInstanceLoopCharacteristics()
+        characteristics.setSequential(ConverterUtils.toBoolean(reader.getAttribute("isSequential")))
+        characteristics.setBehavior(Behavior.valueOf(reader.getAttribute("behavior") ?: "All"))
+        characteristics.setOneBehaviorEventRef(reader.getAttribute("oneBehaviorEventRef"))
+        characteristics.setNoneBehaviorEventRef(reader.getAttribute("noneBehaviorEventRef"))
 
-        def id = System.&nanoTime
-        def cardinality = Integer.&parseInt(reader.value)
+        def parallelism = reader.getAttribute("parallelism")
+        if (parallelism) {
+            characteristics.setParallelism(ConverterUtils.toInteger(parallelism))
+        }
 
         while (reader.hasMoreChildren()) {
             reader.nextElement {
-                switch (reader.getNodeName()) {
-                    case "loopCardinality": characteristics.setLoopCardinality(new LoopCardinality(id: id, cardinality: cardinality))
+                switch (truncateNamespace(reader.nodeName)) {
+                    case "loopCardinality":     characteristics.setLoopCardinality(parseLoopCardinality(reader)); break
+                    case "loopDataInputRef":    characteristics.setLoopDataInputRef(reader.value.trim());         break
+                    case "inputDataItem":       characteristics.setInputDataItem(reader.getAttribute("name"));   break
+                    case "completionCondition": characteristics.setCompletionCondition(reader.value.trim());      break
                 }
             }
         }
         return characteristics
     }
 
+    /**
+     * Parses a loop cardinality instance.
+     *
+     * @param reader
+     * @return LoopCardinality
+     */
+    private static LoopCardinality parseLoopCardinality(HierarchicalStreamReader reader) {
+        def id = reader.getAttribute("id") ?: "loopCardinality_" + System.nanoTime()
+        return new LoopCardinality(id: id, cardinality: ConverterUtils.toInteger(reader.value.trim()))
+    }
+
     /**
      * Parses a send task implementation.
      *
@@ -159,6 +182,7 @@ public class TaskConverter implements Converter {
 
         MessageEventDefinition definition = new MessageEventDefinition()
         definition.setMessageRef(reader.getAttribute("messageRef"))
+        definition.setCorrelationKeys(ConverterUtils.toStringArray(reader.getAttribute("correlationKeys")))
 
         task.setMessageEventDefinition(definition)
         task.setInstantiate(ConverterUtils.toBoolean(reader.getAttribute("instantiate")))
@@ -196,22 +220,37 @@ public class TaskConverter implements Converter {
      * @return AbstractTask
      */
     private static ServiceTask parseServiceTask(HierarchicalStreamReader reader) {
-        def task = new ServiceTask()
+        def task = new ServiceTask(async: ConverterUtils.toBoolean(reader.getAttribute("async")))
 
-        reader.nextElement {
-            while (reader.hasMoreChildren()) {
-                reader.nextElement {
-                    switch (truncateNamespace(reader.nodeName)) {
-                        case "serviceClass": task.setServiceClass(reader.value.trim()); break
-                        case "beanName":     task.setBeanName(reader.value.trim());     break
-                        case "expression":   task.setExpression(reader.value.trim());   break
-                    }
+        while (reader.hasMoreChildren()) {
+            reader.nextElement {
+                switch (truncateNamespace(reader.nodeName)) {
+                    case "extensionElements": parseServiceTaskExtensions(reader, task); break
+                    case "multiInstanceLoopCharacteristics": task.setMultiInstanceLoopCharacteristics(parseLoop(reader)); break
                 }
             }
         }
         return task
     }
 
+    /**
+     * Parses the extension elements of a service task.
+     *
+     * @param reader
+     * @param task
+     */
+    private static void parseServiceTaskExtensions(HierarchicalStreamReader reader, ServiceTask task) {
+        while (reader.hasMoreChildren()) {
+            reader.nextElement {
+                switch (truncateNamespace(reader.nodeName)) {
+                    case "serviceClass": task.setServiceClass(reader.value.trim()); break
+                    case "beanName":     task.setBeanName(reader.value.trim());     break
+                    case "expression":   task.setExpression(reader.value.trim());   break
+                }
+            }
+        }
+    }
+
     /**
      * Truncates the namespace from the given node name.
      *
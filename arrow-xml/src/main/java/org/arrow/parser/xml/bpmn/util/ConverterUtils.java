@@ -16,6 +16,8 @@
 
 package org.arrow.parser.xml.bpmn.util;
 
+import org.springframework.util.StringUtils;
+
 /**
  * Converter utility class.
  * 
@@ -48,4 +50,17 @@ public final class ConverterUtils {
 		return Integer.parseInt(str);
 	}
 
+	/**
+	 * Converts the given comma delimited string to a string array.
+	 * 
+	 * @param str the comma delimited string to convert
+	 * @return String[] or null if the string is empty
+	 */
+	public static String[] toStringArray(String str) {
+		if (!StringUtils.hasText(str)) {
+			return null;
+		}
+		return StringUtils.trimArrayElements(StringUtils.commaDelimitedListToStringArray(str));
+	}
+
 }